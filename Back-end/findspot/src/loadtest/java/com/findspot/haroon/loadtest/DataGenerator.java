@@ -0,0 +1,445 @@
+package com.findspot.haroon.loadtest;
+
+import com.findspot.haroon.security.RefreshTokenRevocationList;
+import com.findspot.haroon.security.SecurityConstant;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates users, items with their images and details, saved items and refresh sessions through
+ * multi-threaded JDBC batches.
+ *
+ * Work is cut into fixed-size chunks and every chunk draws from its own random stream derived from
+ * the seed, the phase and the chunk number. Ids are assigned explicitly from the row index, so the
+ * same configuration produces identical rows no matter how many threads run or in which order the
+ * chunks finish. Popularity is skewed the way real traffic is: a few users report most items, a few
+ * areas and categories dominate, and a small set of items collects most of the saves.
+ */
+class DataGenerator {
+
+    static final String PASSWORD = "loadtest-password";
+
+    static final String[] CATEGORIES = {"electronics", "documents", "keys", "wallets", "bags", "clothing",
+            "jewelry", "pets", "books", "other"};
+    private static final int[] CATEGORY_WEIGHTS = {22, 18, 14, 12, 10, 9, 5, 3, 4, 3};
+    private static final String[][] NOUNS = {
+            {"phone", "laptop", "headphones", "tablet", "charger", "smartwatch"},
+            {"passport", "ID card", "driving licence", "student card", "certificate"},
+            {"car keys", "house keys", "key ring", "office keycard"},
+            {"wallet", "purse", "card holder"},
+            {"backpack", "handbag", "laptop bag", "suitcase"},
+            {"jacket", "scarf", "cap", "sweater", "shoes"},
+            {"ring", "watch", "necklace", "bracelet", "earrings"},
+            {"dog", "cat", "parrot"},
+            {"notebook", "textbook", "novel", "diary"},
+            {"umbrella", "water bottle", "sunglasses", "bicycle helmet"}};
+
+    // Ordered by how busy the area is; picked with a Zipf skew
+    static final String[] LOCATIONS = {"Nairobi CBD", "Westlands", "Kilimani", "Mombasa Road", "Thika Road",
+            "Karen", "Kasarani", "Eastleigh", "Ngong Road", "Upper Hill", "Mombasa", "Kisumu", "Nakuru", "Eldoret"};
+
+    private static final String[] COLORS = {"black", "white", "red", "blue", "green", "brown", "silver", "grey"};
+    private static final String[] CONTACT_PREFERENCES = {"email", "email", "email", "phone", "both"};
+    private static final String[] BRANDS = {"Samsung", "Apple", "Tecno", "Infinix", "HP", "Lenovo", "Nike", "Adidas"};
+    private static final String[] FIRST_NAMES = {"Amina", "Brian", "Faith", "Kevin", "Mercy", "Dennis", "Grace",
+            "Hassan", "Joy", "Peter", "Wanjiru", "Otieno", "Halima", "Samuel", "Neema", "Juma"};
+    private static final String[] LAST_NAMES = {"Mwangi", "Odhiambo", "Kamau", "Wafula", "Njeri", "Ali", "Kiprop",
+            "Achieng", "Mutua", "Omondi", "Chebet", "Hussein", "Wanjala", "Kariuki"};
+    private static final String[] USER_AGENTS = {"FindSpot Android", "FindSpot iOS",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) Chrome/124.0", "Mozilla/5.0 (Macintosh) Safari/17.4"};
+
+    // Refresh token fingerprints use the same namespaces as RefreshTokenServiceImpl
+    private static final String TOKEN_NAMESPACE = "token";
+    private static final String SESSION_NAMESPACE = "session";
+
+    private enum Phase { USERS, ITEMS, SAVED_ITEMS, SESSIONS }
+
+    private interface ChunkWriter {
+        // Writes rows for the 0-based indexes [from, to) and returns how many rows it inserted
+        long write(Connection connection, SplittableRandom random, long from, long to) throws SQLException;
+    }
+
+    private final DataSource dataSource;
+    private final DataGeneratorConfig config;
+    private final Instant anchor;
+    private final ZipfSampler owners;
+    private final ZipfSampler locations;
+    private final ZipfSampler popularItems;
+
+    private long roleId;
+    private short[] categoryIds;
+    private long userBase;
+    private long itemBase;
+    private String passwordHash;
+
+    DataGenerator(DataSource dataSource, DataGeneratorConfig config) {
+        this.dataSource = dataSource;
+        this.config = config;
+        this.anchor = config.anchor().atZone(ZoneId.systemDefault()).toInstant();
+        this.owners = new ZipfSampler(Math.max(config.users(), 1), 0.8);
+        this.locations = new ZipfSampler(LOCATIONS.length, 1.1);
+        this.popularItems = new ZipfSampler(Math.max(config.items(), 1), 0.7);
+    }
+
+    static String username(int index) {
+        return "loaduser" + index;
+    }
+
+    void generate(String passwordHash) throws Exception {
+        this.passwordHash = passwordHash;
+        try (Connection connection = dataSource.getConnection()) {
+            if (count(connection, "SELECT COUNT(*) FROM users WHERE username = '" + username(1) + "'") > 0) {
+                throw new IllegalStateException("A generated dataset is already present; start from an empty schema");
+            }
+            roleId = userRoleId(connection);
+            categoryIds = categoryIds(connection);
+            // Existing rows are left alone; generated ids start after them
+            userBase = count(connection, "SELECT COALESCE(MAX(id), 0) FROM users");
+            itemBase = Math.max(count(connection, "SELECT COALESCE(MAX(id), 0) FROM items"),
+                    count(connection, "SELECT COALESCE(MAX(id), 0) FROM items_archive"));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(config.threads(), 1));
+        try {
+            run(pool, Phase.USERS, config.users(), this::writeUsers);
+            run(pool, Phase.ITEMS, config.items(), this::writeItems);
+            if (config.items() > 0) {
+                run(pool, Phase.SAVED_ITEMS, config.users(), this::writeSavedItems);
+            }
+            run(pool, Phase.SESSIONS, config.users(), this::writeSessions);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            restartIdentity(connection, "users", userBase + config.users() + 1);
+            restartIdentity(connection, "items", itemBase + config.items() + 1);
+        }
+    }
+
+    private void run(ExecutorService pool, Phase phase, long total, ChunkWriter writer) throws Exception {
+        long started = System.nanoTime();
+        List<Future<Long>> chunks = new ArrayList<>();
+        for (long from = 0, chunk = 0; from < total; from += config.chunkSize(), chunk++) {
+            long start = from;
+            long end = Math.min(from + config.chunkSize(), total);
+            SplittableRandom random = new SplittableRandom(streamSeed(phase, chunk));
+            chunks.add(pool.submit(() -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    connection.setAutoCommit(false);
+                    long rows = writer.write(connection, random, start, end);
+                    connection.commit();
+                    return rows;
+                }
+            }));
+        }
+        long rows = 0;
+        for (Future<Long> chunk : chunks) {
+            rows += chunk.get();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("  %-12s %,12d rows in %6.1f s (%,.0f rows/s)%n",
+                phase.name().toLowerCase().replace('_', ' '), rows, seconds, rows / Math.max(seconds, 0.001));
+    }
+
+    private long streamSeed(Phase phase, long chunk) {
+        return config.seed() * 0x9E3779B97F4A7C15L ^ (phase.ordinal() + 1) * 0xC2B2AE3D27D4EB4FL ^ chunk * 0x165667B19E3779F9L;
+    }
+
+    private long writeUsers(Connection connection, SplittableRandom random, long from, long to) throws SQLException {
+        try (Batch users = new Batch(connection, "INSERT INTO users (id, full_name, email, phone, username, password, "
+                + "join_date, location, email_notifications, push_notifications) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             Batch roles = new Batch(connection, "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)")) {
+            for (long i = from; i < to; i++) {
+                int index = (int) i + 1;
+                long id = userBase + index;
+                String name = pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES);
+                users.statement.setLong(1, id);
+                users.statement.setString(2, name);
+                users.statement.setString(3, username(index) + "@loadtest.local");
+                users.statement.setString(4, String.format("2547%08d", index));
+                users.statement.setString(5, username(index));
+                users.statement.setString(6, passwordHash);
+                users.statement.setTimestamp(7, Timestamp.from(anchor.minusSeconds(random.nextLong(2L * config.historyDays() * 86_400 + 1))));
+                users.statement.setString(8, LOCATIONS[(int) locations.sample(random) - 1]);
+                users.statement.setBoolean(9, random.nextInt(100) < 85);
+                users.statement.setBoolean(10, random.nextInt(100) < 60);
+                users.add();
+                roles.statement.setLong(1, id);
+                roles.statement.setLong(2, roleId);
+                roles.add();
+            }
+            return users.flush() + roles.flush();
+        }
+    }
+
+    private long writeItems(Connection connection, SplittableRandom random, long from, long to) throws SQLException {
+        try (Batch items = new Batch(connection, "INSERT INTO items (id, title, short_description, full_description, "
+                + "category_id, location, date, type, status, user_id, reported_date, resolved_date, contact_preference, "
+                + "agreed_to_terms, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)");
+             Batch images = new Batch(connection, "INSERT INTO item_images (item_id, image_url) VALUES (?, ?)");
+             Batch details = new Batch(connection,
+                     "INSERT INTO item_additional_details (item_id, detail_key, detail_value) VALUES (?, ?, ?)")) {
+            for (long i = from; i < to; i++) {
+                long id = itemBase + i + 1;
+                boolean lost = random.nextInt(100) < 55;
+                int category = weighted(random, CATEGORY_WEIGHTS);
+                String noun = pick(random, NOUNS[category]);
+                String color = pick(random, COLORS);
+                String location = LOCATIONS[(int) locations.sample(random) - 1];
+
+                // Recent weeks are denser than last year, and older items are more likely to be resolved
+                double age = random.nextDouble();
+                long ageSeconds = (long) (age * age * config.historyDays() * 86_400);
+                LocalDateTime reported = config.anchor().minusSeconds(ageSeconds);
+                String status = "ACTIVE";
+                LocalDateTime resolved = null;
+                if (random.nextDouble() < 0.1 + 0.6 * ageSeconds / (config.historyDays() * 86_400.0)) {
+                    status = random.nextInt(100) < 70 ? "CLAIMED" : "CLOSED";
+                    long resolvedAfter = (long) (-Math.log(1 - random.nextDouble()) * 3 * 86_400);
+                    resolved = reported.plusSeconds(Math.min(resolvedAfter, ageSeconds));
+                }
+
+                items.statement.setLong(1, id);
+                items.statement.setString(2, (lost ? "Lost " : "Found ") + color + " " + noun);
+                items.statement.setString(3, "A " + color + " " + noun + (lost ? " lost near " : " found near ") + location);
+                items.statement.setString(4, "Synthetic item " + id + ". Last seen around " + location
+                        + ", contact the reporter with any details that identify it.");
+                items.statement.setShort(5, categoryIds[category]);
+                items.statement.setString(6, location);
+                items.statement.setObject(7, reported.minusDays(random.nextInt(3)).toLocalDate());
+                items.statement.setString(8, lost ? "LOST" : "FOUND");
+                items.statement.setString(9, status);
+                items.statement.setLong(10, userBase + owners.sample(random));
+                items.statement.setTimestamp(11, Timestamp.valueOf(reported));
+                items.statement.setTimestamp(12, resolved != null ? Timestamp.valueOf(resolved) : null);
+                items.statement.setString(13, lost ? null : pick(random, CONTACT_PREFERENCES));
+                items.statement.setObject(14, lost ? null : Boolean.TRUE);
+                items.add();
+
+                int imageRoll = random.nextInt(100);
+                int imageCount = imageRoll < 35 ? 0 : imageRoll < 70 ? 1 : imageRoll < 88 ? 2 : imageRoll < 96 ? 3 : 4;
+                for (int n = 1; n <= imageCount; n++) {
+                    images.statement.setLong(1, id);
+                    images.statement.setString(2, "https://img.loadtest.local/" + id + "/" + n + ".jpg");
+                    images.add();
+                }
+
+                if (random.nextInt(100) < 60) {
+                    details.put(id, "color", color);
+                    if (category == 0 || category == 3 || category == 4 || category == 6) {
+                        details.put(id, "brand", pick(random, BRANDS));
+                    }
+                    if (category == 0) {
+                        details.put(id, "serial", Long.toHexString(random.nextLong()).toUpperCase());
+                    }
+                }
+            }
+            return items.flush() + images.flush() + details.flush();
+        }
+    }
+
+    // Each user saves a geometric number of distinct items, drawn mostly from the popular ones
+    private long writeSavedItems(Connection connection, SplittableRandom random, long from, long to) throws SQLException {
+        try (Batch saves = new Batch(connection, "INSERT INTO saved_items (user_id, item_id, saved_date) VALUES (?, ?, ?)")) {
+            Set<Long> saved = new HashSet<>();
+            for (long i = from; i < to; i++) {
+                int count = (int) Math.min(geometric(random, config.savesPerUser()), Math.min(100, config.items()));
+                saved.clear();
+                while (saved.size() < count) {
+                    saved.add(itemBase + popularItems.sample(random));
+                }
+                for (Long itemId : saved) {
+                    saves.statement.setLong(1, userBase + i + 1);
+                    saves.statement.setLong(2, itemId);
+                    saves.statement.setTimestamp(3, Timestamp.from(anchor.minusSeconds(random.nextLong(30L * 86_400 + 1))));
+                    saves.add();
+                }
+            }
+            return saves.flush();
+        }
+    }
+
+    // Active device sessions, some signed out, each with the rotated tokens it left behind
+    private long writeSessions(Connection connection, SplittableRandom random, long from, long to) throws SQLException {
+        try (Batch sessions = new Batch(connection, "INSERT INTO refresh_sessions (id, user_id, user_agent, created_at, "
+                + "expires_at, revoked_at) VALUES (?, ?, ?, ?, ?, ?)");
+             Batch revoked = new Batch(connection, "INSERT INTO revoked_refresh_tokens (fingerprint, session_id, reason, "
+                     + "revoked_at, expires_at) VALUES (?, ?, ?, ?, ?)")) {
+            long sessionLifetime = SecurityConstant.REFRESH_SESSION_EXPIRATION / 1000;
+            for (long i = from; i < to; i++) {
+                long count = Math.min(geometric(random, config.sessionsPerUser()), 5);
+                for (int n = 0; n < count; n++) {
+                    String sessionId = new UUID(random.nextLong(), random.nextLong()).toString();
+                    Instant created = anchor.minusSeconds(random.nextLong(sessionLifetime));
+                    Instant expires = created.plusSeconds(sessionLifetime);
+                    long activeSeconds = anchor.getEpochSecond() - created.getEpochSecond();
+                    Instant signedOut = random.nextInt(100) < 10
+                            ? created.plusSeconds(random.nextLong(activeSeconds + 1)) : null;
+
+                    sessions.statement.setString(1, sessionId);
+                    sessions.statement.setLong(2, userBase + i + 1);
+                    sessions.statement.setString(3, pick(random, USER_AGENTS));
+                    sessions.statement.setTimestamp(4, Timestamp.from(created));
+                    sessions.statement.setTimestamp(5, Timestamp.from(expires));
+                    sessions.statement.setTimestamp(6, signedOut != null ? Timestamp.from(signedOut) : null);
+                    sessions.add();
+
+                    long rotations = Math.min(geometric(random, 3), 20);
+                    for (int r = 0; r < rotations; r++) {
+                        String tokenId = new UUID(random.nextLong(), random.nextLong()).toString();
+                        Instant rotated = created.plusSeconds(random.nextLong(activeSeconds + 1));
+                        Instant tokenExpiry = rotated.plusMillis(SecurityConstant.REFRESH_TOKEN_EXPIRATION);
+                        revoked.revocation(RefreshTokenRevocationList.fingerprint(TOKEN_NAMESPACE, tokenId), sessionId,
+                                "ROTATED", rotated, tokenExpiry.isBefore(expires) ? tokenExpiry : expires);
+                    }
+                    if (signedOut != null) {
+                        revoked.revocation(RefreshTokenRevocationList.fingerprint(SESSION_NAMESPACE, sessionId), sessionId,
+                                "LOGOUT", signedOut, expires);
+                    }
+                }
+            }
+            return sessions.flush() + revoked.flush();
+        }
+    }
+
+    private long userRoleId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet existing = statement.executeQuery("SELECT id FROM roles WHERE name = 'USER'")) {
+                if (existing.next()) {
+                    return existing.getLong(1);
+                }
+            }
+            statement.executeUpdate("INSERT INTO roles (name) VALUES ('USER')", Statement.RETURN_GENERATED_KEYS);
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+    }
+
+    // MySQL moves AUTO_INCREMENT past explicit ids by itself; H2 identity columns need to be told
+    private void restartIdentity(Connection connection, String table, long next) throws SQLException {
+        if (connection.getMetaData().getDatabaseProductName().startsWith("H2")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+            }
+        }
+    }
+
+    // The taxonomy is seeded by CategoryRegistry on startup; generated items reference it by slug
+    private static short[] categoryIds(Connection connection) throws SQLException {
+        short[] ids = new short[CATEGORIES.length];
+        try (PreparedStatement statement = connection.prepareStatement("SELECT id FROM categories WHERE slug = ?")) {
+            for (int i = 0; i < CATEGORIES.length; i++) {
+                statement.setString(1, CATEGORIES[i]);
+                try (ResultSet result = statement.executeQuery()) {
+                    if (!result.next()) {
+                        throw new IllegalStateException("Category '" + CATEGORIES[i] + "' is missing from the taxonomy");
+                    }
+                    ids[i] = result.getShort(1);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static long count(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static int weighted(SplittableRandom random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    // Number of failures before the first success, with the given mean
+    private static long geometric(SplittableRandom random, double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        return (long) Math.floor(Math.log(1 - random.nextDouble()) / Math.log(mean / (mean + 1)));
+    }
+
+    // A prepared statement that sends its rows every batchSize additions
+    private final class Batch implements AutoCloseable {
+
+        private final PreparedStatement statement;
+        private long rows;
+
+        Batch(Connection connection, String sql) throws SQLException {
+            this.statement = connection.prepareStatement(sql);
+        }
+
+        void add() throws SQLException {
+            statement.addBatch();
+            if (++rows % config.batchSize() == 0) {
+                statement.executeBatch();
+            }
+        }
+
+        void put(long itemId, String key, String value) throws SQLException {
+            statement.setLong(1, itemId);
+            statement.setString(2, key);
+            statement.setString(3, value);
+            add();
+        }
+
+        void revocation(String fingerprint, String sessionId, String reason, Instant revokedAt, Instant expiresAt)
+                throws SQLException {
+            statement.setString(1, fingerprint);
+            statement.setString(2, sessionId);
+            statement.setString(3, reason);
+            statement.setTimestamp(4, Timestamp.from(revokedAt));
+            statement.setTimestamp(5, Timestamp.from(expiresAt));
+            add();
+        }
+
+        long flush() throws SQLException {
+            if (rows % config.batchSize() != 0) {
+                statement.executeBatch();
+            }
+            return rows;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            statement.close();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.findspot.haroon.loadtest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Shape of a generated dataset; the same values always produce the same rows, whatever the thread count
+record DataGeneratorConfig(int users,
+                           long items,
+                           long seed,
+                           LocalDateTime anchor,
+                           int historyDays,
+                           double savesPerUser,
+                           double sessionsPerUser,
+                           int threads,
+                           int chunkSize,
+                           int batchSize) {
+
+    // Stays below the connection pool size so no chunk waits for a connection
+    private static final int DEFAULT_THREADS = Math.min(Runtime.getRuntime().availableProcessors(), 16);
+
+    // Also used by the load test, which only chooses how many users and items to seed
+    static DataGeneratorConfig of(int users, long items, long seed) {
+        return new DataGeneratorConfig(users, items, seed, LocalDate.now().atStartOfDay(), 365, 2.0, 0.5,
+                DEFAULT_THREADS, 10_000, 1_000);
+    }
+
+    static DataGeneratorConfig fromSystemProperties() {
+        String anchor = System.getProperty("datagen.anchor");
+        return new DataGeneratorConfig(
+                Integer.getInteger("datagen.users", 1_000_000),
+                Long.getLong("datagen.items", 5_000_000),
+                Long.getLong("datagen.seed", 42),
+                anchor != null ? LocalDate.parse(anchor).atStartOfDay() : LocalDate.now().atStartOfDay(),
+                Integer.getInteger("datagen.historyDays", 365),
+                Double.parseDouble(System.getProperty("datagen.savesPerUser", "2.0")),
+                Double.parseDouble(System.getProperty("datagen.sessionsPerUser", "0.5")),
+                Integer.getInteger("datagen.threads", DEFAULT_THREADS),
+                Integer.getInteger("datagen.chunkSize", 10_000),
+                Integer.getInteger("datagen.batchSize", 1_000));
+    }
+}
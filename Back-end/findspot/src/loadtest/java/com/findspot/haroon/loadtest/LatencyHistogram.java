@@ -0,0 +1,72 @@
+package com.findspot.haroon.loadtest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram in microseconds with log-linear buckets: exact below 128us and
+ * within 1/128 (under 1%) above, up to about 19 hours. Recording never allocates, so virtual
+ * users can share one instance per scenario.
+ */
+class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MAGNITUDE = 36;
+
+    private final AtomicLongArray counts = new AtomicLongArray((MAX_MAGNITUDE - SUB_BUCKET_BITS + 2) * SUB_BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+
+    void record(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(indexOf(value));
+        total.increment();
+        sum.add(value);
+    }
+
+    long count() {
+        return total.sum();
+    }
+
+    double meanMicros() {
+        long n = total.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    // Upper bound of the bucket holding the requested percentile (0-100)
+    long percentileMicros(double percentile) {
+        long n = total.sum();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return upperBoundOf(i);
+            }
+        }
+        return upperBoundOf(counts.length() - 1);
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_MAGNITUDE);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) Math.min(value >>> shift, 2 * SUB_BUCKETS - 1) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
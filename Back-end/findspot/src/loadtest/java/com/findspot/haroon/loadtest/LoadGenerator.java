@@ -0,0 +1,68 @@
+package com.findspot.haroon.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Runs the virtual users through a warm-up and then a recorded window of fixed length
+class LoadGenerator {
+
+    private final LoadTestConfig config;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+
+    LoadGenerator(LoadTestConfig config, URI baseUri, ObjectMapper objectMapper) {
+        this.config = config;
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+    }
+
+    LoadTestReport run() throws InterruptedException {
+        Map<Scenario, ScenarioStats> stats = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : config.mix().keySet()) {
+            stats.put(scenario, new ScenarioStats());
+        }
+        Control control = new Control();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        long recordedNanos;
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.virtualUsers(); i++) {
+                users.submit(new VirtualUser(i, config, client, baseUri, objectMapper, stats, control));
+            }
+            Thread.sleep(Duration.ofSeconds(config.warmupSeconds()));
+
+            control.recording = true;
+            long started = System.nanoTime();
+            Thread.sleep(Duration.ofSeconds(config.durationSeconds()));
+            control.recording = false;
+            recordedNanos = System.nanoTime() - started;
+
+            control.running = false;
+        }
+        return new LoadTestReport(stats, recordedNanos / 1_000_000_000.0);
+    }
+
+    static class Control {
+        private volatile boolean running = true;
+        private volatile boolean recording;
+
+        boolean running() {
+            return running;
+        }
+
+        boolean recording() {
+            return recording;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.findspot.haroon.loadtest;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Everything is read from -Dloadtest.* system properties so runs are reproducible from the command line
+record LoadTestConfig(long items,
+                      int users,
+                      int virtualUsers,
+                      int warmupSeconds,
+                      int durationSeconds,
+                      long seed,
+                      Map<Scenario, Integer> mix,
+                      Path baseline,
+                      Path report,
+                      double p99Tolerance,
+                      long p99SlackMillis,
+                      double maxErrorRate,
+                      boolean updateBaseline) {
+
+    static final String DEFAULT_MIX = "browse-lost=35,browse-found=30,login-refresh=5,report-item=5,my-items=15,stats=10";
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Long.getLong("loadtest.items", 100_000),
+                Integer.getInteger("loadtest.users", 5_000),
+                Integer.getInteger("loadtest.virtualUsers", 200),
+                Integer.getInteger("loadtest.warmupSeconds", 15),
+                Integer.getInteger("loadtest.durationSeconds", 60),
+                Long.getLong("loadtest.seed", 42),
+                parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+                Path.of(System.getProperty("loadtest.baseline", "src/loadtest/baseline.json")),
+                Path.of(System.getProperty("loadtest.report", "target/loadtest/report.json")),
+                Double.parseDouble(System.getProperty("loadtest.p99Tolerance", "0.10")),
+                Long.getLong("loadtest.p99SlackMs", 5),
+                Double.parseDouble(System.getProperty("loadtest.maxErrorRate", "0.01")),
+                Boolean.getBoolean("loadtest.updateBaseline"));
+    }
+
+    // "browse-lost=35,stats=10" -> relative weights; scenarios left out are not exercised
+    static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + entry + "', expected scenario=weight");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Scenario.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Traffic mix is empty");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,110 @@
+package com.findspot.haroon.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Per-scenario throughput and latency percentiles for the recorded window
+class LoadTestReport {
+
+    private final Map<Scenario, ScenarioStats> stats;
+    private final double seconds;
+
+    LoadTestReport(Map<Scenario, ScenarioStats> stats, double seconds) {
+        this.stats = stats;
+        this.seconds = seconds;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%-14s %9s %7s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms");
+        long totalRequests = 0;
+        for (Map.Entry<Scenario, ScenarioStats> entry : stats.entrySet()) {
+            LatencyHistogram latencies = entry.getValue().latencies();
+            long requests = latencies.count() + entry.getValue().errors();
+            totalRequests += requests;
+            out.printf("%-14s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey().key(), requests,
+                    entry.getValue().errors(), requests / seconds, millis(latencies.percentileMicros(50)),
+                    millis(latencies.percentileMicros(90)), millis(latencies.percentileMicros(99)),
+                    millis(latencies.percentileMicros(99.9)));
+        }
+        out.printf("%-14s %9d %7d %9.1f%n%n", "total", totalRequests, totalErrors(), totalRequests / seconds);
+    }
+
+    double errorRate() {
+        long requests = 0;
+        for (ScenarioStats scenarioStats : stats.values()) {
+            requests += scenarioStats.latencies().count() + scenarioStats.errors();
+        }
+        return requests == 0 ? 1.0 : (double) totalErrors() / requests;
+    }
+
+    void write(Path path, ObjectMapper objectMapper) throws IOException {
+        Map<String, Object> scenarios = new LinkedHashMap<>();
+        for (Map.Entry<Scenario, ScenarioStats> entry : stats.entrySet()) {
+            LatencyHistogram latencies = entry.getValue().latencies();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("requests", latencies.count() + entry.getValue().errors());
+            row.put("errors", entry.getValue().errors());
+            row.put("throughput", (latencies.count() + entry.getValue().errors()) / seconds);
+            row.put("meanMs", latencies.meanMicros() / 1000.0);
+            row.put("p50Ms", millis(latencies.percentileMicros(50)));
+            row.put("p90Ms", millis(latencies.percentileMicros(90)));
+            row.put("p99Ms", millis(latencies.percentileMicros(99)));
+            row.put("p999Ms", millis(latencies.percentileMicros(99.9)));
+            scenarios.put(entry.getKey().key(), row);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("durationSeconds", seconds);
+        report.put("scenarios", scenarios);
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+    }
+
+    /**
+     * Compares each scenario's p99 with the baseline report. A scenario regresses when it is slower
+     * by more than the relative tolerance and by more than the absolute slack, so that noise on
+     * sub-millisecond endpoints doesn't fail the run.
+     *
+     * @return one message per regressed scenario, empty when the run is within the baseline
+     */
+    List<String> p99Regressions(JsonNode baseline, double tolerance, long slackMillis) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<Scenario, ScenarioStats> entry : stats.entrySet()) {
+            JsonNode expected = baseline.path("scenarios").path(entry.getKey().key()).path("p99Ms");
+            if (!expected.isNumber()) {
+                continue; // scenario not in the baseline yet
+            }
+            double actual = millis(entry.getValue().latencies().percentileMicros(99));
+            double limit = Math.max(expected.asDouble() * (1 + tolerance), expected.asDouble() + slackMillis);
+            if (actual > limit) {
+                regressions.add(String.format("%s p99 %.2f ms exceeds baseline %.2f ms (limit %.2f ms)",
+                        entry.getKey().key(), actual, expected.asDouble(), limit));
+            }
+        }
+        return regressions;
+    }
+
+    private long totalErrors() {
+        long errors = 0;
+        for (ScenarioStats scenarioStats : stats.values()) {
+            errors += scenarioStats.errors();
+        }
+        return errors;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
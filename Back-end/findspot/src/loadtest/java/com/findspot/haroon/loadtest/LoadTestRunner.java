@@ -0,0 +1,68 @@
+package com.findspot.haroon.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findspot.haroon.FindspotApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * Boots the application in-process against in-memory H2, seeds a synthetic dataset, replays the
+ * configured traffic mix and checks p99 latency against the stored baseline.
+ *
+ * Fails (non-zero exit from Maven) when the error rate or any scenario's p99 is over its limit.
+ * Run with -Dloadtest.updateBaseline=true to record the current numbers as the new baseline.
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(FindspotApplication.class)
+                .profiles("loadtest")
+                .run(args)) {
+            ObjectMapper objectMapper = app.getBean(ObjectMapper.class);
+            Integer port = app.getEnvironment().getProperty("local.server.port", Integer.class);
+
+            System.out.printf("Seeding %d users and %d items (seed %d)%n", config.users(), config.items(), config.seed());
+            long seedingStarted = System.nanoTime();
+            new DataGenerator(app.getBean(DataSource.class), DataGeneratorConfig.of(config.users(), config.items(), config.seed()))
+                    .generate(app.getBean(PasswordEncoder.class).encode(DataGenerator.PASSWORD));
+            System.out.printf("Seeded in %.1f s%n", (System.nanoTime() - seedingStarted) / 1e9);
+
+            System.out.printf("Running %d virtual users: %d s warm-up, %d s recorded, mix %s%n",
+                    config.virtualUsers(), config.warmupSeconds(), config.durationSeconds(), config.mix());
+            LoadTestReport report = new LoadGenerator(config, URI.create("http://localhost:" + port), objectMapper).run();
+            report.print(System.out);
+            report.write(config.report(), objectMapper);
+
+            if (report.errorRate() > config.maxErrorRate()) {
+                throw new IllegalStateException(String.format("Error rate %.2f%% is above the allowed %.2f%%",
+                        report.errorRate() * 100, config.maxErrorRate() * 100));
+            }
+
+            if (config.updateBaseline()) {
+                report.write(config.baseline(), objectMapper);
+                System.out.println("Baseline updated: " + config.baseline());
+                return;
+            }
+            if (!Files.exists(config.baseline())) {
+                System.out.println("No baseline at " + config.baseline() + "; rerun with -Dloadtest.updateBaseline=true to record one");
+                return;
+            }
+            JsonNode baseline = objectMapper.readTree(config.baseline().toFile());
+            List<String> regressions = report.p99Regressions(baseline, config.p99Tolerance(), config.p99SlackMillis());
+            if (!regressions.isEmpty()) {
+                throw new IllegalStateException("p99 regressed against " + config.baseline() + ":\n  "
+                        + String.join("\n  ", regressions));
+            }
+            System.out.println("p99 within baseline for every scenario");
+        }
+    }
+}
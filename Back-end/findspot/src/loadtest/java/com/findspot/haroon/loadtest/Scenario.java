@@ -0,0 +1,36 @@
+package com.findspot.haroon.loadtest;
+
+// Request types in the traffic mix; keys are used in loadtest.mix and in the reports
+enum Scenario {
+    BROWSE_LOST("browse-lost", false),
+    BROWSE_FOUND("browse-found", false),
+    LOGIN_REFRESH("login-refresh", false),
+    REPORT_ITEM("report-item", true),
+    MY_ITEMS("my-items", true),
+    STATS("stats", true);
+
+    private final String key;
+    private final boolean authenticated;
+
+    Scenario(String key, boolean authenticated) {
+        this.key = key;
+        this.authenticated = authenticated;
+    }
+
+    String key() {
+        return key;
+    }
+
+    boolean authenticated() {
+        return authenticated;
+    }
+
+    static Scenario fromKey(String key) {
+        for (Scenario scenario : values()) {
+            if (scenario.key.equals(key)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario '" + key + "'");
+    }
+}
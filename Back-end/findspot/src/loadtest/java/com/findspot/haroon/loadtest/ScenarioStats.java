@@ -0,0 +1,26 @@
+package com.findspot.haroon.loadtest;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Measurements for one scenario during the recorded window; failed requests are counted, not timed
+class ScenarioStats {
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    void record(long micros, boolean success) {
+        if (success) {
+            latencies.record(micros);
+        } else {
+            errors.increment();
+        }
+    }
+
+    LatencyHistogram latencies() {
+        return latencies;
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+}
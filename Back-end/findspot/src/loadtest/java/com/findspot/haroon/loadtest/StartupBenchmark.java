@@ -0,0 +1,144 @@
+package com.findspot.haroon.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long a new replica takes to answer its first request, for each way the application
+ * can be built: the plain jar, the AOT-processed jar with its CDS archive (mvn -Pcds package) and
+ * the native executable (mvn -Pnative native:compile).
+ *
+ * Every run launches the variant as a fresh process, polls a public endpoint until it answers 200
+ * and stops the process again; the time from launch to that answer is what a scale-out waits for.
+ * Variants whose build output is missing are skipped. The application uses the database it is
+ * configured for, so run this against a schema that is already up to date.
+ */
+public class StartupBenchmark {
+
+    private record Variant(String name, Path artifact, List<String> command) {
+    }
+
+    private static final String PROBE_PATH = "/api/categories";
+    private static final long POLL_INTERVAL_MILLIS = 20;
+
+    public static void main(String[] args) throws Exception {
+        int runs = Integer.getInteger("startup.runs", 5);
+        int port = Integer.getInteger("startup.port", 18080);
+        Duration timeout = Duration.ofSeconds(Long.getLong("startup.timeoutSeconds", 180));
+        Set<String> selected = Set.of(System.getProperty("startup.variants", "jar,cds,native").split(","));
+        List<String> appArgs = new ArrayList<>(List.of("--server.port=" + port));
+        String extraArgs = System.getProperty("startup.args", "").trim();
+        if (!extraArgs.isEmpty()) {
+            appArgs.addAll(Arrays.asList(extraArgs.split("\\s+")));
+        }
+        Path report = Path.of(System.getProperty("startup.report", "target/loadtest/startup.json"));
+
+        Path target = Path.of("target");
+        String jarName = System.getProperty("startup.jar", "findspot-0.0.1-SNAPSHOT.jar");
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<Variant> variants = List.of(
+                new Variant("jar", target.resolve(jarName),
+                        command(appArgs, java, "-jar", target.resolve(jarName).toString())),
+                new Variant("cds", target.resolve("cds/application.jsa"),
+                        command(appArgs, java, "-XX:SharedArchiveFile=" + target.resolve("cds/application.jsa"),
+                                "-Dspring.aot.enabled=true", "-jar", target.resolve("cds").resolve(jarName).toString())),
+                new Variant("native", target.resolve("findspot"),
+                        command(appArgs, target.resolve("findspot").toString())));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PROBE_PATH))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        Path logs = report.toAbsolutePath().getParent();
+        Files.createDirectories(logs);
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        System.out.printf("%n%-8s %6s %9s %9s %9s%n", "variant", "runs", "min ms", "median ms", "max ms");
+        for (Variant variant : variants) {
+            if (!selected.contains(variant.name())) {
+                continue;
+            }
+            if (!Files.exists(variant.artifact())) {
+                System.out.printf("%-8s skipped, %s not built%n", variant.name(), variant.artifact());
+                continue;
+            }
+            long[] millis = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                millis[run] = timeToFirstResponse(variant, client, probe, timeout,
+                        logs.resolve("startup-" + variant.name() + "-" + run + ".log"));
+            }
+            long[] sorted = millis.clone();
+            Arrays.sort(sorted);
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("runs", runs);
+            row.put("minMs", sorted[0]);
+            row.put("medianMs", sorted[runs / 2]);
+            row.put("maxMs", sorted[runs - 1]);
+            row.put("samplesMs", millis);
+            results.put(variant.name(), row);
+            System.out.printf("%-8s %6d %9d %9d %9d%n", variant.name(), runs, sorted[0], sorted[runs / 2], sorted[runs - 1]);
+        }
+
+        Map<String, Object> output = new LinkedHashMap<>();
+        output.put("probe", PROBE_PATH);
+        output.put("variants", results);
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(report.toFile(), output);
+        System.out.println("\nWritten to " + report);
+    }
+
+    // Launch to first 200, in milliseconds; the process is stopped before returning
+    private static long timeToFirstResponse(Variant variant, HttpClient client, HttpRequest probe, Duration timeout,
+                                            Path log) throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(variant.command())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            long deadline = started + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(variant.name() + " exited with " + process.exitValue() + "; see " + log);
+                }
+                try {
+                    if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+            throw new IllegalStateException(variant.name() + " did not answer within " + timeout + "; see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static List<String> command(List<String> appArgs, String... launcher) {
+        List<String> command = new ArrayList<>(Arrays.asList(launcher));
+        command.addAll(appArgs);
+        return command;
+    }
+}
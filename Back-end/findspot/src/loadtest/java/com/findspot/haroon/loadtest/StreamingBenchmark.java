@@ -0,0 +1,159 @@
+package com.findspot.haroon.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findspot.haroon.FindspotApplication;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Compares the paged item endpoint with the streaming one for the same page size: bytes on the
+ * wire with and without gzip, heap allocated per request and SQL statements per request.
+ *
+ * The application runs in-process under the loadtest profile (in-memory H2), so allocation is
+ * measured across the whole JVM while requests are issued one at a time; the client reads bodies
+ * through a fixed buffer to keep its own share small. Every request starts from a random cursor so
+ * the browse cache does not answer for the paged endpoint.
+ */
+public class StreamingBenchmark {
+
+    private record Variant(String name, String path, int limit, boolean gzip) {
+    }
+
+    private record Sample(long wireBytes, long allocatedBytes, long statements, long nanos) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        long items = Long.getLong("streaming.items", 50_000);
+        int users = Integer.getInteger("streaming.users", 1_000);
+        int limit = Integer.getInteger("streaming.limit", 100);
+        int largeLimit = Integer.getInteger("streaming.largeLimit", 1000);
+        int requests = Integer.getInteger("streaming.requests", 200);
+        int warmup = Integer.getInteger("streaming.warmup", 50);
+        long seed = Long.getLong("streaming.seed", 42);
+        Path report = Path.of(System.getProperty("streaming.report", "target/loadtest/streaming.json"));
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            throw new IllegalStateException("This JVM does not report allocated bytes");
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(FindspotApplication.class)
+                .profiles("loadtest")
+                .properties("spring.jpa.properties.hibernate.generate_statistics=true")
+                .run(args)) {
+            ObjectMapper objectMapper = app.getBean(ObjectMapper.class);
+            Statistics statistics = app.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            Integer port = app.getEnvironment().getProperty("local.server.port", Integer.class);
+            URI base = URI.create("http://localhost:" + port);
+
+            System.out.printf("Seeding %d users and %d items (seed %d)%n", users, items, seed);
+            new DataGenerator(app.getBean(DataSource.class), DataGeneratorConfig.of(users, items, seed))
+                    .generate(app.getBean(PasswordEncoder.class).encode(DataGenerator.PASSWORD));
+
+            List<Variant> variants = List.of(
+                    new Variant("paged", "/api/items/lost", limit, false),
+                    new Variant("paged-gzip", "/api/items/lost", limit, true),
+                    new Variant("stream", "/api/items/lost/stream", limit, false),
+                    new Variant("stream-gzip", "/api/items/lost/stream", limit, true),
+                    new Variant("stream-large", "/api/items/lost/stream", largeLimit, false),
+                    new Variant("stream-large-gzip", "/api/items/lost/stream", largeLimit, true));
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            SplittableRandom random = new SplittableRandom(seed);
+            byte[] buffer = new byte[8192];
+
+            Map<String, Object> results = new LinkedHashMap<>();
+            System.out.printf("%n%-18s %6s %12s %14s %11s %9s%n",
+                    "variant", "limit", "wire bytes", "allocated KB", "statements", "mean ms");
+            for (Variant variant : variants) {
+                for (int i = 0; i < warmup; i++) {
+                    measure(client, request(base, variant, items, random), buffer, threads, statistics);
+                }
+                long wire = 0, allocated = 0, statements = 0, nanos = 0;
+                for (int i = 0; i < requests; i++) {
+                    Sample sample = measure(client, request(base, variant, items, random), buffer, threads, statistics);
+                    wire += sample.wireBytes();
+                    allocated += sample.allocatedBytes();
+                    statements += sample.statements();
+                    nanos += sample.nanos();
+                }
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("limit", variant.limit());
+                row.put("gzip", variant.gzip());
+                row.put("meanWireBytes", wire / requests);
+                row.put("meanAllocatedBytes", allocated / requests);
+                row.put("meanStatements", (double) statements / requests);
+                row.put("meanMillis", nanos / 1e6 / requests);
+                results.put(variant.name(), row);
+                System.out.printf("%-18s %6d %12d %14d %11.1f %9.2f%n", variant.name(), variant.limit(), wire / requests,
+                        allocated / requests / 1024, (double) statements / requests, nanos / 1e6 / requests);
+            }
+
+            Map<String, Object> output = new LinkedHashMap<>();
+            output.put("items", items);
+            output.put("requests", requests);
+            output.put("variants", results);
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), output);
+            System.out.println("\nWritten to " + report);
+        }
+    }
+
+    // A random keyset cursor inside the seeded id range, so pages are full and rarely repeat
+    private static HttpRequest request(URI base, Variant variant, long items, SplittableRandom random) {
+        long cursor = variant.limit() + 1 + random.nextLong(Math.max(1, items - variant.limit()));
+        HttpRequest.Builder builder = HttpRequest.newBuilder(
+                        base.resolve(variant.path() + "?limit=" + variant.limit() + "&cursor=" + cursor))
+                .timeout(Duration.ofSeconds(30));
+        if (variant.gzip()) {
+            builder.header("Accept-Encoding", "gzip");
+        }
+        return builder.build();
+    }
+
+    // The client never decompresses, so the body length is what crossed the wire (headers excluded)
+    private static Sample measure(HttpClient client, HttpRequest request, byte[] buffer,
+                                  com.sun.management.ThreadMXBean threads, Statistics statistics)
+            throws IOException, InterruptedException {
+        long statementsBefore = statistics.getPrepareStatementCount();
+        long allocatedBefore = threads.getTotalThreadAllocatedBytes();
+        long started = System.nanoTime();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        long bytes = 0;
+        try (InputStream body = response.body()) {
+            for (int read; (read = body.read(buffer)) != -1; ) {
+                bytes += read;
+            }
+        }
+        long nanos = System.nanoTime() - started;
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.uri() + " answered " + response.statusCode());
+        }
+        return new Sample(bytes, threads.getTotalThreadAllocatedBytes() - allocatedBefore,
+                statistics.getPrepareStatementCount() - statementsBefore, nanos);
+    }
+}
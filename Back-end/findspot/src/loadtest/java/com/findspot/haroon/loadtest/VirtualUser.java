@@ -0,0 +1,211 @@
+package com.findspot.haroon.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * One simulated client running on its own virtual thread: it picks scenarios from the weighted mix
+ * back to back (closed model) and keeps its own access token and refresh cookie like a browser would.
+ */
+class VirtualUser implements Runnable {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final Map<Scenario, ScenarioStats> stats;
+    private final LoadGenerator.Control control;
+    private final Scenario[] scenarios;
+    private final int[] cumulativeWeights;
+    private final Random random;
+    private final String username;
+
+    private String accessToken;
+    private String refreshCookie;
+
+    VirtualUser(int index, LoadTestConfig config, HttpClient client, URI baseUri, ObjectMapper objectMapper,
+                Map<Scenario, ScenarioStats> stats, LoadGenerator.Control control) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.stats = stats;
+        this.control = control;
+        this.random = new Random(config.seed() * 31 + index);
+        this.username = DataGenerator.username(1 + random.nextInt(config.users()));
+
+        this.scenarios = config.mix().keySet().toArray(new Scenario[0]);
+        this.cumulativeWeights = new int[scenarios.length];
+        int total = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            total += config.mix().get(scenarios[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    @Override
+    public void run() {
+        while (control.running()) {
+            Scenario scenario = pickScenario();
+            try {
+                if (scenario.authenticated() && accessToken == null && !login()) {
+                    if (control.recording()) {
+                        stats.get(scenario).record(0, false);
+                    }
+                    Thread.sleep(100); // don't hammer a failing login endpoint
+                    continue;
+                }
+                long started = System.nanoTime();
+                boolean success = execute(scenario);
+                long micros = (System.nanoTime() - started) / 1_000;
+                if (control.recording()) {
+                    stats.get(scenario).record(micros, success);
+                }
+            } catch (IOException e) {
+                if (control.recording()) {
+                    stats.get(scenario).record(0, false);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private Scenario pickScenario() {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return scenarios[i];
+            }
+        }
+        return scenarios[scenarios.length - 1];
+    }
+
+    private boolean execute(Scenario scenario) throws IOException, InterruptedException {
+        switch (scenario) {
+            case BROWSE_LOST:
+                return ok(send(get(browsePath("lost"), false)));
+            case BROWSE_FOUND:
+                return ok(send(get(browsePath("found"), false)));
+            case LOGIN_REFRESH:
+                // Mostly silent refreshes, with the occasional fresh sign-in
+                return refreshCookie == null || random.nextInt(10) == 0 ? login() : refresh();
+            case REPORT_ITEM:
+                return authenticated(send(reportItem()));
+            case MY_ITEMS:
+                return authenticated(send(get("/api/items/my-items?page=0&limit=10", true)));
+            case STATS:
+                return authenticated(send(get("/api/users/stats", true)));
+            default:
+                throw new IllegalStateException("Unhandled scenario " + scenario);
+        }
+    }
+
+    // Most visitors stay on the first page; a few filter by category or page further
+    private String browsePath(String type) {
+        int page = random.nextInt(10) < 7 ? 0 : 1 + random.nextInt(9);
+        StringBuilder path = new StringBuilder("/api/items/").append(type)
+                .append("?page=").append(page)
+                .append("&limit=").append(random.nextBoolean() ? 10 : 20);
+        if (random.nextInt(10) < 4) {
+            path.append("&category=")
+                    .append(DataGenerator.CATEGORIES[random.nextInt(DataGenerator.CATEGORIES.length)]);
+        }
+        return path.toString();
+    }
+
+    private HttpRequest reportItem() throws IOException {
+        boolean lost = random.nextBoolean();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("title", (lost ? "Lost" : "Found") + " item from load test");
+        body.put("description", "Reported by " + username + " during a load test run");
+        body.put("category", DataGenerator.CATEGORIES[random.nextInt(DataGenerator.CATEGORIES.length)]);
+        body.put("location", DataGenerator.LOCATIONS[random.nextInt(DataGenerator.LOCATIONS.length)]);
+        body.put("date", LocalDate.now().toString());
+        body.put("images", List.of());
+        if (!lost) {
+            body.put("contactPreference", "email");
+            body.put("agreedToTerms", true);
+        }
+        return request("/api/items/" + (lost ? "lost" : "found"), true)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .header("Content-Type", "application/json")
+                .build();
+    }
+
+    private boolean login() throws IOException, InterruptedException {
+        Map<String, String> credentials = Map.of("username", username, "password", DataGenerator.PASSWORD);
+        HttpRequest request = request("/api/auth/login", false)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(credentials)))
+                .header("Content-Type", "application/json")
+                .build();
+        return acceptTokens(client.send(request, HttpResponse.BodyHandlers.ofString()));
+    }
+
+    private boolean refresh() throws IOException, InterruptedException {
+        HttpRequest request = request("/api/auth/refresh-token", false)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .header("Cookie", refreshCookie)
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 401) {
+            refreshCookie = null;
+        }
+        return acceptTokens(response);
+    }
+
+    private boolean acceptTokens(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() != 200) {
+            return false;
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        accessToken = body.path("accessToken").asText(null);
+        // The cookie is Secure, which java.net.CookieManager won't replay over plain http
+        for (String header : response.headers().allValues("set-cookie")) {
+            if (header.startsWith("refreshToken=")) {
+                refreshCookie = header.substring(0, header.indexOf(';') > 0 ? header.indexOf(';') : header.length());
+            }
+        }
+        return accessToken != null;
+    }
+
+    private HttpResponse<Void> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private HttpRequest get(String path, boolean authenticated) {
+        return request(path, authenticated).GET().build();
+    }
+
+    private HttpRequest.Builder request(String path, boolean authenticated) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(TIMEOUT);
+        if (authenticated) {
+            builder.header("Authorization", "Bearer " + accessToken);
+        }
+        return builder;
+    }
+
+    private boolean authenticated(HttpResponse<?> response) {
+        if (response.statusCode() == 401) {
+            accessToken = null; // expired, sign in again before the next authenticated request
+        }
+        return ok(response);
+    }
+
+    private static boolean ok(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2 || response.statusCode() == 304;
+    }
+}
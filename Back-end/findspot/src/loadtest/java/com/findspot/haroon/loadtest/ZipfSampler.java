@@ -0,0 +1,71 @@
+package com.findspot.haroon.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * Draws ranks 1..n with probability proportional to 1 / rank^exponent in constant time and memory,
+ * using rejection-inversion (Hormann and Derflinger), so skewing ten million users needs no table.
+ */
+final class ZipfSampler {
+
+    private final long n;
+    private final double exponent;
+    private final double hIntegralX1;
+    private final double hIntegralN;
+    private final double s;
+
+    ZipfSampler(long n, double exponent) {
+        if (n < 1 || exponent <= 0) {
+            throw new IllegalArgumentException("Zipf needs n >= 1 and a positive exponent");
+        }
+        this.n = n;
+        this.exponent = exponent;
+        this.hIntegralX1 = hIntegral(1.5) - 1;
+        this.hIntegralN = hIntegral(n + 0.5);
+        this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    // 1-based rank; rank 1 is the most frequent
+    long sample(SplittableRandom random) {
+        while (true) {
+            double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+            double x = hIntegralInverse(u);
+            long k = (long) (x + 0.5);
+            if (k < 1) {
+                k = 1;
+            } else if (k > n) {
+                k = n;
+            }
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return helper2((1 - exponent) * logX) * logX;
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = x * (1 - exponent);
+        if (t < -1) {
+            t = -1;
+        }
+        return Math.exp(helper1(t) * x);
+    }
+
+    // log1p(x) / x, stable near zero
+    private static double helper1(double x) {
+        return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+    }
+
+    // expm1(x) / x, stable near zero
+    private static double helper2(double x) {
+        return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+    }
+}
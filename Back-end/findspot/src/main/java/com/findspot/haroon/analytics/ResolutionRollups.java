@@ -0,0 +1,375 @@
+package com.findspot.haroon.analytics;
+
+import com.findspot.haroon.models.Item;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Daily pre-aggregated report and resolution figures, kept up to date as items change.
+ *
+ * Each committed report, resolution or reopen adds to four rollup rows for its day: its type with
+ * its category and location, with its category across all locations, with its location across all
+ * categories, and across both. So any of those slices is answered by reading one row per day and
+ * type, however many items there are. Rows count reports, resolutions, recoveries and reopens, and
+ * carry a t-digest of hours from report to resolution, from which the median and p90 of a week or
+ * a month come out by merging the daily digests.
+ *
+ * Item writes only add to an in-memory delta; a periodic flush folds the deltas into the table,
+ * one short transaction per row, and a failed row is kept for the next flush. Counts are upserted
+ * in place; a digest is read under a row lock, merged and written back, so several nodes can
+ * flush the same row. Deltas not yet flushed when a node dies are lost.
+ *
+ * Resolved and recovered count the resolutions that stand: reopening an item, or closing one that
+ * was claimed, takes its resolution back from the day it was counted on. The hours digest can't
+ * forget a sample, so it keeps the first resolution of every item that left ACTIVE.
+ *
+ * When the table has nothing before today, as on the first start, past days are reconstructed
+ * from the items and the archive, one day per transaction, under the same definition: each item
+ * counts on the day of its current resolution, and reopens come from the item history.
+ */
+@Component
+public class ResolutionRollups {
+
+    public static final short ALL_CATEGORIES = 0;
+    public static final String ALL_LOCATIONS = "";
+
+    private static final int MAX_LOCATION_KEY_LENGTH = 100;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final String UPSERT_COUNTS_SQL = "INSERT INTO resolution_rollups "
+            + "(day, type, category_id, location_key, reported, resolved, recovered, reopened) "
+            + "VALUES (:day, :type, :categoryId, :locationKey, :reported, :resolved, :recovered, :reopened) "
+            + "ON DUPLICATE KEY UPDATE reported = reported + VALUES(reported), resolved = resolved + VALUES(resolved), "
+            + "recovered = recovered + VALUES(recovered), reopened = reopened + VALUES(reopened)";
+
+    private static final String UPSERT_WITH_DIGEST_SQL = "INSERT INTO resolution_rollups "
+            + "(day, type, category_id, location_key, reported, resolved, recovered, reopened, hours_to_resolve) "
+            + "VALUES (:day, :type, :categoryId, :locationKey, :reported, :resolved, :recovered, :reopened, :digest) "
+            + "ON DUPLICATE KEY UPDATE reported = reported + VALUES(reported), resolved = resolved + VALUES(resolved), "
+            + "recovered = recovered + VALUES(recovered), reopened = reopened + VALUES(reopened), "
+            + "hours_to_resolve = VALUES(hours_to_resolve)";
+
+    private static final String LOCK_DIGEST_SQL = "SELECT hours_to_resolve FROM resolution_rollups "
+            + "WHERE category_id = :categoryId AND location_key = :locationKey AND type = :type AND day = :day FOR UPDATE";
+
+    private static final String INSERT_SQL = "INSERT INTO resolution_rollups "
+            + "(day, type, category_id, location_key, reported, resolved, recovered, reopened, hours_to_resolve) "
+            + "VALUES (:day, :type, :categoryId, :locationKey, :reported, :resolved, :recovered, :reopened, :digest)";
+
+    private static final String BACKFILL_COLUMNS = "SELECT type, category_id, location, status, reported_date, resolved_date ";
+
+    private record Key(LocalDate day, Item.ItemType type, short categoryId, String locationKey) {
+    }
+
+    private static final class Delta {
+        long reported;
+        long resolved;
+        long recovered;
+        long reopened;
+        TDigest hoursToResolve; // null until a resolution is added
+
+        void add(Delta other) {
+            reported += other.reported;
+            resolved += other.resolved;
+            recovered += other.recovered;
+            reopened += other.reopened;
+            if (other.hoursToResolve != null) {
+                digest().merge(other.hoursToResolve);
+            }
+        }
+
+        TDigest digest() {
+            if (hoursToResolve == null) {
+                hoursToResolve = new TDigest();
+            }
+            return hoursToResolve;
+        }
+    }
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Recording holds the read lock so that many writers add at once; the flush swaps the map under the write lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Key, Delta> pending = new ConcurrentHashMap<>();
+
+    private final Counter flushed;
+    private final Counter failed;
+
+    public ResolutionRollups(MeterRegistry meterRegistry) {
+        this.flushed = Counter.builder("findspot.analytics.rollups.flushed")
+                .description("Resolution rollup rows updated from item events")
+                .register(meterRegistry);
+        this.failed = Counter.builder("findspot.analytics.rollups.failed")
+                .description("Resolution rollup row updates that failed and were kept for the next flush")
+                .register(meterRegistry);
+    }
+
+    // Called after a new report commits
+    public void reported(Item item) {
+        Delta delta = new Delta();
+        delta.reported = 1;
+        record(item.getReportedDate().toLocalDate(), item, delta);
+    }
+
+    // Called after a status change commits. The resolution the item had, if any, is taken back from
+    // its day and the one it has now is added to its own, so only resolutions that stand are counted
+    public void statusChanged(Item item, Item.ItemStatus fromStatus, LocalDateTime fromResolvedDate) {
+        Item.ItemStatus toStatus = item.getStatus();
+        if (fromStatus != Item.ItemStatus.ACTIVE && fromResolvedDate != null) {
+            Delta undo = new Delta();
+            undo.resolved = -1;
+            undo.recovered = fromStatus == Item.ItemStatus.CLAIMED ? -1 : 0;
+            record(fromResolvedDate.toLocalDate(), item, undo);
+        }
+        if (toStatus != Item.ItemStatus.ACTIVE && item.getResolvedDate() != null) {
+            Delta delta = new Delta();
+            delta.resolved = 1;
+            delta.recovered = toStatus == Item.ItemStatus.CLAIMED ? 1 : 0;
+            if (fromStatus == Item.ItemStatus.ACTIVE) {
+                delta.digest().add(hoursBetween(item.getReportedDate(), item.getResolvedDate()));
+            }
+            record(item.getResolvedDate().toLocalDate(), item, delta);
+        } else if (fromStatus != Item.ItemStatus.ACTIVE && toStatus == Item.ItemStatus.ACTIVE) {
+            Delta delta = new Delta();
+            delta.reopened = 1;
+            record(LocalDate.now(), item, delta);
+        }
+    }
+
+    // Lowercase words separated by single spaces, so "Main Library, 2nd floor" and "main library 2nd floor" share rows
+    public static String locationKey(String location) {
+        if (location == null) {
+            return ALL_LOCATIONS;
+        }
+        String key = SEPARATORS.matcher(location.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+        return key.length() > MAX_LOCATION_KEY_LENGTH ? key.substring(0, MAX_LOCATION_KEY_LENGTH).trim() : key;
+    }
+
+    @Scheduled(fixedDelayString = "${findspot.analytics.flush-interval-ms:10000}")
+    public void flush() {
+        Map<Key, Delta> batch;
+        lock.writeLock().lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new ConcurrentHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // A fixed row order keeps two nodes flushing the same rows from locking them in opposite orders
+        List<Map.Entry<Key, Delta>> rows = new ArrayList<>(batch.entrySet());
+        rows.sort(Map.Entry.comparingByKey(Comparator.comparing(Key::day)
+                .thenComparing(Key::type)
+                .thenComparingInt(Key::categoryId)
+                .thenComparing(Key::locationKey)));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (Map.Entry<Key, Delta> row : rows) {
+            try {
+                transaction.executeWithoutResult(status -> write(row.getKey(), row.getValue()));
+                flushed.increment();
+            } catch (RuntimeException e) {
+                failed.increment();
+                restore(row.getKey(), row.getValue());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // Off the startup thread: reconstructing years of history takes a while
+    @EventListener(ApplicationReadyEvent.class)
+    public void startBackfill() {
+        Thread.ofPlatform().daemon().name("rollup-backfill").start(this::backfill);
+    }
+
+    void backfill() {
+        LocalDate today = LocalDate.now();
+        Boolean started = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM resolution_rollups WHERE day < :today)",
+                new MapSqlParameterSource("today", today), Boolean.class);
+        if (Boolean.TRUE.equals(started)) {
+            return;
+        }
+        LocalDateTime first = jdbcTemplate.queryForObject("SELECT LEAST("
+                        + "COALESCE((SELECT MIN(reported_date) FROM items), :today), "
+                        + "COALESCE((SELECT MIN(reported_date) FROM items_archive), :today))",
+                new MapSqlParameterSource("today", today.atStartOfDay()), LocalDateTime.class);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (LocalDate day = first.toLocalDate(); day.isBefore(today); day = day.plusDays(1)) {
+            LocalDate current = day;
+            // Replacing the whole day makes a second node running the same backfill harmless
+            transaction.executeWithoutResult(status -> replaceDay(current, reconstruct(current)));
+        }
+    }
+
+    private void record(LocalDate day, Item item, Delta delta) {
+        short categoryId = item.getCategoryId();
+        String locationKey = locationKey(item.getLocation());
+        lock.readLock().lock();
+        try {
+            for (Key key : keys(day, item.getType(), categoryId, locationKey)) {
+                pending.compute(key, (k, existing) -> {
+                    Delta sum = existing != null ? existing : new Delta();
+                    sum.add(delta);
+                    return sum;
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void restore(Key key, Delta delta) {
+        lock.readLock().lock();
+        try {
+            pending.compute(key, (k, existing) -> {
+                if (existing == null) {
+                    return delta;
+                }
+                existing.add(delta);
+                return existing;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Key key, Delta delta) {
+        MapSqlParameterSource params = params(key, delta);
+        if (delta.hoursToResolve == null) {
+            jdbcTemplate.update(UPSERT_COUNTS_SQL, params);
+            return;
+        }
+        List<byte[]> stored = jdbcTemplate.query(LOCK_DIGEST_SQL, params, (rs, rowNum) -> rs.getBytes(1));
+        TDigest digest = TDigest.fromBytes(stored.isEmpty() ? null : stored.get(0));
+        digest.merge(delta.hoursToResolve);
+        jdbcTemplate.update(UPSERT_WITH_DIGEST_SQL, params.addValue("digest", digest.toBytes()));
+    }
+
+    // What the items and the archive say happened on one day, as complete rows
+    private Map<Key, Delta> reconstruct(LocalDate day) {
+        MapSqlParameterSource params = new MapSqlParameterSource("from", day.atStartOfDay())
+                .addValue("to", day.plusDays(1).atStartOfDay())
+                .addValue("statuses", List.of(Item.ItemStatus.ACTIVE.name(), Item.ItemStatus.CLAIMED.name(),
+                        Item.ItemStatus.CLOSED.name()))
+                .addValue("resolvedStatuses", List.of(Item.ItemStatus.CLAIMED.name(), Item.ItemStatus.CLOSED.name()));
+        Map<Key, Delta> rows = new HashMap<>();
+
+        jdbcTemplate.query(BACKFILL_COLUMNS + "FROM items "
+                        + "WHERE status IN (:statuses) AND reported_date >= :from AND reported_date < :to "
+                        + "UNION ALL " + BACKFILL_COLUMNS + "FROM items_archive "
+                        + "WHERE reported_date >= :from AND reported_date < :to",
+                params, rs -> {
+                    Delta delta = new Delta();
+                    delta.reported = 1;
+                    accumulate(rows, day, rs, delta);
+                });
+        jdbcTemplate.query(BACKFILL_COLUMNS + "FROM items "
+                        + "WHERE status IN (:resolvedStatuses) AND resolved_date >= :from AND resolved_date < :to "
+                        + "UNION ALL " + BACKFILL_COLUMNS + "FROM items_archive "
+                        + "WHERE status IN (:resolvedStatuses) AND resolved_date >= :from AND resolved_date < :to",
+                params, rs -> {
+                    Delta delta = new Delta();
+                    delta.resolved = 1;
+                    delta.recovered = Item.ItemStatus.CLAIMED.name().equals(rs.getString("status")) ? 1 : 0;
+                    delta.digest().add(hoursBetween(rs.getObject("reported_date", LocalDateTime.class),
+                            rs.getObject("resolved_date", LocalDateTime.class)));
+                    accumulate(rows, day, rs, delta);
+                });
+        jdbcTemplate.query("SELECT i.type, i.category_id, i.location FROM item_history h JOIN items i ON i.id = h.item_id "
+                        + "WHERE h.to_status = :active AND h.from_status IN (:resolvedStatuses) "
+                        + "AND h.occurred_at >= :from AND h.occurred_at < :to "
+                        + "UNION ALL SELECT a.type, a.category_id, a.location FROM item_history h "
+                        + "JOIN items_archive a ON a.id = h.item_id "
+                        + "WHERE h.to_status = :active AND h.from_status IN (:resolvedStatuses) "
+                        + "AND h.occurred_at >= :from AND h.occurred_at < :to",
+                params.addValue("active", Item.ItemStatus.ACTIVE.name()), rs -> {
+                    Delta delta = new Delta();
+                    delta.reopened = 1;
+                    accumulate(rows, day, rs, delta);
+                });
+        return rows;
+    }
+
+    private static void accumulate(Map<Key, Delta> rows, LocalDate day, ResultSet rs, Delta delta) throws SQLException {
+        Item.ItemType type = Item.ItemType.valueOf(rs.getString("type"));
+        for (Key key : keys(day, type, rs.getShort("category_id"), locationKey(rs.getString("location")))) {
+            rows.computeIfAbsent(key, k -> new Delta()).add(delta);
+        }
+    }
+
+    private void replaceDay(LocalDate day, Map<Key, Delta> rows) {
+        jdbcTemplate.update("DELETE FROM resolution_rollups WHERE day = :day", new MapSqlParameterSource("day", day));
+        if (rows.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource[] batch = new MapSqlParameterSource[rows.size()];
+        int i = 0;
+        for (Map.Entry<Key, Delta> row : rows.entrySet()) {
+            TDigest digest = row.getValue().hoursToResolve;
+            batch[i++] = params(row.getKey(), row.getValue()).addValue("digest", digest != null ? digest.toBytes() : null);
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+
+    private static List<Key> keys(LocalDate day, Item.ItemType type, short categoryId, String locationKey) {
+        List<Key> keys = new ArrayList<>(4);
+        keys.add(new Key(day, type, ALL_CATEGORIES, ALL_LOCATIONS));
+        keys.add(new Key(day, type, categoryId, ALL_LOCATIONS));
+        if (!locationKey.isEmpty()) {
+            keys.add(new Key(day, type, ALL_CATEGORIES, locationKey));
+            keys.add(new Key(day, type, categoryId, locationKey));
+        }
+        return keys;
+    }
+
+    private static MapSqlParameterSource params(Key key, Delta delta) {
+        return new MapSqlParameterSource("day", key.day())
+                .addValue("type", key.type().name())
+                .addValue("categoryId", key.categoryId())
+                .addValue("locationKey", key.locationKey())
+                .addValue("reported", delta.reported)
+                .addValue("resolved", delta.resolved)
+                .addValue("recovered", delta.recovered)
+                .addValue("reopened", delta.reopened);
+    }
+
+    private static double hoursBetween(LocalDateTime from, LocalDateTime to) {
+        return Math.max(0, Duration.between(from, to).toSeconds() / 3600.0);
+    }
+}
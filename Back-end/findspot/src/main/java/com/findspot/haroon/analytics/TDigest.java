@@ -0,0 +1,182 @@
+package com.findspot.haroon.analytics;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Merging t-digest: a fixed-size summary of a distribution that answers quantile queries.
+ *
+ * Values are buffered and periodically merged into centroids, sorted by mean, whose weights are
+ * capped by the arcsine scale function, so centroids near the tails stay small and the median
+ * and p90 stay within a fraction of a percent. Two digests merge by adding one's centroids to
+ * the other, which is what lets daily rollups be combined into weeks or months on read. With a
+ * compression of 200 a digest keeps about 120 centroids, 1.5 KB serialized, however much it has seen.
+ *
+ * Not thread-safe.
+ */
+public final class TDigest {
+
+    private static final double COMPRESSION = 200;
+    private static final int BUFFER_SIZE = 512;
+    private static final int CENTROID_BYTES = Double.BYTES + Integer.BYTES;
+
+    private double[] means = new double[0];
+    private int[] weights = new int[0];
+    private int centroids;
+
+    // Grows up to BUFFER_SIZE, so the many digests holding a handful of values stay small
+    private double[] bufferedMeans = new double[8];
+    private int[] bufferedWeights = new int[8];
+    private int buffered;
+
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    public void merge(TDigest other) {
+        other.compress();
+        for (int i = 0; i < other.centroids; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    // NaN when the digest is empty
+    public double quantile(double q) {
+        compress();
+        if (centroids == 0) {
+            return Double.NaN;
+        }
+        if (centroids == 1) {
+            return means[0];
+        }
+        double rank = Math.max(0, Math.min(1, q)) * count;
+
+        // Each centroid's mean sits at the middle of its weight; interpolate between neighbouring middles
+        double cumulative = weights[0] / 2.0;
+        if (rank < cumulative) {
+            return min + (means[0] - min) * (rank / cumulative);
+        }
+        for (int i = 0; i < centroids - 1; i++) {
+            double step = (weights[i] + weights[i + 1]) / 2.0;
+            if (rank < cumulative + step) {
+                return means[i] + (means[i + 1] - means[i]) * ((rank - cumulative) / step);
+            }
+            cumulative += step;
+        }
+        double tail = weights[centroids - 1] / 2.0;
+        return means[centroids - 1] + (max - means[centroids - 1]) * Math.min(1, (rank - cumulative) / tail);
+    }
+
+    public byte[] toBytes() {
+        compress();
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + 2 * Double.BYTES + centroids * CENTROID_BYTES);
+        buffer.putInt(centroids).putDouble(min).putDouble(max);
+        for (int i = 0; i < centroids; i++) {
+            buffer.putDouble(means[i]).putInt(weights[i]);
+        }
+        return buffer.array();
+    }
+
+    // An empty digest for null, so rows written before the first resolution read naturally
+    public static TDigest fromBytes(byte[] bytes) {
+        TDigest digest = new TDigest();
+        if (bytes == null || bytes.length == 0) {
+            return digest;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int size = buffer.getInt();
+        digest.min = buffer.getDouble();
+        digest.max = buffer.getDouble();
+        digest.means = new double[size];
+        digest.weights = new int[size];
+        for (int i = 0; i < size; i++) {
+            digest.means[i] = buffer.getDouble();
+            digest.weights[i] = buffer.getInt();
+            digest.count += digest.weights[i];
+        }
+        digest.centroids = size;
+        return digest;
+    }
+
+    private void add(double mean, int weight) {
+        if (buffered == bufferedMeans.length) {
+            if (buffered < BUFFER_SIZE) {
+                bufferedMeans = Arrays.copyOf(bufferedMeans, buffered * 2);
+                bufferedWeights = Arrays.copyOf(bufferedWeights, buffered * 2);
+            } else {
+                compress();
+            }
+        }
+        bufferedMeans[buffered] = mean;
+        bufferedWeights[buffered] = weight;
+        buffered++;
+        count += weight;
+        min = Math.min(min, mean);
+        max = Math.max(max, mean);
+    }
+
+    // Folds the buffer into the centroids in one sorted pass
+    private void compress() {
+        if (buffered == 0) {
+            return;
+        }
+        int total = centroids + buffered;
+        double[] allMeans = Arrays.copyOf(means, total);
+        int[] allWeights = Arrays.copyOf(weights, total);
+        System.arraycopy(bufferedMeans, 0, allMeans, centroids, buffered);
+        System.arraycopy(bufferedWeights, 0, allWeights, centroids, buffered);
+        buffered = 0;
+
+        Integer[] order = new Integer[total];
+        for (int i = 0; i < total; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(allMeans[a], allMeans[b]));
+
+        double[] mergedMeans = new double[total];
+        int[] mergedWeights = new int[total];
+        int merged = 0;
+        double weightSoFar = 0;
+        double limit = weightLimit(0);
+        double currentMean = allMeans[order[0]];
+        long currentWeight = allWeights[order[0]];
+        for (int i = 1; i < total; i++) {
+            int next = order[i];
+            if (weightSoFar + currentWeight + allWeights[next] <= limit) {
+                currentWeight += allWeights[next];
+                currentMean += (allMeans[next] - currentMean) * allWeights[next] / currentWeight;
+            } else {
+                mergedMeans[merged] = currentMean;
+                mergedWeights[merged++] = (int) currentWeight;
+                weightSoFar += currentWeight;
+                limit = weightLimit(weightSoFar);
+                currentMean = allMeans[next];
+                currentWeight = allWeights[next];
+            }
+        }
+        mergedMeans[merged] = currentMean;
+        mergedWeights[merged++] = (int) currentWeight;
+
+        means = Arrays.copyOf(mergedMeans, merged);
+        weights = Arrays.copyOf(mergedWeights, merged);
+        centroids = merged;
+    }
+
+    // Cumulative weight a centroid starting at weightSoFar may grow to: one unit further on the k scale
+    private double weightLimit(double weightSoFar) {
+        double q = weightSoFar / count;
+        double k = COMPRESSION / (2 * Math.PI) * Math.asin(2 * q - 1) + 1;
+        double qLimit = k >= COMPRESSION / 4 ? 1 : (Math.sin(k * 2 * Math.PI / COMPRESSION) + 1) / 2;
+        return qLimit * count;
+    }
+}
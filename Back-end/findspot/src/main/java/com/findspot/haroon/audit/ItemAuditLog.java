@@ -0,0 +1,164 @@
+package com.findspot.haroon.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only history of item changes, written off the request path.
+ *
+ * Request threads claim a slot in a fixed-size ring with one compare-and-set, store the event and
+ * publish the slot's sequence; nothing blocks and nothing is allocated beyond the event. A single
+ * writer thread reads published slots in order and inserts them into item_history in JDBC batches.
+ * If the writer falls a whole ring behind, because the database is slow or down, new events are
+ * dropped and counted rather than slowing down item writes.
+ */
+@Component
+public class ItemAuditLog {
+
+    public enum Action { REPORTED, UPDATED, STATUS_CHANGED, REOPENED, DELETED }
+
+    public record Event(long itemId, Action action, String actor, String fromStatus, String toStatus, String fields,
+                        LocalDateTime occurredAt) {
+    }
+
+    private static final String INSERT_SQL = "INSERT INTO item_history "
+            + "(item_id, action, actor, from_status, to_status, fields, occurred_at) "
+            + "VALUES (:itemId, :action, :actor, :fromStatus, :toStatus, :fields, :occurredAt)";
+
+    private final AtomicReferenceArray<Event> slots;
+    private final AtomicLongArray published; // sequence whose event each slot holds, once readable
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong(); // next sequence handed to a producer
+    private volatile long consumed;                       // next sequence to read; written by the writer only
+    private volatile boolean running = true;
+    private Thread writer;
+
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+
+    @Value("${findspot.audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${findspot.audit.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ItemAuditLog(MeterRegistry meterRegistry, @Value("${findspot.audit.ring-size:8192}") int ringSize) {
+        int capacity = Integer.highestOneBit(Math.max(ringSize, 16) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+        this.mask = capacity - 1;
+        this.written = Counter.builder("findspot.audit.written")
+                .description("Item history events inserted")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("findspot.audit.dropped")
+                .description("Item history events discarded because the ring was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("findspot.audit.failed")
+                .description("Item history events lost to a failed batch insert")
+                .register(meterRegistry);
+        Gauge.builder("findspot.audit.backlog", this, log -> log.claimed.get() - log.consumed)
+                .description("Item history events waiting for the writer")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer = Thread.ofPlatform().daemon().name("item-audit-writer").start(this::drain);
+    }
+
+    // Called after the item write has committed; never blocks
+    public void record(Event event) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= slots.length()) {
+                dropped.increment();
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        int index = (int) (sequence & mask);
+        slots.set(index, event);
+        published.set(index, sequence);
+        if (sequence - consumed == slots.length() / 2) {
+            // A burst is filling the ring; wake the writer instead of waiting out its flush interval
+            LockSupport.unpark(writer);
+        }
+    }
+
+    // Lets the writer insert what is already in the ring before the application stops
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void drain() {
+        List<Event> batch = new ArrayList<>(batchSize);
+        while (running || consumed < claimed.get()) {
+            long next = consumed;
+            int index = (int) (next & mask);
+            if (batch.size() < batchSize && published.get(index) == next) {
+                batch.add(slots.get(index));
+                slots.set(index, null);
+                consumed = next + 1;
+                continue;
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+                continue;
+            }
+            // Nothing published yet, or a producer is between claiming its slot and publishing it
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(running ? flushIntervalMs : 1));
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void write(List<Event> batch) {
+        MapSqlParameterSource[] rows = new MapSqlParameterSource[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            Event event = batch.get(i);
+            rows[i] = new MapSqlParameterSource("itemId", event.itemId())
+                    .addValue("action", event.action().name())
+                    .addValue("actor", event.actor())
+                    .addValue("fromStatus", event.fromStatus())
+                    .addValue("toStatus", event.toStatus())
+                    .addValue("fields", event.fields())
+                    .addValue("occurredAt", event.occurredAt());
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.findspot.haroon.autocomplete;
+
+import com.findspot.haroon.categories.CategoryRegistry;
+import com.findspot.haroon.dto.SuggestionDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typo-tolerant suggestions for the location, category and title filters, answered from memory.
+ *
+ * Item writes adjust the counts after they commit. A periodic rebuild from the items table folds in
+ * what bypasses the service (archival, the tombstone sweeper, account deletion) and corrects any
+ * drift. Changes made while a rebuild is reading are replayed onto the new tries before they are
+ * swapped in; one that committed just before the read may be counted twice until the next rebuild,
+ * which only nudges the ranking.
+ */
+@Component
+public class AutocompleteIndex {
+
+    public enum Field { LOCATION, CATEGORY, TITLE }
+
+    private record Change(ItemTerms before, ItemTerms after) {
+    }
+
+    private record FieldMatch(Field field, SuggestionTrie.Match match) {
+    }
+
+    @Value("${findspot.autocomplete.max-terms:50000}")
+    private int maxTerms;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Field, SuggestionTrie> tries;   // null until the first rebuild finishes
+    private List<Change> changesDuringRebuild;  // non-null while a rebuild is reading
+
+    // Never touches the database; returns nothing until the first rebuild has run
+    public List<SuggestionDto> suggest(String query, Field field, int limit) {
+        int effectiveLimit = Math.max(1, Math.min(limit, SuggestionTrie.TOP_K));
+        List<Field> fields = field != null ? List.of(field) : List.of(Field.values());
+
+        lock.readLock().lock();
+        try {
+            if (tries == null) {
+                return List.of();
+            }
+            List<FieldMatch> matches = new ArrayList<>();
+            for (Field candidate : fields) {
+                for (SuggestionTrie.Match match : tries.get(candidate).search(query, effectiveLimit)) {
+                    matches.add(new FieldMatch(candidate, match));
+                }
+            }
+            // Closer spellings first, then the values most items use
+            matches.sort((a, b) -> a.match().distance() != b.match().distance()
+                    ? Integer.compare(a.match().distance(), b.match().distance())
+                    : Integer.compare(b.match().entry().count, a.match().entry().count));
+
+            List<SuggestionDto> suggestions = new ArrayList<>(effectiveLimit);
+            for (FieldMatch match : matches.subList(0, Math.min(effectiveLimit, matches.size()))) {
+                SuggestionTrie.Entry entry = match.match().entry();
+                suggestions.add(new SuggestionDto(entry.value, match.field().name().toLowerCase(Locale.ROOT), entry.count));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // before is null for a new item, after is null for a deleted one
+    public void update(ItemTerms before, ItemTerms after) {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(new Change(before, after));
+            }
+            if (tries != null) {
+                apply(tries, before, after);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${findspot.autocomplete.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Field, SuggestionTrie> next = new EnumMap<>(Field.class);
+        try {
+            for (Field field : Field.values()) {
+                next.put(field, load(field));
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Change change : changesDuringRebuild) {
+                apply(next, change.before(), change.after());
+            }
+            changesDuringRebuild = null;
+            tries = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Most used values first, so the cap keeps the ones worth suggesting
+    private SuggestionTrie load(Field field) {
+        // Items store the category id; suggestions offer its display name
+        boolean category = field == Field.CATEGORY;
+        String column = category ? "category_id" : field.name().toLowerCase(Locale.ROOT);
+        SuggestionTrie trie = new SuggestionTrie(maxTerms);
+        jdbcTemplate.query("SELECT " + column + " AS term, COUNT(*) AS uses FROM items WHERE deleted_at IS NULL "
+                        + "GROUP BY " + column + " ORDER BY uses DESC LIMIT :limit",
+                new MapSqlParameterSource("limit", maxTerms),
+                rs -> {
+                    String term = category ? categoryRegistry.nameOf(rs.getShort("term")) : rs.getString("term");
+                    if (term != null) {
+                        trie.load(term, rs.getInt("uses"));
+                    }
+                });
+        trie.rankAll();
+        return trie;
+    }
+
+    private static void apply(Map<Field, SuggestionTrie> target, ItemTerms before, ItemTerms after) {
+        for (Field field : Field.values()) {
+            String previous = before != null ? before.get(field) : null;
+            String current = after != null ? after.get(field) : null;
+            if (previous != null && previous.equals(current)) {
+                continue;
+            }
+            if (previous != null) {
+                target.get(field).add(previous, -1);
+            }
+            if (current != null) {
+                target.get(field).add(current, 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.findspot.haroon.autocomplete;
+
+import com.findspot.haroon.models.Item;
+
+// The values of an item that feed the suggestion index, captured before and after a write
+public record ItemTerms(String title, String category, String location) {
+
+    // Items only hold the category id, so the caller supplies its display name
+    public static ItemTerms of(Item item, String categoryName) {
+        return new ItemTerms(item.getTitle(), categoryName, item.getLocation());
+    }
+
+    String get(AutocompleteIndex.Field field) {
+        switch (field) {
+            case TITLE:
+                return title;
+            case CATEGORY:
+                return category;
+            default:
+                return location;
+        }
+    }
+}
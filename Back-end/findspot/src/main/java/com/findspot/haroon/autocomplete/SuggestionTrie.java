@@ -0,0 +1,452 @@
+package com.findspot.haroon.autocomplete;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Radix trie over normalized terms with frequency-ranked completions.
+ *
+ * A term is reachable from the start of each of its words, so "lib" finds "Main Library". Every
+ * node keeps the most frequent entries of its subtree, which makes an exact prefix lookup a walk of
+ * at most {@link #MAX_KEY_LENGTH} characters. Queries of three or more characters also match
+ * prefixes one edit away (insertion, deletion, substitution or adjacent swap) by walking the trie
+ * with an edit-distance row and pruning every branch that is already more than one edit off.
+ *
+ * Edge labels are ranges of the indexed keys rather than copies, so a term costs a few small nodes
+ * per word instead of one node per character. Not thread-safe; {@link AutocompleteIndex} guards it.
+ */
+final class SuggestionTrie {
+
+    static final int TOP_K = 10;
+    static final int MAX_KEY_LENGTH = 40;
+    private static final int FUZZY_MIN_LENGTH = 3;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    static final class Entry {
+        final String key;
+        final String value;
+        int count;
+
+        private Entry(String key, String value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    record Match(Entry entry, int distance) {
+    }
+
+    /**
+     * The edge into a node is source[start, end). Sources are indexed keys, and the characters of a
+     * source just before start always spell the path from the root, which lets a node with a single
+     * child absorb it by moving the child's start back.
+     */
+    private static final class Node {
+        String source;
+        int start;
+        int end;
+        char[] firsts = NO_LABELS;   // sorted first characters of the children's edges
+        Node[] children = NO_CHILDREN;
+        Entry[] terminals = NO_ENTRIES;
+        Entry[] top = NO_ENTRIES;
+
+        Node(String source, int start, int end) {
+            this.source = source;
+            this.start = start;
+            this.end = end;
+        }
+
+        int length() {
+            return end - start;
+        }
+
+        char charAt(int i) {
+            return source.charAt(start + i);
+        }
+
+        Node child(char first) {
+            int i = Arrays.binarySearch(firsts, first);
+            return i >= 0 ? children[i] : null;
+        }
+
+        void putChild(Node child) {
+            char first = child.charAt(0);
+            int i = Arrays.binarySearch(firsts, first);
+            if (i >= 0) {
+                children[i] = child;
+                return;
+            }
+            int at = -i - 1;
+            char[] nextFirsts = new char[firsts.length + 1];
+            System.arraycopy(firsts, 0, nextFirsts, 0, at);
+            nextFirsts[at] = first;
+            System.arraycopy(firsts, at, nextFirsts, at + 1, firsts.length - at);
+            firsts = nextFirsts;
+            children = insert(children, at, child);
+        }
+
+        void removeChild(char first) {
+            int i = Arrays.binarySearch(firsts, first);
+            if (i >= 0) {
+                char[] nextFirsts = new char[firsts.length - 1];
+                Node[] nextChildren = new Node[children.length - 1];
+                System.arraycopy(firsts, 0, nextFirsts, 0, i);
+                System.arraycopy(firsts, i + 1, nextFirsts, i, firsts.length - i - 1);
+                System.arraycopy(children, 0, nextChildren, 0, i);
+                System.arraycopy(children, i + 1, nextChildren, i, children.length - i - 1);
+                firsts = nextFirsts;
+                children = nextChildren;
+            }
+        }
+    }
+
+    private final Node root = new Node("", 0, 0);
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final int maxTerms;
+
+    SuggestionTrie(int maxTerms) {
+        this.maxTerms = maxTerms;
+    }
+
+    // Lowercase, no accents, punctuation collapsed to single spaces
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Changes how many items use the value. Entries appear at their first positive count and
+     * disappear when it drops to zero; once the trie holds maxTerms entries, new ones are ignored
+     * until the next rebuild.
+     */
+    void add(String value, int delta) {
+        add(value, delta, true);
+    }
+
+    // Bulk loading skips ranking; call rankAll() once at the end
+    void load(String value, int count) {
+        add(value, count, false);
+    }
+
+    void rankAll() {
+        rank(root);
+    }
+
+    List<Match> search(String query, int limit) {
+        String key = normalize(query);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            key = key.substring(0, MAX_KEY_LENGTH);
+        }
+
+        Map<Entry, Integer> distances = new IdentityHashMap<>();
+        Node exact = walk(key);
+        if (exact != null) {
+            for (Entry entry : exact.top) {
+                distances.put(entry, 0);
+            }
+        }
+        if (key.length() >= FUZZY_MIN_LENGTH && distances.size() < limit) {
+            int[] first = new int[key.length() + 1];
+            for (int i = 0; i < first.length; i++) {
+                first[i] = i;
+            }
+            fuzzy(root, key, (char) 0, null, first, distances);
+        }
+
+        List<Match> matches = new ArrayList<>(distances.size());
+        distances.forEach((entry, distance) -> matches.add(new Match(entry, distance)));
+        matches.sort((a, b) -> a.distance() != b.distance() ? Integer.compare(a.distance(), b.distance())
+                : compare(a.entry(), b.entry()));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    private void add(String value, int delta, boolean rank) {
+        String key = normalize(value);
+        if (key.isEmpty() || delta == 0) {
+            return;
+        }
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            if (delta < 0 || entries.size() >= maxTerms) {
+                return;
+            }
+            entry = new Entry(key, value.trim());
+            entry.count = delta;
+            entries.put(key, entry);
+            for (int from : pathStarts(key)) {
+                insert(key, from, pathEnd(key, from), entry);
+            }
+        } else {
+            entry.count += delta;
+            if (entry.count <= 0) {
+                entries.remove(key);
+                for (int from : pathStarts(key)) {
+                    remove(key, from, pathEnd(key, from), entry);
+                }
+            }
+        }
+        if (rank) {
+            for (int from : pathStarts(key)) {
+                rankPath(key, from, pathEnd(key, from));
+            }
+        }
+    }
+
+    // Where each word starts; paths that repeat an earlier one ("a a") are skipped
+    private static int[] pathStarts(String key) {
+        int[] starts = new int[key.length()];
+        int count = 0;
+        for (int i = 0; i < key.length(); i++) {
+            if (i == 0 || key.charAt(i - 1) == ' ') {
+                boolean repeated = false;
+                for (int j = 0; j < count && !repeated; j++) {
+                    repeated = key.regionMatches(starts[j], key, i, Math.max(pathEnd(key, i) - i, pathEnd(key, starts[j]) - starts[j]));
+                }
+                if (!repeated) {
+                    starts[count++] = i;
+                }
+            }
+        }
+        return Arrays.copyOf(starts, count);
+    }
+
+    private static int pathEnd(String key, int from) {
+        return Math.min(key.length(), from + MAX_KEY_LENGTH);
+    }
+
+    private void insert(String key, int from, int to, Entry entry) {
+        Node node = root;
+        int i = from;
+        while (i < to) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                Node leaf = new Node(key, i, to);
+                leaf.terminals = new Entry[]{entry};
+                node.putChild(leaf);
+                return;
+            }
+            int common = commonLength(child, key, i, to);
+            if (common < child.length()) {
+                // Split the edge where the new path leaves it
+                Node middle = new Node(child.source, child.start, child.start + common);
+                child.start += common;
+                middle.putChild(child);
+                middle.top = child.top;
+                node.putChild(middle);
+                child = middle;
+            }
+            node = child;
+            i += common;
+        }
+        node.terminals = insert(node.terminals, node.terminals.length, entry);
+    }
+
+    private void remove(String key, int from, int to, Entry entry) {
+        List<Node> path = fullPath(key, from, to);
+        if (!endsAt(path, from, to)) {
+            return;
+        }
+        Node end = path.get(path.size() - 1);
+        end.terminals = Arrays.stream(end.terminals).filter(e -> e != entry).toArray(Entry[]::new);
+
+        // Drop nodes that no longer lead anywhere and fold pass-through nodes into their child
+        for (int k = path.size() - 1; k > 0; k--) {
+            Node node = path.get(k);
+            Node parent = path.get(k - 1);
+            if (node.terminals.length > 0 || node.children.length > 1) {
+                break;
+            }
+            if (node.children.length == 0) {
+                parent.removeChild(node.charAt(0));
+            } else {
+                Node child = node.children[0];
+                child.start -= node.length();
+                parent.putChild(child);
+            }
+        }
+    }
+
+    // Nodes whose edges the path fully covers, starting at the root
+    private List<Node> fullPath(String key, int from, int to) {
+        List<Node> nodes = new ArrayList<>();
+        nodes.add(root);
+        Node node = root;
+        int i = from;
+        while (i < to) {
+            Node child = node.child(key.charAt(i));
+            if (child == null || commonLength(child, key, i, to) < child.length()) {
+                break;
+            }
+            node = child;
+            i += child.length();
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
+    private static boolean endsAt(List<Node> nodes, int from, int to) {
+        int covered = from;
+        for (int k = 1; k < nodes.size(); k++) {
+            covered += nodes.get(k).length();
+        }
+        return covered == to;
+    }
+
+    // The node whose subtree holds every path starting with prefix, possibly ending mid-edge
+    private Node walk(String prefix) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node child = node.child(prefix.charAt(i));
+            if (child == null) {
+                return null;
+            }
+            int common = commonLength(child, prefix, i, prefix.length());
+            if (common < child.length()) {
+                return i + common == prefix.length() ? child : null;
+            }
+            node = child;
+            i += common;
+        }
+        return node;
+    }
+
+    private static int commonLength(Node node, String key, int from, int to) {
+        int limit = Math.min(node.length(), to - from);
+        int common = 0;
+        while (common < limit && node.charAt(common) == key.charAt(from + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    // Re-ranks the nodes on one path bottom-up, since only their subtrees changed
+    private void rankPath(String key, int from, int to) {
+        List<Node> nodes = fullPath(key, from, to);
+        for (int k = nodes.size() - 1; k >= 0; k--) {
+            nodes.get(k).top = topOf(nodes.get(k));
+        }
+    }
+
+    private void rank(Node node) {
+        for (Node child : node.children) {
+            rank(child);
+        }
+        node.top = topOf(node);
+    }
+
+    // Any top entry of a subtree is a terminal here or in a child's top list
+    private static Entry[] topOf(Node node) {
+        if (node.children.length == 0 && node.terminals.length <= 1) {
+            return node.terminals;
+        }
+        Entry[] top = new Entry[TOP_K];
+        int size = 0;
+        for (Entry terminal : node.terminals) {
+            size = offer(top, size, terminal);
+        }
+        for (Node child : node.children) {
+            for (Entry entry : child.top) {
+                int before = size;
+                size = offer(top, size, entry);
+                // Child lists are ranked, so once one entry misses the cut the rest do too
+                if (size == TOP_K && before == TOP_K && top[TOP_K - 1] != entry && compare(entry, top[TOP_K - 1]) > 0) {
+                    break;
+                }
+            }
+        }
+        return size == TOP_K ? top : Arrays.copyOf(top, size);
+    }
+
+    // Insertion into a short ranked array; the same entry can arrive through several of its word paths
+    private static int offer(Entry[] top, int size, Entry candidate) {
+        int at = size;
+        while (at > 0 && compare(candidate, top[at - 1]) < 0) {
+            at--;
+        }
+        if (at == TOP_K || (at > 0 && top[at - 1] == candidate)) {
+            return size;
+        }
+        System.arraycopy(top, at, top, at + 1, Math.min(size, TOP_K - 1) - at);
+        top[at] = candidate;
+        return Math.min(size + 1, TOP_K);
+    }
+
+    // Higher count first, then alphabetical so ties rank the same on every node
+    private static int compare(Entry a, Entry b) {
+        return a.count != b.count ? Integer.compare(b.count, a.count) : a.key.compareTo(b.key);
+    }
+
+    /**
+     * Extends the edit-distance row character by character along each edge (optimal string
+     * alignment, so an adjacent swap costs one edit) and collects a subtree as soon as the whole
+     * query is within one edit of the path into it.
+     */
+    private static void fuzzy(Node node, String query, char previous, int[] grandparentRow, int[] parentRow,
+                              Map<Entry, Integer> distances) {
+        for (Node child : node.children) {
+            char last = previous;
+            int[] before = grandparentRow;
+            int[] row = parentRow;
+            for (int j = 0; j < child.length(); j++) {
+                char label = child.charAt(j);
+                int[] next = new int[row.length];
+                next[0] = row[0] + 1;
+                int best = next[0];
+                for (int i = 1; i < next.length; i++) {
+                    int cost = query.charAt(i - 1) == label ? 0 : 1;
+                    next[i] = Math.min(Math.min(next[i - 1] + 1, row[i] + 1), row[i - 1] + cost);
+                    if (before != null && i > 1 && query.charAt(i - 1) == last && query.charAt(i - 2) == label) {
+                        next[i] = Math.min(next[i], before[i - 2] + 1);
+                    }
+                    best = Math.min(best, next[i]);
+                }
+                if (best > 1) {
+                    row = null;
+                    break;
+                }
+                if (next[next.length - 1] <= 1) {
+                    for (Entry entry : child.top) {
+                        distances.merge(entry, next[next.length - 1], Math::min);
+                    }
+                }
+                before = row;
+                row = next;
+                last = label;
+            }
+            if (row != null) {
+                fuzzy(child, query, last, before, row, distances);
+            }
+        }
+    }
+
+    private static <T> T[] insert(T[] array, int at, T value) {
+        T[] next = Arrays.copyOf(array, array.length + 1);
+        System.arraycopy(array, at, next, at + 1, array.length - at);
+        next[at] = value;
+        return next;
+    }
+}
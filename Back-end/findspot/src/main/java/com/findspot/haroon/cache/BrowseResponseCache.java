@@ -0,0 +1,155 @@
+package com.findspot.haroon.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache of public browse responses served to anonymous users.
+ *
+ * Entries are keyed by the normalized query and tagged with surrogate keys (e.g. "list:LOST:*",
+ * "list:LOST:keys", "item:42"), so a write only purges the pages it can actually appear on.
+ * A purge bumps a generation counter before removing entries; a response loaded while a purge
+ * was in flight is dropped rather than cached, so stale pages can't be re-inserted after a write.
+ */
+@Component
+public class BrowseResponseCache {
+
+    @Value("${findspot.browse-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${findspot.browse-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> keysByTag = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final ObjectMapper objectMapper;
+
+    public BrowseResponseCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> getOrLoad(String key, Collection<String> tags, WebRequest request,
+                                           Supplier<ResponseEntity<T>> loader) {
+        long now = System.currentTimeMillis();
+        CachedResponse cached = entries.get(key);
+
+        if (cached == null || cached.expiresAt <= now) {
+            long startGeneration = generation.get();
+            ResponseEntity<T> response = loader.get();
+            if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+                return response;
+            }
+            cached = new CachedResponse(response.getBody(), etagOf(response.getBody()),
+                    now + TimeUnit.SECONDS.toMillis(ttlSeconds), List.copyOf(tags));
+            store(key, cached, startGeneration);
+        }
+
+        // Signed-in users get a personalized response for the same URL, so shared caches must key on the token
+        CacheControl cacheControl = CacheControl.maxAge(ttlSeconds, TimeUnit.SECONDS).cachePublic();
+        if (request.checkNotModified(cached.etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.AUTHORIZATION).eTag(cached.etag).build();
+        }
+        return ResponseEntity.ok().cacheControl(cacheControl).varyBy(HttpHeaders.AUTHORIZATION).eTag(cached.etag)
+                .body((T) cached.body);
+    }
+
+    // Pages filtered by category are tagged with it, unfiltered pages with "*"
+    public static String listTag(String type, String category) {
+        return "list:" + type.toUpperCase() + ":" + (StringUtils.hasText(category) ? category.trim().toLowerCase() : "*");
+    }
+
+    public static String itemTag(Long id) {
+        return "item:" + id;
+    }
+
+    public void purge(Collection<String> tags) {
+        generation.incrementAndGet();
+        for (String tag : tags) {
+            Set<String> keys = keysByTag.remove(tag);
+            if (keys != null) {
+                keys.forEach(entries::remove);
+            }
+        }
+    }
+
+    // For bulk changes where working out the affected tags isn't worth it
+    public void purgeAll() {
+        generation.incrementAndGet();
+        entries.clear();
+        keysByTag.clear();
+    }
+
+    private void store(String key, CachedResponse cached, long startGeneration) {
+        if (entries.size() >= maxEntries) {
+            removeExpired();
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        for (String tag : cached.tags) {
+            keysByTag.computeIfAbsent(tag, t -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+        entries.put(key, cached);
+        // A purge that started after we began loading may have missed this entry
+        if (generation.get() != startGeneration) {
+            entries.remove(key, cached);
+        }
+    }
+
+    private void removeExpired() {
+        long now = System.currentTimeMillis();
+        entries.forEach((key, cached) -> {
+            if (cached.expiresAt <= now && entries.remove(key, cached)) {
+                for (String tag : cached.tags) {
+                    Set<String> keys = keysByTag.get(tag);
+                    if (keys != null) {
+                        keys.remove(key);
+                    }
+                }
+            }
+        });
+    }
+
+    private String etagOf(Object body) {
+        try {
+            return "W/\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(body)) + "\"";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize cached response", e);
+        }
+    }
+
+    private static class CachedResponse {
+        private final Object body;
+        private final String etag;
+        private final long expiresAt;
+        private final List<String> tags;
+
+        private CachedResponse(Object body, String etag, long expiresAt, List<String> tags) {
+            this.body = body;
+            this.etag = etag;
+            this.expiresAt = expiresAt;
+            this.tags = tags;
+        }
+    }
+}
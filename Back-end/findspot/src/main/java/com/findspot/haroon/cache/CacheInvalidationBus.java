@@ -0,0 +1,9 @@
+package com.findspot.haroon.cache;
+
+import java.util.function.Consumer;
+
+// Transport for invalidations between nodes, e.g. a pub/sub channel
+public interface CacheInvalidationBus {
+    void publish(CacheInvalidationMessage message);
+    void subscribe(Consumer<CacheInvalidationMessage> listener);
+}
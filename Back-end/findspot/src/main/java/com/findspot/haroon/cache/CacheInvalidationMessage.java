@@ -0,0 +1,15 @@
+package com.findspot.haroon.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Broadcast when a node drops an entry, so the other nodes drop their local copy too
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheInvalidationMessage {
+    private String cacheName;
+    private String key; // null invalidates the whole cache
+    private String originNodeId;
+}
@@ -0,0 +1,24 @@
+package com.findspot.haroon.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Delivers messages synchronously to every subscriber in this JVM; several TieredCacheManagers
+// sharing one instance behave like separate nodes
+public class InMemoryCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final List<Consumer<CacheInvalidationMessage>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CacheInvalidationMessage message) {
+        for (Consumer<CacheInvalidationMessage> listener : listeners) {
+            listener.accept(message);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidationMessage> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,47 @@
+package com.findspot.haroon.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Stand-in for a real remote store, for tests and single-node setups that want the full code path
+public class InMemoryRemoteCacheTier implements RemoteCacheTier {
+
+    private final Map<String, Map<String, Entry>> caches = new ConcurrentHashMap<>();
+
+    @Override
+    public byte[] get(String cacheName, String key) {
+        Map<String, Entry> entries = caches.get(cacheName);
+        Entry entry = entries != null ? entries.get(key) : null;
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    @Override
+    public void put(String cacheName, String key, byte[] value, Duration ttl) {
+        caches.computeIfAbsent(cacheName, name -> new ConcurrentHashMap<>())
+                .put(key, new Entry(value, System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    @Override
+    public void evict(String cacheName, String key) {
+        Map<String, Entry> entries = caches.get(cacheName);
+        if (entries != null) {
+            entries.remove(key);
+        }
+    }
+
+    @Override
+    public void evictAll(String cacheName) {
+        caches.remove(cacheName);
+    }
+
+    private record Entry(byte[] value, long expiresAt) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.findspot.haroon.cache;
+
+import com.findspot.haroon.dto.ItemDetailDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Item detail DTOs by id, shared by anonymous and signed-in requests. Cached DTOs never carry the
+ * per-user saved flag; callers copy them before personalizing.
+ */
+@Component
+public class ItemDetailCache {
+
+    private final TieredCache<ItemDetailDto> cache;
+
+    public ItemDetailCache(TieredCacheManager cacheManager,
+                           @Value("${findspot.item-cache.max-entries:20000}") long maxEntries,
+                           @Value("${findspot.item-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = cacheManager.create("item-detail", ItemDetailDto.class, maxEntries,
+                Duration.ofSeconds(ttlSeconds));
+    }
+
+    public ItemDetailDto get(Long id, Supplier<ItemDetailDto> loader) {
+        return cache.get(String.valueOf(id), loader);
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(String.valueOf(id));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
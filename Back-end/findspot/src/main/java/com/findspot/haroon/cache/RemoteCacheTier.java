@@ -0,0 +1,11 @@
+package com.findspot.haroon.cache;
+
+import java.time.Duration;
+
+// Shared second tier behind the per-node caches, e.g. Redis; values are already serialized
+public interface RemoteCacheTier {
+    byte[] get(String cacheName, String key);
+    void put(String cacheName, String key, byte[] value, Duration ttl);
+    void evict(String cacheName, String key);
+    void evictAll(String cacheName);
+}
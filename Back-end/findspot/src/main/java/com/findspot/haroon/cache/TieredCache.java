@@ -0,0 +1,162 @@
+package com.findspot.haroon.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache with a per-node Caffeine tier in front of an optional shared remote tier.
+ *
+ * Invalidations clear both tiers and are broadcast so every other node drops its local copy. As in
+ * {@link BrowseResponseCache}, a load that overlaps an invalidation is returned but not stored.
+ * Null results are never cached. Created through {@link TieredCacheManager}.
+ */
+public class TieredCache<V> {
+
+    private final String name;
+    private final Class<V> valueType;
+    private final Cache<String, V> local;
+    private final RemoteCacheTier remote; // null when no remote tier is configured
+    private final Duration ttl;
+    private final ObjectMapper objectMapper;
+    private final CacheInvalidationBus bus;
+    private final String nodeId;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter remoteErrors;
+    private final Counter invalidationsReceived;
+
+    TieredCache(String name, Class<V> valueType, Cache<String, V> local, RemoteCacheTier remote, Duration ttl,
+                ObjectMapper objectMapper, CacheInvalidationBus bus, String nodeId, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.valueType = valueType;
+        this.local = local;
+        this.remote = remote;
+        this.ttl = ttl;
+        this.objectMapper = objectMapper;
+        this.bus = bus;
+        this.nodeId = nodeId;
+        this.remoteHits = remoteCounter(meterRegistry, "hit");
+        this.remoteMisses = remoteCounter(meterRegistry, "miss");
+        this.remoteErrors = remoteCounter(meterRegistry, "error");
+        this.invalidationsReceived = Counter.builder("findspot.cache.invalidations.received")
+                .description("Invalidations applied because another node changed the data")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public V get(String key, Supplier<V> loader) {
+        V cached = local.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long startGeneration = generation.get();
+        V value = readRemote(key);
+        boolean fromRemote = value != null;
+        if (value == null) {
+            value = loader.get();
+            if (value == null) {
+                return null;
+            }
+        }
+
+        local.put(key, value);
+        if (generation.get() != startGeneration) {
+            local.asMap().remove(key, value);
+        } else if (!fromRemote) {
+            writeRemote(key, value);
+        }
+        return value;
+    }
+
+    public void invalidate(String key) {
+        generation.incrementAndGet();
+        local.invalidate(key);
+        if (remote != null) {
+            try {
+                remote.evict(name, key);
+            } catch (RuntimeException e) {
+                remoteErrors.increment();
+            }
+        }
+        bus.publish(new CacheInvalidationMessage(name, key, nodeId));
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        local.invalidateAll();
+        if (remote != null) {
+            try {
+                remote.evictAll(name);
+            } catch (RuntimeException e) {
+                remoteErrors.increment();
+            }
+        }
+        bus.publish(new CacheInvalidationMessage(name, null, nodeId));
+    }
+
+    // The origin already cleared the remote tier, only the local copy is stale here
+    void onInvalidation(CacheInvalidationMessage message) {
+        if (nodeId.equals(message.getOriginNodeId())) {
+            return;
+        }
+        invalidationsReceived.increment();
+        generation.incrementAndGet();
+        if (message.getKey() == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(message.getKey());
+        }
+    }
+
+    // The remote tier is an optimization; when it's unavailable requests fall back to the loader
+    private V readRemote(String key) {
+        if (remote == null) {
+            return null;
+        }
+        try {
+            byte[] bytes = remote.get(name, key);
+            if (bytes == null) {
+                remoteMisses.increment();
+                return null;
+            }
+            remoteHits.increment();
+            return objectMapper.readValue(bytes, valueType);
+        } catch (IOException | RuntimeException e) {
+            remoteErrors.increment();
+            return null;
+        }
+    }
+
+    private void writeRemote(String key, V value) {
+        if (remote == null) {
+            return;
+        }
+        try {
+            remote.put(name, key, objectMapper.writeValueAsBytes(value), ttl);
+        } catch (IOException | RuntimeException e) {
+            remoteErrors.increment();
+        }
+    }
+
+    private Counter remoteCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("findspot.cache.remote")
+                .description("Lookups against the shared cache tier after a local miss")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,63 @@
+package com.findspot.haroon.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates the application's {@link TieredCache}s and routes invalidation messages to them.
+ *
+ * Local tiers are Caffeine caches (W-TinyLFU admission, size-bounded) and publish the standard
+ * cache.gets / cache.evictions / cache.size meters tagged with the cache name.
+ */
+@Component
+public class TieredCacheManager {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TieredCache<?>> caches = new ConcurrentHashMap<>();
+    private final RemoteCacheTier remote;
+    private final CacheInvalidationBus bus;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public TieredCacheManager(ObjectProvider<RemoteCacheTier> remote, CacheInvalidationBus bus,
+                              ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.remote = remote.getIfAvailable();
+        this.bus = bus;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        bus.subscribe(this::route);
+    }
+
+    public <V> TieredCache<V> create(String name, Class<V> valueType, long maxEntries, Duration ttl) {
+        Cache<String, V> local = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name);
+
+        TieredCache<V> cache = new TieredCache<>(name, valueType, local, remote, ttl, objectMapper, bus, nodeId,
+                meterRegistry);
+        if (caches.putIfAbsent(name, cache) != null) {
+            throw new IllegalStateException("Cache '" + name + "' already exists");
+        }
+        return cache;
+    }
+
+    private void route(CacheInvalidationMessage message) {
+        TieredCache<?> cache = caches.get(message.getCacheName());
+        if (cache != null) {
+            cache.onInvalidation(message);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.findspot.haroon.cache;
+
+import com.findspot.haroon.dto.UserSettingsDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Per-user settings snapshots. Settings change rarely and are read on every settings page load;
+ * entries are dropped on every node by {@link #invalidate(String)} after an update, and the TTL only
+ * bounds how long a lost invalidation message can leave a node stale.
+ */
+@Component
+public class UserSettingsCache {
+
+    private final TieredCache<UserSettingsDto> cache;
+
+    public UserSettingsCache(TieredCacheManager cacheManager,
+                             @Value("${findspot.settings-cache.max-entries:50000}") long maxEntries,
+                             @Value("${findspot.settings-cache.ttl-seconds:3600}") long ttlSeconds) {
+        this.cache = cacheManager.create("user-settings", UserSettingsDto.class, maxEntries,
+                Duration.ofSeconds(ttlSeconds));
+    }
+
+    public UserSettingsDto get(String username, Supplier<UserSettingsDto> loader) {
+        return cache.get(username, loader);
+    }
+
+    public void invalidate(String username) {
+        cache.invalidate(username);
+    }
+}
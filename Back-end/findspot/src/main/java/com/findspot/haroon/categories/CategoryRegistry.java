@@ -0,0 +1,172 @@
+package com.findspot.haroon.categories;
+
+import com.findspot.haroon.models.Category;
+import com.findspot.haroon.repositories.CategoryRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * The item taxonomy as an immutable in-memory snapshot, swapped whole on every reload.
+ *
+ * Items store the compact category id. Every slug, display name and alias a client may send
+ * ("Keys", "key", "Wallets & Purses") resolves to that id here, so filters compare ids and a
+ * category never splits into spellings. Edits to the categories tables are picked up by the
+ * periodic reload without a restart.
+ */
+@Component
+public class CategoryRegistry {
+
+    // Matches no row, so filtering by an unknown category returns nothing instead of everything
+    public static final short UNKNOWN_ID = -1;
+
+    private static final String FALLBACK_SLUG = "other";
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    public record Entry(short id, String slug, String name) {
+    }
+
+    private record Snapshot(Map<String, Entry> byAlias, Map<Short, Entry> byId, List<Entry> all) {
+    }
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of(), List.of());
+
+    // Adds the default categories a database is missing, so values added to the client later are seeded too
+    @PostConstruct
+    public void initialize() {
+        Set<Short> existing = new HashSet<>();
+        categoryRepository.findAll().forEach(category -> existing.add(category.getId()));
+        List<Category> missing = defaultTaxonomy().stream()
+                .filter(category -> !existing.contains(category.getId()))
+                .toList();
+        if (!missing.isEmpty()) {
+            try {
+                categoryRepository.saveAll(missing);
+            } catch (DataIntegrityViolationException e) {
+                // Another replica seeded them first
+            }
+        }
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${findspot.categories.reload-interval-ms:300000}")
+    public void reload() {
+        List<Category> categories = categoryRepository.findAllByOrderByIdAsc();
+        Map<String, Entry> byAlias = new HashMap<>();
+        Map<Short, Entry> byId = new HashMap<>();
+        List<Entry> all = new ArrayList<>();
+        for (Category category : categories) {
+            Entry entry = new Entry(category.getId(), category.getSlug(), category.getName());
+            byId.put(entry.id(), entry);
+            all.add(entry);
+            // Slugs and names win over aliases when two categories claim the same word
+            byAlias.put(normalize(category.getSlug()), entry);
+            byAlias.putIfAbsent(normalize(category.getName()), entry);
+        }
+        for (Category category : categories) {
+            for (String alias : category.getAliases()) {
+                byAlias.putIfAbsent(normalize(alias), byId.get(category.getId()));
+            }
+        }
+        byAlias.remove("");
+        snapshot = new Snapshot(Map.copyOf(byAlias), Map.copyOf(byId), List.copyOf(all));
+    }
+
+    // Exact alias first, then the singular or plural form, so "Key" and "Wallet" need no alias of their own
+    public Optional<Entry> resolve(String value) {
+        String key = normalize(value);
+        if (key.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<String, Entry> byAlias = snapshot.byAlias();
+        Entry entry = byAlias.get(key);
+        if (entry == null && key.endsWith("es")) {
+            entry = byAlias.get(key.substring(0, key.length() - 2));
+        }
+        if (entry == null && key.endsWith("s")) {
+            entry = byAlias.get(key.substring(0, key.length() - 1));
+        }
+        if (entry == null) {
+            entry = byAlias.get(key + "s");
+        }
+        return Optional.ofNullable(entry);
+    }
+
+    // The id to filter on: null for no filter, UNKNOWN_ID for a category that does not exist
+    public Short filterId(String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        return resolve(value).map(Entry::id).orElse(UNKNOWN_ID);
+    }
+
+    // One spelling per category for cache keys and tags; unknown values pass through trimmed
+    public String canonicalSlug(String value) {
+        if (!StringUtils.hasText(value)) {
+            return value;
+        }
+        return resolve(value).map(Entry::slug).orElse(value.trim());
+    }
+
+    public String nameOf(Short id) {
+        Entry entry = id != null ? snapshot.byId().get(id) : null;
+        return entry != null ? entry.name() : null;
+    }
+
+    public String slugOf(Short id) {
+        Entry entry = id != null ? snapshot.byId().get(id) : null;
+        return entry != null ? entry.slug() : null;
+    }
+
+    public List<Entry> all() {
+        return snapshot.all();
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    // Covers every value the web client has offered so far
+    private static List<Category> defaultTaxonomy() {
+        return List.of(
+                category(1, "electronics", "Electronics", "electronic", "gadgets", "phone", "laptop"),
+                category(2, "documents", "Documents", "document", "id", "ids", "papers", "cards"),
+                category(3, "wallets", "Wallets & Purses", "wallet", "purse", "wallets purses"),
+                category(4, "keys", "Keys", "key", "keychain"),
+                category(5, "bags", "Bags & Backpacks", "bag", "backpack", "bags backpacks"),
+                category(6, "jewelry", "Jewelry & Accessories", "jewellery", "accessories", "accessory",
+                        "jewelry accessories"),
+                category(7, "clothing", "Clothing", "clothes", "apparel"),
+                category(8, "books", "Books", "book", "notebooks"),
+                category(9, "pets", "Pets", "pet", "animals"),
+                category(10, FALLBACK_SLUG, "Other", "misc", "miscellaneous"),
+                category(11, "sports", "Sports Equipment", "sport", "sports gear", "sporting goods"));
+    }
+
+    private static Category category(int id, String slug, String name, String... aliases) {
+        return new Category((short) id, slug, name, new HashSet<>(List.of(aliases)));
+    }
+}
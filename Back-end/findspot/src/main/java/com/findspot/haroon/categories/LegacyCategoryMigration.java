@@ -0,0 +1,89 @@
+package com.findspot.haroon.categories;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * One-off move of databases created while items stored the category as free text.
+ *
+ * The old text is first copied, per item, into legacy_item_categories, which nothing else writes
+ * or deletes, so a value that matched no category can still be reviewed and re-mapped by hand.
+ * Only then is category_id backfilled (unmatched values go to "other") and the text column
+ * dropped. A database without the old column is left alone, so the migration runs once.
+ *
+ * It is part of the schema rollout (the schema profile), not of serving replicas: it runs after
+ * Hibernate has added category_id and before SchemaUpdateRunner stops the application.
+ */
+@Component
+@Profile("schema")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LegacyCategoryMigration implements ApplicationRunner {
+
+    private static final String FALLBACK_SLUG = "other";
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        migrate("items");
+        migrate("items_archive");
+    }
+
+    private void migrate(String table) {
+        if (!hasColumn(table, "category")) {
+            return;
+        }
+        short fallback = categoryRegistry.resolve(FALLBACK_SLUG).map(CategoryRegistry.Entry::id)
+                .orElse(CategoryRegistry.UNKNOWN_ID);
+
+        jdbcTemplate.getJdbcTemplate().execute("CREATE TABLE IF NOT EXISTS legacy_item_categories ("
+                + "source_table VARCHAR(32) NOT NULL, item_id BIGINT NOT NULL, category VARCHAR(255) NOT NULL, "
+                + "PRIMARY KEY (source_table, item_id))");
+
+        // Copy and backfill commit together; rerunning after a failed DROP copies nothing twice
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT IGNORE INTO legacy_item_categories (source_table, item_id, category) "
+                    + "SELECT :table, id, category FROM " + table + " WHERE category IS NOT NULL",
+                    new MapSqlParameterSource("table", table));
+            List<String> values = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT category FROM " + table + " WHERE category IS NOT NULL",
+                    new MapSqlParameterSource(), String.class);
+            for (String value : values) {
+                jdbcTemplate.update("UPDATE " + table + " SET category_id = :categoryId WHERE category = :category",
+                        new MapSqlParameterSource("categoryId",
+                                categoryRegistry.resolve(value).map(CategoryRegistry.Entry::id).orElse(fallback))
+                                .addValue("category", value));
+            }
+        });
+
+        jdbcTemplate.getJdbcTemplate().execute("ALTER TABLE " + table + " DROP COLUMN category");
+    }
+
+    private boolean hasColumn(String table, String column) {
+        return Boolean.TRUE.equals(jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>) connection -> {
+            try (ResultSet columns = connection.getMetaData().getColumns(connection.getCatalog(), null, table, column)) {
+                return columns.next();
+            }
+        }));
+    }
+}
@@ -0,0 +1,73 @@
+package com.findspot.haroon.claims;
+
+import com.findspot.haroon.models.ClaimRequest;
+import com.findspot.haroon.repositories.ClaimRequestRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-item cap on pending claims, enforced without locks or a count query on the submit path.
+ *
+ * Each item's pending count is an AtomicInteger loaded from the database on first use and taken
+ * with a compare-and-set loop, so a burst of claimants on one popular item never queues on a lock.
+ * Counters are dropped and reloaded once they are older than the reconcile interval, which bounds
+ * the drift from other nodes and from failed writes.
+ */
+@Component
+public class ClaimSlots {
+
+    private final ClaimRequestRepository claimRepository;
+    private final Cache<Long, AtomicInteger> pending;
+    private final Counter capReached;
+
+    @Value("${findspot.claims.max-pending-per-item:20}")
+    private int maxPendingPerItem;
+
+    public ClaimSlots(ClaimRequestRepository claimRepository, MeterRegistry meterRegistry,
+                      @Value("${findspot.claims.reconcile-interval-ms:60000}") long reconcileIntervalMs) {
+        this.claimRepository = claimRepository;
+        this.pending = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofMillis(reconcileIntervalMs))
+                .build();
+        this.capReached = Counter.builder("findspot.claims.cap_reached")
+                .description("Claims refused because the item already had the maximum number pending")
+                .register(meterRegistry);
+    }
+
+    // False when the item is at its cap; a true result must be released if the claim is not stored
+    public boolean tryAcquire(Long itemId) {
+        AtomicInteger count = pending.get(itemId, id ->
+                new AtomicInteger((int) claimRepository.countByItemIdAndStatus(id, ClaimRequest.ClaimStatus.PENDING)));
+        while (true) {
+            int current = count.get();
+            if (current >= maxPendingPerItem) {
+                capReached.increment();
+                return false;
+            }
+            if (count.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // A pending claim was decided, withdrawn or never written
+    public void release(Long itemId) {
+        AtomicInteger count = pending.getIfPresent(itemId);
+        if (count != null) {
+            count.updateAndGet(current -> Math.max(0, current - 1));
+        }
+    }
+
+    // Many claims changed at once; the next submit reloads the count
+    public void reset(Long itemId) {
+        pending.invalidate(itemId);
+    }
+}
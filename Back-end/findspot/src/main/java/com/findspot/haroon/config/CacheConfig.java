@@ -0,0 +1,28 @@
+package com.findspot.haroon.config;
+
+import com.findspot.haroon.cache.CacheInvalidationBus;
+import com.findspot.haroon.cache.InMemoryCacheInvalidationBus;
+import com.findspot.haroon.cache.InMemoryRemoteCacheTier;
+import com.findspot.haroon.cache.RemoteCacheTier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Defaults for a single node; a distributed deployment registers its own bus and remote tier beans
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CacheInvalidationBus cacheInvalidationBus() {
+        return new InMemoryCacheInvalidationBus();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "findspot.cache.remote", havingValue = "in-memory")
+    public RemoteCacheTier inMemoryRemoteCacheTier() {
+        return new InMemoryRemoteCacheTier();
+    }
+}
@@ -0,0 +1,60 @@
+package com.findspot.haroon.config;
+
+import com.findspot.haroon.cache.CacheInvalidationMessage;
+import com.findspot.haroon.security.CachedPrincipal;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Reachability metadata for the native image (mvn -Pnative native:compile) that AOT processing
+ * cannot work out from the code.
+ *
+ * Controller signatures and JPA entities are covered by Spring itself. What is left is JSON written
+ * and read through the ObjectMapper directly (the tiered caches, the live feed, streamed pages and
+ * cache invalidation messages), and JJWT, which loads its implementation and its Jackson serializer
+ * by class name.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.Hints.class)
+public class NativeHintsConfig {
+
+    static class Hints implements RuntimeHintsRegistrar {
+
+        private static final String DTO_PACKAGE = "com.findspot.haroon.dto";
+
+        private static final String[] JJWT_TYPES = {
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+            scanner.addIncludeFilter((reader, factory) -> true);
+            for (BeanDefinition dto : scanner.findCandidateComponents(DTO_PACKAGE)) {
+                bindings.registerReflectionHints(hints.reflection(),
+                        ClassUtils.resolveClassName(dto.getBeanClassName(), classLoader));
+            }
+            bindings.registerReflectionHints(hints.reflection(), CacheInvalidationMessage.class, CachedPrincipal.class);
+
+            for (String type : JJWT_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+        }
+    }
+}
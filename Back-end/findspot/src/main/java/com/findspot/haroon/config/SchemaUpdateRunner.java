@@ -0,0 +1,30 @@
+package com.findspot.haroon.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Under the schema profile the application only brings the database schema up to date: Hibernate's
+// update ran while the context started, so stop before any request or background job is taken on.
+// Ordered last so data migrations of the same rollout (LegacyCategoryMigration) run first.
+@Component
+@Profile("schema")
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class SchemaUpdateRunner implements ApplicationRunner {
+
+    private final ApplicationContext context;
+
+    public SchemaUpdateRunner(ApplicationContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
@@ -0,0 +1,26 @@
+package com.findspot.haroon.controllers;
+
+import com.findspot.haroon.dto.AccountDeletionJobDto;
+import com.findspot.haroon.services.AccountDeletionService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+// A job is only visible to the account it deletes; once the account is gone its token is
+// rejected with 401, which is how a polling client learns the deletion has finished
+@RestController
+@RequestMapping("/api/account-deletions")
+public class AccountDeletionController {
+
+    private final AccountDeletionService accountDeletionService;
+
+    public AccountDeletionController(AccountDeletionService accountDeletionService) {
+        this.accountDeletionService = accountDeletionService;
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<AccountDeletionJobDto> getJobStatus(@PathVariable String jobId,
+                                                              Authentication authentication) {
+        return accountDeletionService.getJobStatus(jobId, authentication.getName());
+    }
+}
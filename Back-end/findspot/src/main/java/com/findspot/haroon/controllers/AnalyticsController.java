@@ -0,0 +1,36 @@
+package com.findspot.haroon.controllers;
+
+import com.findspot.haroon.dto.ResolutionStatsDto;
+import com.findspot.haroon.services.AnalyticsService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    public AnalyticsController(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    // Reports, recoveries and days to resolve per day, week or month, or as one total, for the last 12 weeks by default
+    @GetMapping("/resolution")
+    public ResponseEntity<List<ResolutionStatsDto>> getResolutionStats(
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "week") String granularity) {
+        return analyticsService.getResolutionStats(type, category, location, from, to, granularity);
+    }
+}
@@ -2,11 +2,10 @@ package com.findspot.haroon.controllers;
 
 import com.findspot.haroon.dto.AuthResponseDto;
 import com.findspot.haroon.dto.ForgotPasswordRequestDto;
+import com.findspot.haroon.dto.IssuedRefreshToken;
 import com.findspot.haroon.dto.LoginDto;
 import com.findspot.haroon.dto.RegisterDto;
-import com.findspot.haroon.dto.TokenRefreshRequest;
 import com.findspot.haroon.exceptions.TokenRefreshException;
-import com.findspot.haroon.models.RefreshToken;
 import com.findspot.haroon.models.UserEntity;
 import com.findspot.haroon.security.JWTGenerator;
 import com.findspot.haroon.security.SecurityConstant;
@@ -36,8 +35,8 @@ public class AuthControllers {
     }
 
     @PostMapping("login")
-    public ResponseEntity<AuthResponseDto> login(@RequestBody LoginDto loginDto, HttpServletResponse response){
-        System.out.println("Received loginDto: " + loginDto);
+    public ResponseEntity<AuthResponseDto> login(@RequestBody LoginDto loginDto, HttpServletRequest request,
+                                                 HttpServletResponse response){
         UserEntity user = new UserEntity();
         user.setUsername(loginDto.getUsername());
         user.setPassword(loginDto.getPassword());
@@ -45,17 +44,13 @@ public class AuthControllers {
         ResponseEntity<AuthResponseDto> authResponse = authService.login(user);
 
         if (authResponse.getStatusCode().is2xxSuccessful()) {
-            // Get user ID for refresh token creation
+            // Each login starts a new device session; other devices stay signed in
             UserEntity authenticatedUser = authService.findByUsername(loginDto.getUsername());
-            RefreshToken refreshToken = refreshTokenService.createRefreshToken(authenticatedUser.getId());
+            IssuedRefreshToken refreshToken = refreshTokenService.createSession(authenticatedUser,
+                    request.getHeader("User-Agent"));
 
             // Set refresh token as HTTP-only cookie
-            Cookie refreshCookie = new Cookie(SecurityConstant.REFRESH_COOKIE_NAME, refreshToken.getToken());
-            refreshCookie.setHttpOnly(true);
-            refreshCookie.setSecure(true); // Set to true in production with HTTPS
-            refreshCookie.setPath("/api/auth/");
-            refreshCookie.setMaxAge((int) (SecurityConstant.REFRESH_TOKEN_EXPIRATION / 1000));
-            response.addCookie(refreshCookie);
+            response.addCookie(refreshCookie(refreshToken.getToken(), refreshToken.getMaxAgeSeconds()));
         }
 
         return authResponse;
@@ -74,41 +69,32 @@ public class AuthControllers {
     }
 
     @PostMapping("refresh-token")
-    public ResponseEntity<AuthResponseDto> refreshToken(HttpServletRequest request) {
+    public ResponseEntity<AuthResponseDto> refreshToken(HttpServletRequest request, HttpServletResponse response) {
         String refreshToken = getRefreshTokenFromCookies(request);
 
         if (refreshToken == null) {
             throw new TokenRefreshException("Refresh token is missing from cookies");
         }
 
-        return refreshTokenService.findByToken(refreshToken)
-                .map(refreshTokenService::verifyExpiration)
-                .map(RefreshToken::getUser)
-                .map(user -> {
-                    String newAccessToken = jwtGenerator.generateTokenFromUsername(user.getUsername());
-                    return ResponseEntity.ok(new AuthResponseDto(newAccessToken, "Token refreshed successfully"));
-                })
-                .orElseThrow(() -> new TokenRefreshException("Refresh token is not in database"));
+        // The presented token is spent; the client continues with the rotated one
+        IssuedRefreshToken rotated = refreshTokenService.rotate(refreshToken);
+        response.addCookie(refreshCookie(rotated.getToken(), rotated.getMaxAgeSeconds()));
+
+        String newAccessToken = jwtGenerator.generateTokenFromUsername(rotated.getUsername());
+        return ResponseEntity.ok(new AuthResponseDto(newAccessToken, "Token refreshed successfully"));
     }
 
     @PostMapping("logout")
     public ResponseEntity<String> logout(HttpServletRequest request, HttpServletResponse response) {
         String refreshToken = getRefreshTokenFromCookies(request);
 
+        // Only this device's session is signed out
         if (refreshToken != null) {
-            refreshTokenService.findByToken(refreshToken)
-                    .ifPresent(token -> {
-                        refreshTokenService.deleteByUser(token.getUser());
-                    });
+            refreshTokenService.revokeSession(refreshToken);
         }
 
         // Clear refresh token cookie
-        Cookie refreshCookie = new Cookie(SecurityConstant.REFRESH_COOKIE_NAME, null);
-        refreshCookie.setHttpOnly(true);
-        refreshCookie.setSecure(true);
-        refreshCookie.setPath("/api/auth/");
-        refreshCookie.setMaxAge(0);
-        response.addCookie(refreshCookie);
+        response.addCookie(refreshCookie(null, 0));
 
         return ResponseEntity.ok("Logged out successfully");
     }
@@ -118,6 +104,15 @@ public class AuthControllers {
         return userService.forgotPassword(request.getEmail());
     }
 
+    private Cookie refreshCookie(String value, int maxAgeSeconds) {
+        Cookie refreshCookie = new Cookie(SecurityConstant.REFRESH_COOKIE_NAME, value);
+        refreshCookie.setHttpOnly(true);
+        refreshCookie.setSecure(true); // Set to true in production with HTTPS
+        refreshCookie.setPath("/api/auth/");
+        refreshCookie.setMaxAge(maxAgeSeconds);
+        return refreshCookie;
+    }
+
     private String getRefreshTokenFromCookies(HttpServletRequest request) {
         Cookie[] cookies = request.getCookies();
         if (cookies != null) {
@@ -0,0 +1,31 @@
+package com.findspot.haroon.controllers;
+
+import com.findspot.haroon.categories.CategoryRegistry;
+import com.findspot.haroon.dto.CategoryDto;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/categories")
+public class CategoryController {
+
+    private final CategoryRegistry categoryRegistry;
+
+    public CategoryController(CategoryRegistry categoryRegistry) {
+        this.categoryRegistry = categoryRegistry;
+    }
+
+    // Served from the in-memory registry; the slug is what filters and reports should send
+    @GetMapping
+    public ResponseEntity<List<CategoryDto>> getCategories() {
+        List<CategoryDto> categories = categoryRegistry.all().stream()
+                .map(category -> new CategoryDto(category.id(), category.slug(), category.name()))
+                .toList();
+        return new ResponseEntity<>(categories, HttpStatus.OK);
+    }
+}
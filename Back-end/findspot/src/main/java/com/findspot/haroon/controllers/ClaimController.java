@@ -0,0 +1,60 @@
+package com.findspot.haroon.controllers;
+
+import com.findspot.haroon.dto.ClaimDto;
+import com.findspot.haroon.dto.ClaimRequestDto;
+import com.findspot.haroon.dto.PagedResponseDto;
+import com.findspot.haroon.services.ClaimService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/claims")
+public class ClaimController {
+
+    private final ClaimService claimService;
+
+    public ClaimController(ClaimService claimService) {
+        this.claimService = claimService;
+    }
+
+    // Safe to retry: a second submission for the same item returns the first claim
+    @PostMapping
+    public ResponseEntity<ClaimDto> submitClaim(@RequestBody ClaimRequestDto request,
+                                                Authentication authentication) {
+        return claimService.submitClaim(authentication.getName(), request);
+    }
+
+    @GetMapping("/mine")
+    public ResponseEntity<PagedResponseDto<ClaimDto>> getMyClaims(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication) {
+        return claimService.getMyClaims(authentication.getName(), cursor, limit);
+    }
+
+    // The finder's queue for one item, oldest claim first
+    @GetMapping("/items/{itemId}")
+    public ResponseEntity<PagedResponseDto<ClaimDto>> getItemClaims(
+            @PathVariable Long itemId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication) {
+        return claimService.getItemClaims(authentication.getName(), itemId, cursor, limit);
+    }
+
+    @PostMapping("/{id}/accept")
+    public ResponseEntity<ClaimDto> acceptClaim(@PathVariable Long id, Authentication authentication) {
+        return claimService.acceptClaim(authentication.getName(), id);
+    }
+
+    @PostMapping("/{id}/reject")
+    public ResponseEntity<ClaimDto> rejectClaim(@PathVariable Long id, Authentication authentication) {
+        return claimService.rejectClaim(authentication.getName(), id);
+    }
+
+    @PostMapping("/{id}/withdraw")
+    public ResponseEntity<ClaimDto> withdrawClaim(@PathVariable Long id, Authentication authentication) {
+        return claimService.withdrawClaim(authentication.getName(), id);
+    }
+}
@@ -1,11 +1,23 @@
 package com.findspot.haroon.controllers;
 
+import com.findspot.haroon.cache.BrowseResponseCache;
+import com.findspot.haroon.categories.CategoryRegistry;
 import com.findspot.haroon.dto.*;
+import com.findspot.haroon.feed.ItemFeed;
+import com.findspot.haroon.models.Item;
+import com.findspot.haroon.pagination.PaginationPolicy;
 import com.findspot.haroon.services.ItemService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -13,9 +25,18 @@ import java.util.Map;
 public class ItemController {
 
     private final ItemService itemService;
+    private final BrowseResponseCache browseCache;
+    private final PaginationPolicy paginationPolicy;
+    private final CategoryRegistry categoryRegistry;
+    private final ItemFeed itemFeed;
 
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService, BrowseResponseCache browseCache, PaginationPolicy paginationPolicy,
+                          CategoryRegistry categoryRegistry, ItemFeed itemFeed) {
         this.itemService = itemService;
+        this.browseCache = browseCache;
+        this.paginationPolicy = paginationPolicy;
+        this.categoryRegistry = categoryRegistry;
+        this.itemFeed = itemFeed;
     }
 
     @PostMapping("/lost")
@@ -34,23 +55,110 @@ public class ItemController {
     public ResponseEntity<PagedResponseDto<ItemDetailDto>> getLostItems(
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String location,
+            @RequestParam(required = false) Long cursor,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int limit) {
-        return itemService.getLostItems(category, location, page, limit);
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            Authentication authentication,
+            WebRequest webRequest) {
+        if (authentication != null) {
+            return itemService.getLostItems(category, location, cursor, page, limit, includeArchived, authentication.getName());
+        }
+        // Every spelling of a category shares one entry and one purge tag
+        String categorySlug = categoryRegistry.canonicalSlug(category);
+        return browseCache.getOrLoad(browseKey("lost", categorySlug, location, cursor, page, limit, includeArchived),
+                List.of(BrowseResponseCache.listTag("lost", categorySlug)), webRequest,
+                () -> itemService.getLostItems(category, location, cursor, page, limit, includeArchived, null));
     }
 
     @GetMapping("/found")
     public ResponseEntity<PagedResponseDto<ItemDetailDto>> getFoundItems(
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String location,
+            @RequestParam(required = false) Long cursor,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int limit) {
-        return itemService.getFoundItems(category, location, page, limit);
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            Authentication authentication,
+            WebRequest webRequest) {
+        if (authentication != null) {
+            return itemService.getFoundItems(category, location, cursor, page, limit, includeArchived, authentication.getName());
+        }
+        // Every spelling of a category shares one entry and one purge tag
+        String categorySlug = categoryRegistry.canonicalSlug(category);
+        return browseCache.getOrLoad(browseKey("found", categorySlug, location, cursor, page, limit, includeArchived),
+                List.of(BrowseResponseCache.listTag("found", categorySlug)), webRequest,
+                () -> itemService.getFoundItems(category, location, cursor, page, limit, includeArchived, null));
+    }
+
+    @GetMapping("/{type:lost|found}/stream")
+    public ResponseEntity<StreamingResponseBody> streamItems(
+            @PathVariable String type,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        return itemService.streamItems(type, category, location, cursor, limit);
+    }
+
+    // Replaces polling the browse endpoints; reconnecting browsers send Last-Event-ID and miss nothing
+    // that is still in the feed's ring
+    @GetMapping(value = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamFeed(
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String location,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Item.ItemType itemType = null;
+        if (StringUtils.hasText(type)) {
+            try {
+                itemType = Item.ItemType.valueOf(type.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        SseEmitter emitter = itemFeed.subscribe(itemType, category, location, lastEventId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
+    }
+
+    // Served from memory on every keystroke of the location, category and title filters
+    @GetMapping("/suggestions")
+    public ResponseEntity<List<SuggestionDto>> getSuggestions(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String field,
+            @RequestParam(defaultValue = "8") int limit) {
+        return itemService.getSuggestions(query, field, limit);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ItemDetailDto> getItemById(@PathVariable Long id) {
-        return itemService.getItemById(id);
+    public ResponseEntity<ItemDetailDto> getItemById(@PathVariable Long id,
+                                                     Authentication authentication,
+                                                     WebRequest webRequest) {
+        if (authentication != null) {
+            return itemService.getItemById(id, authentication.getName());
+        }
+        return browseCache.getOrLoad("item|" + id, List.of(BrowseResponseCache.itemTag(id)), webRequest,
+                () -> itemService.getItemById(id, null));
+    }
+
+    // Items of the opposite type whose photos look like this item's
+    @GetMapping("/{id}/similar-images")
+    public ResponseEntity<List<SimilarItemDto>> getVisuallySimilarItems(@PathVariable Long id,
+                                                                        @RequestParam(defaultValue = "10") int limit) {
+        return itemService.getVisuallySimilarItems(id, limit);
+    }
+
+    // Who changed what and when, newest first; only the item's owner may read it
+    @GetMapping("/{id}/history")
+    public ResponseEntity<PagedResponseDto<ItemHistoryDto>> getItemHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication) {
+        return itemService.getItemHistory(id, cursor, limit, authentication != null ? authentication.getName() : null);
     }
 
     @PutMapping("/{id}")
@@ -60,6 +168,14 @@ public class ItemController {
         return itemService.updateItem(id, updates, authentication.getName());
     }
 
+    // JSON Merge Patch: fields left out of the body are not touched, null clears optional ones
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ItemResponseDto> patchItem(@PathVariable Long id,
+                                                     @RequestBody ItemPatchDto patch,
+                                                     Authentication authentication) {
+        return itemService.patchItem(id, patch, authentication.getName());
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteItem(@PathVariable Long id, 
                                              Authentication authentication) {
@@ -124,4 +240,15 @@ public class ItemController {
             Authentication authentication) {
         return itemService.reopenItem(itemId, authentication.getName());
     }
+
+    // Equivalent queries (case, whitespace, over-sized limits) share one cache entry
+    private String browseKey(String type, String category, String location, Long cursor, int page, int limit,
+                             boolean includeArchived) {
+        return type + "|" + normalize(category) + "|" + normalize(location) + "|" + cursor + "|"
+                + Math.max(page, 0) + "|" + paginationPolicy.effectiveLimit(limit) + "|" + includeArchived;
+    }
+
+    private String normalize(String value) {
+        return StringUtils.hasText(value) ? value.trim().toLowerCase() : "";
+    }
 }
@@ -0,0 +1,78 @@
+package com.findspot.haroon.controllers;
+
+import com.findspot.haroon.dto.ConversationDto;
+import com.findspot.haroon.dto.MessageDto;
+import com.findspot.haroon.dto.MessageRequestDto;
+import com.findspot.haroon.dto.PagedResponseDto;
+import com.findspot.haroon.services.MessageService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/conversations")
+public class MessageController {
+
+    private final MessageService messageService;
+
+    public MessageController(MessageService messageService) {
+        this.messageService = messageService;
+    }
+
+    // Asking about an item; repeated calls for the same item continue the same thread
+    @PostMapping
+    public ResponseEntity<ConversationDto> startConversation(@RequestBody MessageRequestDto request,
+                                                             Authentication authentication) {
+        return messageService.startConversation(authentication.getName(), request);
+    }
+
+    @GetMapping
+    public ResponseEntity<PagedResponseDto<ConversationDto>> getInbox(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication) {
+        return messageService.getInbox(authentication.getName(), cursor, limit);
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Long>> getUnreadCount(Authentication authentication) {
+        return messageService.getUnreadCount(authentication.getName());
+    }
+
+    @GetMapping("/{id}/messages")
+    public ResponseEntity<PagedResponseDto<MessageDto>> getMessages(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            Authentication authentication) {
+        return messageService.getMessages(authentication.getName(), id, cursor, limit);
+    }
+
+    // Answers as soon as a message newer than 'after' exists, or with an empty list when the wait times out
+    @GetMapping("/{id}/messages/poll")
+    public DeferredResult<ResponseEntity<List<MessageDto>>> pollMessages(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(defaultValue = "25000") long timeoutMs,
+            Authentication authentication) {
+        return messageService.pollMessages(authentication.getName(), id, after, timeoutMs);
+    }
+
+    @PostMapping("/{id}/messages")
+    public ResponseEntity<MessageDto> sendMessage(@PathVariable Long id,
+                                                  @RequestBody MessageRequestDto request,
+                                                  Authentication authentication) {
+        return messageService.sendMessage(authentication.getName(), id, request);
+    }
+
+    @PostMapping("/{id}/read")
+    public ResponseEntity<Map<String, Long>> markRead(@PathVariable Long id,
+                                                      @RequestBody Map<String, Long> readRequest,
+                                                      Authentication authentication) {
+        return messageService.markRead(authentication.getName(), id, readRequest.get("lastMessageId"));
+    }
+}
@@ -1,6 +1,9 @@
 package com.findspot.haroon.controllers;
 
+import com.findspot.haroon.dto.AccountDeletionJobDto;
 import com.findspot.haroon.dto.ChangePasswordRequestDto;
+import com.findspot.haroon.dto.ItemDetailDto;
+import com.findspot.haroon.dto.PagedResponseDto;
 import com.findspot.haroon.dto.UpdateProfileRequestDto;
 import com.findspot.haroon.dto.UserProfileDto;
 import com.findspot.haroon.dto.UserSettingsDto;
@@ -55,6 +58,20 @@ public class UserController {
         return userService.saveItem(authentication.getName(), id);
     }
 
+    @DeleteMapping("/items/{id}/save")
+    public ResponseEntity<String> unsaveItem(@PathVariable Long id,
+                                            Authentication authentication) {
+        return userService.unsaveItem(authentication.getName(), id);
+    }
+
+    @GetMapping("/saved-items")
+    public ResponseEntity<PagedResponseDto<ItemDetailDto>> getSavedItems(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "10") int limit,
+            Authentication authentication) {
+        return userService.getSavedItems(authentication.getName(), cursor, limit);
+    }
+
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Integer>> getUserStats(Authentication authentication) {
         try {
@@ -114,7 +131,7 @@ public class UserController {
     }
     
     @DeleteMapping("/account")
-    public ResponseEntity<String> deleteAccount(Authentication authentication) {
+    public ResponseEntity<AccountDeletionJobDto> deleteAccount(Authentication authentication) {
         return userService.deleteUserAccount(authentication.getName());
     }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.findspot.haroon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountDeletionJobDto {
+    private String jobId;
+    private String status;
+    private String phase;
+    private long deletedItems;
+    private LocalDateTime requestedAt;
+    private LocalDateTime completedAt;
+    private String statusUrl;
+}
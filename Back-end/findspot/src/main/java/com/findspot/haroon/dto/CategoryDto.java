@@ -0,0 +1,14 @@
+package com.findspot.haroon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryDto {
+    private Short id;
+    private String slug;
+    private String name;
+}
@@ -0,0 +1,21 @@
+package com.findspot.haroon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClaimDto {
+    private Long id;
+    private Long itemId;
+    private String itemTitle;
+    private String claimant;
+    private String message;
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime decidedAt;
+}
@@ -0,0 +1,13 @@
+package com.findspot.haroon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClaimRequestDto {
+    private Long itemId;
+    private String message;
+}
@@ -0,0 +1,21 @@
+package com.findspot.haroon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ConversationDto {
+    private Long id;
+    private Long itemId;
+    private String itemTitle;
+    private String counterpart; // username of the other member
+    private String lastMessagePreview;
+    private LocalDateTime lastMessageAt;
+    private Long lastMessageId;
+    private int unreadCount;
+}
@@ -0,0 +1,18 @@
+package com.findspot.haroon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DuplicateCandidateDto {
+    private Long itemId;
+    private String title;
+    private String location;
+    private LocalDate date;
+    private boolean ownReport; // reported earlier by the same user
+}
@@ -16,4 +16,5 @@ public class FoundItemRequestDto {
     private String status; // with-me or turned-in
     private String contactPreference; // email, phone, both
     private Boolean agreedToTerms;
+    private Boolean holdIfDuplicates; // answer 409 with the possible duplicates instead of storing the report
 }
\ No newline at end of file
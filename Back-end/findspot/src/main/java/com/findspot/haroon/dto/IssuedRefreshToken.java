@@ -0,0 +1,13 @@
+package com.findspot.haroon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// A newly minted refresh token and what the controller needs to answer the request
+@Data
+@AllArgsConstructor
+public class IssuedRefreshToken {
+    private String token;
+    private String username;
+    private int maxAgeSeconds; // cookie lifetime, never past the session's absolute expiry
+}
@@ -20,7 +20,8 @@ public class ItemDetailDto {
     private String location;
     private LocalDate date;
     private String status;
-    private String category;
+    private String category; // the slug, which filters and edits accept as is
+    private String categoryName; // for display
     private String type;  // Adding type field to match the expected response
     private String reportedBy; // or foundBy
     private LocalDateTime reportedDate;
@@ -28,5 +29,7 @@ public class ItemDetailDto {
     private String contactInfo;
     private List<String> images;
     private Map<String, String> additionalDetails;
+    private Boolean saved; // null for anonymous requests
+    private Boolean archived; // true when served from the archive table
 }
 
@@ -0,0 +1,24 @@
+package com.findspot.haroon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemFeedEventDto {
+    private String kind; // CREATED, UPDATED, RESOLVED or REMOVED
+    private Long itemId;
+    private String title;
+    private String type;
+    private String category; // slug
+    private String categoryName;
+    private String location;
+    private LocalDate date;
+    private String status;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,21 @@
+package com.findspot.haroon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemHistoryDto {
+    private Long id;
+    private String action;
+    private String actor;
+    private String fromStatus;
+    private String toStatus;
+    private List<String> fields;
+    private LocalDateTime occurredAt;
+}
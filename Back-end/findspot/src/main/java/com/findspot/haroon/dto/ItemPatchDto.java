@@ -0,0 +1,27 @@
+package com.findspot.haroon.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Body of PATCH /api/items/{id} with JSON Merge Patch (RFC 7396) semantics.
+ *
+ * A null field was absent from the document and stays as it is, Optional.empty() was an explicit
+ * null and clears the value, anything else replaces it. Inside additionalDetails a null value
+ * removes that key and the other keys are merged.
+ */
+@Data
+public class ItemPatchDto {
+    private Optional<String> title;
+    private Optional<String> description;
+    private Optional<String> category;
+    private Optional<String> location;
+    private Optional<String> date; // ISO date string
+    private Optional<String> status;
+    private Optional<String> contactPreference;
+    private Optional<List<String>> images;
+    private Optional<Map<String, String>> additionalDetails;
+}
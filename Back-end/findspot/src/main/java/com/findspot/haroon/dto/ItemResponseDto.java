@@ -1,9 +1,12 @@
 package com.findspot.haroon.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -11,4 +14,11 @@ public class ItemResponseDto {
     private Long itemId;
     private String title;
     private String status;
-}
\ No newline at end of file
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<DuplicateCandidateDto> possibleDuplicates; // near-identical ACTIVE reports, when there are any
+
+    public ItemResponseDto(Long itemId, String title, String status) {
+        this(itemId, title, status, null);
+    }
+}
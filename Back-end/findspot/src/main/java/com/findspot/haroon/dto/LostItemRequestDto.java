@@ -14,4 +14,5 @@ public class LostItemRequestDto {
     private String date; // ISO date string
     private List<String> images;
     private Map<String, String> additionalDetails;
+    private Boolean holdIfDuplicates; // answer 409 with the possible duplicates instead of storing the report
 }
@@ -0,0 +1,18 @@
+package com.findspot.haroon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MessageDto {
+    private Long id;
+    private Long conversationId;
+    private String sender;
+    private String body;
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,9 @@
+package com.findspot.haroon.dto;
+
+import lombok.Data;
+
+@Data
+public class MessageRequestDto {
+    private Long itemId; // only when starting a conversation
+    private String body;
+}
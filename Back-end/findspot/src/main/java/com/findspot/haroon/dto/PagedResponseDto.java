@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -16,6 +17,7 @@ public class PagedResponseDto<T> {
     private int totalPages;
     private int page;
     private int limit;
+    private String nextCursor; // only set for cursor (keyset) pagination
 
     public static <T> PagedResponseDto<T> fromPage(Page<T> page) {
         PagedResponseDto<T> response = new PagedResponseDto<>();
@@ -26,4 +28,16 @@ public class PagedResponseDto<T> {
         response.setLimit(page.getSize());
         return response;
     }
+
+    // Keyset pages don't run a count query, so totals are reported as unknown (-1)
+    public static <T> PagedResponseDto<T> fromSlice(Slice<T> slice, String nextCursor) {
+        PagedResponseDto<T> response = new PagedResponseDto<>();
+        response.setContent(slice.getContent());
+        response.setTotalElements(-1);
+        response.setTotalPages(-1);
+        response.setPage(0);
+        response.setLimit(slice.getSize());
+        response.setNextCursor(slice.hasNext() ? nextCursor : null);
+        return response;
+    }
 }
@@ -0,0 +1,22 @@
+package com.findspot.haroon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResolutionStatsDto {
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private long reported;
+    private long resolved;   // left ACTIVE for CLAIMED or CLOSED during the period
+    private long recovered;  // of those, marked CLAIMED
+    private long reopened;
+    private Double recoveryRate;         // recovered per report in the period; null with no reports
+    private Double medianDaysToResolve;  // over the period's resolutions; null with none
+    private Double p90DaysToResolve;
+}
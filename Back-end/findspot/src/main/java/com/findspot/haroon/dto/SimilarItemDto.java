@@ -0,0 +1,13 @@
+package com.findspot.haroon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SimilarItemDto {
+    private ItemDetailDto item;
+    private int distance; // differing bits between the closest pair of photos, 0 for identical
+}
@@ -0,0 +1,14 @@
+package com.findspot.haroon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SuggestionDto {
+    private String value;
+    private String field; // location, category or title
+    private int count;    // items currently using the value
+}
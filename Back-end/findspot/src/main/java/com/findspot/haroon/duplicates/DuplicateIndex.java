@@ -0,0 +1,218 @@
+package com.findspot.haroon.duplicates;
+
+import com.findspot.haroon.models.Item;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Finds ACTIVE items whose report reads almost like a new one, before the new one is stored.
+ *
+ * Every ACTIVE item is kept as its SimHash, split into six bands. Two signatures at most five bits
+ * apart must agree on at least one band, so a lookup reads six buckets, keyed by type, category,
+ * band and band value, and compares only the items found there. The cost depends on bucket sizes,
+ * not on how many items exist, and a bucket is read only up to a fixed number of entries.
+ *
+ * Item writes update the index after they commit. A periodic rebuild from the items table picks up
+ * what bypasses the service (archival, the tombstone sweeper, account deletion); writes made while
+ * the rebuild reads are replayed onto the new tables before they are swapped in.
+ */
+@Component
+public class DuplicateIndex {
+
+    public record Candidate(long itemId, String title, String location, LocalDate date, boolean ownReport,
+                            int distance) {
+    }
+
+    private record Entry(long itemId, long userId, long partition, long signature, String title, String location,
+                         LocalDate date) {
+    }
+
+    // entry is null when the item left the index
+    private record Change(long itemId, Entry entry) {
+    }
+
+    private static final int BANDS = 6;
+    private static final int MAX_DISTANCE = BANDS - 1;
+    private static final int MAX_BUCKET_SCAN = 256;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Tables tables;                      // null until the first rebuild finishes
+    private List<Change> changesDuringRebuild;  // non-null while a rebuild is reading
+
+    // Closest first, the caller's own reports ahead of equally close ones; empty until the first rebuild
+    public List<Candidate> findSimilar(Item.ItemType type, Short categoryId, Long userId, String title,
+                                       String description, String location, int limit) {
+        long partition = partition(type, categoryId);
+        long signature = SimHash.of(title, description, location);
+        List<Candidate> candidates = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            if (tables == null) {
+                return List.of();
+            }
+            Set<Long> seen = new HashSet<>();
+            for (int band = 0; band < BANDS; band++) {
+                Set<Long> bucket = tables.buckets.get(bucketKey(partition, band, signature));
+                if (bucket == null) {
+                    continue;
+                }
+                int scanned = 0;
+                for (Long itemId : bucket) {
+                    if (++scanned > MAX_BUCKET_SCAN) {
+                        break;
+                    }
+                    if (!seen.add(itemId)) {
+                        continue;
+                    }
+                    Entry entry = tables.entries.get(itemId);
+                    int distance = SimHash.distance(signature, entry.signature());
+                    if (distance <= MAX_DISTANCE) {
+                        candidates.add(new Candidate(entry.itemId(), entry.title(), entry.location(), entry.date(),
+                                userId != null && userId == entry.userId(), distance));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        candidates.sort(Comparator.comparingInt(Candidate::distance)
+                .thenComparing(candidate -> !candidate.ownReport()));
+        return candidates.size() > limit ? candidates.subList(0, limit) : candidates;
+    }
+
+    // Called after an item write commits; items that are no longer ACTIVE drop out
+    public void update(Item item) {
+        boolean indexed = item.getStatus() == Item.ItemStatus.ACTIVE && item.getDeletedAt() == null;
+        record(new Change(item.getId(), indexed
+                ? entry(item.getId(), item.getUser().getId(), item.getType(), item.getCategoryId(), item.getTitle(),
+                        item.getFullDescription(), item.getLocation(), item.getDate())
+                : null));
+    }
+
+    public void remove(Long itemId) {
+        record(new Change(itemId, null));
+    }
+
+    @Scheduled(fixedDelayString = "${findspot.duplicates.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Tables next = new Tables();
+        try {
+            jdbcTemplate.query("SELECT id, user_id, type, category_id, title, full_description, location, date "
+                            + "FROM items WHERE status = :status AND deleted_at IS NULL",
+                    new MapSqlParameterSource("status", Item.ItemStatus.ACTIVE.name()),
+                    rs -> {
+                        next.put(entry(rs.getLong("id"), rs.getLong("user_id"), Item.ItemType.valueOf(rs.getString("type")),
+                                rs.getShort("category_id"), rs.getString("title"), rs.getString("full_description"),
+                                rs.getString("location"), rs.getObject("date", LocalDate.class)));
+                    });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Change change : changesDuringRebuild) {
+                next.apply(change);
+            }
+            changesDuringRebuild = null;
+            tables = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void record(Change change) {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+            if (tables != null) {
+                tables.apply(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Entry entry(long itemId, long userId, Item.ItemType type, Short categoryId, String title,
+                               String description, String location, LocalDate date) {
+        return new Entry(itemId, userId, partition(type, categoryId), SimHash.of(title, description, location),
+                title, location, date);
+    }
+
+    // Only reports of the same type and category are compared
+    private static long partition(Item.ItemType type, Short categoryId) {
+        return ((long) type.ordinal() << 16) | (categoryId != null ? categoryId & 0xFFFF : 0xFFFF);
+    }
+
+    // Bands split the 64 bits into widths of 10 and 11
+    private static long bucketKey(long partition, int band, long signature) {
+        int start = band * 64 / BANDS;
+        int width = (band + 1) * 64 / BANDS - start;
+        long value = (signature >>> start) & ((1L << width) - 1);
+        return (partition << 15) | ((long) band << 12) | value;
+    }
+
+    private static final class Tables {
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private final Map<Long, Set<Long>> buckets = new HashMap<>();
+
+        void apply(Change change) {
+            Entry previous = entries.remove(change.itemId());
+            if (previous != null) {
+                for (int band = 0; band < BANDS; band++) {
+                    long key = bucketKey(previous.partition(), band, previous.signature());
+                    Set<Long> bucket = buckets.get(key);
+                    if (bucket != null && bucket.remove(previous.itemId()) && bucket.isEmpty()) {
+                        buckets.remove(key);
+                    }
+                }
+            }
+            if (change.entry() != null) {
+                put(change.entry());
+            }
+        }
+
+        void put(Entry entry) {
+            entries.put(entry.itemId(), entry);
+            for (int band = 0; band < BANDS; band++) {
+                // Insertion order, so a capped scan reads the oldest reports first
+                buckets.computeIfAbsent(bucketKey(entry.partition(), band, entry.signature()), key -> new LinkedHashSet<>())
+                        .add(entry.itemId());
+            }
+        }
+    }
+}
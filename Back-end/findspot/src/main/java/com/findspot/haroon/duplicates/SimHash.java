@@ -0,0 +1,92 @@
+package com.findspot.haroon.duplicates;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 64-bit SimHash of an item report. Words of the title, description and location are hashed and
+ * summed bit by bit with per-field weights, so reports that share most of their wording end up a
+ * few bits apart while unrelated ones differ in about half of the bits.
+ */
+final class SimHash {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int TITLE_PAIR_WEIGHT = 2;
+    private static final int LOCATION_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "the", "of", "in", "on", "at", "to", "my", "with", "for", "is", "was", "it",
+            "i", "me", "near", "from", "by", "or", "this", "that", "lost", "found", "please");
+
+    private SimHash() {
+    }
+
+    static long of(String title, String description, String location) {
+        int[] weights = new int[64];
+        String previous = null;
+        for (String word : words(title)) {
+            add(weights, hash(word), TITLE_WEIGHT);
+            if (previous != null) {
+                // Word pairs keep "black wallet" and "wallet black leather" apart a little
+                add(weights, hash(previous + ' ' + word), TITLE_PAIR_WEIGHT);
+            }
+            previous = word;
+        }
+        for (String word : words(location)) {
+            add(weights, hash(word), LOCATION_WEIGHT);
+        }
+        for (String word : words(description)) {
+            add(weights, hash(word), DESCRIPTION_WEIGHT);
+        }
+
+        long signature = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                signature |= 1L << bit;
+            }
+        }
+        return signature;
+    }
+
+    static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    private static String[] words(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        String[] tokens = text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+        int kept = 0;
+        for (String token : tokens) {
+            if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                tokens[kept++] = token;
+            }
+        }
+        String[] words = new String[kept];
+        System.arraycopy(tokens, 0, words, 0, kept);
+        return words;
+    }
+
+    private static void add(int[] weights, long hash, int weight) {
+        for (int bit = 0; bit < 64; bit++) {
+            weights[bit] += ((hash >>> bit) & 1L) != 0 ? weight : -weight;
+        }
+    }
+
+    // FNV-1a followed by a 64-bit finalizer, so every bit depends on the whole word
+    private static long hash(String word) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < word.length(); i++) {
+            h ^= word.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,29 @@
+package com.findspot.haroon.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidPageRequest(InvalidPageRequestException e) {
+        Map<String, String> body = new HashMap<>();
+        body.put("error", "Invalid page request");
+        body.put("message", e.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(TokenRefreshException.class)
+    public ResponseEntity<Map<String, String>> handleTokenRefresh(TokenRefreshException e) {
+        Map<String, String> body = new HashMap<>();
+        body.put("error", "Invalid refresh token");
+        body.put("message", e.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.UNAUTHORIZED);
+    }
+}
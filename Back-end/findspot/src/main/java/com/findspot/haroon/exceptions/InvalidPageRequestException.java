@@ -0,0 +1,7 @@
+package com.findspot.haroon.exceptions;
+
+public class InvalidPageRequestException extends RuntimeException {
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.findspot.haroon.exceptions;
+
+public class InvalidStatusTransitionException extends RuntimeException {
+    public InvalidStatusTransitionException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,251 @@
+package com.findspot.haroon.feed;
+
+import com.findspot.haroon.categories.CategoryRegistry;
+import com.findspot.haroon.dto.ItemFeedEventDto;
+import com.findspot.haroon.models.Item;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Live feed of item changes pushed to browsers over Server-Sent Events.
+ *
+ * Every write appends one event to a fixed-size ring shared by all subscribers; nothing is queued
+ * per connection. Each subscriber is a virtual thread that parks until the ring moves past its
+ * cursor and then writes the events matching its filters, so idle connections cost a parked
+ * virtual thread and a socket. A subscriber that falls a whole ring behind, because its client
+ * reads too slowly, is disconnected; the browser reconnects with Last-Event-ID and resumes from
+ * the ring if the events are still there.
+ *
+ * Subscribers never take the publish lock: a publisher unparks the ones that announced they are
+ * waiting after releasing it, and a subscriber re-checks the ring after announcing, so a wakeup
+ * can't be missed.
+ */
+@Component
+public class ItemFeed {
+
+    public enum Kind { CREATED, UPDATED, RESOLVED, REMOVED }
+
+    // The ring slot keeps the filter keys next to the payload so matching needs no lookups
+    private record Event(long sequence, ItemFeedEventDto payload, Item.ItemType type, Short categoryId,
+                         String location) {
+    }
+
+    private final CategoryRegistry categoryRegistry;
+    private final AtomicReferenceArray<Event> ring;
+    private final int mask;
+    private final ReentrantLock lock = new ReentrantLock(); // orders publishers only
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter droppedSubscribers;
+
+    private volatile long nextSequence = 1; // sequence of the next event; only written under the lock
+    private volatile boolean running = true;
+
+    @Value("${findspot.feed.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${findspot.feed.heartbeat-ms:15000}")
+    private long heartbeatMs;
+
+    @Value("${findspot.feed.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    public ItemFeed(CategoryRegistry categoryRegistry, MeterRegistry meterRegistry,
+                    @Value("${findspot.feed.ring-size:1024}") int ringSize) {
+        int capacity = Integer.highestOneBit(Math.max(ringSize, 16) - 1) << 1;
+        this.categoryRegistry = categoryRegistry;
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.droppedSubscribers = Counter.builder("findspot.feed.dropped")
+                .description("Feed connections closed because the client fell a whole ring behind")
+                .register(meterRegistry);
+        Gauge.builder("findspot.feed.subscribers", subscribers, Set::size)
+                .description("Open live feed connections")
+                .register(meterRegistry);
+    }
+
+    // Called after the write has committed; never blocks on subscribers
+    public void publish(Kind kind, Item item) {
+        ItemFeedEventDto payload = new ItemFeedEventDto(kind.name(), item.getId(), item.getTitle(),
+                item.getType().name(), categoryRegistry.slugOf(item.getCategoryId()),
+                categoryRegistry.nameOf(item.getCategoryId()), item.getLocation(), item.getDate(),
+                item.getStatus().name(), LocalDateTime.now());
+        String location = item.getLocation() != null ? item.getLocation().toLowerCase(Locale.ROOT) : "";
+        lock.lock();
+        try {
+            long sequence = nextSequence;
+            ring.set((int) (sequence & mask), new Event(sequence, payload, item.getType(), item.getCategoryId(), location));
+            nextSequence = sequence + 1;
+        } finally {
+            lock.unlock();
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.wake();
+        }
+    }
+
+    /**
+     * Opens a feed connection. Filters match like the browse endpoints: exact type and category,
+     * location as a case-insensitive substring. Returns null when the subscriber limit is reached.
+     */
+    public SseEmitter subscribe(Item.ItemType type, String category, String location, String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, type, categoryRegistry.filterId(category),
+                StringUtils.hasText(location) ? location.trim().toLowerCase(Locale.ROOT) : null,
+                resumeFrom(lastEventId));
+        subscribers.add(subscriber);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        Thread.ofVirtual().name("item-feed-subscriber").start(subscriber);
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        for (Subscriber subscriber : subscribers) {
+            subscriber.wake();
+            subscriber.emitter.complete();
+        }
+    }
+
+    // Reconnects continue after the last event they saw if it is still in the ring, otherwise from now
+    private long resumeFrom(String lastEventId) {
+        long next = nextSequence;
+        if (StringUtils.hasText(lastEventId)) {
+            try {
+                long resume = Long.parseLong(lastEventId.trim()) + 1;
+                if (resume <= next && next - resume <= mask) {
+                    return resume;
+                }
+            } catch (NumberFormatException ignored) {
+                // A malformed id just means a fresh start
+            }
+        }
+        return next;
+    }
+
+    private final class Subscriber implements Runnable {
+        private final SseEmitter emitter;
+        private final Item.ItemType type;
+        private final Short categoryId;
+        private final String location;
+        private long cursor;
+        private volatile boolean open = true;
+        private volatile Thread thread;
+        private volatile boolean waiting; // set before the final check of the ring, cleared on wakeup
+
+        Subscriber(SseEmitter emitter, Item.ItemType type, Short categoryId, String location, long cursor) {
+            this.emitter = emitter;
+            this.type = type;
+            this.categoryId = categoryId;
+            this.location = location;
+            this.cursor = cursor;
+        }
+
+        @Override
+        public void run() {
+            thread = Thread.currentThread();
+            try {
+                // Flushes the response headers so the browser sees the stream as open
+                emitter.send(SseEmitter.event().comment("connected"));
+                while (open && running) {
+                    if (!awaitEvents()) {
+                        if (open && running) {
+                            // Keeps proxies from closing an idle stream and detects clients that left
+                            emitter.send(SseEmitter.event().comment("heartbeat"));
+                        }
+                        continue;
+                    }
+                    long head = nextSequence;
+                    for (; cursor < head && open; cursor++) {
+                        Event event = ring.get((int) (cursor & mask));
+                        if (event == null || event.sequence() != cursor) {
+                            // Overwritten before this client read it
+                            droppedSubscribers.increment();
+                            emitter.complete();
+                            return;
+                        }
+                        if (matches(event)) {
+                            emitter.send(SseEmitter.event()
+                                    .id(String.valueOf(event.sequence()))
+                                    .name(event.payload().getKind().toLowerCase(Locale.ROOT))
+                                    .data(event.payload(), MediaType.APPLICATION_JSON));
+                        }
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter already completed
+                emitter.completeWithError(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                emitter.complete();
+            } finally {
+                close();
+            }
+        }
+
+        // True when events are waiting, false when the heartbeat interval passed without any.
+        // waiting and nextSequence are both volatile: either the publisher sees waiting and unparks,
+        // or this thread sees the new sequence and doesn't park; a stale unpark only causes a re-check
+        private boolean awaitEvents() throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(heartbeatMs);
+            while (cursor >= nextSequence && open && running) {
+                long waitNanos = deadline - System.nanoTime();
+                if (waitNanos <= 0) {
+                    return false;
+                }
+                waiting = true;
+                if (cursor >= nextSequence && open && running) {
+                    LockSupport.parkNanos(this, waitNanos);
+                }
+                waiting = false;
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            return cursor < nextSequence;
+        }
+
+        void wake() {
+            Thread waiter = thread;
+            if (waiting && waiter != null) {
+                LockSupport.unpark(waiter);
+            }
+        }
+
+        private boolean matches(Event event) {
+            return (type == null || type == event.type())
+                    && (categoryId == null || categoryId.equals(event.categoryId()))
+                    && (location == null || event.location().contains(location));
+        }
+
+        void close() {
+            if (open) {
+                open = false;
+                subscribers.remove(this);
+                wake(); // so this subscriber's thread can exit
+            }
+        }
+    }
+}
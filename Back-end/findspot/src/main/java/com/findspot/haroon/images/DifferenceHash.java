@@ -0,0 +1,62 @@
+package com.findspot.haroon.images;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * 64-bit difference hash (dHash) of an image. The picture is reduced to a 9x8 grid of average
+ * brightness, and each bit records whether a cell is brighter than its right-hand neighbour.
+ * Rescaling, recompression and small colour shifts leave most bits alone, so photos of the same
+ * object from similar angles land a few bits apart.
+ */
+final class DifferenceHash {
+
+    private static final int WIDTH = 9;
+    private static final int HEIGHT = 8;
+    private static final int SAMPLES = 8; // per cell and axis, so large photos cost the same as small ones
+
+    private DifferenceHash() {
+    }
+
+    static long of(BufferedImage image) {
+        double[][] cells = new double[HEIGHT][WIDTH];
+        int width = image.getWidth();
+        int height = image.getHeight();
+        for (int row = 0; row < HEIGHT; row++) {
+            for (int column = 0; column < WIDTH; column++) {
+                cells[row][column] = averageBrightness(image,
+                        column * width / WIDTH, Math.max((column + 1) * width / WIDTH, column * width / WIDTH + 1),
+                        row * height / HEIGHT, Math.max((row + 1) * height / HEIGHT, row * height / HEIGHT + 1));
+            }
+        }
+
+        long hash = 0;
+        for (int row = 0; row < HEIGHT; row++) {
+            for (int column = 0; column < WIDTH - 1; column++) {
+                hash <<= 1;
+                if (cells[row][column] > cells[row][column + 1]) {
+                    hash |= 1;
+                }
+            }
+        }
+        return hash;
+    }
+
+    static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    private static double averageBrightness(BufferedImage image, int x0, int x1, int y0, int y1) {
+        int stepX = Math.max(1, (x1 - x0) / SAMPLES);
+        int stepY = Math.max(1, (y1 - y0) / SAMPLES);
+        double sum = 0;
+        int count = 0;
+        for (int y = y0; y < Math.min(y1, image.getHeight()); y += stepY) {
+            for (int x = x0; x < Math.min(x1, image.getWidth()); x += stepX) {
+                int rgb = image.getRGB(x, y);
+                sum += 0.299 * ((rgb >> 16) & 0xFF) + 0.587 * ((rgb >> 8) & 0xFF) + 0.114 * (rgb & 0xFF);
+                count++;
+            }
+        }
+        return count == 0 ? 0 : sum / count;
+    }
+}
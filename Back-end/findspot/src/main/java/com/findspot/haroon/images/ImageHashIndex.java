@@ -0,0 +1,217 @@
+package com.findspot.haroon.images;
+
+import com.findspot.haroon.models.Item;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory multi-index hash table over the image hashes of ACTIVE items.
+ *
+ * Each 64-bit hash is split into four 16-bit substrings, and each substring indexes a table of
+ * 65536 buckets. Two hashes at most eleven bits apart must agree within two bits on one of the
+ * substrings, so a lookup probes the 137 buckets within distance two of each substring and checks
+ * full distances only for what it finds there. With a million images that is a few hundred bucket
+ * reads and a few thousand comparisons, without walking the whole set the way a BK-tree query for
+ * a wide radius tends to.
+ *
+ * Hashes are added as the pipeline computes them. A periodic rebuild drops items that are no longer
+ * ACTIVE, plus images that were removed, and deletes hash rows whose image is gone.
+ */
+@Component
+public class ImageHashIndex {
+
+    public record Match(long itemId, int distance) {
+    }
+
+    private record Entry(long itemId, byte type, long hash) {
+    }
+
+    private static final int SUBSTRINGS = 4;
+    private static final int SUBSTRING_BITS = 16;
+    private static final int SUBSTRING_RADIUS = 2;
+    public static final int MAX_DISTANCE = SUBSTRINGS * (SUBSTRING_RADIUS + 1) - 1;
+
+    @Value("${findspot.images.cleanup-batch-size:1000}")
+    private int cleanupBatchSize;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Table table;                      // null until the first rebuild finishes
+    private List<Entry> addedDuringRebuild;   // non-null while a rebuild is reading
+
+    // Items of the given type with an image within maxDistance of any of the hashes, closest first
+    public List<Match> findSimilar(List<Long> hashes, Item.ItemType type, long excludeItemId, int maxDistance, int limit) {
+        int radius = Math.min(maxDistance, MAX_DISTANCE);
+        Map<Long, Integer> best = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            if (table == null) {
+                return List.of();
+            }
+            for (Long hash : hashes) {
+                table.search(hash, (byte) type.ordinal(), excludeItemId, radius, best);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Match> matches = new ArrayList<>(best.size());
+        best.forEach((itemId, distance) -> matches.add(new Match(itemId, distance)));
+        matches.sort(Comparator.comparingInt(Match::distance).thenComparingLong(Match::itemId));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    public void add(long itemId, Item.ItemType type, long hash) {
+        Entry entry = new Entry(itemId, (byte) type.ordinal(), hash);
+        lock.writeLock().lock();
+        try {
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.add(entry);
+            }
+            if (table != null) {
+                table.add(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${findspot.images.index-rebuild-interval-ms:900000}")
+    public void rebuild() {
+        deleteOrphanedHashes();
+
+        lock.writeLock().lock();
+        try {
+            addedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Table next = new Table();
+        try {
+            jdbcTemplate.query("SELECT h.item_id, h.hash, i.type FROM image_hashes h "
+                            + "JOIN items i ON i.id = h.item_id "
+                            + "JOIN item_images ii ON ii.item_id = h.item_id AND ii.image_url = h.image_url "
+                            + "WHERE h.hash IS NOT NULL AND i.status = :status AND i.deleted_at IS NULL",
+                    new MapSqlParameterSource("status", Item.ItemStatus.ACTIVE.name()),
+                    rs -> {
+                        next.add(new Entry(rs.getLong("item_id"),
+                                (byte) Item.ItemType.valueOf(rs.getString("type")).ordinal(), rs.getLong("hash")));
+                    });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                addedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Entry entry : addedDuringRebuild) {
+                next.add(entry);
+            }
+            addedDuringRebuild = null;
+            table = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Hashes of images that were removed from their item, or whose item was archived or deleted
+    private void deleteOrphanedHashes() {
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", cleanupBatchSize);
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update("DELETE FROM image_hashes WHERE id IN (SELECT id FROM ("
+                    + "SELECT h.id FROM image_hashes h LEFT JOIN item_images ii "
+                    + "ON ii.item_id = h.item_id AND ii.image_url = h.image_url "
+                    + "WHERE ii.item_id IS NULL LIMIT :limit) orphaned)", params);
+        } while (deleted == cleanupBatchSize);
+    }
+
+    private static final class Table {
+        private long[] itemIds = new long[1024];
+        private long[] hashes = new long[1024];
+        private byte[] types = new byte[1024];
+        private int size;
+        private final int[][][] buckets = new int[SUBSTRINGS][1 << SUBSTRING_BITS][];
+        private final int[][] bucketSizes = new int[SUBSTRINGS][1 << SUBSTRING_BITS];
+
+        void add(Entry entry) {
+            if (size == itemIds.length) {
+                itemIds = Arrays.copyOf(itemIds, size * 2);
+                hashes = Arrays.copyOf(hashes, size * 2);
+                types = Arrays.copyOf(types, size * 2);
+            }
+            int index = size++;
+            itemIds[index] = entry.itemId();
+            hashes[index] = entry.hash();
+            types[index] = entry.type();
+            for (int substring = 0; substring < SUBSTRINGS; substring++) {
+                int key = substring(entry.hash(), substring);
+                int[] bucket = buckets[substring][key];
+                int length = bucketSizes[substring][key];
+                if (bucket == null) {
+                    bucket = new int[4];
+                } else if (length == bucket.length) {
+                    bucket = Arrays.copyOf(bucket, length * 2);
+                }
+                bucket[length] = index;
+                buckets[substring][key] = bucket;
+                bucketSizes[substring][key] = length + 1;
+            }
+        }
+
+        void search(long hash, byte type, long excludeItemId, int radius, Map<Long, Integer> best) {
+            for (int substring = 0; substring < SUBSTRINGS; substring++) {
+                int key = substring(hash, substring);
+                probe(substring, key, hash, type, excludeItemId, radius, best);
+                for (int i = 0; i < SUBSTRING_BITS; i++) {
+                    probe(substring, key ^ (1 << i), hash, type, excludeItemId, radius, best);
+                    for (int j = i + 1; j < SUBSTRING_BITS; j++) {
+                        probe(substring, key ^ (1 << i) ^ (1 << j), hash, type, excludeItemId, radius, best);
+                    }
+                }
+            }
+        }
+
+        private void probe(int substring, int key, long hash, byte type, long excludeItemId, int radius,
+                           Map<Long, Integer> best) {
+            int[] bucket = buckets[substring][key];
+            if (bucket == null) {
+                return;
+            }
+            for (int k = 0, length = bucketSizes[substring][key]; k < length; k++) {
+                int index = bucket[k];
+                if (types[index] != type || itemIds[index] == excludeItemId) {
+                    continue;
+                }
+                int distance = DifferenceHash.distance(hash, hashes[index]);
+                if (distance <= radius) {
+                    best.merge(itemIds[index], distance, Math::min);
+                }
+            }
+        }
+
+        private static int substring(long hash, int substring) {
+            return (int) ((hash >>> (substring * SUBSTRING_BITS)) & ((1 << SUBSTRING_BITS) - 1));
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.findspot.haroon.images;
+
+import com.findspot.haroon.models.Item;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Computes difference hashes of item photos in the background.
+ *
+ * Item writes only enqueue the item id; a fixed pool of workers with a bounded queue reads the
+ * images from the blob directory, hashes them and stores one image_hashes row per URL, so a slow
+ * or huge image never holds up a request. When the queue is full the item is skipped, and the
+ * backfill scan picks it up later along with anything written while the node was down.
+ *
+ * Only URLs under the blob URL prefix are read, and only from inside the blob directory; nothing
+ * is fetched over the network. Images that cannot be read, or whose header declares more than
+ * max-pixels, get a row without a hash so they are not retried.
+ */
+@Component
+public class ImageHashPipeline {
+
+    private record Pending(Item.ItemType type, String imageUrl) {
+    }
+
+    private static final int DECODE_EDGE = 256;
+
+    // Images of one item that have no hash row yet
+    private static final String PENDING_SQL = "SELECT i.type, ii.image_url FROM item_images ii "
+            + "JOIN items i ON i.id = ii.item_id "
+            + "LEFT JOIN image_hashes h ON h.item_id = ii.item_id AND h.image_url = ii.image_url "
+            + "WHERE ii.item_id = :itemId AND h.id IS NULL AND i.deleted_at IS NULL";
+
+    @Value("${findspot.images.blob-root:uploads}")
+    private String blobRoot;
+
+    @Value("${findspot.images.blob-url-prefix:/uploads/}")
+    private String blobUrlPrefix;
+
+    @Value("${findspot.images.max-bytes:10485760}")
+    private long maxBytes;
+
+    @Value("${findspot.images.max-pixels:40000000}")
+    private long maxPixels;
+
+    @Value("${findspot.images.backfill-batch-size:500}")
+    private int backfillBatchSize;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ImageHashIndex imageHashIndex;
+
+    private final ThreadPoolExecutor workers;
+    private final Counter hashed;
+    private final Counter unreadable;
+    private final Counter skipped;
+
+    public ImageHashPipeline(MeterRegistry meterRegistry,
+                             @Value("${findspot.images.hash-workers:2}") int workerCount,
+                             @Value("${findspot.images.hash-queue-size:1000}") int queueSize) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "image-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+        this.hashed = Counter.builder("findspot.images.hashed")
+                .description("Item images hashed for visual matching")
+                .register(meterRegistry);
+        this.unreadable = Counter.builder("findspot.images.unreadable")
+                .description("Item images outside the blob store or not decodable")
+                .register(meterRegistry);
+        this.skipped = Counter.builder("findspot.images.skipped")
+                .description("Items not queued for hashing because the worker queue was full")
+                .register(meterRegistry);
+    }
+
+    // Called after an item write commits; never blocks
+    public void submit(Long itemId) {
+        try {
+            workers.execute(() -> hashItem(itemId));
+        } catch (RejectedExecutionException e) {
+            skipped.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${findspot.images.backfill-interval-ms:300000}",
+            initialDelayString = "${findspot.images.backfill-interval-ms:300000}")
+    public void backfill() {
+        List<Long> itemIds = jdbcTemplate.queryForList("SELECT DISTINCT ii.item_id FROM item_images ii "
+                        + "LEFT JOIN image_hashes h ON h.item_id = ii.item_id AND h.image_url = ii.image_url "
+                        + "WHERE h.id IS NULL LIMIT :limit",
+                new MapSqlParameterSource("limit", backfillBatchSize), Long.class);
+        for (Long itemId : itemIds) {
+            if (workers.getQueue().remainingCapacity() == 0) {
+                return;
+            }
+            submit(itemId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void hashItem(Long itemId) {
+        List<Pending> pending = jdbcTemplate.query(PENDING_SQL, new MapSqlParameterSource("itemId", itemId),
+                (rs, rowNum) -> new Pending(Item.ItemType.valueOf(rs.getString("type")), rs.getString("image_url")));
+        for (Pending image : pending) {
+            Long hash = hashImage(image.imageUrl());
+            // A concurrent backfill may have hashed the same image; the unique key keeps one row
+            int inserted = jdbcTemplate.update("INSERT IGNORE INTO image_hashes (item_id, image_url, hash, computed_at) "
+                            + "VALUES (:itemId, :imageUrl, :hash, :computedAt)",
+                    new MapSqlParameterSource("itemId", itemId)
+                            .addValue("imageUrl", image.imageUrl())
+                            .addValue("hash", hash)
+                            .addValue("computedAt", LocalDateTime.now()));
+            if (hash == null) {
+                unreadable.increment();
+            } else if (inserted > 0) {
+                hashed.increment();
+                imageHashIndex.add(itemId, image.type(), hash);
+            }
+        }
+    }
+
+    private Long hashImage(String imageUrl) {
+        Path file = resolve(imageUrl);
+        if (file == null) {
+            return null;
+        }
+        try {
+            if (!Files.isRegularFile(file) || Files.size(file) > maxBytes) {
+                return null;
+            }
+            BufferedImage image = decode(file);
+            return image != null ? DifferenceHash.of(image) : null;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    // The size comes from the header before any pixels are decoded: images over max-pixels are refused, and the
+    // rest are decoded subsampled to about DECODE_EDGE pixels on the short side, which is more than the hash samples
+    private BufferedImage decode(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long width = reader.getWidth(0);
+                long height = reader.getHeight(0);
+                if (width <= 0 || height <= 0 || width * height > maxPixels) {
+                    return null;
+                }
+                int step = (int) Math.max(1, Math.min(width, height) / DECODE_EDGE);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Maps a stored image URL onto the blob directory; null for anything outside it
+    private Path resolve(String imageUrl) {
+        if (!StringUtils.hasText(imageUrl)) {
+            return null;
+        }
+        String path;
+        try {
+            path = URI.create(imageUrl.trim()).getPath();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (path == null || !path.startsWith(blobUrlPrefix)) {
+            return null;
+        }
+        Path root = Paths.get(blobRoot).toAbsolutePath().normalize();
+        Path file = root.resolve(path.substring(blobUrlPrefix.length())).normalize();
+        return file.startsWith(root) ? file : null;
+    }
+}
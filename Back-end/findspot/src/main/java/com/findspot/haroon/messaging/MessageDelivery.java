@@ -0,0 +1,65 @@
+package com.findspot.haroon.messaging;
+
+import com.findspot.haroon.dto.MessageDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-poll delivery of new messages. A waiting request holds no thread, only a DeferredResult
+ * registered under its conversation; sending a message completes every waiter of that conversation
+ * with it. Waiters register before the caller checks the database, so a message committed between
+ * the check and the registration is still delivered.
+ */
+@Component
+public class MessageDelivery {
+
+    private final Map<Long, Set<DeferredResult<ResponseEntity<List<MessageDto>>>>> waiters = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    @Value("${findspot.messages.max-waiters:10000}")
+    private int maxWaiters;
+
+    // Null when too many requests are already waiting; a timed-out wait answers with an empty list
+    public DeferredResult<ResponseEntity<List<MessageDto>>> await(Long conversationId, long timeoutMs) {
+        if (waiting.incrementAndGet() > maxWaiters) {
+            waiting.decrementAndGet();
+            return null;
+        }
+        DeferredResult<ResponseEntity<List<MessageDto>>> result =
+                new DeferredResult<>(timeoutMs, () -> new ResponseEntity<>(List.of(), HttpStatus.OK));
+        // Added inside compute so it cannot race the removal of an emptied set
+        waiters.compute(conversationId, (id, set) -> {
+            Set<DeferredResult<ResponseEntity<List<MessageDto>>>> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            target.add(result);
+            return target;
+        });
+        result.onCompletion(() -> {
+            waiting.decrementAndGet();
+            waiters.computeIfPresent(conversationId, (id, set) -> {
+                set.remove(result);
+                return set.isEmpty() ? null : set;
+            });
+        });
+        return result;
+    }
+
+    // Called after the message has committed
+    public void deliver(MessageDto message) {
+        Set<DeferredResult<ResponseEntity<List<MessageDto>>>> set = waiters.get(message.getConversationId());
+        if (set == null) {
+            return;
+        }
+        for (DeferredResult<ResponseEntity<List<MessageDto>>> result : set) {
+            result.setResult(new ResponseEntity<>(List.of(message), HttpStatus.OK));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.findspot.haroon.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "account_deletion_jobs", indexes = {
+        @Index(name = "idx_deletion_job_status", columnList = "status, updatedAt")
+})
+public class AccountDeletionJob {
+    @Id
+    @Column(length = 36)
+    private String id; // random UUID, also the handle clients poll with after their account is gone
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Phase phase;
+
+    @Column(nullable = false)
+    private long deletedItems;
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(nullable = false)
+    private LocalDateTime requestedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        requestedAt = LocalDateTime.now();
+        updatedAt = requestedAt;
+        if (status == null) {
+            status = JobStatus.PENDING;
+        }
+        if (phase == null) {
+            phase = Phase.SAVED_ITEMS;
+        }
+    }
+
+    public enum JobStatus {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    // Executed in declaration order; the current phase is persisted so a restarted job resumes there
+    public enum Phase {
+        SAVED_ITEMS, ITEMS, TOKENS, CONVERSATIONS, SETTINGS, USER, DONE
+    }
+}
@@ -0,0 +1,81 @@
+package com.findspot.haroon.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// Cold copy of an Item moved out of the items table by ItemArchiver; keeps the original id
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "items_archive", indexes = {
+        @Index(name = "idx_items_archive_type_category", columnList = "type, categoryId"),
+        @Index(name = "idx_items_archive_user", columnList = "user_id")
+})
+public class ArchivedItem {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(length = 500)
+    private String shortDescription;
+
+    @Column(length = 2000)
+    private String fullDescription;
+
+    @Column(nullable = false)
+    private Short categoryId;
+
+    @Column(nullable = false)
+    private String location;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Item.ItemType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Item.ItemStatus status;
+
+    @ElementCollection
+    @CollectionTable(name = "items_archive_images", joinColumns = @JoinColumn(name = "item_id"))
+    @Column(name = "image_url")
+    private List<String> images;
+
+    @ElementCollection
+    @CollectionTable(name = "items_archive_additional_details", joinColumns = @JoinColumn(name = "item_id"))
+    @MapKeyColumn(name = "detail_key")
+    @Column(name = "detail_value")
+    private Map<String, String> additionalDetails;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private UserEntity user;
+
+    @Column(nullable = false)
+    private LocalDateTime reportedDate;
+
+    @Column
+    private LocalDateTime resolvedDate;
+
+    @Column
+    private String contactPreference;
+
+    @Column
+    private Boolean agreedToTerms;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,31 @@
+package com.findspot.haroon.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashSet;
+import java.util.Set;
+
+// One node of the item taxonomy; items reference it by id, clients by slug, name or any alias
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "categories")
+public class Category {
+    @Id
+    private Short id; // assigned, so ids stay stable across environments
+
+    @Column(nullable = false, unique = true, length = 50)
+    private String slug;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "category_aliases", joinColumns = @JoinColumn(name = "category_id"))
+    @Column(name = "alias", nullable = false, length = 100)
+    private Set<String> aliases = new HashSet<>();
+}
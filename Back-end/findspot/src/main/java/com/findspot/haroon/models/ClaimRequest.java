@@ -0,0 +1,52 @@
+package com.findspot.haroon.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "claim_requests",
+        indexes = @Index(name = "idx_claim_requests_queue", columnList = "item_id, status, id"),
+        // One claim per claimant and item, so retried submissions cannot add rows
+        uniqueConstraints = @UniqueConstraint(name = "uk_claim_requests_item_claimant",
+                columnNames = {"item_id", "claimant_id"}))
+public class ClaimRequest {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", nullable = false)
+    private Item item;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "claimant_id", nullable = false)
+    private UserEntity claimant;
+
+    @Column(length = 1000)
+    private String message; // how the claimant can prove the item is theirs
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ClaimStatus status = ClaimStatus.PENDING;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime decidedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public enum ClaimStatus {
+        PENDING, ACCEPTED, REJECTED, WITHDRAWN
+    }
+}
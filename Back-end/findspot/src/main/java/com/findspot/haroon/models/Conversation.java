@@ -0,0 +1,54 @@
+package com.findspot.haroon.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// A thread between an item's owner and one other user about that item
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "conversations", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_conversations_item_starter", columnNames = {"item_id", "started_by_id"})
+})
+public class Conversation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // No foreign key: the thread outlives archival of the item, so the title is kept here as well
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(nullable = false)
+    private String itemTitle;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner_id", nullable = false)
+    private UserEntity owner;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "started_by_id", nullable = false)
+    private UserEntity startedBy;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column
+    private Long lastMessageId;
+
+    @Column
+    private LocalDateTime lastMessageAt;
+
+    @Column(length = 140)
+    private String lastMessagePreview;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,43 @@
+package com.findspot.haroon.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One user's inbox entry for a conversation; keeps the unread counter so the inbox never counts messages
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "conversation_members", indexes = {
+        @Index(name = "idx_conversation_members_inbox", columnList = "user_id, lastMessageId")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_conversation_members", columnNames = {"conversation_id", "user_id"})
+})
+public class ConversationMember {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "conversation_id", nullable = false)
+    private Conversation conversation;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private UserEntity user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "counterpart_id", nullable = false)
+    private UserEntity counterpart;
+
+    @Column(nullable = false)
+    private Long lastMessageId = 0L; // inbox sort key, copied from the conversation on every message
+
+    @Column(nullable = false)
+    private Integer unreadCount = 0;
+
+    @Column
+    private Long lastReadMessageId;
+}
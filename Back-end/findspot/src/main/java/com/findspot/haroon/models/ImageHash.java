@@ -0,0 +1,34 @@
+package com.findspot.haroon.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "image_hashes",
+        indexes = @Index(name = "idx_image_hashes_item", columnList = "item_id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_image_hashes_item_url", columnNames = {"item_id", "image_url"}))
+public class ImageHash {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // No foreign key: rows of archived or deleted items are cleaned up by ImageHashIndex
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(name = "image_url", nullable = false)
+    private String imageUrl;
+
+    @Column(name = "hash")
+    private Long hash; // 64-bit difference hash; null when the image could not be read
+
+    @Column(nullable = false)
+    private LocalDateTime computedAt;
+}
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -14,7 +16,13 @@ import java.util.Map;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "items")
+@Table(name = "items", indexes = {
+        @Index(name = "idx_items_deleted_at", columnList = "deletedAt"),
+        @Index(name = "idx_items_status_reported", columnList = "status, reportedDate"),
+        @Index(name = "idx_items_status_resolved", columnList = "status, resolvedDate"),
+        @Index(name = "idx_items_type_category", columnList = "type, categoryId, id")
+})
+@SQLRestriction("deleted_at IS NULL") // tombstoned items are invisible to every JPA query
 public class Item {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,7 +38,7 @@ public class Item {
     private String fullDescription;
 
     @Column(nullable = false)
-    private String category;
+    private Short categoryId; // see CategoryRegistry for slugs, names and aliases
 
     @Column(nullable = false)
     private String location;
@@ -46,12 +54,16 @@ public class Item {
     @Column(nullable = false)
     private ItemStatus status; // ACTIVE, CLAIMED, CLOSED
 
+    // Collections are loaded for up to 50 items of the persistence context at once, so a page or
+    // a stream chunk costs one query per collection instead of one per item
     @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(name = "item_images", joinColumns = @JoinColumn(name = "item_id"))
     @Column(name = "image_url")
     private List<String> images;
 
     @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(name = "item_additional_details", joinColumns = @JoinColumn(name = "item_id"))
     @MapKeyColumn(name = "detail_key")
     @Column(name = "detail_value")
@@ -73,6 +85,13 @@ public class Item {
     @Column
     private Boolean agreedToTerms; // For found items
 
+    @Version
+    @Column(nullable = false)
+    private Long version; // bumped by every save and status transition
+
+    @Column
+    private LocalDateTime deletedAt; // Set when the owner deletes the item; the row is removed later by the sweeper
+
     @PrePersist
     protected void onCreate() {
         reportedDate = LocalDateTime.now();
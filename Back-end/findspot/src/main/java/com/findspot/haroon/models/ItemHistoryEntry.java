@@ -0,0 +1,47 @@
+package com.findspot.haroon.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Immutable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "item_history", indexes = {
+        @Index(name = "idx_item_history_item", columnList = "item_id, id"),
+        @Index(name = "idx_item_history_actor", columnList = "actor"),
+        @Index(name = "idx_item_history_occurred", columnList = "occurredAt") // rollup backfill reads a day at a time
+})
+public class ItemHistoryEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // No foreign key, so the trail of an item outlives the item itself
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(nullable = false, length = 20)
+    private String action; // see ItemAuditLog.Action
+
+    @Column(nullable = false)
+    private String actor; // username of whoever made the change
+
+    @Column(length = 20)
+    private String fromStatus;
+
+    @Column(length = 20)
+    private String toStatus;
+
+    @Column(length = 500)
+    private String fields; // comma-separated names of the changed fields
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,42 @@
+package com.findspot.haroon.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// Append-only: rows are never updated, and history is read newest first by (conversation_id, id)
+@Entity
+@Immutable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "messages", indexes = {
+        @Index(name = "idx_messages_conversation", columnList = "conversation_id, id")
+})
+public class Message {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "conversation_id", nullable = false)
+    private Long conversationId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "sender_id", nullable = false)
+    private UserEntity sender;
+
+    @Column(nullable = false, length = 2000)
+    private String body;
+
+    @Column(nullable = false)
+    private LocalDateTime sentAt;
+
+    @PrePersist
+    protected void onCreate() {
+        sentAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,44 @@
+package com.findspot.haroon.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// One row per signed-in device; the refresh tokens themselves are signed and never stored
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "refresh_sessions", indexes = {
+        @Index(name = "idx_refresh_sessions_user", columnList = "user_id"),
+        @Index(name = "idx_refresh_sessions_expires", columnList = "expiresAt")
+})
+public class RefreshSession {
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private UserEntity user;
+
+    @Column
+    private String userAgent;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt; // absolute lifetime; rotation never extends it
+
+    @Column
+    private Instant revokedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+    }
+}
@@ -0,0 +1,52 @@
+package com.findspot.haroon.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// One day of report and resolution counts for one type, category and location; see ResolutionRollups
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "resolution_rollups",
+        indexes = @Index(name = "idx_resolution_rollups_day", columnList = "day"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_resolution_rollups_key",
+                columnNames = {"category_id", "location_key", "type", "day"}))
+public class ResolutionRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Item.ItemType type;
+
+    @Column(name = "category_id", nullable = false)
+    private Short categoryId; // ResolutionRollups.ALL_CATEGORIES for the row covering every category
+
+    @Column(name = "location_key", nullable = false, length = 100)
+    private String locationKey; // normalized location; empty for the row covering every location
+
+    @Column(nullable = false)
+    private long reported;
+
+    @Column(nullable = false)
+    private long resolved; // moved from ACTIVE to CLAIMED or CLOSED
+
+    @Column(nullable = false)
+    private long recovered; // moved from ACTIVE to CLAIMED
+
+    @Column(nullable = false)
+    private long reopened;
+
+    @Lob
+    @Column(columnDefinition = "BLOB")
+    private byte[] hoursToResolve; // serialized TDigest of the hours between report and resolution
+}
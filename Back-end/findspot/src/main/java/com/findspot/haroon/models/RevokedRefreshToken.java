@@ -0,0 +1,42 @@
+package com.findspot.haroon.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Source of truth for RefreshTokenRevocationList; rows can be dropped once expiresAt has passed
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "revoked_refresh_tokens", indexes = {
+        @Index(name = "idx_revoked_refresh_tokens_expires", columnList = "expiresAt")
+})
+public class RevokedRefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String fingerprint; // SHA-256 of the token id or session id, hex encoded
+
+    @Column(nullable = false, length = 36)
+    private String sessionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Reason reason;
+
+    @Column(nullable = false)
+    private Instant revokedAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    public enum Reason {
+        ROTATED, LOGOUT, REUSE_DETECTED, ACCOUNT_REVOKED
+    }
+}
@@ -0,0 +1,96 @@
+package com.findspot.haroon.pagination;
+
+import com.findspot.haroon.exceptions.InvalidPageRequestException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single place where client supplied page/limit values are validated before they reach a query.
+ *
+ * Limits are clamped to [1, max-limit] instead of rejected so existing clients keep working, while
+ * OFFSET pagination past max-offset rows is refused: MySQL still reads and discards every skipped
+ * row, so deep pages have to use the keyset "cursor" parameter instead.
+ */
+@Component
+public class PaginationPolicy {
+
+    @Value("${findspot.pagination.max-limit:100}")
+    private int maxLimit;
+
+    @Value("${findspot.pagination.max-offset:10000}")
+    private long maxOffset;
+
+    @Value("${findspot.pagination.max-stream-limit:1000}")
+    private int maxStreamLimit;
+
+    private final Counter limitTooHigh;
+    private final Counter limitTooLow;
+    private final Counter negativePage;
+    private final Counter rejectedDeepOffset;
+
+    public PaginationPolicy(MeterRegistry meterRegistry) {
+        this.limitTooHigh = clampCounter(meterRegistry, "limit_too_high");
+        this.limitTooLow = clampCounter(meterRegistry, "limit_too_low");
+        this.negativePage = clampCounter(meterRegistry, "negative_page");
+        this.rejectedDeepOffset = Counter.builder("findspot.pagination.rejected")
+                .description("Page requests refused because the offset was too deep")
+                .register(meterRegistry);
+    }
+
+    public PageRequest pageRequest(int page, int limit, Sort sort) {
+        int safeLimit = clampLimit(limit);
+        if (page < 0) {
+            negativePage.increment();
+            page = 0;
+        }
+        if ((long) page * safeLimit > maxOffset) {
+            rejectedDeepOffset.increment();
+            throw new InvalidPageRequestException("Offset pagination is limited to the first " + maxOffset
+                    + " results; page by id with the 'cursor' parameter instead, starting from the id of the last"
+                    + " item seen");
+        }
+        return PageRequest.of(page, safeLimit, sort);
+    }
+
+    // Keyset queries always read the first page after the cursor, only the size needs clamping
+    public PageRequest cursorRequest(int limit, Sort sort) {
+        return PageRequest.of(0, clampLimit(limit), sort);
+    }
+
+    // Streamed pages are never held in memory, so they may be larger than regular ones
+    public int clampStreamLimit(int limit) {
+        if (limit > maxStreamLimit) {
+            limitTooHigh.increment();
+            return maxStreamLimit;
+        }
+        return Math.max(1, limit);
+    }
+
+    // The limit a request will actually be served with, without counting it as a clamp
+    public int effectiveLimit(int limit) {
+        return Math.max(1, Math.min(limit, maxLimit));
+    }
+
+    public int clampLimit(int limit) {
+        if (limit < 1) {
+            limitTooLow.increment();
+            return 1;
+        }
+        if (limit > maxLimit) {
+            limitTooHigh.increment();
+            return maxLimit;
+        }
+        return limit;
+    }
+
+    private static Counter clampCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("findspot.pagination.clamped")
+                .description("Page requests whose page or limit was adjusted server-side")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
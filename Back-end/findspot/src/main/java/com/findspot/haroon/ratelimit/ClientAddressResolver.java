@@ -0,0 +1,144 @@
+package com.findspot.haroon.ratelimit;
+
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Works out the address of the client behind the reverse proxies the deployment trusts.
+ *
+ * The forwarding chain is read right to left, starting from the connection's own address: every
+ * hop that is a trusted proxy may have appended the address it received the request from, so the
+ * first untrusted address is the client. Anything further left was written by the client itself
+ * and is ignored. With no trusted proxies configured the forwarding headers are never read.
+ * The standard Forwarded header wins over X-Forwarded-For when both are present.
+ */
+public class ClientAddressResolver {
+
+    private static final Pattern FORWARDED_FOR = Pattern.compile("(?i)(?:^|[;,])\\s*for=(\"[^\"]*\"|[^;,\\s]*)");
+    private static final Pattern IPV4 = Pattern.compile("(25[0-5]|2[0-4]\\d|1?\\d?\\d)(\\.(25[0-5]|2[0-4]\\d|1?\\d?\\d)){3}");
+    private static final Pattern IPV6 = Pattern.compile("[0-9a-fA-F:.]*:[0-9a-fA-F:.]*");
+
+    private record Network(byte[] address, int prefixLength) {
+    }
+
+    private final List<Network> trustedProxies = new ArrayList<>();
+
+    // Entries are addresses or CIDR ranges, e.g. "10.0.0.0/8" or "::1"
+    public ClientAddressResolver(List<String> trustedProxies) {
+        for (String entry : trustedProxies) {
+            if (!StringUtils.hasText(entry)) {
+                continue;
+            }
+            String[] parts = entry.trim().split("/", 2);
+            byte[] address = parseLiteral(parts[0]);
+            if (address == null) {
+                throw new IllegalArgumentException("Not an IP address or range: " + entry);
+            }
+            int prefixLength = parts.length == 2 ? Integer.parseInt(parts[1]) : address.length * 8;
+            if (prefixLength < 0 || prefixLength > address.length * 8) {
+                throw new IllegalArgumentException("Invalid prefix length: " + entry);
+            }
+            this.trustedProxies.add(new Network(address, prefixLength));
+        }
+    }
+
+    public String resolve(String remoteAddress, String forwarded, String xForwardedFor) {
+        if (trustedProxies.isEmpty() || !isTrusted(remoteAddress)) {
+            return remoteAddress;
+        }
+        List<String> hops = StringUtils.hasText(forwarded) ? forwardedFor(forwarded) : xForwardedFor(xForwardedFor);
+        String client = remoteAddress;
+        for (int i = hops.size() - 1; i >= 0; i--) {
+            String hop = hops.get(i);
+            if (parseLiteral(hop) == null) {
+                // Obfuscated or malformed; the trusted proxy to its right is as close as we can get
+                return client;
+            }
+            client = hop;
+            if (!isTrusted(hop)) {
+                return client;
+            }
+        }
+        return client;
+    }
+
+    private boolean isTrusted(String address) {
+        byte[] bytes = parseLiteral(address);
+        if (bytes == null) {
+            return false;
+        }
+        for (Network network : trustedProxies) {
+            if (network.address().length == bytes.length && matches(network, bytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(Network network, byte[] address) {
+        int fullBytes = network.prefixLength() / 8;
+        for (int i = 0; i < fullBytes; i++) {
+            if (network.address()[i] != address[i]) {
+                return false;
+            }
+        }
+        int remainingBits = network.prefixLength() % 8;
+        if (remainingBits == 0) {
+            return true;
+        }
+        int mask = (0xFF << (8 - remainingBits)) & 0xFF;
+        return (network.address()[fullBytes] & mask) == (address[fullBytes] & mask);
+    }
+
+    private static List<String> xForwardedFor(String header) {
+        List<String> hops = new ArrayList<>();
+        if (StringUtils.hasText(header)) {
+            for (String hop : header.split(",")) {
+                hops.add(hop.trim());
+            }
+        }
+        return hops;
+    }
+
+    // for= values in order, without quotes, IPv6 brackets or ports
+    private static List<String> forwardedFor(String header) {
+        List<String> hops = new ArrayList<>();
+        Matcher matcher = FORWARDED_FOR.matcher(header);
+        while (matcher.find()) {
+            String value = matcher.group(1);
+            if (value.startsWith("\"") && value.endsWith("\"") && value.length() >= 2) {
+                value = value.substring(1, value.length() - 1);
+            }
+            if (value.startsWith("[")) {
+                int end = value.indexOf(']');
+                value = end > 0 ? value.substring(1, end) : value;
+            } else if (value.indexOf(':') == value.lastIndexOf(':') && value.indexOf(':') > 0) {
+                value = value.substring(0, value.indexOf(':'));
+            }
+            hops.add(value);
+        }
+        return hops;
+    }
+
+    // Only literals are handed to InetAddress, so a header value can never trigger a DNS lookup
+    private static byte[] parseLiteral(String value) {
+        if (value == null) {
+            return null;
+        }
+        String candidate = value.trim();
+        if (!IPV4.matcher(candidate).matches() && !IPV6.matcher(candidate).matches()) {
+            return null;
+        }
+        try {
+            return InetAddress.getByName(candidate).getAddress();
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+}
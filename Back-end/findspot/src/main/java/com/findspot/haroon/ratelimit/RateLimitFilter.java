@@ -0,0 +1,141 @@
+package com.findspot.haroon.ratelimit;
+
+import com.findspot.haroon.security.JWTGenerator;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // 16 stripes x 64k slots = 1M tracked keys in 16 MB of primitive arrays
+    private final TokenBucketTable buckets = new TokenBucketTable(16, 1 << 16);
+
+    @Autowired
+    private JWTGenerator jwtGenerator;
+
+    // Only meant to be switched off for load tests, where all traffic comes from one address
+    @Value("${findspot.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    // Reverse proxies whose X-Forwarded-For / Forwarded entries are believed; empty means clients connect directly
+    @Value("${findspot.rate-limit.trusted-proxies:}")
+    private List<String> trustedProxies;
+
+    // Credential endpoints each cost a BCrypt hash, so they are limited hard and always per IP
+    @Value("${findspot.rate-limit.auth.capacity:5}")
+    private int authCapacity;
+
+    @Value("${findspot.rate-limit.auth.refill-per-minute:5}")
+    private double authRefillPerMinute;
+
+    @Value("${findspot.rate-limit.refresh.capacity:10}")
+    private int refreshCapacity;
+
+    @Value("${findspot.rate-limit.refresh.refill-per-minute:10}")
+    private double refreshRefillPerMinute;
+
+    @Value("${findspot.rate-limit.browse.capacity:60}")
+    private int browseCapacity;
+
+    @Value("${findspot.rate-limit.browse.refill-per-minute:1200}")
+    private double browseRefillPerMinute;
+
+    @Value("${findspot.rate-limit.write.capacity:30}")
+    private int writeCapacity;
+
+    @Value("${findspot.rate-limit.write.refill-per-minute:60}")
+    private double writeRefillPerMinute;
+
+    @Value("${findspot.rate-limit.default.capacity:120}")
+    private int defaultCapacity;
+
+    @Value("${findspot.rate-limit.default.refill-per-minute:2400}")
+    private double defaultRefillPerMinute;
+
+    private RateLimitPolicy auth;
+    private RateLimitPolicy refresh;
+    private RateLimitPolicy browse;
+    private RateLimitPolicy write;
+    private RateLimitPolicy fallback;
+    private ClientAddressResolver clientAddresses;
+
+    // A bad value fails startup rather than leaving an endpoint unprotected
+    @Override
+    protected void initFilterBean() {
+        auth = new RateLimitPolicy("auth", authCapacity, authRefillPerMinute / 60);
+        refresh = new RateLimitPolicy("refresh", refreshCapacity, refreshRefillPerMinute / 60);
+        browse = new RateLimitPolicy("browse", browseCapacity, browseRefillPerMinute / 60);
+        write = new RateLimitPolicy("write", writeCapacity, writeRefillPerMinute / 60);
+        fallback = new RateLimitPolicy("default", defaultCapacity, defaultRefillPerMinute / 60);
+        clientAddresses = new ClientAddressResolver(trustedProxies != null ? trustedProxies : List.of());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!enabled || "OPTIONS".equalsIgnoreCase(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimitPolicy policy = resolvePolicy(request);
+        String client = policy == auth || policy == refresh ? "ip:" + clientAddress(request) : resolveClient(request);
+        long waitMillis = buckets.tryAcquire(TokenBucketTable.hash(policy.getName() + '|' + client), policy);
+
+        if (waitMillis > 0) {
+            response.setStatus(429);
+            response.setHeader("Retry-After", String.valueOf((waitMillis + 999) / 1000));
+            response.setContentType("text/plain");
+            response.getWriter().write("Too many requests, please retry later");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimitPolicy resolvePolicy(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+
+        if (path.startsWith("/api/auth/")) {
+            if (path.endsWith("/refresh-token")) {
+                return refresh;
+            }
+            if (path.endsWith("/logout")) {
+                return fallback;
+            }
+            return auth;
+        }
+        if (path.startsWith("/api/items")) {
+            return "GET".equalsIgnoreCase(method) ? browse : write;
+        }
+        return fallback;
+    }
+
+    // Authenticated callers are limited per user so they keep their quota across networks;
+    // anything without a readable token falls back to the remote address
+    private String resolveClient(HttpServletRequest request) {
+        String bearerToken = request.getHeader("Authorization");
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            try {
+                return "user:" + jwtGenerator.getUsernameFromJWT(bearerToken.substring(7));
+            } catch (Exception e) {
+                // Invalid or expired token, JWTAuthenticationFilter will reject it
+            }
+        }
+        return "ip:" + clientAddress(request);
+    }
+
+    private String clientAddress(HttpServletRequest request) {
+        return clientAddresses.resolve(request.getRemoteAddr(), request.getHeader("Forwarded"),
+                request.getHeader("X-Forwarded-For"));
+    }
+}
@@ -0,0 +1,27 @@
+package com.findspot.haroon.ratelimit;
+
+import lombok.Getter;
+
+@Getter
+public class RateLimitPolicy {
+    private final String name;
+    private final int capacity;          // maximum burst size
+    private final double refillPerSecond; // steady-state permits per second
+
+    public RateLimitPolicy(String name, int capacity, double refillPerSecond) {
+        if (capacity <= 0 || capacity > TokenBucketTable.MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + TokenBucketTable.MAX_CAPACITY);
+        }
+        if (refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Refill rate must be positive");
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+    }
+
+    // Time for an empty bucket to fill up again; a key idle this long is indistinguishable from a new one
+    public long fullRefillMillis() {
+        return (long) Math.ceil(capacity * 1000.0 / refillPerSecond);
+    }
+}
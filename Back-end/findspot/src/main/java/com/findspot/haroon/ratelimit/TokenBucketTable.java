@@ -0,0 +1,150 @@
+package com.findspot.haroon.ratelimit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free table of token buckets keyed by 64-bit hashes.
+ *
+ * Each slot is two longs in an AtomicLongArray: the key hash and a packed state word
+ * (40 bits of last-refill time in ms, 24 bits of tokens in 16.8 fixed point). The table is split
+ * into stripes so it never needs to be resized, and a key is looked up by probing a short window
+ * of slots. New keys take the least recently used slot in their window; a bucket that has been idle
+ * long enough to refill completely is indistinguishable from a fresh one, so evicting it loses
+ * nothing and memory stays bounded no matter how many distinct clients show up.
+ *
+ * Under a race on slot reuse a caller can occasionally be admitted against the previous tenant's
+ * state; that only ever errs on the side of letting a request through.
+ */
+public class TokenBucketTable {
+
+    private static final int FRACTION_BITS = 8;
+    private static final long ONE = 1L << FRACTION_BITS;
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long EMPTY = 0L;
+    private static final int PROBE = 8;
+
+    public static final int MAX_CAPACITY = (int) (TOKEN_MASK >> FRACTION_BITS);
+
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+    private final int slotMask;
+    private final long originNanos = System.nanoTime();
+
+    public TokenBucketTable(int stripeCount, int slotsPerStripe) {
+        if (Integer.bitCount(stripeCount) != 1 || Integer.bitCount(slotsPerStripe) != 1) {
+            throw new IllegalArgumentException("Stripe count and slots per stripe must be powers of two");
+        }
+        this.stripes = new AtomicLongArray[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new AtomicLongArray(slotsPerStripe * 2);
+        }
+        this.stripeMask = stripeCount - 1;
+        this.slotMask = slotsPerStripe - 1;
+    }
+
+    /**
+     * Takes one permit for the given key.
+     *
+     * @return 0 when the request is allowed, otherwise the number of milliseconds until a permit frees up
+     */
+    public long tryAcquire(long key, RateLimitPolicy policy) {
+        if (key == EMPTY) {
+            key = 1L;
+        }
+        long now = nowMillis();
+        AtomicLongArray stripe = stripes[(int) (key >>> 40) & stripeMask];
+        int base = (int) key & slotMask;
+
+        while (true) {
+            int candidate = -1;
+            long candidateKey = EMPTY;
+            long stalest = Long.MAX_VALUE;
+
+            for (int i = 0; i < PROBE; i++) {
+                int slot = ((base + i) & slotMask) << 1;
+                long k = stripe.get(slot);
+                if (k == key) {
+                    return consume(stripe, slot + 1, policy, now);
+                }
+                // Empty slots sort first, then the least recently used one; if even that one is
+                // still busy the window is saturated and it gets evicted anyway
+                long lastSeen = k == EMPTY ? -1 : stripe.get(slot + 1) >>> TOKEN_BITS;
+                if (lastSeen < stalest) {
+                    candidate = slot;
+                    candidateKey = k;
+                    stalest = lastSeen;
+                }
+            }
+
+            if (stripe.compareAndSet(candidate, candidateKey, key)) {
+                long capacity = (long) policy.getCapacity() << FRACTION_BITS;
+                stripe.set(candidate + 1, pack(now, capacity - ONE));
+                return 0;
+            }
+            // Lost the slot to another thread; rescan since it may have inserted this very key
+        }
+    }
+
+    private long consume(AtomicLongArray stripe, int index, RateLimitPolicy policy, long now) {
+        long capacity = (long) policy.getCapacity() << FRACTION_BITS;
+        double refillPerMilli = policy.getRefillPerSecond() * ONE / 1000.0;
+
+        while (true) {
+            long state = stripe.get(index);
+            long last = state >>> TOKEN_BITS;
+            long tokens = state & TOKEN_MASK;
+
+            long elapsed = now - last;
+            if (elapsed > 0) {
+                if (tokens >= capacity) {
+                    last = now;
+                } else {
+                    long added = (long) (elapsed * refillPerMilli);
+                    // Only move the clock forward once at least one fixed-point unit was earned,
+                    // otherwise frequent callers would keep discarding their partial refill
+                    if (added > 0) {
+                        tokens = Math.min(capacity, tokens + added);
+                        last = now;
+                    }
+                }
+            }
+
+            if (tokens >= ONE) {
+                if (stripe.compareAndSet(index, state, pack(last, tokens - ONE))) {
+                    return 0;
+                }
+                continue;
+            }
+
+            if (last != state >>> TOKEN_BITS) {
+                stripe.compareAndSet(index, state, pack(last, tokens));
+            }
+            return Math.max(1L, (long) Math.ceil((ONE - tokens) / refillPerMilli));
+        }
+    }
+
+    private long nowMillis() {
+        return (System.nanoTime() - originNanos) / 1_000_000L;
+    }
+
+    private static long pack(long millis, long tokens) {
+        return (millis << TOKEN_BITS) | (tokens & TOKEN_MASK);
+    }
+
+    // 64-bit FNV-1a followed by a murmur3 finalizer so both stripe and slot bits are well mixed
+    public static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= (b & 0xff);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
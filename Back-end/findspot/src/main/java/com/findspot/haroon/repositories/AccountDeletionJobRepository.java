@@ -0,0 +1,32 @@
+package com.findspot.haroon.repositories;
+
+import com.findspot.haroon.models.AccountDeletionJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountDeletionJobRepository extends JpaRepository<AccountDeletionJob, String> {
+
+    Optional<AccountDeletionJob> findFirstByUserIdAndStatusIn(Long userId, Collection<AccountDeletionJob.JobStatus> statuses);
+
+    // Pending jobs, plus running ones whose worker stopped reporting progress (e.g. the node died)
+    @Query("SELECT j.id FROM AccountDeletionJob j WHERE j.status = 'PENDING' OR " +
+           "(j.status = 'RUNNING' AND j.updatedAt < :staleBefore) ORDER BY j.requestedAt")
+    List<String> findRunnableJobIds(@Param("staleBefore") LocalDateTime staleBefore);
+
+    // Conditional claim so only one node works on a job at a time
+    @Modifying
+    @Transactional
+    @Query("UPDATE AccountDeletionJob j SET j.status = 'RUNNING', j.updatedAt = :now WHERE j.id = :id AND " +
+           "(j.status = 'PENDING' OR (j.status = 'RUNNING' AND j.updatedAt < :staleBefore))")
+    int claim(@Param("id") String id, @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+}
@@ -0,0 +1,25 @@
+package com.findspot.haroon.repositories;
+
+import com.findspot.haroon.models.ArchivedItem;
+import com.findspot.haroon.models.Item;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedItemRepository extends JpaRepository<ArchivedItem, Long> {
+
+    // Mirrors ItemRepository.findByTypeAndFiltersBeforeCursor so the two can be merged by id
+    @Query("SELECT a FROM ArchivedItem a WHERE a.type = :type AND " +
+           "(:cursor IS NULL OR a.id < :cursor) AND " +
+           "(:categoryId IS NULL OR a.categoryId = :categoryId) AND " +
+           "(:location IS NULL OR LOWER(a.location) LIKE LOWER(CONCAT('%', :location, '%')))")
+    Slice<ArchivedItem> findByTypeAndFiltersBeforeCursor(@Param("type") Item.ItemType type,
+                                                        @Param("categoryId") Short categoryId,
+                                                        @Param("location") String location,
+                                                        @Param("cursor") Long cursor,
+                                                        Pageable pageable);
+}
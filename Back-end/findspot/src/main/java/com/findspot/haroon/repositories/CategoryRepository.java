@@ -0,0 +1,10 @@
+package com.findspot.haroon.repositories;
+
+import com.findspot.haroon.models.Category;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface CategoryRepository extends JpaRepository<Category, Short> {
+    List<Category> findAllByOrderByIdAsc();
+}
@@ -0,0 +1,64 @@
+package com.findspot.haroon.repositories;
+
+import com.findspot.haroon.models.ClaimRequest;
+import com.findspot.haroon.models.UserEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface ClaimRequestRepository extends JpaRepository<ClaimRequest, Long> {
+
+    @Query("SELECT c FROM ClaimRequest c WHERE c.item.id = :itemId AND c.claimant = :claimant")
+    Optional<ClaimRequest> findByItemIdAndClaimant(@Param("itemId") Long itemId, @Param("claimant") UserEntity claimant);
+
+    @Query("SELECT c FROM ClaimRequest c JOIN FETCH c.item i JOIN FETCH i.user WHERE c.id = :id")
+    Optional<ClaimRequest> findWithItemById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(c) FROM ClaimRequest c WHERE c.item.id = :itemId AND c.status = :status")
+    long countByItemIdAndStatus(@Param("itemId") Long itemId, @Param("status") ClaimRequest.ClaimStatus status);
+
+    // The finder's queue, oldest first
+    @Query("SELECT c FROM ClaimRequest c JOIN FETCH c.claimant " +
+           "WHERE c.item.id = :itemId AND (:cursor IS NULL OR c.id > :cursor) ORDER BY c.id ASC")
+    Slice<ClaimRequest> findQueueAfterCursor(@Param("itemId") Long itemId,
+                                             @Param("cursor") Long cursor,
+                                             Pageable pageable);
+
+    @Query("SELECT c FROM ClaimRequest c JOIN FETCH c.item " +
+           "WHERE c.claimant = :claimant AND (:cursor IS NULL OR c.id < :cursor) ORDER BY c.id DESC")
+    Slice<ClaimRequest> findByClaimantBeforeCursor(@Param("claimant") UserEntity claimant,
+                                                   @Param("cursor") Long cursor,
+                                                   Pageable pageable);
+
+    // Conditional on the status read earlier, so two decisions on one claim cannot both succeed
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ClaimRequest c SET c.status = :target, c.decidedAt = :now " +
+           "WHERE c.id = :id AND c.status = :expected")
+    int transition(@Param("id") Long id,
+                   @Param("expected") ClaimRequest.ClaimStatus expected,
+                   @Param("target") ClaimRequest.ClaimStatus target,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ClaimRequest c SET c.status = com.findspot.haroon.models.ClaimRequest.ClaimStatus.REJECTED, " +
+           "c.decidedAt = :now WHERE c.item.id = :itemId " +
+           "AND c.status = com.findspot.haroon.models.ClaimRequest.ClaimStatus.PENDING")
+    int rejectPending(@Param("itemId") Long itemId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ClaimRequest c WHERE c.item.id IN :itemIds")
+    int deleteByItemIds(@Param("itemIds") Collection<Long> itemIds);
+}
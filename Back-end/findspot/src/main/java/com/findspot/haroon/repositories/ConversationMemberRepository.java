@@ -0,0 +1,53 @@
+package com.findspot.haroon.repositories;
+
+import com.findspot.haroon.models.ConversationMember;
+import com.findspot.haroon.models.UserEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface ConversationMemberRepository extends JpaRepository<ConversationMember, Long> {
+
+    // The inbox: one range scan of idx_conversation_members_inbox, however long the threads are
+    @Query("SELECT m FROM ConversationMember m JOIN FETCH m.conversation JOIN FETCH m.counterpart " +
+           "WHERE m.user = :user AND (:cursor IS NULL OR m.lastMessageId < :cursor) ORDER BY m.lastMessageId DESC")
+    Slice<ConversationMember> findInboxBeforeCursor(@Param("user") UserEntity user,
+                                                    @Param("cursor") Long cursor,
+                                                    Pageable pageable);
+
+    Optional<ConversationMember> findByConversationIdAndUser(Long conversationId, UserEntity user);
+
+    @Query("SELECT COALESCE(SUM(m.unreadCount), 0) FROM ConversationMember m WHERE m.user = :user AND m.unreadCount > 0")
+    long sumUnreadCount(@Param("user") UserEntity user);
+
+    // Moves both inbox entries to the top; the sender has read everything up to their own message
+    @Modifying
+    @Transactional
+    @Query("UPDATE ConversationMember m SET m.lastMessageId = :messageId, " +
+           "m.unreadCount = CASE WHEN m.user.id = :senderId THEN 0 ELSE m.unreadCount + 1 END, " +
+           "m.lastReadMessageId = CASE WHEN m.user.id = :senderId THEN :messageId ELSE m.lastReadMessageId END " +
+           "WHERE m.conversation.id = :conversationId")
+    int recordMessage(@Param("conversationId") Long conversationId,
+                      @Param("messageId") Long messageId,
+                      @Param("senderId") Long senderId);
+
+    // Recounts from the client's read position, so a message that arrived after it stays unread
+    @Modifying
+    @Transactional
+    @Query("UPDATE ConversationMember m SET m.lastReadMessageId = :readUpTo, m.unreadCount = " +
+           "(SELECT COUNT(msg) FROM Message msg WHERE msg.conversationId = :conversationId " +
+           "AND msg.id > :readUpTo AND msg.sender.id <> :userId) " +
+           "WHERE m.conversation.id = :conversationId AND m.user.id = :userId " +
+           "AND (m.lastReadMessageId IS NULL OR m.lastReadMessageId < :readUpTo)")
+    int markRead(@Param("conversationId") Long conversationId,
+                 @Param("userId") Long userId,
+                 @Param("readUpTo") Long readUpTo);
+}
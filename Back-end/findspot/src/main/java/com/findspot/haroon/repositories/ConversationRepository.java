@@ -0,0 +1,27 @@
+package com.findspot.haroon.repositories;
+
+import com.findspot.haroon.models.Conversation;
+import com.findspot.haroon.models.UserEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ConversationRepository extends JpaRepository<Conversation, Long> {
+    Optional<Conversation> findByItemIdAndStartedBy(Long itemId, UserEntity startedBy);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Conversation c SET c.lastMessageId = :messageId, c.lastMessageAt = :sentAt, " +
+           "c.lastMessagePreview = :preview WHERE c.id = :id")
+    int recordLastMessage(@Param("id") Long id,
+                          @Param("messageId") Long messageId,
+                          @Param("sentAt") LocalDateTime sentAt,
+                          @Param("preview") String preview);
+}
@@ -0,0 +1,16 @@
+package com.findspot.haroon.repositories;
+
+import com.findspot.haroon.models.ImageHash;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImageHashRepository extends JpaRepository<ImageHash, Long> {
+
+    @Query("SELECT h.hash FROM ImageHash h WHERE h.itemId = :itemId AND h.hash IS NOT NULL")
+    List<Long> findHashesByItemId(@Param("itemId") Long itemId);
+}
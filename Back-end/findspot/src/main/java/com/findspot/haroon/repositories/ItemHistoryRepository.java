@@ -0,0 +1,21 @@
+package com.findspot.haroon.repositories;
+
+import com.findspot.haroon.models.ItemHistoryEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ItemHistoryRepository extends JpaRepository<ItemHistoryEntry, Long> {
+
+    @Query("SELECT h FROM ItemHistoryEntry h WHERE h.itemId = :itemId AND (:cursor IS NULL OR h.id < :cursor) " +
+           "ORDER BY h.id DESC")
+    Slice<ItemHistoryEntry> findByItemIdBeforeCursor(@Param("itemId") Long itemId,
+                                                     @Param("cursor") Long cursor,
+                                                     Pageable pageable);
+
+    boolean existsByItemIdAndActionAndActor(Long itemId, String action, String actor);
+}
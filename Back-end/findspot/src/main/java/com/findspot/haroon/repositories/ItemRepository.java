@@ -2,27 +2,67 @@ package com.findspot.haroon.repositories;
 
 import com.findspot.haroon.models.Item;
 import com.findspot.haroon.models.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
+
+    String STREAM_FETCH_SIZE = "100";
     
     @Query("SELECT i FROM Item i WHERE i.type = :type AND " +
-           "(:category IS NULL OR i.category = :category) AND " +
+           "(:categoryId IS NULL OR i.categoryId = :categoryId) AND " +
            "(:location IS NULL OR LOWER(i.location) LIKE LOWER(CONCAT('%', :location, '%')))")
     Page<Item> findByTypeAndFilters(@Param("type") Item.ItemType type,
-                                   @Param("category") String category,
+                                   @Param("categoryId") Short categoryId,
                                    @Param("location") String location,
                                    Pageable pageable);
     
     Page<Item> findByType(Item.ItemType type, Pageable pageable);
+
+    // Keyset pagination for deep browsing: newest first, strictly older than the cursor id
+    @Query("SELECT i FROM Item i WHERE i.type = :type AND " +
+           "(:cursor IS NULL OR i.id < :cursor) AND " +
+           "(:categoryId IS NULL OR i.categoryId = :categoryId) AND " +
+           "(:location IS NULL OR LOWER(i.location) LIKE LOWER(CONCAT('%', :location, '%')))")
+    Slice<Item> findByTypeAndFiltersBeforeCursor(@Param("type") Item.ItemType type,
+                                                @Param("categoryId") Short categoryId,
+                                                @Param("location") String location,
+                                                @Param("cursor") Long cursor,
+                                                Pageable pageable);
+
+    // Same filter as above, but hydrated one row at a time as the caller consumes the stream.
+    // With useCursorFetch on the connection URL MySQL hands rows over STREAM_FETCH_SIZE at a time
+    // from a server-side cursor. The fully streaming fetch size (Integer.MIN_VALUE) is not used:
+    // it locks the connection until the result set is drained, and the batched image and detail
+    // lookups run on the same connection while it is open.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT i FROM Item i JOIN FETCH i.user WHERE i.type = :type AND " +
+           "(:cursor IS NULL OR i.id < :cursor) AND " +
+           "(:categoryId IS NULL OR i.categoryId = :categoryId) AND " +
+           "(:location IS NULL OR LOWER(i.location) LIKE LOWER(CONCAT('%', :location, '%'))) " +
+           "ORDER BY i.id DESC")
+    Stream<Item> streamByTypeAndFilters(@Param("type") Item.ItemType type,
+                                        @Param("categoryId") Short categoryId,
+                                        @Param("location") String location,
+                                        @Param("cursor") Long cursor,
+                                        Limit limit);
     
     Page<Item> findByUser(UserEntity user, Pageable pageable);
     
@@ -55,4 +95,46 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     
     // New counting methods for user statistics
     long countByUserAndTypeAndStatus(UserEntity user, Item.ItemType type, Item.ItemStatus status);
+
+    // Conditional status change used by ItemStateMachine; the subquery keeps the owner check in the same statement.
+    // resolvedFrom is the resolution date the caller read, so a resolve-reopen-resolve in between doesn't match
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Item i SET i.status = :target, i.resolvedDate = :resolvedDate, i.version = i.version + 1 " +
+           "WHERE i.id = :id AND i.status IN :sources AND i.deletedAt IS NULL AND " +
+           "(i.resolvedDate = :resolvedFrom OR (i.resolvedDate IS NULL AND :resolvedFrom IS NULL)) AND " +
+           "i.user.id = (SELECT u.id FROM UserEntity u WHERE u.username = :username)")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("username") String username,
+                         @Param("sources") Collection<Item.ItemStatus> sources,
+                         @Param("resolvedFrom") LocalDateTime resolvedFrom,
+                         @Param("target") Item.ItemStatus target,
+                         @Param("resolvedDate") LocalDateTime resolvedDate);
+
+    // Tombstone an item in one statement; physical removal happens in DeletedItemSweeper
+    @Modifying
+    @Transactional
+    @Query("UPDATE Item i SET i.deletedAt = :now, i.version = i.version + 1 WHERE i.id = :id AND i.user = :user AND i.deletedAt IS NULL")
+    int markDeleted(@Param("id") Long id, @Param("user") UserEntity user, @Param("now") LocalDateTime now);
+
+    // Native on purpose: JPQL would apply the deleted_at restriction and never see tombstones
+    @Query(value = "SELECT id FROM items WHERE deleted_at IS NOT NULL AND deleted_at < :cutoff ORDER BY id LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findTombstonedIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM item_images WHERE item_id IN (:itemIds)", nativeQuery = true)
+    int deleteImagesByItemIds(@Param("itemIds") Collection<Long> itemIds);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM item_additional_details WHERE item_id IN (:itemIds)", nativeQuery = true)
+    int deleteAdditionalDetailsByItemIds(@Param("itemIds") Collection<Long> itemIds);
+
+    // Callers must remove images, details and saved items first
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM items WHERE id IN (:itemIds)", nativeQuery = true)
+    int deleteRowsByIds(@Param("itemIds") Collection<Long> itemIds);
 }
\ No newline at end of file
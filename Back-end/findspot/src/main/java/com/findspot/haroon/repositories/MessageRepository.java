@@ -0,0 +1,30 @@
+package com.findspot.haroon.repositories;
+
+import com.findspot.haroon.models.Message;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MessageRepository extends JpaRepository<Message, Long> {
+
+    // History newest first, read from idx_messages_conversation
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender WHERE m.conversationId = :conversationId " +
+           "AND (:cursor IS NULL OR m.id < :cursor) ORDER BY m.id DESC")
+    Slice<Message> findHistoryBeforeCursor(@Param("conversationId") Long conversationId,
+                                           @Param("cursor") Long cursor,
+                                           Pageable pageable);
+
+    // What a polling client has not seen yet, oldest first
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender WHERE m.conversationId = :conversationId " +
+           "AND m.id > :after ORDER BY m.id ASC")
+    List<Message> findAfter(@Param("conversationId") Long conversationId,
+                            @Param("after") Long after,
+                            Limit limit);
+}
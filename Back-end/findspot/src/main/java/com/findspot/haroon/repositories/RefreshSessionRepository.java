@@ -0,0 +1,30 @@
+package com.findspot.haroon.repositories;
+
+import com.findspot.haroon.models.RefreshSession;
+import com.findspot.haroon.models.UserEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RefreshSessionRepository extends JpaRepository<RefreshSession, String> {
+
+    @Query("SELECT s FROM RefreshSession s WHERE s.user = :user AND s.revokedAt IS NULL AND s.expiresAt > :now")
+    List<RefreshSession> findActiveByUser(@Param("user") UserEntity user, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE RefreshSession s SET s.revokedAt = :now WHERE s.id = :id AND s.revokedAt IS NULL")
+    int markRevoked(@Param("id") String id, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshSession s WHERE s.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
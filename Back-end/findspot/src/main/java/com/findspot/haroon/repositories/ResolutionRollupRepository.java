@@ -0,0 +1,25 @@
+package com.findspot.haroon.repositories;
+
+import com.findspot.haroon.models.Item;
+import com.findspot.haroon.models.ResolutionRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ResolutionRollupRepository extends JpaRepository<ResolutionRollup, Long> {
+
+    // At most one row per type and day, read through the unique key
+    @Query("SELECT r FROM ResolutionRollup r WHERE r.categoryId = :categoryId AND r.locationKey = :locationKey " +
+           "AND r.type IN :types AND r.day BETWEEN :from AND :to ORDER BY r.day")
+    List<ResolutionRollup> findRange(@Param("categoryId") Short categoryId,
+                                     @Param("locationKey") String locationKey,
+                                     @Param("types") Collection<Item.ItemType> types,
+                                     @Param("from") LocalDate from,
+                                     @Param("to") LocalDate to);
+}
@@ -0,0 +1,25 @@
+package com.findspot.haroon.repositories;
+
+import com.findspot.haroon.models.RevokedRefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface RevokedRefreshTokenRepository extends JpaRepository<RevokedRefreshToken, Long> {
+
+    Optional<RevokedRefreshToken> findByFingerprint(String fingerprint);
+
+    boolean existsByFingerprint(String fingerprint);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedRefreshToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -5,9 +5,15 @@ import com.findspot.haroon.models.UserEntity;
 import com.findspot.haroon.models.Item;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +25,24 @@ public interface SavedItemRepository extends JpaRepository<SavedItem, Long> {
     boolean existsByUserAndItem(UserEntity user, Item item);
     void deleteByUserAndItem(UserEntity user, Item item);
     long countByUser(UserEntity user);
+
+    // One query per page to flag which of the listed items the caller has saved
+    @Query("SELECT s.item.id FROM SavedItem s WHERE s.user.username = :username AND s.item.id IN :itemIds")
+    List<Long> findSavedItemIds(@Param("username") String username, @Param("itemIds") Collection<Long> itemIds);
+
+    @Query("SELECT s FROM SavedItem s JOIN FETCH s.item i JOIN FETCH i.user " +
+           "WHERE s.user = :user AND i.deletedAt IS NULL AND (:cursor IS NULL OR s.id < :cursor) ORDER BY s.id DESC")
+    Slice<SavedItem> findByUserBeforeCursor(@Param("user") UserEntity user,
+                                            @Param("cursor") Long cursor,
+                                            Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SavedItem s WHERE s.user = :user AND s.item.id = :itemId")
+    int deleteByUserAndItemId(@Param("user") UserEntity user, @Param("itemId") Long itemId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SavedItem s WHERE s.item.id IN :itemIds")
+    int deleteByItemIds(@Param("itemIds") Collection<Long> itemIds);
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.findspot.haroon.repositories;
 
 import com.findspot.haroon.models.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -9,4 +11,18 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
     Optional<UserEntity> findByUsername(String Username);
     Optional<UserEntity> findByEmail(String email);
     Boolean existsByUsername(String username);
+
+    @Query("SELECT u.id AS userId, " +
+           "n.emailEnabled AS emailEnabled, n.pushEnabled AS pushEnabled, n.lostItemAlerts AS lostItemAlerts, " +
+           "n.foundItemAlerts AS foundItemAlerts, n.messageAlerts AS messageAlerts, " +
+           "p.showEmail AS showEmail, p.showPhone AS showPhone, p.showLocation AS showLocation, " +
+           "p.allowMessageFromNonConnections AS allowMessageFromNonConnections, " +
+           "d.theme AS theme, d.language AS language, d.compactView AS compactView, " +
+           "d.showResolvedItems AS showResolvedItems " +
+           "FROM UserEntity u " +
+           "LEFT JOIN NotificationSettings n ON n.user = u " +
+           "LEFT JOIN PrivacySettings p ON p.user = u " +
+           "LEFT JOIN DisplaySettings d ON d.user = u " +
+           "WHERE u.username = :username")
+    Optional<UserSettingsProjection> findSettingsByUsername(@Param("username") String username);
 }
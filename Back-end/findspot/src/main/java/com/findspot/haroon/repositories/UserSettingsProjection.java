@@ -0,0 +1,22 @@
+package com.findspot.haroon.repositories;
+
+// One row holding all three settings tables for a user; columns of a missing settings row are null
+public interface UserSettingsProjection {
+    Long getUserId();
+
+    Boolean getEmailEnabled();
+    Boolean getPushEnabled();
+    Boolean getLostItemAlerts();
+    Boolean getFoundItemAlerts();
+    Boolean getMessageAlerts();
+
+    Boolean getShowEmail();
+    Boolean getShowPhone();
+    Boolean getShowLocation();
+    Boolean getAllowMessageFromNonConnections();
+
+    String getTheme();
+    String getLanguage();
+    Boolean getCompactView();
+    Boolean getShowResolvedItems();
+}
@@ -0,0 +1,50 @@
+package com.findspot.haroon.security;
+
+/**
+ * Minimal Bloom filter over pre-hashed keys.
+ *
+ * Callers pass two independent 64-bit hashes of the key and the k probe positions are derived
+ * from them by double hashing (h1 + i * h2). Instances are filled once and then only read, so
+ * they are published by swapping a volatile reference rather than by synchronizing.
+ */
+public class BloomFilter {
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.bits = new long[(int) ((bitCount + 63) >>> 6)];
+        this.bitCount = (long) bits.length << 6;
+        this.hashCount = hashCount;
+    }
+
+    // Optimal sizing for the expected number of keys and false positive rate
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        return new BloomFilter(Math.max(64, m), k);
+    }
+
+    public void put(long hash1, long hash2) {
+        long combined = hash1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = (combined & Long.MAX_VALUE) % bitCount;
+            bits[(int) (index >>> 6)] |= 1L << index;
+            combined += hash2;
+        }
+    }
+
+    public boolean mightContain(long hash1, long hash2) {
+        long combined = hash1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = (combined & Long.MAX_VALUE) % bitCount;
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+            combined += hash2;
+        }
+        return true;
+    }
+}
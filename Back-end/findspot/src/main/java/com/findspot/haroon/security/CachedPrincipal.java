@@ -0,0 +1,16 @@
+package com.findspot.haroon.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// What token authentication needs to know about a user; deliberately excludes the password hash
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CachedPrincipal {
+    private String username;
+    private List<String> roles;
+}
@@ -1,8 +1,11 @@
 package com.findspot.haroon.security;
 
+import com.findspot.haroon.cache.TieredCache;
+import com.findspot.haroon.cache.TieredCacheManager;
 import com.findspot.haroon.models.Role;
 import com.findspot.haroon.models.UserEntity;
 import com.findspot.haroon.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
@@ -11,6 +14,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -18,9 +22,15 @@ import java.util.stream.Collectors;
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
     private UserRepository userRepository;
+    private final TieredCache<CachedPrincipal> principalCache;
 
-    public CustomUserDetailsService(UserRepository userRepository){
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    TieredCacheManager cacheManager,
+                                    @Value("${findspot.principal-cache.max-entries:50000}") long maxEntries,
+                                    @Value("${findspot.principal-cache.ttl-seconds:300}") long ttlSeconds){
         this.userRepository = userRepository;
+        this.principalCache = cacheManager.create("user-principal", CachedPrincipal.class, maxEntries,
+                Duration.ofSeconds(ttlSeconds));
     }
 
     @Override
@@ -29,6 +39,24 @@ public class CustomUserDetailsService implements UserDetailsService {
         return new User(user.getUsername(), user.getPassword(), mapRolesToAuthorities(user.getRoles()));
     }
 
+    // Used for every request carrying an access token; the token already proved who the caller is,
+    // so the password hash is neither needed nor cached
+    public UserDetails loadAuthenticatedUser(String username) throws UsernameNotFoundException {
+        CachedPrincipal principal = principalCache.get(username, () -> userRepository.findByUsername(username)
+                .map(user -> new CachedPrincipal(user.getUsername(),
+                        user.getRoles().stream().map(Role::getName).collect(Collectors.toList())))
+                .orElse(null));
+        if (principal == null) {
+            throw new UsernameNotFoundException("Username Not Found");
+        }
+        return new User(principal.getUsername(), "", principal.getRoles().stream()
+                .map(SimpleGrantedAuthority::new).collect(Collectors.toList()));
+    }
+
+    public void evictAuthenticatedUser(String username) {
+        principalCache.invalidate(username);
+    }
+
     private Collection<GrantedAuthority> mapRolesToAuthorities(List<Role> roles){
         return roles.stream().map(role -> new SimpleGrantedAuthority(role.getName())).collect(Collectors.toList());
     }
@@ -4,14 +4,23 @@ import com.findspot.haroon.exceptions.AuthenticationCredentialsNotFoundException
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 
 @Component
 public class JWTGenerator {
 
+    // Refresh tokens are signed with a key derived from the access-token secret, so one can never
+    // be presented as the other
+    private final Key refreshTokenKey = deriveRefreshTokenKey();
+
     public String generateToken(Authentication authentication){
         String username = authentication.getName();
         Date currentDate = new Date();
@@ -55,4 +64,36 @@ public class JWTGenerator {
             throw new AuthenticationCredentialsNotFoundException("JWT Was Expired or Incorrect");
         }
     }
-}
\ No newline at end of file
+
+    public String generateRefreshToken(String username, String sessionId, String tokenId,
+                                       Date expiration, Date sessionExpiration) {
+        return Jwts.builder()
+                .setSubject(username)
+                .setId(tokenId)
+                .claim("sid", sessionId)
+                .claim("sexp", sessionExpiration.getTime())
+                .setIssuedAt(new Date())
+                .setExpiration(expiration)
+                .signWith(refreshTokenKey, SignatureAlgorithm.HS512)
+                .compact();
+    }
+
+    // Throws if the signature is wrong or the token has expired
+    public Claims parseRefreshToken(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(refreshTokenKey)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    private static Key deriveRefreshTokenKey() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-512");
+            return Keys.hmacShaKeyFor(digest.digest(
+                    (SecurityConstant.JWT_SECRET + ":refresh").getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-512 not available", e);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.findspot.haroon.security;
+
+import com.findspot.haroon.models.RevokedRefreshToken;
+import com.findspot.haroon.repositories.RevokedRefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * In-memory view of revoked refresh tokens and sessions, so a valid refresh never reads the DB.
+ *
+ * Lookups consult a small exact map of revocations made on this node since the last rebuild, then
+ * a Bloom filter built from revoked_refresh_tokens. Only a Bloom hit that the exact map cannot
+ * answer (an older revocation, or a false positive) falls through to the table; a Bloom miss is
+ * answered "not revoked" without reading it.
+ *
+ * Revocations made on other nodes are therefore not seen until this node's next rebuild, so they
+ * take effect cluster-wide with a delay. Logout, reuse and account revocations are written to the
+ * table immediately and reach every node within one findspot.refresh-token.revocation-rebuild-ms
+ * interval (30 s by default); until then another node still accepts the revoked token and issues
+ * a new one. Rotations, the common case, are persisted write-behind at the originating node's next
+ * rebuild, so a copied token can fork a session on another node for up to two intervals. Lowering
+ * the interval shortens both windows at the cost of more frequent filter rebuilds.
+ */
+@Component
+public class RefreshTokenRevocationList {
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+
+    private final Map<String, RevokedRefreshToken> recent = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<RevokedRefreshToken> pending = new ConcurrentLinkedQueue<>();
+
+    // null until the first rebuild; until then every lookup goes to the DB
+    private volatile BloomFilter filter;
+
+    @Autowired
+    private RevokedRefreshTokenRepository revokedRefreshTokenRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Value("${findspot.refresh-token.revocation-flush-batch:1000}")
+    private int flushBatchSize;
+
+    public Optional<RevokedRefreshToken> find(String fingerprint) {
+        RevokedRefreshToken local = recent.get(fingerprint);
+        if (local != null) {
+            return Optional.of(local);
+        }
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(hash1(fingerprint), hash2(fingerprint))) {
+            return Optional.empty();
+        }
+        return revokedRefreshTokenRepository.findByFingerprint(fingerprint);
+    }
+
+    /**
+     * Records that a token was exchanged for a new one.
+     *
+     * @return false if the token had already been rotated on this node, i.e. a concurrent or replayed refresh
+     */
+    public boolean markRotated(String fingerprint, String sessionId, Instant tokenExpiry) {
+        RevokedRefreshToken revocation = newRevocation(fingerprint, sessionId, RevokedRefreshToken.Reason.ROTATED, tokenExpiry);
+        if (recent.putIfAbsent(fingerprint, revocation) != null) {
+            return false;
+        }
+        pending.add(revocation);
+        return true;
+    }
+
+    public void revokeNow(String fingerprint, String sessionId, RevokedRefreshToken.Reason reason, Instant expiresAt) {
+        if (recent.containsKey(fingerprint) || revokedRefreshTokenRepository.existsByFingerprint(fingerprint)) {
+            return;
+        }
+        RevokedRefreshToken revocation = newRevocation(fingerprint, sessionId, reason, expiresAt);
+        try {
+            revokedRefreshTokenRepository.save(revocation);
+        } catch (DataIntegrityViolationException e) {
+            // Revoked concurrently by another node
+        }
+        // Only cached once persisted, so a rebuild can never drop a revocation the table doesn't have
+        recent.put(fingerprint, revocation);
+    }
+
+    @Scheduled(fixedDelayString = "${findspot.refresh-token.revocation-rebuild-ms:30000}")
+    public void rebuild() {
+        long flushStarted = System.currentTimeMillis();
+        if (!flushPending()) {
+            return; // keep serving from the current filter and the exact map until the DB is back
+        }
+
+        Instant now = Instant.now();
+        MapSqlParameterSource params = new MapSqlParameterSource("now", Timestamp.from(now));
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM revoked_refresh_tokens WHERE expires_at > :now", params, Long.class);
+        // Headroom so the false positive rate holds until the next rebuild
+        BloomFilter next = BloomFilter.create((count != null ? count : 0) * 2 + 1024, FALSE_POSITIVE_RATE);
+        jdbcTemplate.query("SELECT fingerprint FROM revoked_refresh_tokens WHERE expires_at > :now", params, rs -> {
+            String fingerprint = rs.getString(1);
+            next.put(hash1(fingerprint), hash2(fingerprint));
+        });
+        filter = next;
+
+        // Everything recorded before the flush is now in the table and therefore in the filter; the
+        // margin covers a rotation stamped just before the flush but queued just after it
+        recent.values().removeIf(revocation -> revocation.getRevokedAt().toEpochMilli() < flushStarted - 1000
+                || revocation.getExpiresAt().isBefore(now));
+    }
+
+    // Returns false if the DB rejected the writes; unsaved revocations go back on the queue
+    private boolean flushPending() {
+        List<RevokedRefreshToken> batch = new ArrayList<>(flushBatchSize);
+        RevokedRefreshToken revocation;
+        while ((revocation = pending.poll()) != null) {
+            batch.add(revocation);
+            if (batch.size() == flushBatchSize || pending.isEmpty()) {
+                try {
+                    saveBatch(batch);
+                } catch (RuntimeException e) {
+                    batch.forEach(unsaved -> unsaved.setId(null));
+                    pending.addAll(batch);
+                    return false;
+                }
+                batch.clear();
+            }
+        }
+        return true;
+    }
+
+    private void saveBatch(List<RevokedRefreshToken> batch) {
+        try {
+            revokedRefreshTokenRepository.saveAll(batch);
+        } catch (DataIntegrityViolationException e) {
+            // A duplicate fingerprint fails the whole batch, fall back to one row at a time
+            for (RevokedRefreshToken revocation : batch) {
+                revocation.setId(null);
+                try {
+                    revokedRefreshTokenRepository.save(revocation);
+                } catch (DataIntegrityViolationException ignored) {
+                    // Already recorded
+                }
+            }
+        }
+    }
+
+    private RevokedRefreshToken newRevocation(String fingerprint, String sessionId,
+                                              RevokedRefreshToken.Reason reason, Instant expiresAt) {
+        RevokedRefreshToken revocation = new RevokedRefreshToken();
+        revocation.setFingerprint(fingerprint);
+        revocation.setSessionId(sessionId);
+        revocation.setReason(reason);
+        revocation.setRevokedAt(Instant.now());
+        revocation.setExpiresAt(expiresAt);
+        return revocation;
+    }
+
+    // Fingerprints of token ids and session ids live in separate namespaces
+    public static String fingerprint(String namespace, String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest((namespace + ':' + value).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // The fingerprint is already a uniform hash, so its first two 64-bit words serve as the Bloom hashes
+    private static long hash1(String fingerprint) {
+        return Long.parseUnsignedLong(fingerprint, 0, 16, 16);
+    }
+
+    private static long hash2(String fingerprint) {
+        return Long.parseUnsignedLong(fingerprint, 16, 32, 16) | 1L;
+    }
+}
@@ -1,5 +1,6 @@
 package com.findspot.haroon.security;
 
+import com.findspot.haroon.ratelimit.RateLimitFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -33,15 +34,23 @@ public class SecurityConfig {
                 .authorizeHttpRequests()
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("GET", "/api/items/**").permitAll() // Allow public access to view items
+                .requestMatchers("GET", "/api/categories/**").permitAll() // Taxonomy for filters and report forms
+                .requestMatchers("GET", "/api/analytics/**").permitAll() // Aggregates only, no item or user data
+                .requestMatchers("/api/account-deletions/**").authenticated() // Only the account's own jobs
                 .requestMatchers("POST", "/api/items/**").authenticated() // Require auth for creating items
                 .requestMatchers("PUT", "/api/items/**").authenticated() // Require auth for updating items
+                .requestMatchers("PATCH", "/api/items/**").authenticated() // Require auth for partial updates
                 .requestMatchers("DELETE", "/api/items/**").authenticated() // Require auth for deleting items
                 .requestMatchers("/api/users/**").authenticated() // Require auth for user profile operations
+                .requestMatchers("/api/conversations/**").authenticated() // Messages are only visible to the two members
+                .requestMatchers("/api/claims/**").authenticated() // Claimants and finders only
+                .requestMatchers("/actuator/metrics/**").hasAuthority("ADMIN") // Operational data, not for users
                 .anyRequest().authenticated()
                 .and()
                 .httpBasic();
 
         http.addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(rateLimitFilter(), JWTAuthenticationFilter.class);
         return http.build();
     }
 
@@ -61,5 +70,10 @@ public class SecurityConfig {
         return new JWTAuthenticationFilter();
     }
 
+    @Bean
+    public RateLimitFilter rateLimitFilter(){
+        return new RateLimitFilter();
+    }
+
 
 }
@@ -2,7 +2,8 @@ package com.findspot.haroon.security;
 
 public class SecurityConstant {
     public static final long JWT_EXPIRATION = 900000; // 15 minutes
-    public static final long REFRESH_TOKEN_EXPIRATION = 86400000; // 24 hours
+    public static final long REFRESH_TOKEN_EXPIRATION = 86400000; // 24 hours, renewed on every rotation
+    public static final long REFRESH_SESSION_EXPIRATION = 2592000000L; // 30 days, absolute per device session
     public static final String JWT_SECRET = "yyyyyyyyyyyttttttttt77777777777ttttttttt44444444444yyyyyyyyyyyyyyyy44444444444444477777777777777774444444444hhhhhhhhhhhhhhhhhh4444444444444477777777777777744444444444";
     public static final String REFRESH_COOKIE_NAME = "refreshToken";
 }
\ No newline at end of file
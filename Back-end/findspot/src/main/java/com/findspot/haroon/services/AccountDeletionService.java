@@ -0,0 +1,10 @@
+package com.findspot.haroon.services;
+
+import com.findspot.haroon.dto.AccountDeletionJobDto;
+import org.springframework.http.ResponseEntity;
+
+public interface AccountDeletionService {
+    ResponseEntity<AccountDeletionJobDto> requestDeletion(String username);
+    ResponseEntity<AccountDeletionJobDto> getJobStatus(String jobId, String username);
+    void processPendingJobs();
+}
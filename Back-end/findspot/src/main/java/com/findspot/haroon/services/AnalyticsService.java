@@ -0,0 +1,12 @@
+package com.findspot.haroon.services;
+
+import com.findspot.haroon.dto.ResolutionStatsDto;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AnalyticsService {
+    ResponseEntity<List<ResolutionStatsDto>> getResolutionStats(String type, String category, String location,
+                                                                LocalDate from, LocalDate to, String granularity);
+}
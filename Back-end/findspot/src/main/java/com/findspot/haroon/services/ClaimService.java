@@ -0,0 +1,15 @@
+package com.findspot.haroon.services;
+
+import com.findspot.haroon.dto.ClaimDto;
+import com.findspot.haroon.dto.ClaimRequestDto;
+import com.findspot.haroon.dto.PagedResponseDto;
+import org.springframework.http.ResponseEntity;
+
+public interface ClaimService {
+    ResponseEntity<ClaimDto> submitClaim(String username, ClaimRequestDto request);
+    ResponseEntity<PagedResponseDto<ClaimDto>> getMyClaims(String username, Long cursor, int limit);
+    ResponseEntity<PagedResponseDto<ClaimDto>> getItemClaims(String username, Long itemId, Long cursor, int limit);
+    ResponseEntity<ClaimDto> acceptClaim(String username, Long claimId);
+    ResponseEntity<ClaimDto> rejectClaim(String username, Long claimId);
+    ResponseEntity<ClaimDto> withdrawClaim(String username, Long claimId);
+}
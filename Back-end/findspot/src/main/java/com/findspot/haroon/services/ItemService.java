@@ -4,16 +4,23 @@ import com.findspot.haroon.dto.*;
 import com.findspot.haroon.models.Item;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.Map;
 
 public interface ItemService {
     ResponseEntity<ItemResponseDto> reportLostItem(LostItemRequestDto request, String username);
     ResponseEntity<ItemResponseDto> reportFoundItem(FoundItemRequestDto request, String username);
-    ResponseEntity<PagedResponseDto<ItemDetailDto>> getLostItems(String category, String location, int page, int limit);
-    ResponseEntity<PagedResponseDto<ItemDetailDto>> getFoundItems(String category, String location, int page, int limit);
-    ResponseEntity<ItemDetailDto> getItemById(Long id);
+    ResponseEntity<PagedResponseDto<ItemDetailDto>> getLostItems(String category, String location, Long cursor, int page, int limit, boolean includeArchived, String username);
+    ResponseEntity<PagedResponseDto<ItemDetailDto>> getFoundItems(String category, String location, Long cursor, int page, int limit, boolean includeArchived, String username);
+    ResponseEntity<StreamingResponseBody> streamItems(String type, String category, String location, Long cursor, int limit);
+    ResponseEntity<List<SuggestionDto>> getSuggestions(String query, String field, int limit);
+    ResponseEntity<List<SimilarItemDto>> getVisuallySimilarItems(Long id, int limit);
+    ResponseEntity<PagedResponseDto<ItemHistoryDto>> getItemHistory(Long id, Long cursor, int limit, String username);
+    ResponseEntity<ItemDetailDto> getItemById(Long id, String username);
     ResponseEntity<ItemResponseDto> updateItem(Long id, Map<String, Object> updates, String username);
+    ResponseEntity<ItemResponseDto> patchItem(Long id, ItemPatchDto patch, String username);
     ResponseEntity<String> deleteItem(Long id, String username);
     ResponseEntity<ItemResponseDto> updateItemStatus(Long id, String status, String username);
     ResponseEntity<PagedResponseDto<ItemDetailDto>> getMyItems(String username, String status, String type, String sortBy, String sortDir, int page, int limit);
@@ -0,0 +1,21 @@
+package com.findspot.haroon.services;
+
+import com.findspot.haroon.dto.ConversationDto;
+import com.findspot.haroon.dto.MessageDto;
+import com.findspot.haroon.dto.MessageRequestDto;
+import com.findspot.haroon.dto.PagedResponseDto;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.Map;
+
+public interface MessageService {
+    ResponseEntity<ConversationDto> startConversation(String username, MessageRequestDto request);
+    ResponseEntity<PagedResponseDto<ConversationDto>> getInbox(String username, Long cursor, int limit);
+    ResponseEntity<Map<String, Long>> getUnreadCount(String username);
+    ResponseEntity<PagedResponseDto<MessageDto>> getMessages(String username, Long conversationId, Long cursor, int limit);
+    DeferredResult<ResponseEntity<List<MessageDto>>> pollMessages(String username, Long conversationId, Long after, long timeoutMs);
+    ResponseEntity<MessageDto> sendMessage(String username, Long conversationId, MessageRequestDto request);
+    ResponseEntity<Map<String, Long>> markRead(String username, Long conversationId, Long lastMessageId);
+}
@@ -1,14 +1,12 @@
 package com.findspot.haroon.services;
 
-import com.findspot.haroon.models.RefreshToken;
+import com.findspot.haroon.dto.IssuedRefreshToken;
 import com.findspot.haroon.models.UserEntity;
 
-import java.util.Optional;
-
 public interface RefreshTokenService {
-    RefreshToken createRefreshToken(Long userId);
-    Optional<RefreshToken> findByToken(String token);
-    RefreshToken verifyExpiration(RefreshToken token);
-    void deleteByUser(UserEntity user);
+    IssuedRefreshToken createSession(UserEntity user, String userAgent);
+    IssuedRefreshToken rotate(String refreshToken);
+    void revokeSession(String refreshToken);
+    void revokeAllSessions(UserEntity user);
     void deleteExpiredTokens();
-}
\ No newline at end of file
+}
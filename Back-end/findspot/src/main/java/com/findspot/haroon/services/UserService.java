@@ -1,6 +1,9 @@
 package com.findspot.haroon.services;
 
+import com.findspot.haroon.dto.AccountDeletionJobDto;
 import com.findspot.haroon.dto.ChangePasswordRequestDto;
+import com.findspot.haroon.dto.ItemDetailDto;
+import com.findspot.haroon.dto.PagedResponseDto;
 import com.findspot.haroon.dto.UpdateProfileRequestDto;
 import com.findspot.haroon.dto.UserProfileDto;
 import com.findspot.haroon.dto.UserSettingsDto;
@@ -10,6 +13,8 @@ public interface UserService {
     ResponseEntity<UserProfileDto> getUserProfile(String username);
     ResponseEntity<UserProfileDto> updateUserProfile(String username, UpdateProfileRequestDto request);
     ResponseEntity<String> saveItem(String username, Long itemId);
+    ResponseEntity<String> unsaveItem(String username, Long itemId);
+    ResponseEntity<PagedResponseDto<ItemDetailDto>> getSavedItems(String username, Long cursor, int limit);
     ResponseEntity<String> forgotPassword(String email);
     
     // New methods for user management endpoints
@@ -18,5 +23,5 @@ public interface UserService {
     ResponseEntity<UserSettingsDto.NotificationSettings> updateNotificationSettings(String username, UserSettingsDto.NotificationSettings request);
     ResponseEntity<UserSettingsDto.PrivacySettings> updatePrivacySettings(String username, UserSettingsDto.PrivacySettings request);
     ResponseEntity<UserSettingsDto.DisplaySettings> updateDisplaySettings(String username, UserSettingsDto.DisplaySettings request);
-    ResponseEntity<String> deleteUserAccount(String username);
+    ResponseEntity<AccountDeletionJobDto> deleteUserAccount(String username);
 }
\ No newline at end of file
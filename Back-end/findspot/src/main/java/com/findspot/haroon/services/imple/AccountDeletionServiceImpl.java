@@ -0,0 +1,307 @@
+package com.findspot.haroon.services.imple;
+
+import com.findspot.haroon.cache.BrowseResponseCache;
+import com.findspot.haroon.cache.ItemDetailCache;
+import com.findspot.haroon.cache.UserSettingsCache;
+import com.findspot.haroon.dto.AccountDeletionJobDto;
+import com.findspot.haroon.models.AccountDeletionJob;
+import com.findspot.haroon.models.UserEntity;
+import com.findspot.haroon.repositories.AccountDeletionJobRepository;
+import com.findspot.haroon.repositories.UserRepository;
+import com.findspot.haroon.security.CustomUserDetailsService;
+import com.findspot.haroon.services.AccountDeletionService;
+import com.findspot.haroon.services.RefreshTokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.IntSupplier;
+
+/**
+ * Deletes accounts in the background with set-based SQL instead of loading entities.
+ *
+ * Every chunk runs in its own short transaction and the job row records the current phase, so a
+ * user with thousands of items never holds a long transaction and a job interrupted by a restart
+ * simply picks up where it stopped. All statements are idempotent, so re-running a chunk after a
+ * crash is harmless.
+ */
+@Service
+public class AccountDeletionServiceImpl implements AccountDeletionService {
+
+    private static final long STALE_AFTER_MINUTES = 5;
+
+    @Value("${findspot.account-deletion.chunk-size:500}")
+    private int chunkSize;
+
+    @Autowired
+    private AccountDeletionJobRepository jobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserSettingsCache userSettingsCache;
+
+    @Autowired
+    private BrowseResponseCache browseCache;
+
+    @Autowired
+    private ItemDetailCache itemDetailCache;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Override
+    public ResponseEntity<AccountDeletionJobDto> requestDeletion(String username) {
+        try {
+            UserEntity user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            // Repeated requests return the job that is already in flight
+            Optional<AccountDeletionJob> existing = jobRepository.findFirstByUserIdAndStatusIn(user.getId(),
+                    EnumSet.of(AccountDeletionJob.JobStatus.PENDING, AccountDeletionJob.JobStatus.RUNNING));
+            if (existing.isPresent()) {
+                return new ResponseEntity<>(convertToDto(existing.get()), HttpStatus.ACCEPTED);
+            }
+
+            // Sign the user out everywhere right away; the rest happens in the background
+            refreshTokenService.revokeAllSessions(user);
+
+            AccountDeletionJob job = new AccountDeletionJob();
+            job.setId(UUID.randomUUID().toString());
+            job.setUserId(user.getId());
+            AccountDeletionJob savedJob = jobRepository.save(job);
+
+            return new ResponseEntity<>(convertToDto(savedJob), HttpStatus.ACCEPTED);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Override
+    public ResponseEntity<AccountDeletionJobDto> getJobStatus(String jobId, String username) {
+        try {
+            UserEntity user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            // Another account's job answers like a missing one, so job ids can't be probed
+            return jobRepository.findById(jobId)
+                    .filter(job -> job.getUserId().equals(user.getId()))
+                    .map(job -> new ResponseEntity<>(convertToDto(job), HttpStatus.OK))
+                    .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${findspot.account-deletion.poll-interval-ms:5000}")
+    public void processPendingJobs() {
+        LocalDateTime staleBefore = LocalDateTime.now().minusMinutes(STALE_AFTER_MINUTES);
+        for (String jobId : jobRepository.findRunnableJobIds(staleBefore)) {
+            if (jobRepository.claim(jobId, LocalDateTime.now(), staleBefore) == 1) {
+                jobRepository.findById(jobId).ifPresent(this::runJob);
+            }
+        }
+    }
+
+    private void runJob(AccountDeletionJob job) {
+        try {
+            while (job.getPhase() != AccountDeletionJob.Phase.DONE) {
+                AccountDeletionJob.Phase next = runPhase(job);
+                job.setPhase(next);
+                job.setUpdatedAt(LocalDateTime.now());
+                job = jobRepository.save(job);
+            }
+            job.setStatus(AccountDeletionJob.JobStatus.COMPLETED);
+            job.setCompletedAt(LocalDateTime.now());
+            jobRepository.save(job);
+        } catch (Exception e) {
+            job.setStatus(AccountDeletionJob.JobStatus.FAILED);
+            job.setError(e.getMessage() != null && e.getMessage().length() > 500
+                    ? e.getMessage().substring(0, 500) : e.getMessage());
+            job.setUpdatedAt(LocalDateTime.now());
+            jobRepository.save(job);
+        }
+    }
+
+    // Runs the job's current phase to completion and returns the phase to continue with
+    private AccountDeletionJob.Phase runPhase(AccountDeletionJob job) {
+        MapSqlParameterSource userParam = new MapSqlParameterSource("userId", job.getUserId())
+                .addValue("limit", chunkSize);
+
+        switch (job.getPhase()) {
+            case SAVED_ITEMS:
+                while (inTransaction(() -> jdbcTemplate.update(
+                        "DELETE FROM saved_items WHERE user_id = :userId LIMIT :limit", userParam)) > 0) {
+                    touch(job);
+                }
+                // Claims the user made on other people's items go with the bookmarks
+                while (inTransaction(() -> jdbcTemplate.update(
+                        "DELETE FROM claim_requests WHERE claimant_id = :userId LIMIT :limit", userParam)) > 0) {
+                    touch(job);
+                }
+                return AccountDeletionJob.Phase.ITEMS;
+
+            case ITEMS:
+                int deleted;
+                while ((deleted = deleteItemChunk(job.getUserId())) > 0) {
+                    job.setDeletedItems(job.getDeletedItems() + deleted);
+                    touch(job);
+                }
+                while ((deleted = deleteArchivedItemChunk(job.getUserId())) > 0) {
+                    job.setDeletedItems(job.getDeletedItems() + deleted);
+                    touch(job);
+                }
+                if (job.getDeletedItems() > 0) {
+                    browseCache.purgeAll();
+                    itemDetailCache.invalidateAll();
+                }
+                return AccountDeletionJob.Phase.TOKENS;
+
+            case TOKENS:
+                inTransaction(() -> jdbcTemplate.update("DELETE FROM refresh_sessions WHERE user_id = :userId", userParam));
+                return AccountDeletionJob.Phase.CONVERSATIONS;
+
+            case CONVERSATIONS:
+                // Threads go for both sides; the counterpart cannot reply to a deleted account anyway
+                while (deleteConversationChunk(job.getUserId()) > 0) {
+                    touch(job);
+                }
+                return AccountDeletionJob.Phase.SETTINGS;
+
+            case SETTINGS:
+                inTransaction(() -> jdbcTemplate.update("DELETE FROM user_notification_settings WHERE user_id = :userId", userParam)
+                        + jdbcTemplate.update("DELETE FROM user_privacy_settings WHERE user_id = :userId", userParam)
+                        + jdbcTemplate.update("DELETE FROM user_display_settings WHERE user_id = :userId", userParam));
+                return AccountDeletionJob.Phase.USER;
+
+            case USER:
+                // An access token issued before the request can still create items for a few minutes,
+                // and the archiver may have moved some of them since the ITEMS phase
+                Integer remainingItems = jdbcTemplate.queryForObject(
+                        "SELECT (SELECT COUNT(*) FROM items WHERE user_id = :userId) "
+                                + "+ (SELECT COUNT(*) FROM items_archive WHERE user_id = :userId) "
+                                + "+ (SELECT COUNT(*) FROM conversation_members WHERE user_id = :userId) "
+                                + "+ (SELECT COUNT(*) FROM claim_requests WHERE claimant_id = :userId)", userParam, Integer.class);
+                if (remainingItems != null && remainingItems > 0) {
+                    return AccountDeletionJob.Phase.SAVED_ITEMS;
+                }
+                String username = jdbcTemplate.query("SELECT username FROM users WHERE id = :userId", userParam,
+                        rs -> rs.next() ? rs.getString(1) : null);
+                if (username != null) {
+                    // Trails of items the user deleted earlier; item_history keeps them past the item
+                    MapSqlParameterSource actorParam = new MapSqlParameterSource("actor", username)
+                            .addValue("limit", chunkSize);
+                    while (inTransaction(() -> jdbcTemplate.update(
+                            "DELETE FROM item_history WHERE actor = :actor LIMIT :limit", actorParam)) > 0) {
+                        touch(job);
+                    }
+                }
+                inTransaction(() -> jdbcTemplate.update("DELETE FROM user_roles WHERE user_id = :userId", userParam)
+                        + jdbcTemplate.update("DELETE FROM users WHERE id = :userId", userParam));
+                if (username != null) {
+                    userSettingsCache.invalidate(username);
+                    userDetailsService.evictAuthenticatedUser(username);
+                }
+                return AccountDeletionJob.Phase.DONE;
+
+            default:
+                return AccountDeletionJob.Phase.DONE;
+        }
+    }
+
+    // Removes up to chunkSize of the user's items together with everything that references them
+    private int deleteItemChunk(Long userId) {
+        return inTransaction(() -> {
+            List<Long> itemIds = jdbcTemplate.queryForList(
+                    "SELECT id FROM items WHERE user_id = :userId ORDER BY id LIMIT :limit",
+                    new MapSqlParameterSource("userId", userId).addValue("limit", chunkSize), Long.class);
+            if (itemIds.isEmpty()) {
+                return 0;
+            }
+            MapSqlParameterSource ids = new MapSqlParameterSource("itemIds", itemIds);
+            jdbcTemplate.update("DELETE FROM saved_items WHERE item_id IN (:itemIds)", ids);
+            jdbcTemplate.update("DELETE FROM claim_requests WHERE item_id IN (:itemIds)", ids);
+            jdbcTemplate.update("DELETE FROM item_history WHERE item_id IN (:itemIds)", ids);
+            jdbcTemplate.update("DELETE FROM item_images WHERE item_id IN (:itemIds)", ids);
+            jdbcTemplate.update("DELETE FROM item_additional_details WHERE item_id IN (:itemIds)", ids);
+            return jdbcTemplate.update("DELETE FROM items WHERE id IN (:itemIds)", ids);
+        });
+    }
+
+    private int deleteConversationChunk(Long userId) {
+        return inTransaction(() -> {
+            List<Long> conversationIds = jdbcTemplate.queryForList(
+                    "SELECT conversation_id FROM conversation_members WHERE user_id = :userId ORDER BY conversation_id LIMIT :limit",
+                    new MapSqlParameterSource("userId", userId).addValue("limit", chunkSize), Long.class);
+            if (conversationIds.isEmpty()) {
+                return 0;
+            }
+            MapSqlParameterSource ids = new MapSqlParameterSource("conversationIds", conversationIds);
+            jdbcTemplate.update("DELETE FROM messages WHERE conversation_id IN (:conversationIds)", ids);
+            jdbcTemplate.update("DELETE FROM conversation_members WHERE conversation_id IN (:conversationIds)", ids);
+            return jdbcTemplate.update("DELETE FROM conversations WHERE id IN (:conversationIds)", ids);
+        });
+    }
+
+    private int deleteArchivedItemChunk(Long userId) {
+        return inTransaction(() -> {
+            List<Long> itemIds = jdbcTemplate.queryForList(
+                    "SELECT id FROM items_archive WHERE user_id = :userId ORDER BY id LIMIT :limit",
+                    new MapSqlParameterSource("userId", userId).addValue("limit", chunkSize), Long.class);
+            if (itemIds.isEmpty()) {
+                return 0;
+            }
+            MapSqlParameterSource ids = new MapSqlParameterSource("itemIds", itemIds);
+            jdbcTemplate.update("DELETE FROM items_archive_images WHERE item_id IN (:itemIds)", ids);
+            jdbcTemplate.update("DELETE FROM item_history WHERE item_id IN (:itemIds)", ids);
+            jdbcTemplate.update("DELETE FROM items_archive_additional_details WHERE item_id IN (:itemIds)", ids);
+            return jdbcTemplate.update("DELETE FROM items_archive WHERE id IN (:itemIds)", ids);
+        });
+    }
+
+    // Records progress so other nodes don't consider the job abandoned
+    private void touch(AccountDeletionJob job) {
+        job.setUpdatedAt(LocalDateTime.now());
+        jobRepository.save(job);
+    }
+
+    private int inTransaction(IntSupplier work) {
+        Integer result = new TransactionTemplate(transactionManager).execute(status -> work.getAsInt());
+        return result != null ? result : 0;
+    }
+
+    private AccountDeletionJobDto convertToDto(AccountDeletionJob job) {
+        AccountDeletionJobDto dto = new AccountDeletionJobDto();
+        dto.setJobId(job.getId());
+        dto.setStatus(job.getStatus().name());
+        dto.setPhase(job.getPhase().name());
+        dto.setDeletedItems(job.getDeletedItems());
+        dto.setRequestedAt(job.getRequestedAt());
+        dto.setCompletedAt(job.getCompletedAt());
+        dto.setStatusUrl("/api/account-deletions/" + job.getId());
+        return dto;
+    }
+}
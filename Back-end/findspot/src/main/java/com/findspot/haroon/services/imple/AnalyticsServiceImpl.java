@@ -0,0 +1,149 @@
+package com.findspot.haroon.services.imple;
+
+import com.findspot.haroon.analytics.ResolutionRollups;
+import com.findspot.haroon.analytics.TDigest;
+import com.findspot.haroon.categories.CategoryRegistry;
+import com.findspot.haroon.dto.ResolutionStatsDto;
+import com.findspot.haroon.models.Item;
+import com.findspot.haroon.models.ResolutionRollup;
+import com.findspot.haroon.repositories.ResolutionRollupRepository;
+import com.findspot.haroon.services.AnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+@Service
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private static final int DEFAULT_WEEKS = 12;
+    private static final double HOURS_PER_DAY = 24;
+
+    private enum Granularity { DAY, WEEK, MONTH, TOTAL }
+
+    private static final class Period {
+        final LocalDate start;
+        final LocalDate end;
+        long reported;
+        long resolved;
+        long recovered;
+        long reopened;
+        final TDigest hoursToResolve = new TDigest();
+
+        Period(LocalDate start, LocalDate end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    @Value("${findspot.analytics.max-range-days:731}")
+    private int maxRangeDays;
+
+    @Autowired
+    private ResolutionRollupRepository rollupRepository;
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    // Reads at most one rollup row per type and day of the range, whatever the number of items
+    @Override
+    public ResponseEntity<List<ResolutionStatsDto>> getResolutionStats(String type, String category, String location,
+                                                                       LocalDate from, LocalDate to, String granularity) {
+        try {
+            Set<Item.ItemType> types;
+            Granularity periods;
+            try {
+                types = StringUtils.hasText(type)
+                        ? EnumSet.of(Item.ItemType.valueOf(type.trim().toUpperCase()))
+                        : EnumSet.allOf(Item.ItemType.class);
+                periods = Granularity.valueOf((StringUtils.hasText(granularity) ? granularity : "week").trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            LocalDate end = to != null ? to : LocalDate.now();
+            LocalDate start = from != null ? from : end.minusWeeks(DEFAULT_WEEKS).plusDays(1);
+            if (start.isAfter(end) || ChronoUnit.DAYS.between(start, end) >= maxRangeDays) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+
+            // An unknown category keeps its own id, which matches no rollup row
+            Short categoryFilter = categoryRegistry.filterId(category);
+            short categoryId = categoryFilter != null ? categoryFilter : ResolutionRollups.ALL_CATEGORIES;
+            String locationKey = ResolutionRollups.locationKey(location);
+
+            // Every period of the range is listed, including the ones nothing happened in
+            TreeMap<LocalDate, Period> byStart = new TreeMap<>();
+            for (LocalDate day = start; !day.isAfter(end); ) {
+                LocalDate periodStart = periodStart(day, periods, start);
+                LocalDate next = nextPeriodStart(periodStart, periods, end);
+                LocalDate last = next.minusDays(1);
+                byStart.put(periodStart, new Period(day, last.isAfter(end) ? end : last));
+                day = next;
+            }
+
+            for (ResolutionRollup row : rollupRepository.findRange(categoryId, locationKey, types, start, end)) {
+                Period period = byStart.get(periodStart(row.getDay(), periods, start));
+                period.reported += row.getReported();
+                period.resolved += row.getResolved();
+                period.recovered += row.getRecovered();
+                period.reopened += row.getReopened();
+                if (row.getHoursToResolve() != null) {
+                    period.hoursToResolve.merge(TDigest.fromBytes(row.getHoursToResolve()));
+                }
+            }
+
+            List<ResolutionStatsDto> stats = new ArrayList<>(byStart.size());
+            for (Map.Entry<LocalDate, Period> entry : byStart.entrySet()) {
+                stats.add(convertToDto(entry.getValue()));
+            }
+            return new ResponseEntity<>(stats, HttpStatus.OK);
+
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private static LocalDate periodStart(LocalDate day, Granularity granularity, LocalDate rangeStart) {
+        return switch (granularity) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+            case TOTAL -> rangeStart;
+        };
+    }
+
+    private static LocalDate nextPeriodStart(LocalDate periodStart, Granularity granularity, LocalDate rangeEnd) {
+        return switch (granularity) {
+            case DAY -> periodStart.plusDays(1);
+            case WEEK -> periodStart.plusWeeks(1);
+            case MONTH -> periodStart.plusMonths(1);
+            case TOTAL -> rangeEnd.plusDays(1);
+        };
+    }
+
+    private static ResolutionStatsDto convertToDto(Period period) {
+        TDigest digest = period.hoursToResolve;
+        return new ResolutionStatsDto(period.start, period.end, period.reported, period.resolved, period.recovered,
+                period.reopened,
+                period.reported > 0 ? round((double) period.recovered / period.reported) : null,
+                digest.count() > 0 ? round(digest.quantile(0.5) / HOURS_PER_DAY) : null,
+                digest.count() > 0 ? round(digest.quantile(0.9) / HOURS_PER_DAY) : null);
+    }
+
+    private static Double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
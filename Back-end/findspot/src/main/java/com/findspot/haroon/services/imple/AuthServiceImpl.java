@@ -5,6 +5,7 @@ import com.findspot.haroon.models.Role;
 import com.findspot.haroon.models.UserEntity;
 import com.findspot.haroon.repositories.RoleRepository;
 import com.findspot.haroon.repositories.UserRepository;
+import com.findspot.haroon.security.CustomUserDetailsService;
 import com.findspot.haroon.security.JWTGenerator;
 import com.findspot.haroon.services.AuthService;
 import org.springframework.http.HttpStatus;
@@ -26,17 +27,20 @@ public class AuthServiceImpl implements AuthService {
     private PasswordEncoder passwordEncoder;
     private AuthenticationManager authenticationManager;
     private JWTGenerator jwtGenerator;
+    private CustomUserDetailsService userDetailsService;
 
     public AuthServiceImpl(UserRepository userRepository,
                            AuthenticationManager authenticationManager,
                            PasswordEncoder passwordEncoder,
                            RoleRepository roleRepository,
-                           JWTGenerator jwtGenerator) {
+                           JWTGenerator jwtGenerator,
+                           CustomUserDetailsService userDetailsService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.roleRepository = roleRepository;
         this.authenticationManager = authenticationManager;
         this.jwtGenerator = jwtGenerator;
+        this.userDetailsService = userDetailsService;
     }
 
     @Override
@@ -47,7 +51,6 @@ public class AuthServiceImpl implements AuthService {
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
         String token = jwtGenerator.generateToken(authentication);
-        System.out.println("Generated JWT: " + token);
 
         return new ResponseEntity<>(new AuthResponseDto(token), HttpStatus.OK);
     }
@@ -74,6 +77,8 @@ public class AuthServiceImpl implements AuthService {
         user.setRoles(Collections.singletonList(role));
 
         userRepository.save(user);
+        // The name may have belonged to a deleted account whose principal another node still caches
+        userDetailsService.evictAuthenticatedUser(user.getUsername());
         return new ResponseEntity<>("User has been registered successfully", HttpStatus.OK);
     }
 
@@ -0,0 +1,270 @@
+package com.findspot.haroon.services.imple;
+
+import com.findspot.haroon.claims.ClaimSlots;
+import com.findspot.haroon.dto.ClaimDto;
+import com.findspot.haroon.dto.ClaimRequestDto;
+import com.findspot.haroon.dto.ItemResponseDto;
+import com.findspot.haroon.dto.PagedResponseDto;
+import com.findspot.haroon.models.ClaimRequest;
+import com.findspot.haroon.models.Item;
+import com.findspot.haroon.models.UserEntity;
+import com.findspot.haroon.pagination.PaginationPolicy;
+import com.findspot.haroon.repositories.ClaimRequestRepository;
+import com.findspot.haroon.repositories.ItemRepository;
+import com.findspot.haroon.repositories.UserRepository;
+import com.findspot.haroon.services.ClaimService;
+import com.findspot.haroon.services.ItemService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Service
+public class ClaimServiceImpl implements ClaimService {
+
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ClaimRequestRepository claimRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ClaimSlots claimSlots;
+
+    @Autowired
+    private PaginationPolicy paginationPolicy;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    public ResponseEntity<ClaimDto> submitClaim(String username, ClaimRequestDto request) {
+        try {
+            UserEntity user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            if (request.getItemId() == null
+                    || (request.getMessage() != null && request.getMessage().length() > MAX_MESSAGE_LENGTH)) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            Optional<Item> itemOpt = itemRepository.findById(request.getItemId());
+            if (itemOpt.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            Item item = itemOpt.get();
+            if (item.getType() != Item.ItemType.FOUND || item.getUser().getId().equals(user.getId())) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+
+            // Retries and double submits get the claim that is already there
+            Optional<ClaimRequest> existing = claimRepository.findByItemIdAndClaimant(item.getId(), user);
+            if (existing.isPresent()) {
+                return existingClaim(existing.get());
+            }
+            if (item.getStatus() != Item.ItemStatus.ACTIVE) {
+                return new ResponseEntity<>(HttpStatus.CONFLICT);
+            }
+            if (!claimSlots.tryAcquire(item.getId())) {
+                return new ResponseEntity<>(HttpStatus.TOO_MANY_REQUESTS);
+            }
+
+            boolean stored = false;
+            try {
+                ClaimRequest claim = new ClaimRequest();
+                claim.setItem(item);
+                claim.setClaimant(user);
+                claim.setMessage(request.getMessage());
+                ClaimRequest saved = claimRepository.save(claim);
+                stored = true;
+                return new ResponseEntity<>(convertToDto(saved), HttpStatus.CREATED);
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent retry of the same submission inserted first
+                return claimRepository.findByItemIdAndClaimant(item.getId(), user)
+                        .map(this::existingClaim)
+                        .orElseThrow(() -> e);
+            } finally {
+                if (!stored) {
+                    claimSlots.release(item.getId());
+                }
+            }
+
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Override
+    public ResponseEntity<PagedResponseDto<ClaimDto>> getMyClaims(String username, Long cursor, int limit) {
+        Pageable pageable = paginationPolicy.cursorRequest(limit, Sort.unsorted());
+        try {
+            UserEntity user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            Slice<ClaimRequest> claims = claimRepository.findByClaimantBeforeCursor(user, cursor, pageable);
+            return new ResponseEntity<>(PagedResponseDto.fromSlice(claims.map(this::convertToDto), nextCursor(claims)),
+                    HttpStatus.OK);
+
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Override
+    public ResponseEntity<PagedResponseDto<ClaimDto>> getItemClaims(String username, Long itemId, Long cursor, int limit) {
+        Pageable pageable = paginationPolicy.cursorRequest(limit, Sort.unsorted());
+        try {
+            UserEntity user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            Optional<Item> itemOpt = itemRepository.findById(itemId);
+            if (itemOpt.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            if (!itemOpt.get().getUser().getId().equals(user.getId())) {
+                return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+            }
+
+            Slice<ClaimRequest> claims = claimRepository.findQueueAfterCursor(itemId, cursor, pageable);
+            return new ResponseEntity<>(PagedResponseDto.fromSlice(claims.map(this::convertToDto), nextCursor(claims)),
+                    HttpStatus.OK);
+
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Override
+    public ResponseEntity<ClaimDto> acceptClaim(String username, Long claimId) {
+        try {
+            UserEntity user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            Optional<ClaimRequest> claimOpt = claimRepository.findWithItemById(claimId);
+            if (claimOpt.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            Long itemId = claimOpt.get().getItem().getId();
+            if (!claimOpt.get().getItem().getUser().getId().equals(user.getId())) {
+                return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+            }
+
+            // Accepting the claim and claiming the item commit together; claiming also rejects the rest of
+            // the queue, and the item's locked transition settles a race between two accepts on the same item
+            LocalDateTime now = LocalDateTime.now();
+            HttpStatusCode outcome = new TransactionTemplate(transactionManager).execute(status -> {
+                if (claimRepository.transition(claimId, ClaimRequest.ClaimStatus.PENDING,
+                        ClaimRequest.ClaimStatus.ACCEPTED, now) == 0) {
+                    return HttpStatus.CONFLICT;
+                }
+                ResponseEntity<ItemResponseDto> claimed = itemService.updateItemStatus(itemId, "claimed", username);
+                if (!claimed.getStatusCode().is2xxSuccessful()) {
+                    status.setRollbackOnly();
+                    return claimed.getStatusCode();
+                }
+                return HttpStatus.OK;
+            });
+            return decided(claimId, outcome);
+
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Override
+    public ResponseEntity<ClaimDto> rejectClaim(String username, Long claimId) {
+        try {
+            UserEntity user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            Optional<ClaimRequest> claimOpt = claimRepository.findWithItemById(claimId);
+            if (claimOpt.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            Long itemId = claimOpt.get().getItem().getId();
+            if (!claimOpt.get().getItem().getUser().getId().equals(user.getId())) {
+                return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+            }
+            return settle(claimId, itemId, ClaimRequest.ClaimStatus.REJECTED);
+
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Override
+    public ResponseEntity<ClaimDto> withdrawClaim(String username, Long claimId) {
+        try {
+            UserEntity user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            Optional<ClaimRequest> claimOpt = claimRepository.findWithItemById(claimId);
+            if (claimOpt.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            Long itemId = claimOpt.get().getItem().getId();
+            if (!claimOpt.get().getClaimant().getId().equals(user.getId())) {
+                return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+            }
+            return settle(claimId, itemId, ClaimRequest.ClaimStatus.WITHDRAWN);
+
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Takes a pending claim out of the queue without touching the item
+    private ResponseEntity<ClaimDto> settle(Long claimId, Long itemId, ClaimRequest.ClaimStatus target) {
+        if (claimRepository.transition(claimId, ClaimRequest.ClaimStatus.PENDING, target, LocalDateTime.now()) == 0) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+        claimSlots.release(itemId);
+        return decided(claimId, HttpStatus.OK);
+    }
+
+    private ResponseEntity<ClaimDto> decided(Long claimId, HttpStatusCode outcome) {
+        if (outcome == null || !outcome.is2xxSuccessful()) {
+            return new ResponseEntity<>(outcome != null ? outcome : HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        ClaimRequest claim = claimRepository.findWithItemById(claimId)
+                .orElseThrow(() -> new RuntimeException("Claim not found"));
+        return new ResponseEntity<>(convertToDto(claim), HttpStatus.OK);
+    }
+
+    // Still-open and accepted claims are returned as they are; a settled one cannot be reopened by resubmitting
+    private ResponseEntity<ClaimDto> existingClaim(ClaimRequest claim) {
+        if (claim.getStatus() == ClaimRequest.ClaimStatus.PENDING || claim.getStatus() == ClaimRequest.ClaimStatus.ACCEPTED) {
+            return new ResponseEntity<>(convertToDto(claim), HttpStatus.OK);
+        }
+        return new ResponseEntity<>(HttpStatus.CONFLICT);
+    }
+
+    private static String nextCursor(Slice<ClaimRequest> claims) {
+        return claims.hasContent()
+                ? String.valueOf(claims.getContent().get(claims.getNumberOfElements() - 1).getId())
+                : null;
+    }
+
+    private ClaimDto convertToDto(ClaimRequest claim) {
+        return new ClaimDto(claim.getId(), claim.getItem().getId(), claim.getItem().getTitle(),
+                claim.getClaimant().getUsername(), claim.getMessage(), claim.getStatus().name(),
+                claim.getCreatedAt(), claim.getDecidedAt());
+    }
+}
@@ -0,0 +1,64 @@
+package com.findspot.haroon.services.imple;
+
+import com.findspot.haroon.repositories.ClaimRequestRepository;
+import com.findspot.haroon.repositories.ItemRepository;
+import com.findspot.haroon.repositories.SavedItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Physically removes items that were tombstoned by ItemServiceImpl.deleteItem.
+ *
+ * Each batch deletes the saved-item references and element collections of up to batchSize items
+ * and then the item rows, all in one short transaction. The grace period keeps a freshly deleted
+ * item around briefly so in-flight requests that loaded it before the tombstone can finish.
+ */
+@Component
+public class DeletedItemSweeper {
+
+    @Value("${findspot.items.sweeper.batch-size:500}")
+    private int batchSize;
+
+    @Value("${findspot.items.sweeper.grace-minutes:10}")
+    private long graceMinutes;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private SavedItemRepository savedItemRepository;
+
+    @Autowired
+    private ClaimRequestRepository claimRequestRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Scheduled(fixedDelayString = "${findspot.items.sweeper.interval-ms:60000}")
+    public void sweep() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(graceMinutes);
+
+        Integer swept;
+        do {
+            swept = transaction.execute(status -> {
+                List<Long> itemIds = itemRepository.findTombstonedIds(cutoff, batchSize);
+                if (itemIds.isEmpty()) {
+                    return 0;
+                }
+                savedItemRepository.deleteByItemIds(itemIds);
+                claimRequestRepository.deleteByItemIds(itemIds);
+                itemRepository.deleteImagesByItemIds(itemIds);
+                itemRepository.deleteAdditionalDetailsByItemIds(itemIds);
+                return itemRepository.deleteRowsByIds(itemIds);
+            });
+        } while (swept != null && swept == batchSize);
+    }
+}
@@ -0,0 +1,104 @@
+package com.findspot.haroon.services.imple;
+
+import com.findspot.haroon.cache.BrowseResponseCache;
+import com.findspot.haroon.cache.ItemDetailCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves items that no longer belong in the working set from items into items_archive.
+ *
+ * An item is archived once it has been ACTIVE for longer than active-max-age-days, or resolved
+ * (CLAIMED or CLOSED) for longer than resolved-retention-days, so the hot table is bounded by the
+ * intake rate rather than by total history. Each batch copies the rows and their collections with
+ * INSERT ... SELECT and removes them from the hot tables in one transaction; rows are locked with
+ * SKIP LOCKED so several nodes can run the job at once without stepping on each other.
+ *
+ * Saved-item bookmarks and claims are dropped for archived items since both reference the hot table.
+ */
+@Component
+public class ItemArchiver {
+
+    private static final String ITEM_COLUMNS = "id, title, short_description, full_description, category_id, location, "
+            + "date, type, status, user_id, reported_date, resolved_date, contact_preference, agreed_to_terms";
+
+    @Value("${findspot.archive.active-max-age-days:180}")
+    private long activeMaxAgeDays;
+
+    @Value("${findspot.archive.resolved-retention-days:30}")
+    private long resolvedRetentionDays;
+
+    @Value("${findspot.archive.batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BrowseResponseCache browseCache;
+
+    @Autowired
+    private ItemDetailCache itemDetailCache;
+
+    @Scheduled(cron = "${findspot.archive.cron:0 30 3 * * *}")
+    public void archiveStaleItems() {
+        LocalDateTime now = LocalDateTime.now();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("activeCutoff", now.minusDays(activeMaxAgeDays))
+                .addValue("resolvedCutoff", now.minusDays(resolvedRetentionDays))
+                .addValue("now", now)
+                .addValue("limit", batchSize);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        long archived = 0;
+        Integer moved;
+        do {
+            moved = transaction.execute(status -> archiveBatch(params));
+            archived += moved != null ? moved : 0;
+        } while (moved != null && moved == batchSize);
+
+        if (archived > 0) {
+            browseCache.purgeAll();
+            itemDetailCache.invalidateAll();
+        }
+    }
+
+    private int archiveBatch(MapSqlParameterSource params) {
+        // Tombstoned rows are left for DeletedItemSweeper
+        List<Long> itemIds = jdbcTemplate.queryForList(
+                "SELECT id FROM items WHERE deleted_at IS NULL AND ("
+                        + "(status = 'ACTIVE' AND reported_date < :activeCutoff) OR "
+                        + "(status IN ('CLAIMED', 'CLOSED') AND resolved_date < :resolvedCutoff)) "
+                        + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+                params, Long.class);
+        if (itemIds.isEmpty()) {
+            return 0;
+        }
+
+        MapSqlParameterSource ids = new MapSqlParameterSource("itemIds", itemIds).addValue("now", params.getValue("now"));
+        jdbcTemplate.update("INSERT INTO items_archive (" + ITEM_COLUMNS + ", archived_at) "
+                + "SELECT " + ITEM_COLUMNS + ", :now FROM items WHERE id IN (:itemIds)", ids);
+        jdbcTemplate.update("INSERT INTO items_archive_images (item_id, image_url) "
+                + "SELECT item_id, image_url FROM item_images WHERE item_id IN (:itemIds)", ids);
+        jdbcTemplate.update("INSERT INTO items_archive_additional_details (item_id, detail_key, detail_value) "
+                + "SELECT item_id, detail_key, detail_value FROM item_additional_details WHERE item_id IN (:itemIds)", ids);
+
+        jdbcTemplate.update("DELETE FROM saved_items WHERE item_id IN (:itemIds)", ids);
+        jdbcTemplate.update("DELETE FROM claim_requests WHERE item_id IN (:itemIds)", ids);
+        jdbcTemplate.update("DELETE FROM item_images WHERE item_id IN (:itemIds)", ids);
+        jdbcTemplate.update("DELETE FROM item_additional_details WHERE item_id IN (:itemIds)", ids);
+        return jdbcTemplate.update("DELETE FROM items WHERE id IN (:itemIds)", ids);
+    }
+}
@@ -0,0 +1,81 @@
+package com.findspot.haroon.services.imple;
+
+import com.findspot.haroon.categories.CategoryRegistry;
+import com.findspot.haroon.dto.ItemDetailDto;
+import com.findspot.haroon.models.ArchivedItem;
+import com.findspot.haroon.models.Item;
+import com.findspot.haroon.models.UserEntity;
+
+// Shared by the services that return items, so every endpoint renders them the same way
+final class ItemDtoMapper {
+
+    private ItemDtoMapper() {
+    }
+
+    static ItemDetailDto toDetailDto(Item item, CategoryRegistry categories) {
+        ItemDetailDto dto = new ItemDetailDto();
+        dto.setId(item.getId());
+        dto.setTitle(item.getTitle());
+        dto.setShortDescription(item.getShortDescription());
+        dto.setFullDescription(item.getFullDescription());
+        dto.setLocation(item.getLocation());
+        dto.setDate(item.getDate());
+        dto.setStatus(item.getStatus().name());
+        dto.setCategory(categories.slugOf(item.getCategoryId()));
+        dto.setCategoryName(categories.nameOf(item.getCategoryId()));
+        dto.setType(item.getType().name());  // Set the type field (LOST or FOUND)
+        dto.setReportedBy(item.getUser().getUsername());
+        dto.setReportedDate(item.getReportedDate());
+        dto.setResolvedDate(item.getResolvedDate());  // Set the resolvedDate field
+        dto.setContactInfo(getContactInfo(item.getContactPreference(), item.getUser()));
+        dto.setImages(item.getImages());
+        dto.setAdditionalDetails(item.getAdditionalDetails());
+        return dto;
+    }
+
+    static ItemDetailDto toDetailDto(ArchivedItem item, CategoryRegistry categories) {
+        ItemDetailDto dto = new ItemDetailDto();
+        dto.setId(item.getId());
+        dto.setTitle(item.getTitle());
+        dto.setShortDescription(item.getShortDescription());
+        dto.setFullDescription(item.getFullDescription());
+        dto.setLocation(item.getLocation());
+        dto.setDate(item.getDate());
+        dto.setStatus(item.getStatus().name());
+        dto.setCategory(categories.slugOf(item.getCategoryId()));
+        dto.setCategoryName(categories.nameOf(item.getCategoryId()));
+        dto.setType(item.getType().name());
+        dto.setReportedBy(item.getUser().getUsername());
+        dto.setReportedDate(item.getReportedDate());
+        dto.setResolvedDate(item.getResolvedDate());
+        dto.setContactInfo(getContactInfo(item.getContactPreference(), item.getUser()));
+        dto.setImages(item.getImages());
+        dto.setAdditionalDetails(item.getAdditionalDetails());
+        dto.setArchived(true);
+        return dto;
+    }
+
+    // Cached DTOs are shared, so anything personalized per request works on a copy
+    static ItemDetailDto copyOf(ItemDetailDto dto) {
+        return new ItemDetailDto(dto.getId(), dto.getTitle(), dto.getShortDescription(), dto.getFullDescription(),
+                dto.getLocation(), dto.getDate(), dto.getStatus(), dto.getCategory(), dto.getCategoryName(),
+                dto.getType(), dto.getReportedBy(), dto.getReportedDate(), dto.getResolvedDate(), dto.getContactInfo(),
+                dto.getImages(), dto.getAdditionalDetails(), dto.getSaved(), dto.getArchived());
+    }
+
+    private static String getContactInfo(String contactPreference, UserEntity user) {
+        if (contactPreference != null) {
+            switch (contactPreference.toLowerCase()) {
+                case "email":
+                    return user.getEmail();
+                case "phone":
+                    return user.getPhone();
+                case "both":
+                    return user.getEmail() + " | " + user.getPhone();
+                default:
+                    return user.getEmail();
+            }
+        }
+        return user.getEmail();
+    }
+}
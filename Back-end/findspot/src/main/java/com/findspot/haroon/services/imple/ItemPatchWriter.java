@@ -0,0 +1,201 @@
+package com.findspot.haroon.services.imple;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Writes a partial item update as the smallest set of statements.
+ *
+ * Only columns whose value actually changed appear in the UPDATE, and images and additional details
+ * are diffed so untouched rows stay where they are, where a JPA save would rewrite every column and
+ * recreate both collections. The UPDATE is conditional on the version the caller read, so a patch
+ * never overwrites a concurrent edit or status transition.
+ */
+@Component
+public class ItemPatchWriter {
+
+    // Accumulates the difference between the loaded item and the patched values
+    static final class Changes {
+        private final Map<String, Object> columns = new LinkedHashMap<>();
+        private final Set<String> removedImages = new LinkedHashSet<>();
+        private final Set<String> addedImages = new LinkedHashSet<>();
+        private final Set<String> removedDetails = new LinkedHashSet<>();
+        private final Map<String, String> changedDetails = new LinkedHashMap<>();
+        private final Map<String, String> addedDetails = new LinkedHashMap<>();
+
+        void column(String column, Object current, Object next) {
+            if (!Objects.equals(current, next)) {
+                columns.put(column, next);
+            }
+        }
+
+        // item_images has no order column, so the list is compared as a set of URLs
+        void images(List<String> current, List<String> next) {
+            Set<String> before = current != null ? new LinkedHashSet<>(current) : Set.of();
+            Set<String> after = next != null ? new LinkedHashSet<>(next) : Set.of();
+            for (String url : before) {
+                if (!after.contains(url)) {
+                    removedImages.add(url);
+                }
+            }
+            for (String url : after) {
+                if (!before.contains(url)) {
+                    addedImages.add(url);
+                }
+            }
+        }
+
+        // Merge-patch semantics: a null value removes the key, anything else sets it
+        void details(Map<String, String> current, Map<String, String> patch) {
+            Map<String, String> before = current != null ? current : Map.of();
+            for (Map.Entry<String, String> entry : patch.entrySet()) {
+                String key = entry.getKey();
+                String value = entry.getValue();
+                if (value == null) {
+                    if (before.containsKey(key)) {
+                        removedDetails.add(key);
+                    }
+                } else if (!before.containsKey(key)) {
+                    addedDetails.put(key, value);
+                } else if (!value.equals(before.get(key))) {
+                    changedDetails.put(key, value);
+                }
+            }
+        }
+
+        void clearDetails(Map<String, String> current) {
+            if (current != null) {
+                removedDetails.addAll(current.keySet());
+            }
+        }
+
+        boolean isEmpty() {
+            return columns.isEmpty() && removedImages.isEmpty() && addedImages.isEmpty()
+                    && removedDetails.isEmpty() && changedDetails.isEmpty() && addedDetails.isEmpty();
+        }
+
+        boolean changes(String column) {
+            return columns.containsKey(column);
+        }
+
+        // Column names, plus "images" and "additional_details" when those rows change
+        List<String> changedFields() {
+            List<String> fields = new ArrayList<>(columns.keySet());
+            if (!removedImages.isEmpty() || !addedImages.isEmpty()) {
+                fields.add("images");
+            }
+            if (!removedDetails.isEmpty() || !changedDetails.isEmpty() || !addedDetails.isEmpty()) {
+                fields.add("additional_details");
+            }
+            return fields;
+        }
+
+        int collectionRows() {
+            return removedImages.size() + addedImages.size()
+                    + removedDetails.size() + changedDetails.size() + addedDetails.size();
+        }
+    }
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final DistributionSummary columnsWritten;
+    private final DistributionSummary collectionRowsWritten;
+
+    public ItemPatchWriter(MeterRegistry meterRegistry) {
+        this.columnsWritten = DistributionSummary.builder("findspot.items.patch.columns")
+                .description("Item columns written per partial update, excluding the version")
+                .register(meterRegistry);
+        this.collectionRowsWritten = DistributionSummary.builder("findspot.items.patch.collection_rows")
+                .description("Image and detail rows inserted, updated or deleted per partial update")
+                .register(meterRegistry);
+    }
+
+    // False when the item was changed or deleted since expectedVersion was read; nothing is written then
+    boolean write(Long itemId, Long expectedVersion, Changes changes) {
+        if (changes.isEmpty()) {
+            columnsWritten.record(0);
+            collectionRowsWritten.record(0);
+            return true;
+        }
+
+        Boolean written = new TransactionTemplate(transactionManager).execute(status -> {
+            // The version is bumped even when only a collection changed, so concurrent patches conflict
+            MapSqlParameterSource params = new MapSqlParameterSource("id", itemId).addValue("version", expectedVersion);
+            StringBuilder sql = new StringBuilder("UPDATE items SET ");
+            for (Map.Entry<String, Object> column : changes.columns.entrySet()) {
+                sql.append(column.getKey()).append(" = :").append(column.getKey()).append(", ");
+                params.addValue(column.getKey(), column.getValue());
+            }
+            sql.append("version = version + 1 WHERE id = :id AND version = :version AND deleted_at IS NULL");
+            if (jdbcTemplate.update(sql.toString(), params) == 0) {
+                return false;
+            }
+
+            if (!changes.removedImages.isEmpty()) {
+                jdbcTemplate.update("DELETE FROM item_images WHERE item_id = :itemId AND image_url IN (:urls)",
+                        new MapSqlParameterSource("itemId", itemId).addValue("urls", changes.removedImages));
+            }
+            if (!changes.addedImages.isEmpty()) {
+                jdbcTemplate.batchUpdate("INSERT INTO item_images (item_id, image_url) VALUES (:itemId, :url)",
+                        batch(itemId, changes.addedImages.stream().map(url -> Map.<String, Object>of("url", url)).toList()));
+            }
+            if (!changes.removedDetails.isEmpty()) {
+                jdbcTemplate.update("DELETE FROM item_additional_details WHERE item_id = :itemId AND detail_key IN (:keys)",
+                        new MapSqlParameterSource("itemId", itemId).addValue("keys", changes.removedDetails));
+            }
+            if (!changes.changedDetails.isEmpty()) {
+                jdbcTemplate.batchUpdate("UPDATE item_additional_details SET detail_value = :value "
+                        + "WHERE item_id = :itemId AND detail_key = :key", batch(itemId, details(changes.changedDetails)));
+            }
+            if (!changes.addedDetails.isEmpty()) {
+                jdbcTemplate.batchUpdate("INSERT INTO item_additional_details (item_id, detail_key, detail_value) "
+                        + "VALUES (:itemId, :key, :value)", batch(itemId, details(changes.addedDetails)));
+            }
+            return true;
+        });
+
+        if (!Boolean.TRUE.equals(written)) {
+            return false;
+        }
+        columnsWritten.record(changes.columns.size());
+        collectionRowsWritten.record(changes.collectionRows());
+        return true;
+    }
+
+    private static List<Map<String, Object>> details(Map<String, String> details) {
+        List<Map<String, Object>> rows = new ArrayList<>(details.size());
+        for (Map.Entry<String, String> detail : details.entrySet()) {
+            rows.add(Map.of("key", detail.getKey(), "value", detail.getValue()));
+        }
+        return rows;
+    }
+
+    private static MapSqlParameterSource[] batch(Long itemId, List<Map<String, Object>> rows) {
+        MapSqlParameterSource[] batch = new MapSqlParameterSource[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            Map<String, Object> values = new HashMap<>(rows.get(i));
+            values.put("itemId", itemId);
+            batch[i] = new MapSqlParameterSource(values);
+        }
+        return batch;
+    }
+}
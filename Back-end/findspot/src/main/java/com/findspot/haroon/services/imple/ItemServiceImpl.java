@@ -1,32 +1,82 @@
 package com.findspot.haroon.services.imple;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findspot.haroon.analytics.ResolutionRollups;
+import com.findspot.haroon.audit.ItemAuditLog;
+import com.findspot.haroon.autocomplete.AutocompleteIndex;
+import com.findspot.haroon.autocomplete.ItemTerms;
+import com.findspot.haroon.cache.BrowseResponseCache;
+import com.findspot.haroon.cache.ItemDetailCache;
+import com.findspot.haroon.categories.CategoryRegistry;
+import com.findspot.haroon.claims.ClaimSlots;
 import com.findspot.haroon.dto.*;
+import com.findspot.haroon.duplicates.DuplicateIndex;
+import com.findspot.haroon.images.ImageHashIndex;
+import com.findspot.haroon.images.ImageHashPipeline;
+import com.findspot.haroon.feed.ItemFeed;
+import com.findspot.haroon.exceptions.InvalidPageRequestException;
+import com.findspot.haroon.exceptions.InvalidStatusTransitionException;
+import com.findspot.haroon.models.ArchivedItem;
 import com.findspot.haroon.models.Item;
+import com.findspot.haroon.models.ItemHistoryEntry;
 import com.findspot.haroon.models.UserEntity;
+import com.findspot.haroon.pagination.PaginationPolicy;
+import com.findspot.haroon.repositories.ArchivedItemRepository;
+import com.findspot.haroon.repositories.ClaimRequestRepository;
+import com.findspot.haroon.repositories.ImageHashRepository;
+import com.findspot.haroon.repositories.ItemHistoryRepository;
 import com.findspot.haroon.repositories.ItemRepository;
 import com.findspot.haroon.repositories.SavedItemRepository;
 import com.findspot.haroon.repositories.UserRepository;
 import com.findspot.haroon.services.ItemService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.Map;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
 
 @Service
 public class ItemServiceImpl implements ItemService {
 
+    private static final int MAX_DUPLICATE_CANDIDATES = 5;
+    private static final int MAX_AUDIT_FIELDS_LENGTH = 500;
+    private static final int STREAM_CHUNK_SIZE = 50; // matches @BatchSize on the item collections
+
     @Autowired
     private ItemRepository itemRepository;
 
@@ -36,6 +86,73 @@ public class ItemServiceImpl implements ItemService {
     @Autowired
     private SavedItemRepository savedItemRepository;
 
+    @Autowired
+    private ClaimRequestRepository claimRequestRepository;
+
+    @Autowired
+    private ClaimSlots claimSlots;
+
+    @Autowired
+    private ArchivedItemRepository archivedItemRepository;
+
+    @Autowired
+    private PaginationPolicy paginationPolicy;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private BrowseResponseCache browseCache;
+
+    @Autowired
+    private ItemDetailCache itemDetailCache;
+
+    @Autowired
+    private AutocompleteIndex autocompleteIndex;
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    @Autowired
+    private ItemStateMachine stateMachine;
+
+    @Autowired
+    private ItemPatchWriter patchWriter;
+
+    @Autowired
+    private ItemFeed itemFeed;
+
+    @Autowired
+    private DuplicateIndex duplicateIndex;
+
+    @Autowired
+    private ImageHashPipeline imageHashPipeline;
+
+    @Autowired
+    private ImageHashIndex imageHashIndex;
+
+    @Autowired
+    private ImageHashRepository imageHashRepository;
+
+    @Autowired
+    private ItemAuditLog auditLog;
+
+    @Autowired
+    private ItemHistoryRepository historyRepository;
+
+    @Autowired
+    private ResolutionRollups resolutionRollups;
+
+    // When off, items and their references are removed inside the request instead of by DeletedItemSweeper
+    @Value("${findspot.items.soft-delete:true}")
+    private boolean softDelete;
+
     @Override
     public ResponseEntity<ItemResponseDto> reportLostItem(LostItemRequestDto request, String username) {
         try {
@@ -47,12 +164,23 @@ public class ItemServiceImpl implements ItemService {
                 !StringUtils.hasText(request.getDate())) {
                 return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
             }
+            Optional<CategoryRegistry.Entry> category = categoryRegistry.resolve(request.getCategory());
+            if (category.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            List<DuplicateCandidateDto> duplicates = possibleDuplicates(Item.ItemType.LOST, category.get().id(), user,
+                    request.getTitle(), request.getDescription(), request.getLocation());
+            if (!duplicates.isEmpty() && Boolean.TRUE.equals(request.getHoldIfDuplicates())) {
+                return new ResponseEntity<>(
+                        new ItemResponseDto(null, request.getTitle(), "POSSIBLE_DUPLICATE", duplicates),
+                        HttpStatus.CONFLICT);
+            }
 
             Item item = new Item();
             item.setTitle(request.getTitle());
             item.setShortDescription(truncateDescription(request.getDescription()));
             item.setFullDescription(request.getDescription());
-            item.setCategory(request.getCategory());
+            item.setCategoryId(category.get().id());
             item.setLocation(request.getLocation());
             item.setDate(LocalDate.parse(request.getDate()));
             item.setType(Item.ItemType.LOST);
@@ -62,9 +190,17 @@ public class ItemServiceImpl implements ItemService {
             item.setUser(user);
 
             Item savedItem = itemRepository.save(item);
+            purgeBrowseCache(savedItem, null);
+            updateSuggestions(null, termsOf(savedItem));
+            publishToFeed(ItemFeed.Kind.CREATED, savedItem);
+            audit(ItemAuditLog.Action.REPORTED, savedItem, username, null, null);
+            updateRollups(savedItem, null, null);
+            updateDuplicateIndex(savedItem);
+            hashImages(savedItem);
 
             return new ResponseEntity<>(
-                    new ItemResponseDto(savedItem.getId(), savedItem.getTitle(), savedItem.getStatus().name()),
+                    new ItemResponseDto(savedItem.getId(), savedItem.getTitle(), savedItem.getStatus().name(),
+                            duplicates.isEmpty() ? null : duplicates),
                     HttpStatus.CREATED
             );
 
@@ -86,12 +222,23 @@ public class ItemServiceImpl implements ItemService {
                 !StringUtils.hasText(request.getDate()) || !Boolean.TRUE.equals(request.getAgreedToTerms())) {
                 return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
             }
+            Optional<CategoryRegistry.Entry> category = categoryRegistry.resolve(request.getCategory());
+            if (category.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            List<DuplicateCandidateDto> duplicates = possibleDuplicates(Item.ItemType.FOUND, category.get().id(), user,
+                    request.getTitle(), request.getDescription(), request.getLocation());
+            if (!duplicates.isEmpty() && Boolean.TRUE.equals(request.getHoldIfDuplicates())) {
+                return new ResponseEntity<>(
+                        new ItemResponseDto(null, request.getTitle(), "POSSIBLE_DUPLICATE", duplicates),
+                        HttpStatus.CONFLICT);
+            }
 
             Item item = new Item();
             item.setTitle(request.getTitle());
             item.setShortDescription(truncateDescription(request.getDescription()));
             item.setFullDescription(request.getDescription());
-            item.setCategory(request.getCategory());
+            item.setCategoryId(category.get().id());
             item.setLocation(request.getLocation());
             item.setDate(LocalDate.parse(request.getDate()));
             item.setType(Item.ItemType.FOUND);
@@ -102,9 +249,17 @@ public class ItemServiceImpl implements ItemService {
             item.setAgreedToTerms(request.getAgreedToTerms());
 
             Item savedItem = itemRepository.save(item);
+            purgeBrowseCache(savedItem, null);
+            updateSuggestions(null, termsOf(savedItem));
+            publishToFeed(ItemFeed.Kind.CREATED, savedItem);
+            audit(ItemAuditLog.Action.REPORTED, savedItem, username, null, null);
+            updateRollups(savedItem, null, null);
+            updateDuplicateIndex(savedItem);
+            hashImages(savedItem);
 
             return new ResponseEntity<>(
-                    new ItemResponseDto(savedItem.getId(), savedItem.getTitle(), savedItem.getStatus().name()),
+                    new ItemResponseDto(savedItem.getId(), savedItem.getTitle(), savedItem.getStatus().name(),
+                            duplicates.isEmpty() ? null : duplicates),
                     HttpStatus.CREATED
             );
 
@@ -116,18 +271,44 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public ResponseEntity<PagedResponseDto<ItemDetailDto>> getLostItems(String category, String location, int page, int limit) {
-        try {
-            Pageable pageable = PageRequest.of(page, limit, Sort.by("reportedDate").descending());
+    public ResponseEntity<PagedResponseDto<ItemDetailDto>> getLostItems(String category, String location, Long cursor, int page, int limit,
+                                                                 boolean includeArchived, String username) {
+        return getItemsByType(Item.ItemType.LOST, category, location, cursor, page, limit, includeArchived, username);
+    }
+
+    @Override
+    public ResponseEntity<PagedResponseDto<ItemDetailDto>> getFoundItems(String category, String location, Long cursor, int page, int limit,
+                                                                  boolean includeArchived, String username) {
+        return getItemsByType(Item.ItemType.FOUND, category, location, cursor, page, limit, includeArchived, username);
+    }
+
+    private ResponseEntity<PagedResponseDto<ItemDetailDto>> getItemsByType(Item.ItemType type, String category, String location,
+                                                                           Long cursor, int page, int limit,
+                                                                           boolean includeArchived, String username) {
+        if (includeArchived) {
+            // Merging two tables by OFFSET would mean reading every skipped row of both
+            if (page > 0) {
+                throw new InvalidPageRequestException("includeArchived results are paged with the 'cursor' parameter only");
+            }
+            return getItemsIncludingArchive(type, category, location, cursor, limit, username);
+        }
+        if (cursor != null) {
+            return getItemsByTypeAfterCursor(type, category, location, cursor, limit, username);
+        }
 
+        Pageable pageable = paginationPolicy.pageRequest(page, limit, Sort.by("reportedDate").descending());
+        try {
             Page<Item> items;
-            if (StringUtils.hasText(category) || StringUtils.hasText(location)) {
-                items = itemRepository.findByTypeAndFilters(Item.ItemType.LOST, category, location, pageable);
+            Short categoryId = categoryRegistry.filterId(category);
+            if (categoryId != null || StringUtils.hasText(location)) {
+                items = itemRepository.findByTypeAndFilters(type, categoryId, location, pageable);
             } else {
-                items = itemRepository.findByType(Item.ItemType.LOST, pageable);
+                items = itemRepository.findByType(type, pageable);
             }
 
-            Page<ItemDetailDto> itemDtos = items.map(this::convertToDetailDto);
+            Page<ItemDetailDto> itemDtos = items.map(item -> ItemDtoMapper.toDetailDto(item, categoryRegistry));
+            markSavedItems(itemDtos.getContent(), username);
+            // No nextCursor: these pages are ordered by reportedDate, while cursors continue an id-ordered scan
             PagedResponseDto<ItemDetailDto> response = PagedResponseDto.fromPage(itemDtos);
             return new ResponseEntity<>(response, HttpStatus.OK);
 
@@ -136,20 +317,62 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
-    @Override
-    public ResponseEntity<PagedResponseDto<ItemDetailDto>> getFoundItems(String category, String location, int page, int limit) {
+    private ResponseEntity<PagedResponseDto<ItemDetailDto>> getItemsByTypeAfterCursor(Item.ItemType type, String category,
+                                                                                      String location, Long cursor, int limit,
+                                                                                      String username) {
+        Pageable pageable = paginationPolicy.cursorRequest(limit, Sort.by("id").descending());
         try {
-            Pageable pageable = PageRequest.of(page, limit, Sort.by("reportedDate").descending());
+            Slice<Item> items = itemRepository.findByTypeAndFiltersBeforeCursor(type,
+                    categoryRegistry.filterId(category),
+                    StringUtils.hasText(location) ? location : null,
+                    cursor, pageable);
+
+            String nextCursor = items.hasContent()
+                    ? String.valueOf(items.getContent().get(items.getNumberOfElements() - 1).getId())
+                    : null;
+            Slice<ItemDetailDto> itemDtos = items.map(item -> ItemDtoMapper.toDetailDto(item, categoryRegistry));
+            markSavedItems(itemDtos.getContent(), username);
+            PagedResponseDto<ItemDetailDto> response = PagedResponseDto.fromSlice(itemDtos, nextCursor);
+            return new ResponseEntity<>(response, HttpStatus.OK);
 
-            Page<Item> items;
-            if (StringUtils.hasText(category) || StringUtils.hasText(location)) {
-                items = itemRepository.findByTypeAndFilters(Item.ItemType.FOUND, category, location, pageable);
-            } else {
-                items = itemRepository.findByType(Item.ItemType.FOUND, pageable);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Reads one keyset page from each table and merges them newest first; ids are shared between
+    // the tables because archived rows keep their original id
+    private ResponseEntity<PagedResponseDto<ItemDetailDto>> getItemsIncludingArchive(Item.ItemType type, String category,
+                                                                                     String location, Long cursor, int limit,
+                                                                                     String username) {
+        Pageable pageable = paginationPolicy.cursorRequest(limit, Sort.by("id").descending());
+        try {
+            Short categoryFilter = categoryRegistry.filterId(category);
+            String locationFilter = StringUtils.hasText(location) ? location : null;
+            Slice<Item> hot = itemRepository.findByTypeAndFiltersBeforeCursor(type, categoryFilter, locationFilter,
+                    cursor, pageable);
+            Slice<ArchivedItem> cold = archivedItemRepository.findByTypeAndFiltersBeforeCursor(type, categoryFilter,
+                    locationFilter, cursor, pageable);
+
+            List<Item> hotItems = hot.getContent();
+            List<ArchivedItem> coldItems = cold.getContent();
+            List<ItemDetailDto> merged = new ArrayList<>(pageable.getPageSize());
+            int h = 0;
+            int c = 0;
+            while (merged.size() < pageable.getPageSize() && (h < hotItems.size() || c < coldItems.size())) {
+                if (c == coldItems.size()
+                        || (h < hotItems.size() && hotItems.get(h).getId() > coldItems.get(c).getId())) {
+                    merged.add(ItemDtoMapper.toDetailDto(hotItems.get(h++), categoryRegistry));
+                } else {
+                    merged.add(ItemDtoMapper.toDetailDto(coldItems.get(c++), categoryRegistry));
+                }
             }
+            boolean hasNext = h < hotItems.size() || c < coldItems.size() || hot.hasNext() || cold.hasNext();
 
-            Page<ItemDetailDto> itemDtos = items.map(this::convertToDetailDto);
-            PagedResponseDto<ItemDetailDto> response = PagedResponseDto.fromPage(itemDtos);
+            markSavedItems(merged, username);
+            String nextCursor = merged.isEmpty() ? null : String.valueOf(merged.get(merged.size() - 1).getId());
+            PagedResponseDto<ItemDetailDto> response = PagedResponseDto.fromSlice(
+                    new SliceImpl<>(merged, pageable, hasNext), nextCursor);
             return new ResponseEntity<>(response, HttpStatus.OK);
 
         } catch (Exception e) {
@@ -158,15 +381,172 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public ResponseEntity<ItemDetailDto> getItemById(Long id) {
-        Optional<Item> itemOpt = itemRepository.findById(id);
+    public ResponseEntity<StreamingResponseBody> streamItems(String type, String category, String location, Long cursor, int limit) {
+        Item.ItemType itemType = parseType(type);
+        if (itemType == null) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        int safeLimit = paginationPolicy.clampStreamLimit(limit);
+        Short categoryFilter = categoryRegistry.filterId(category);
+        String locationFilter = StringUtils.hasText(location) ? location : null;
+
+        // Items are written to the response as they come off the result set, so neither the
+        // entities nor the DTOs for the whole page are ever held at once
+        StreamingResponseBody body = outputStream -> {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.executeWithoutResult(status -> {
+                try (Stream<Item> items = itemRepository.streamByTypeAndFilters(itemType, categoryFilter, locationFilter,
+                        cursor, Limit.of(safeLimit + 1));
+                     JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                    writeItemPage(generator, items.iterator(), safeLimit);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        };
 
-        if (itemOpt.isPresent()) {
-            ItemDetailDto itemDto = convertToDetailDto(itemOpt.get());
-            return new ResponseEntity<>(itemDto, HttpStatus.OK);
-        } else {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private void writeItemPage(JsonGenerator generator, Iterator<Item> items, int limit) throws IOException {
+        List<Item> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        Long lastId = null;
+        int read = 0;
+        boolean hasNext = false;
+
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("content");
+        while (items.hasNext()) {
+            Item item = items.next();
+            if (read == limit) {
+                hasNext = true; // the extra row fetched only to know whether another page exists
+                break;
+            }
+            chunk.add(item);
+            lastId = item.getId();
+            read++;
+            if (chunk.size() == STREAM_CHUNK_SIZE) {
+                writeChunk(generator, chunk);
+            }
+        }
+        writeChunk(generator, chunk);
+        generator.writeEndArray();
+        generator.writeNumberField("limit", limit);
+        generator.writeStringField("nextCursor", hasNext ? String.valueOf(lastId) : null);
+        generator.writeEndObject();
+    }
+
+    // The chunk is still attached while it is mapped, so the first item's images and details load
+    // those of the whole chunk in one batch (see @BatchSize on Item); then it is detached and dropped
+    private void writeChunk(JsonGenerator generator, List<Item> chunk) throws IOException {
+        for (Item item : chunk) {
+            generator.writeObject(ItemDtoMapper.toDetailDto(item, categoryRegistry));
+        }
+        for (Item item : chunk) {
+            entityManager.detach(item);
+        }
+        chunk.clear();
+        generator.flush();
+    }
+
+    @Override
+    public ResponseEntity<List<SuggestionDto>> getSuggestions(String query, String field, int limit) {
+        try {
+            AutocompleteIndex.Field target = StringUtils.hasText(field)
+                    ? AutocompleteIndex.Field.valueOf(field.trim().toUpperCase()) : null;
+            return new ResponseEntity<>(autocompleteIndex.suggest(query, target, limit), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Override
+    public ResponseEntity<List<SimilarItemDto>> getVisuallySimilarItems(Long id, int limit) {
+        try {
+            Optional<Item> itemOpt = itemRepository.findById(id);
+            if (itemOpt.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            List<Long> hashes = imageHashRepository.findHashesByItemId(id);
+            if (hashes.isEmpty()) {
+                return new ResponseEntity<>(List.of(), HttpStatus.OK);
+            }
+
+            // Lost items are matched against found ones and the other way round
+            Item.ItemType opposite = itemOpt.get().getType() == Item.ItemType.LOST ? Item.ItemType.FOUND : Item.ItemType.LOST;
+            int effectiveLimit = paginationPolicy.clampLimit(limit);
+            // Over-fetched because items resolved since the last index rebuild are dropped below
+            List<ImageHashIndex.Match> matches = imageHashIndex.findSimilar(hashes, opposite, id,
+                    ImageHashIndex.MAX_DISTANCE, effectiveLimit * 2);
+            Map<Long, Item> items = new HashMap<>();
+            for (Item item : itemRepository.findAllById(matches.stream().map(ImageHashIndex.Match::itemId).toList())) {
+                items.put(item.getId(), item);
+            }
+
+            List<SimilarItemDto> similar = new ArrayList<>();
+            for (ImageHashIndex.Match match : matches) {
+                Item item = items.get(match.itemId());
+                if (item != null && item.getStatus() == Item.ItemStatus.ACTIVE && similar.size() < effectiveLimit) {
+                    similar.add(new SimilarItemDto(ItemDtoMapper.toDetailDto(item, categoryRegistry), match.distance()));
+                }
+            }
+            return new ResponseEntity<>(similar, HttpStatus.OK);
+
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Override
+    public ResponseEntity<PagedResponseDto<ItemHistoryDto>> getItemHistory(Long id, Long cursor, int limit, String username) {
+        Pageable pageable = paginationPolicy.cursorRequest(limit, Sort.unsorted());
+        try {
+            if (username == null) {
+                return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+            }
+            // The trail outlives the item, so once it is deleted or archived the reporter is found through it
+            Optional<Item> itemOpt = itemRepository.findById(id);
+            boolean owner = itemOpt.isPresent()
+                    ? itemOpt.get().getUser().getUsername().equals(username)
+                    : historyRepository.existsByItemIdAndActionAndActor(id, ItemAuditLog.Action.REPORTED.name(), username);
+            if (!owner) {
+                return new ResponseEntity<>(itemOpt.isPresent() ? HttpStatus.FORBIDDEN : HttpStatus.NOT_FOUND);
+            }
+
+            Slice<ItemHistoryEntry> entries = historyRepository.findByItemIdBeforeCursor(id, cursor, pageable);
+            String nextCursor = entries.hasContent()
+                    ? String.valueOf(entries.getContent().get(entries.getNumberOfElements() - 1).getId())
+                    : null;
+            Slice<ItemHistoryDto> history = entries.map(entry -> new ItemHistoryDto(entry.getId(), entry.getAction(),
+                    entry.getActor(), entry.getFromStatus(), entry.getToStatus(),
+                    entry.getFields() != null ? List.of(entry.getFields().split(",")) : List.of(),
+                    entry.getOccurredAt()));
+            return new ResponseEntity<>(PagedResponseDto.fromSlice(history, nextCursor), HttpStatus.OK);
+
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Override
+    public ResponseEntity<ItemDetailDto> getItemById(Long id, String username) {
+        ItemDetailDto cached = itemDetailCache.get(id, () -> loadItemDetail(id));
+        if (cached == null) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
+        ItemDetailDto itemDto = ItemDtoMapper.copyOf(cached);
+        markSavedItems(List.of(itemDto), username);
+        return new ResponseEntity<>(itemDto, HttpStatus.OK);
+    }
+
+    private ItemDetailDto loadItemDetail(Long id) {
+        Optional<Item> itemOpt = itemRepository.findById(id);
+        if (itemOpt.isPresent()) {
+            return ItemDtoMapper.toDetailDto(itemOpt.get(), categoryRegistry);
+        }
+        // Links to archived items keep working; this lookup only runs on a miss in the hot table
+        return archivedItemRepository.findById(id).map(item -> ItemDtoMapper.toDetailDto(item, categoryRegistry)).orElse(null);
     }
 
     @Override
@@ -184,6 +564,10 @@ public class ItemServiceImpl implements ItemService {
             if (!item.getUser().getId().equals(user.getId())) {
                 return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
             }
+            Short previousCategoryId = item.getCategoryId();
+            Item.ItemStatus previousStatus = item.getStatus();
+            LocalDateTime previousResolvedDate = item.getResolvedDate();
+            ItemTerms previousTerms = termsOf(item);
 
             // Update fields if provided
             if (updates.containsKey("title")) {
@@ -195,7 +579,8 @@ public class ItemServiceImpl implements ItemService {
                 item.setFullDescription(description);
             }
             if (updates.containsKey("category")) {
-                item.setCategory((String) updates.get("category"));
+                item.setCategoryId(categoryRegistry.resolve((String) updates.get("category"))
+                        .orElseThrow(() -> new IllegalArgumentException("Unknown category")).id());
             }
             if (updates.containsKey("location")) {
                 item.setLocation((String) updates.get("location"));
@@ -204,107 +589,244 @@ public class ItemServiceImpl implements ItemService {
                 item.setDate(LocalDate.parse((String) updates.get("date")));
             }
             if (updates.containsKey("status")) {
-                item.setStatus(Item.ItemStatus.valueOf(((String) updates.get("status")).toUpperCase()));
+                Item.ItemStatus status = Item.ItemStatus.valueOf(((String) updates.get("status")).toUpperCase());
+                if (status != item.getStatus()) {
+                    stateMachine.applyTo(item, ItemStateMachine.Transition.into(status));
+                }
             }
             if (updates.containsKey("contactPreference")) {
                 item.setContactPreference((String) updates.get("contactPreference"));
             }
 
-            Item savedItem = itemRepository.save(item);
+            Item savedItem = new TransactionTemplate(transactionManager).execute(status -> {
+                Item saved = itemRepository.save(item);
+                closeClaimQueue(saved.getId(), previousStatus, saved.getStatus());
+                return saved;
+            });
+            purgeBrowseCache(savedItem, previousCategoryId);
+            updateSuggestions(previousTerms, termsOf(savedItem));
+            publishToFeed(feedKind(savedItem, previousStatus), savedItem);
+            audit(ItemAuditLog.Action.UPDATED, savedItem, username, previousStatus, updates.keySet());
+            updateRollups(savedItem, previousStatus, previousResolvedDate);
+            updateDuplicateIndex(savedItem);
+            hashImages(savedItem);
 
             return new ResponseEntity<>(
                     new ItemResponseDto(savedItem.getId(), savedItem.getTitle(), savedItem.getStatus().name()),
                     HttpStatus.OK
             );
 
+        } catch (InvalidStatusTransitionException | ObjectOptimisticLockingFailureException e) {
+            // Not allowed from the current status, or the item changed since it was loaded
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
     }
 
     @Override
-    @Transactional
-    public ResponseEntity<String> deleteItem(Long id, String username) {
+    public ResponseEntity<ItemResponseDto> patchItem(Long id, ItemPatchDto patch, String username) {
         try {
-            UserEntity user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
             Optional<Item> itemOpt = itemRepository.findById(id);
             if (itemOpt.isEmpty()) {
-                return new ResponseEntity<>("Item not found", HttpStatus.NOT_FOUND);
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
             }
 
             Item item = itemOpt.get();
-            if (!item.getUser().getId().equals(user.getId())) {
-                return new ResponseEntity<>("Unauthorized", HttpStatus.UNAUTHORIZED);
+            if (!item.getUser().getUsername().equals(username)) {
+                return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+            }
+            Short previousCategoryId = item.getCategoryId();
+            Item.ItemStatus previousStatus = item.getStatus();
+            LocalDateTime previousResolvedDate = item.getResolvedDate();
+            ItemTerms previousTerms = termsOf(item);
+
+            ItemPatchWriter.Changes changes = new ItemPatchWriter.Changes();
+            if (patch.getImages() != null) {
+                changes.images(item.getImages(), patch.getImages().orElse(null));
+            }
+            if (patch.getAdditionalDetails() != null) {
+                if (patch.getAdditionalDetails().isPresent()) {
+                    changes.details(item.getAdditionalDetails(), patch.getAdditionalDetails().get());
+                } else {
+                    changes.clearDetails(item.getAdditionalDetails());
+                }
             }
 
-            // First, delete all saved item references to avoid foreign key constraint violation
-            savedItemRepository.deleteAll(savedItemRepository.findByItem(item));
+            // From here the loaded item is only the baseline for the diff; ItemPatchWriter does the write
+            entityManager.detach(item);
+            if (patch.getTitle() != null) {
+                String title = requiredValue(patch.getTitle(), "title");
+                changes.column("title", item.getTitle(), title);
+                item.setTitle(title);
+            }
+            if (patch.getDescription() != null) {
+                String description = requiredValue(patch.getDescription(), "description");
+                changes.column("short_description", item.getShortDescription(), truncateDescription(description));
+                changes.column("full_description", item.getFullDescription(), description);
+                item.setShortDescription(truncateDescription(description));
+                item.setFullDescription(description);
+            }
+            if (patch.getCategory() != null) {
+                Short categoryId = categoryRegistry.resolve(requiredValue(patch.getCategory(), "category"))
+                        .orElseThrow(() -> new IllegalArgumentException("Unknown category")).id();
+                changes.column("category_id", item.getCategoryId(), categoryId);
+                item.setCategoryId(categoryId);
+            }
+            if (patch.getLocation() != null) {
+                String location = requiredValue(patch.getLocation(), "location");
+                changes.column("location", item.getLocation(), location);
+                item.setLocation(location);
+            }
+            if (patch.getDate() != null) {
+                LocalDate date = LocalDate.parse(requiredValue(patch.getDate(), "date"));
+                changes.column("date", item.getDate(), date);
+                item.setDate(date);
+            }
+            if (patch.getContactPreference() != null) {
+                String contactPreference = patch.getContactPreference().orElse(null);
+                changes.column("contact_preference", item.getContactPreference(), contactPreference);
+                item.setContactPreference(contactPreference);
+            }
+            if (patch.getStatus() != null) {
+                Item.ItemStatus status = Item.ItemStatus.valueOf(requiredValue(patch.getStatus(), "status").toUpperCase());
+                if (status != item.getStatus()) {
+                    stateMachine.applyTo(item, ItemStateMachine.Transition.into(status));
+                    changes.column("status", previousStatus.name(), status.name());
+                    changes.column("resolved_date", previousResolvedDate, item.getResolvedDate());
+                }
+            }
 
-            // Then delete the item itself
-            itemRepository.delete(item);
-            return new ResponseEntity<>("Item deleted successfully", HttpStatus.OK);
+            Boolean written = new TransactionTemplate(transactionManager).execute(status -> {
+                if (!patchWriter.write(id, item.getVersion(), changes)) {
+                    return false;
+                }
+                closeClaimQueue(id, previousStatus, item.getStatus());
+                return true;
+            });
+            if (!Boolean.TRUE.equals(written)) {
+                return new ResponseEntity<>(HttpStatus.CONFLICT);
+            }
+            if (!changes.isEmpty()) {
+                purgeBrowseCache(item, changes.changes("category_id") ? previousCategoryId : null);
+                updateSuggestions(previousTerms, termsOf(item));
+                publishToFeed(feedKind(item, previousStatus), item);
+                audit(ItemAuditLog.Action.UPDATED, item, username, previousStatus, changes.changedFields());
+                updateRollups(item, previousStatus, previousResolvedDate);
+                updateDuplicateIndex(item);
+                hashImages(item);
+            }
 
+            return new ResponseEntity<>(
+                    new ItemResponseDto(item.getId(), item.getTitle(), item.getStatus().name()),
+                    HttpStatus.OK
+            );
+
+        } catch (InvalidStatusTransitionException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
-            return new ResponseEntity<>("Error deleting item", HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
     @Override
-    public ResponseEntity<ItemResponseDto> updateItemStatus(Long id, String status, String username) {
+    @Transactional
+    public ResponseEntity<String> deleteItem(Long id, String username) {
         try {
             UserEntity user = userRepository.findByUsername(username)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
             Optional<Item> itemOpt = itemRepository.findById(id);
             if (itemOpt.isEmpty()) {
-                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                return new ResponseEntity<>("Item not found", HttpStatus.NOT_FOUND);
             }
 
             Item item = itemOpt.get();
             if (!item.getUser().getId().equals(user.getId())) {
-                return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+                return new ResponseEntity<>("Unauthorized", HttpStatus.UNAUTHORIZED);
             }
 
-            // Validate and set status
-            try {
-                Item.ItemStatus newStatus;
-                switch (status.toLowerCase()) {
-                    case "found":
-                    case "claimed":
-                        newStatus = Item.ItemStatus.CLAIMED;
-                        // Set resolvedDate to current time when status changes to CLAIMED
-                        item.setResolvedDate(LocalDateTime.now());
-                        break;
-                    case "returned":
-                    case "resolved":
-                    case "closed":
-                        newStatus = Item.ItemStatus.CLOSED;
-                        // Set resolvedDate to current time when status changes to CLOSED
-                        item.setResolvedDate(LocalDateTime.now());
-                        break;
-                    case "active":
-                        newStatus = Item.ItemStatus.ACTIVE;
-                        // Clear resolvedDate when status changes to ACTIVE
-                        item.setResolvedDate(null);
-                        break;
-                    default:
-                        return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-                }
+            if (softDelete) {
+                // A single UPDATE; saved references and collections are cleaned up in the background
+                itemRepository.markDeleted(id, user, LocalDateTime.now());
+            } else {
+                // Set-based deletes, children first to satisfy the foreign keys
+                List<Long> itemIds = List.of(id);
+                savedItemRepository.deleteByItemIds(itemIds);
+                claimRequestRepository.deleteByItemIds(itemIds);
+                itemRepository.deleteImagesByItemIds(itemIds);
+                itemRepository.deleteAdditionalDetailsByItemIds(itemIds);
+                itemRepository.deleteRowsByIds(itemIds);
+            }
+            entityManager.detach(item);
+            purgeBrowseCache(item, null);
+            updateSuggestions(termsOf(item), null);
+            publishToFeed(ItemFeed.Kind.REMOVED, item);
+            audit(ItemAuditLog.Action.DELETED, item, username, item.getStatus(), null);
+            afterCommit(() -> duplicateIndex.remove(id));
+            return new ResponseEntity<>("Item deleted successfully", HttpStatus.OK);
 
-                item.setStatus(newStatus);
-                Item savedItem = itemRepository.save(item);
+        } catch (Exception e) {
+            return new ResponseEntity<>("Error deleting item", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
 
-                return new ResponseEntity<>(
-                        new ItemResponseDto(savedItem.getId(), savedItem.getTitle(), savedItem.getStatus().name()),
-                        HttpStatus.OK
-                );
+    @Override
+    public ResponseEntity<ItemResponseDto> updateItemStatus(Long id, String status, String username) {
+        try {
+            ItemStateMachine.Transition transition;
+            switch (status == null ? "" : status.toLowerCase()) {
+                case "found":
+                case "claimed":
+                    transition = ItemStateMachine.Transition.CLAIM;
+                    break;
+                case "returned":
+                case "resolved":
+                case "closed":
+                    transition = ItemStateMachine.Transition.CLOSE;
+                    break;
+                case "active":
+                    transition = ItemStateMachine.Transition.REOPEN;
+                    break;
+                default:
+                    return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
 
-            } catch (Exception e) {
-                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            // Ownership and the current status are checked by the conditional update; pending claims close with it
+            Item before = new TransactionTemplate(transactionManager).execute(txStatus -> {
+                Item previous = stateMachine.applyFrom(id, username, transition);
+                if (previous != null) {
+                    closeClaimQueue(id, previous.getStatus(), transition.target());
+                }
+                return previous;
+            });
+            if (before == null) {
+                Optional<Item> current = itemRepository.findById(id);
+                if (current.isEmpty()) {
+                    return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                }
+                if (!current.get().getUser().getUsername().equals(username)) {
+                    return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+                }
+                // Already moved by someone else, or not allowed from its current status
+                return new ResponseEntity<>(HttpStatus.CONFLICT);
             }
 
+            Item item = itemRepository.findById(id).orElseThrow(() -> new RuntimeException("Item not found"));
+            purgeBrowseCache(item, null);
+            publishToFeed(transition == ItemStateMachine.Transition.REOPEN ? ItemFeed.Kind.UPDATED : ItemFeed.Kind.RESOLVED,
+                    item);
+            audit(ItemAuditLog.Action.STATUS_CHANGED, item, username, before.getStatus(), null);
+            updateRollups(item, before.getStatus(), before.getResolvedDate());
+            updateDuplicateIndex(item);
+
+            return new ResponseEntity<>(
+                    new ItemResponseDto(item.getId(), item.getTitle(), item.getStatus().name()),
+                    HttpStatus.OK
+            );
+
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -312,20 +834,18 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public ResponseEntity<PagedResponseDto<ItemDetailDto>> getMyItems(String username, String status, String type, String sortBy, String sortDir, int page, int limit) {
+        Pageable pageable = paginationPolicy.pageRequest(page, limit, createSort(sortBy, sortDir));
         try {
             UserEntity user = userRepository.findByUsername(username)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            // Create sort object
-            Sort sort = createSort(sortBy, sortDir);
-            Pageable pageable = PageRequest.of(page, limit, sort);
-
             // Parse filters
             Item.ItemStatus statusFilter = parseStatus(status);
             Item.ItemType typeFilter = parseType(type);
 
             Page<Item> items = itemRepository.findByUserWithFilters(user, statusFilter, typeFilter, pageable);
-            Page<ItemDetailDto> itemDtos = items.map(this::convertToDetailDto);
+            Page<ItemDetailDto> itemDtos = items.map(item -> ItemDtoMapper.toDetailDto(item, categoryRegistry));
+            markSavedItems(itemDtos.getContent(), username);
 
             PagedResponseDto<ItemDetailDto> response = PagedResponseDto.fromPage(itemDtos);
             return new ResponseEntity<>(response, HttpStatus.OK);
@@ -337,13 +857,11 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public ResponseEntity<PagedResponseDto<ItemDetailDto>> getMyLostItems(String username, String status, String sortBy, String sortDir, int page, int limit) {
+        Pageable pageable = paginationPolicy.pageRequest(page, limit, createSort(sortBy, sortDir));
         try {
             UserEntity user = userRepository.findByUsername(username)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            Sort sort = createSort(sortBy, sortDir);
-            Pageable pageable = PageRequest.of(page, limit, sort);
-
             Item.ItemStatus statusFilter = parseStatus(status);
 
             Page<Item> items;
@@ -353,7 +871,8 @@ public class ItemServiceImpl implements ItemService {
                 items = itemRepository.findByUserAndType(user, Item.ItemType.LOST, pageable);
             }
 
-            Page<ItemDetailDto> itemDtos = items.map(this::convertToDetailDto);
+            Page<ItemDetailDto> itemDtos = items.map(item -> ItemDtoMapper.toDetailDto(item, categoryRegistry));
+            markSavedItems(itemDtos.getContent(), username);
             PagedResponseDto<ItemDetailDto> response = PagedResponseDto.fromPage(itemDtos);
             return new ResponseEntity<>(response, HttpStatus.OK);
 
@@ -364,13 +883,11 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public ResponseEntity<PagedResponseDto<ItemDetailDto>> getMyFoundItems(String username, String status, String sortBy, String sortDir, int page, int limit) {
+        Pageable pageable = paginationPolicy.pageRequest(page, limit, createSort(sortBy, sortDir));
         try {
             UserEntity user = userRepository.findByUsername(username)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            Sort sort = createSort(sortBy, sortDir);
-            Pageable pageable = PageRequest.of(page, limit, sort);
-
             Item.ItemStatus statusFilter = parseStatus(status);
 
             Page<Item> items;
@@ -380,7 +897,8 @@ public class ItemServiceImpl implements ItemService {
                 items = itemRepository.findByUserAndType(user, Item.ItemType.FOUND, pageable);
             }
 
-            Page<ItemDetailDto> itemDtos = items.map(this::convertToDetailDto);
+            Page<ItemDetailDto> itemDtos = items.map(item -> ItemDtoMapper.toDetailDto(item, categoryRegistry));
+            markSavedItems(itemDtos.getContent(), username);
             PagedResponseDto<ItemDetailDto> response = PagedResponseDto.fromPage(itemDtos);
             return new ResponseEntity<>(response, HttpStatus.OK);
 
@@ -391,15 +909,14 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public ResponseEntity<PagedResponseDto<ItemDetailDto>> getMyResolvedItems(String username, String sortBy, String sortDir, int page, int limit) {
+        Pageable pageable = paginationPolicy.pageRequest(page, limit, createSort(sortBy, sortDir));
         try {
             UserEntity user = userRepository.findByUsername(username)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            Sort sort = createSort(sortBy, sortDir);
-            Pageable pageable = PageRequest.of(page, limit, sort);
-
             Page<Item> items = itemRepository.findResolvedItemsByUser(user, pageable);
-            Page<ItemDetailDto> itemDtos = items.map(this::convertToDetailDto);
+            Page<ItemDetailDto> itemDtos = items.map(item -> ItemDtoMapper.toDetailDto(item, categoryRegistry));
+            markSavedItems(itemDtos.getContent(), username);
 
             PagedResponseDto<ItemDetailDto> response = PagedResponseDto.fromPage(itemDtos);
             return new ResponseEntity<>(response, HttpStatus.OK);
@@ -412,42 +929,35 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public ResponseEntity<ItemReopenResponseDto> reopenItem(Long id, String username) {
         try {
-            // Find the user
-            UserEntity user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
-            // Find the item
-            Optional<Item> itemOpt = itemRepository.findById(id);
-            if (itemOpt.isEmpty()) {
-                return new ResponseEntity<>(
-                        new ItemReopenResponseDto(false, "Item not found", null),
-                        HttpStatus.NOT_FOUND);
-            }
-
-            Item item = itemOpt.get();
-
-            // Check if the user owns the item
-            if (!item.getUser().getId().equals(user.getId())) {
-                return new ResponseEntity<>(
-                        new ItemReopenResponseDto(false, "You don't have permission to reopen this item", null),
-                        HttpStatus.FORBIDDEN);
-            }
-
-            // Check if the item is in a resolved state (CLAIMED or CLOSED)
-            if (item.getStatus() != Item.ItemStatus.CLAIMED && item.getStatus() != Item.ItemStatus.CLOSED) {
+            Item before = stateMachine.applyFrom(id, username, ItemStateMachine.Transition.REOPEN);
+            if (before == null) {
+                // Work out which condition failed only when the update changed nothing
+                Optional<Item> itemOpt = itemRepository.findById(id);
+                if (itemOpt.isEmpty()) {
+                    return new ResponseEntity<>(
+                            new ItemReopenResponseDto(false, "Item not found", null),
+                            HttpStatus.NOT_FOUND);
+                }
+                if (!itemOpt.get().getUser().getUsername().equals(username)) {
+                    return new ResponseEntity<>(
+                            new ItemReopenResponseDto(false, "You don't have permission to reopen this item", null),
+                            HttpStatus.FORBIDDEN);
+                }
                 return new ResponseEntity<>(
                         new ItemReopenResponseDto(false,
                                 "Only items with CLAIMED or CLOSED status can be reopened", null),
                         HttpStatus.BAD_REQUEST);
             }
 
-            // Reopen the item
-            item.setStatus(Item.ItemStatus.ACTIVE);
-            item.setResolvedDate(null); // Clear the resolved date
-            Item savedItem = itemRepository.save(item);
+            Item item = itemRepository.findById(id).orElseThrow(() -> new RuntimeException("Item not found"));
+            purgeBrowseCache(item, null);
+            publishToFeed(ItemFeed.Kind.UPDATED, item);
+            audit(ItemAuditLog.Action.REOPENED, item, username, before.getStatus(), null);
+            updateRollups(item, before.getStatus(), before.getResolvedDate());
+            updateDuplicateIndex(item);
 
             // Convert to DTO and return successful response
-            ItemDetailDto itemDto = convertToDetailDto(savedItem);
+            ItemDetailDto itemDto = ItemDtoMapper.toDetailDto(item, categoryRegistry);
             return new ResponseEntity<>(
                     new ItemReopenResponseDto(true, "Item reopened successfully", itemDto),
                     HttpStatus.OK);
@@ -460,6 +970,121 @@ public class ItemServiceImpl implements ItemService {
     }
 
     // Helper methods
+    private void markSavedItems(List<ItemDetailDto> items, String username) {
+        if (username == null || items.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(items.size());
+        for (ItemDetailDto item : items) {
+            ids.add(item.getId());
+        }
+        Set<Long> savedIds = new HashSet<>(savedItemRepository.findSavedItemIds(username, ids));
+        for (ItemDetailDto item : items) {
+            item.setSaved(savedIds.contains(item.getId()));
+        }
+    }
+
+    private void purgeBrowseCache(Item item, Short previousCategoryId) {
+        String type = item.getType().name();
+        List<String> tags = new ArrayList<>();
+        tags.add(BrowseResponseCache.listTag(type, null));
+        tags.add(BrowseResponseCache.listTag(type, categoryRegistry.slugOf(item.getCategoryId())));
+        if (previousCategoryId != null) {
+            tags.add(BrowseResponseCache.listTag(type, categoryRegistry.slugOf(previousCategoryId)));
+        }
+        tags.add(BrowseResponseCache.itemTag(item.getId()));
+
+        // Purging before commit would let a concurrent anonymous read re-cache the old row
+        afterCommit(() -> {
+            browseCache.purge(tags);
+            itemDetailCache.invalidate(item.getId());
+        });
+    }
+
+    private ItemTerms termsOf(Item item) {
+        return ItemTerms.of(item, categoryRegistry.nameOf(item.getCategoryId()));
+    }
+
+    // A rolled-back write must not leave its values in the suggestions
+    private void updateSuggestions(ItemTerms before, ItemTerms after) {
+        afterCommit(() -> autocompleteIndex.update(before, after));
+    }
+
+    // Live feed subscribers only hear about committed writes
+    private void publishToFeed(ItemFeed.Kind kind, Item item) {
+        afterCommit(() -> itemFeed.publish(kind, item));
+    }
+
+    // The trail is written by ItemAuditLog's own thread, and only for changes that committed
+    private void audit(ItemAuditLog.Action action, Item item, String username, Item.ItemStatus fromStatus,
+                       Collection<String> fields) {
+        String changed = fields == null || fields.isEmpty() ? null : String.join(",", new TreeSet<>(fields));
+        ItemAuditLog.Event event = new ItemAuditLog.Event(item.getId(), action, username,
+                fromStatus != null ? fromStatus.name() : null,
+                action == ItemAuditLog.Action.DELETED ? null : item.getStatus().name(),
+                changed != null && changed.length() > MAX_AUDIT_FIELDS_LENGTH ? changed.substring(0, MAX_AUDIT_FIELDS_LENGTH) : changed,
+                LocalDateTime.now());
+        afterCommit(() -> auditLog.record(event));
+    }
+
+    // Pending claims can't be accepted once the item has left ACTIVE, however it left, so they are rejected in the
+    // same transaction and the item's claim counter is reloaded after it commits
+    private void closeClaimQueue(Long itemId, Item.ItemStatus fromStatus, Item.ItemStatus toStatus) {
+        if (fromStatus == Item.ItemStatus.ACTIVE && toStatus != Item.ItemStatus.ACTIVE) {
+            claimRequestRepository.rejectPending(itemId, LocalDateTime.now());
+            afterCommit(() -> claimSlots.reset(itemId));
+        }
+    }
+
+    // fromStatus is null for a new report; fromResolvedDate is the resolution a status change replaces, if any
+    private void updateRollups(Item item, Item.ItemStatus fromStatus, LocalDateTime fromResolvedDate) {
+        if (fromStatus == null) {
+            afterCommit(() -> resolutionRollups.reported(item));
+        } else if (item.getStatus() != fromStatus) {
+            afterCommit(() -> resolutionRollups.statusChanged(item, fromStatus, fromResolvedDate));
+        }
+    }
+
+    private void updateDuplicateIndex(Item item) {
+        afterCommit(() -> duplicateIndex.update(item));
+    }
+
+    // Photos are hashed on the pipeline's own workers once the write is visible
+    private void hashImages(Item item) {
+        if (item.getImages() != null && !item.getImages().isEmpty()) {
+            afterCommit(() -> imageHashPipeline.submit(item.getId()));
+        }
+    }
+
+    // Near-identical ACTIVE reports; the report is stored and they come back with the 201 unless the
+    // client asked for holdIfDuplicates, which answers 409 before anything is written
+    private List<DuplicateCandidateDto> possibleDuplicates(Item.ItemType type, Short categoryId, UserEntity user,
+                                                           String title, String description, String location) {
+        return duplicateIndex.findSimilar(type, categoryId, user.getId(), title, description, location,
+                        MAX_DUPLICATE_CANDIDATES).stream()
+                .map(candidate -> new DuplicateCandidateDto(candidate.itemId(), candidate.title(), candidate.location(),
+                        candidate.date(), candidate.ownReport()))
+                .toList();
+    }
+
+    private static ItemFeed.Kind feedKind(Item item, Item.ItemStatus previousStatus) {
+        return item.getStatus() != previousStatus && item.getStatus() != Item.ItemStatus.ACTIVE
+                ? ItemFeed.Kind.RESOLVED : ItemFeed.Kind.UPDATED;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
     private Sort createSort(String sortBy, String sortDir) {
         String sortField = (sortBy != null && !sortBy.isEmpty()) ? sortBy : "reportedDate";
 
@@ -516,41 +1141,10 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
-    private ItemDetailDto convertToDetailDto(Item item) {
-        ItemDetailDto dto = new ItemDetailDto();
-        dto.setId(item.getId());
-        dto.setTitle(item.getTitle());
-        dto.setShortDescription(item.getShortDescription());
-        dto.setFullDescription(item.getFullDescription());
-        dto.setLocation(item.getLocation());
-        dto.setDate(item.getDate());
-        dto.setStatus(item.getStatus().name());
-        dto.setCategory(item.getCategory());
-        dto.setType(item.getType().name());  // Set the type field (LOST or FOUND)
-        dto.setReportedBy(item.getUser().getUsername());
-        dto.setReportedDate(item.getReportedDate());
-        dto.setResolvedDate(item.getResolvedDate());  // Set the resolvedDate field
-        dto.setContactInfo(getContactInfo(item));
-        dto.setImages(item.getImages());
-        dto.setAdditionalDetails(item.getAdditionalDetails());
-        return dto;
-    }
-
-    private String getContactInfo(Item item) {
-        UserEntity user = item.getUser();
-        if (item.getContactPreference() != null) {
-            switch (item.getContactPreference().toLowerCase()) {
-                case "email":
-                    return user.getEmail();
-                case "phone":
-                    return user.getPhone();
-                case "both":
-                    return user.getEmail() + " | " + user.getPhone();
-                default:
-                    return user.getEmail();
-            }
-        }
-        return user.getEmail();
+    // Merge patch may only clear the optional fields
+    private static String requiredValue(Optional<String> value, String field) {
+        return value.filter(StringUtils::hasText)
+                .orElseThrow(() -> new IllegalArgumentException(field + " cannot be empty"));
     }
 
     private String truncateDescription(String description) {
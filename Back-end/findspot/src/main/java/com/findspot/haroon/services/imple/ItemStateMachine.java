@@ -0,0 +1,87 @@
+package com.findspot.haroon.services.imple;
+
+import com.findspot.haroon.exceptions.InvalidStatusTransitionException;
+import com.findspot.haroon.models.Item;
+import com.findspot.haroon.repositories.ItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The lifecycle of an item: ACTIVE to CLAIMED or CLOSED, CLAIMED to CLOSED, and back to ACTIVE by reopening.
+ *
+ * Owner-initiated transitions are conditional UPDATEs that check the owner and the current status
+ * in their WHERE clause, so of two concurrent claims exactly one changes the row and the other
+ * sees 0. The update also bumps the item's version, so a full edit that loaded the item before the
+ * transition fails its optimistic lock instead of writing the old status back.
+ */
+@Component
+public class ItemStateMachine {
+
+    public enum Transition {
+        CLAIM(Item.ItemStatus.CLAIMED, Item.ItemStatus.ACTIVE),
+        CLOSE(Item.ItemStatus.CLOSED, Item.ItemStatus.ACTIVE, Item.ItemStatus.CLAIMED),
+        REOPEN(Item.ItemStatus.ACTIVE, Item.ItemStatus.CLAIMED, Item.ItemStatus.CLOSED);
+
+        private final Item.ItemStatus target;
+        private final Set<Item.ItemStatus> sources;
+
+        Transition(Item.ItemStatus target, Item.ItemStatus... sources) {
+            this.target = target;
+            this.sources = EnumSet.copyOf(Arrays.asList(sources));
+        }
+
+        public Item.ItemStatus target() {
+            return target;
+        }
+
+        public boolean allowedFrom(Item.ItemStatus status) {
+            return sources.contains(status);
+        }
+
+        // Each status is reached by exactly one transition
+        public static Transition into(Item.ItemStatus target) {
+            for (Transition transition : values()) {
+                if (transition.target == target) {
+                    return transition;
+                }
+            }
+            throw new IllegalArgumentException("No transition into " + target);
+        }
+    }
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    // The item as it was before the transition; null if it is missing, not owned by the user, not in a status the
+    // transition starts from, or moved by another transition since it was read. The read is a plain snapshot and
+    // the single conditional UPDATE only matches while the row still has the status and resolution date read, so
+    // its row count decides, and a non-null result is exactly what the item moved from.
+    public Item applyFrom(Long itemId, String username, Transition transition) {
+        Item before = itemRepository.findById(itemId).orElse(null);
+        if (before == null || !transition.allowedFrom(before.getStatus())) {
+            return null;
+        }
+        int updated = itemRepository.transitionStatus(itemId, username, EnumSet.of(before.getStatus()),
+                before.getResolvedDate(), transition.target, resolvedDate(transition));
+        return updated > 0 ? before : null;
+    }
+
+    // For edits of a loaded item; the @Version check on save then catches a transition that raced it
+    public void applyTo(Item item, Transition transition) {
+        if (!transition.allowedFrom(item.getStatus())) {
+            throw new InvalidStatusTransitionException(
+                    "Cannot move an item from " + item.getStatus() + " to " + transition.target);
+        }
+        item.setStatus(transition.target);
+        item.setResolvedDate(resolvedDate(transition));
+    }
+
+    private static LocalDateTime resolvedDate(Transition transition) {
+        return transition.target == Item.ItemStatus.ACTIVE ? null : LocalDateTime.now();
+    }
+}
@@ -0,0 +1,310 @@
+package com.findspot.haroon.services.imple;
+
+import com.findspot.haroon.dto.ConversationDto;
+import com.findspot.haroon.dto.MessageDto;
+import com.findspot.haroon.dto.MessageRequestDto;
+import com.findspot.haroon.dto.PagedResponseDto;
+import com.findspot.haroon.messaging.MessageDelivery;
+import com.findspot.haroon.models.Conversation;
+import com.findspot.haroon.models.ConversationMember;
+import com.findspot.haroon.models.Item;
+import com.findspot.haroon.models.Message;
+import com.findspot.haroon.models.PrivacySettings;
+import com.findspot.haroon.models.UserEntity;
+import com.findspot.haroon.pagination.PaginationPolicy;
+import com.findspot.haroon.repositories.ConversationMemberRepository;
+import com.findspot.haroon.repositories.ConversationRepository;
+import com.findspot.haroon.repositories.ItemRepository;
+import com.findspot.haroon.repositories.MessageRepository;
+import com.findspot.haroon.repositories.PrivacySettingsRepository;
+import com.findspot.haroon.repositories.UserRepository;
+import com.findspot.haroon.services.MessageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+@Service
+public class MessageServiceImpl implements MessageService {
+
+    private static final int MAX_BODY_LENGTH = 2000;
+    private static final int PREVIEW_LENGTH = 140;
+    private static final int MAX_POLL_MESSAGES = 100;
+
+    @Value("${findspot.messages.poll-max-ms:30000}")
+    private long pollMaxMs;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private PrivacySettingsRepository privacySettingsRepository;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private ConversationMemberRepository memberRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MessageDelivery messageDelivery;
+
+    @Autowired
+    private PaginationPolicy paginationPolicy;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    public ResponseEntity<ConversationDto> startConversation(String username, MessageRequestDto request) {
+        try {
+            UserEntity user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            if (request.getItemId() == null || !isValidBody(request.getBody())) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            Optional<Item> itemOpt = itemRepository.findById(request.getItemId());
+            if (itemOpt.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            Item item = itemOpt.get();
+            UserEntity owner = item.getUser();
+            if (owner.getId().equals(user.getId())) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+
+            // Asking again about the same item continues the existing thread
+            Conversation conversation = conversationRepository.findByItemIdAndStartedBy(item.getId(), user).orElse(null);
+            if (conversation == null) {
+                // There are no connections yet, so this setting closes new threads and keeps existing ones
+                boolean acceptsNewThreads = privacySettingsRepository.findByUser(owner)
+                        .map(PrivacySettings::getAllowMessageFromNonConnections)
+                        .orElse(true);
+                if (!acceptsNewThreads) {
+                    return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+                }
+                conversation = createConversation(item, owner, user);
+            }
+
+            Conversation target = conversation;
+            MessageDto message = inTransaction(() -> append(target.getId(), user, request.getBody()));
+            messageDelivery.deliver(message);
+
+            return new ResponseEntity<>(new ConversationDto(target.getId(), target.getItemId(), target.getItemTitle(),
+                    owner.getUsername(), preview(message.getBody()), message.getSentAt(), message.getId(), 0),
+                    HttpStatus.CREATED);
+
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Override
+    public ResponseEntity<PagedResponseDto<ConversationDto>> getInbox(String username, Long cursor, int limit) {
+        Pageable pageable = paginationPolicy.cursorRequest(limit, Sort.unsorted());
+        try {
+            UserEntity user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            Slice<ConversationMember> members = memberRepository.findInboxBeforeCursor(user, cursor, pageable);
+            String nextCursor = members.hasContent()
+                    ? String.valueOf(members.getContent().get(members.getNumberOfElements() - 1).getLastMessageId())
+                    : null;
+            Slice<ConversationDto> conversations = members.map(member -> {
+                Conversation conversation = member.getConversation();
+                return new ConversationDto(conversation.getId(), conversation.getItemId(), conversation.getItemTitle(),
+                        member.getCounterpart().getUsername(), conversation.getLastMessagePreview(),
+                        conversation.getLastMessageAt(), conversation.getLastMessageId(), member.getUnreadCount());
+            });
+            return new ResponseEntity<>(PagedResponseDto.fromSlice(conversations, nextCursor), HttpStatus.OK);
+
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Override
+    public ResponseEntity<Map<String, Long>> getUnreadCount(String username) {
+        try {
+            UserEntity user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            return new ResponseEntity<>(Map.of("unreadCount", memberRepository.sumUnreadCount(user)), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Override
+    public ResponseEntity<PagedResponseDto<MessageDto>> getMessages(String username, Long conversationId, Long cursor, int limit) {
+        Pageable pageable = paginationPolicy.cursorRequest(limit, Sort.unsorted());
+        try {
+            UserEntity user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            if (memberRepository.findByConversationIdAndUser(conversationId, user).isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+
+            Slice<Message> messages = messageRepository.findHistoryBeforeCursor(conversationId, cursor, pageable);
+            String nextCursor = messages.hasContent()
+                    ? String.valueOf(messages.getContent().get(messages.getNumberOfElements() - 1).getId())
+                    : null;
+            return new ResponseEntity<>(PagedResponseDto.fromSlice(messages.map(this::convertToDto), nextCursor),
+                    HttpStatus.OK);
+
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Override
+    public DeferredResult<ResponseEntity<List<MessageDto>>> pollMessages(String username, Long conversationId, Long after,
+                                                                         long timeoutMs) {
+        UserEntity user = userRepository.findByUsername(username).orElse(null);
+        if (user == null || memberRepository.findByConversationIdAndUser(conversationId, user).isEmpty()) {
+            return immediately(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        }
+
+        DeferredResult<ResponseEntity<List<MessageDto>>> result =
+                messageDelivery.await(conversationId, Math.max(1000, Math.min(timeoutMs, pollMaxMs)));
+        if (result == null) {
+            return immediately(new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE));
+        }
+        // Checked after registering, so nothing sent in between is missed
+        List<Message> pending = messageRepository.findAfter(conversationId, after != null ? after : 0L,
+                Limit.of(MAX_POLL_MESSAGES));
+        if (!pending.isEmpty()) {
+            result.setResult(new ResponseEntity<>(pending.stream().map(this::convertToDto).toList(), HttpStatus.OK));
+        }
+        return result;
+    }
+
+    @Override
+    public ResponseEntity<MessageDto> sendMessage(String username, Long conversationId, MessageRequestDto request) {
+        try {
+            UserEntity user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            if (!isValidBody(request.getBody())) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            if (memberRepository.findByConversationIdAndUser(conversationId, user).isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+
+            MessageDto message = inTransaction(() -> append(conversationId, user, request.getBody()));
+            messageDelivery.deliver(message);
+            return new ResponseEntity<>(message, HttpStatus.CREATED);
+
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Override
+    public ResponseEntity<Map<String, Long>> markRead(String username, Long conversationId, Long lastMessageId) {
+        try {
+            UserEntity user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            if (lastMessageId == null) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            if (memberRepository.findByConversationIdAndUser(conversationId, user).isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+
+            memberRepository.markRead(conversationId, user.getId(), lastMessageId);
+            // The new total saves the client a second request to refresh its badge
+            return new ResponseEntity<>(Map.of("unreadCount", memberRepository.sumUnreadCount(user)), HttpStatus.OK);
+
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Both inbox entries are created with the thread; a concurrent start for the same item loses on the unique key
+    private Conversation createConversation(Item item, UserEntity owner, UserEntity starter) {
+        try {
+            return inTransaction(() -> {
+                Conversation conversation = new Conversation();
+                conversation.setItemId(item.getId());
+                conversation.setItemTitle(item.getTitle());
+                conversation.setOwner(owner);
+                conversation.setStartedBy(starter);
+                Conversation saved = conversationRepository.save(conversation);
+                memberRepository.save(newMember(saved, owner, starter));
+                memberRepository.save(newMember(saved, starter, owner));
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            return conversationRepository.findByItemIdAndStartedBy(item.getId(), starter).orElseThrow(() -> e);
+        }
+    }
+
+    private static ConversationMember newMember(Conversation conversation, UserEntity user, UserEntity counterpart) {
+        ConversationMember member = new ConversationMember();
+        member.setConversation(conversation);
+        member.setUser(user);
+        member.setCounterpart(counterpart);
+        return member;
+    }
+
+    // Insert-only for the message; the conversation and both inbox entries get their counters bumped in place
+    private MessageDto append(Long conversationId, UserEntity sender, String body) {
+        Message message = new Message();
+        message.setConversationId(conversationId);
+        message.setSender(sender);
+        message.setBody(body);
+        Message saved = messageRepository.save(message);
+
+        conversationRepository.recordLastMessage(conversationId, saved.getId(), saved.getSentAt(), preview(body));
+        memberRepository.recordMessage(conversationId, saved.getId(), sender.getId());
+        return new MessageDto(saved.getId(), conversationId, sender.getUsername(), saved.getBody(), saved.getSentAt());
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+
+    private static <T> DeferredResult<T> immediately(T value) {
+        DeferredResult<T> result = new DeferredResult<>();
+        result.setResult(value);
+        return result;
+    }
+
+    private static boolean isValidBody(String body) {
+        return StringUtils.hasText(body) && body.length() <= MAX_BODY_LENGTH;
+    }
+
+    private static String preview(String body) {
+        String text = body.strip();
+        return text.length() > PREVIEW_LENGTH ? text.substring(0, PREVIEW_LENGTH - 3) + "..." : text;
+    }
+
+    private MessageDto convertToDto(Message message) {
+        return new MessageDto(message.getId(), message.getConversationId(), message.getSender().getUsername(),
+                message.getBody(), message.getSentAt());
+    }
+}
@@ -1,65 +1,160 @@
 package com.findspot.haroon.services.imple;
 
+import com.findspot.haroon.dto.IssuedRefreshToken;
 import com.findspot.haroon.exceptions.TokenRefreshException;
-import com.findspot.haroon.models.RefreshToken;
+import com.findspot.haroon.models.RefreshSession;
+import com.findspot.haroon.models.RevokedRefreshToken;
 import com.findspot.haroon.models.UserEntity;
-import com.findspot.haroon.repositories.RefreshTokenRepository;
-import com.findspot.haroon.repositories.UserRepository;
+import com.findspot.haroon.repositories.RefreshSessionRepository;
+import com.findspot.haroon.repositories.RevokedRefreshTokenRepository;
+import com.findspot.haroon.security.JWTGenerator;
+import com.findspot.haroon.security.RefreshTokenRevocationList;
 import com.findspot.haroon.security.SecurityConstant;
 import com.findspot.haroon.services.RefreshTokenService;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.Date;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Rotating refresh tokens, one session per device.
+ *
+ * A refresh token is a signed JWT carrying the username, its session id and its own token id, so a
+ * refresh is validated from the token itself plus an in-memory revocation check. Every refresh
+ * revokes the presented token and issues a new one in the same session. Presenting a token that was
+ * already rotated means it was copied, and the whole session is revoked.
+ */
 @Service
 public class RefreshTokenServiceImpl implements RefreshTokenService {
 
+    private static final String TOKEN_NAMESPACE = "token";
+    private static final String SESSION_NAMESPACE = "session";
+
+    // Two tabs refreshing with the same cookie shouldn't be mistaken for a stolen token
+    @Value("${findspot.refresh-token.reuse-grace-ms:10000}")
+    private long reuseGraceMillis;
+
     @Autowired
-    private RefreshTokenRepository refreshTokenRepository;
+    private RefreshSessionRepository refreshSessionRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private RevokedRefreshTokenRepository revokedRefreshTokenRepository;
 
-    @Override
-    public RefreshToken createRefreshToken(Long userId) {
-        // Delete existing refresh token for user
-        UserEntity user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    @Autowired
+    private RefreshTokenRevocationList revocationList;
 
-        refreshTokenRepository.deleteByUser(user);
+    @Autowired
+    private JWTGenerator jwtGenerator;
 
-        RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setUser(user);
-        refreshToken.setExpiryDate(Instant.now().plusMillis(SecurityConstant.REFRESH_TOKEN_EXPIRATION));
-        refreshToken.setToken(UUID.randomUUID().toString());
+    @Override
+    public IssuedRefreshToken createSession(UserEntity user, String userAgent) {
+        RefreshSession session = new RefreshSession();
+        session.setId(UUID.randomUUID().toString());
+        session.setUser(user);
+        session.setUserAgent(userAgent != null && userAgent.length() > 255 ? userAgent.substring(0, 255) : userAgent);
+        session.setExpiresAt(Instant.now().plusMillis(SecurityConstant.REFRESH_SESSION_EXPIRATION));
+        refreshSessionRepository.save(session);
 
-        return refreshTokenRepository.save(refreshToken);
+        return issue(user.getUsername(), session.getId(), session.getExpiresAt());
     }
 
     @Override
-    public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+    public IssuedRefreshToken rotate(String refreshToken) {
+        Claims claims = parse(refreshToken);
+        String sessionId = claims.get("sid", String.class);
+        Instant sessionExpiry = sessionExpiry(claims);
+        if (sessionId == null || claims.getId() == null || sessionExpiry.isBefore(Instant.now())) {
+            throw new TokenRefreshException("Refresh token was expired. Please make a new signin request");
+        }
+
+        String sessionFingerprint = RefreshTokenRevocationList.fingerprint(SESSION_NAMESPACE, sessionId);
+        if (revocationList.find(sessionFingerprint).isPresent()) {
+            throw new TokenRefreshException("Session was signed out. Please make a new signin request");
+        }
+
+        String tokenFingerprint = RefreshTokenRevocationList.fingerprint(TOKEN_NAMESPACE, claims.getId());
+        Optional<RevokedRefreshToken> previous = revocationList.find(tokenFingerprint);
+        if (previous.isPresent()
+                || !revocationList.markRotated(tokenFingerprint, sessionId, claims.getExpiration().toInstant())) {
+            handleReuse(previous.or(() -> revocationList.find(tokenFingerprint)), sessionId, sessionExpiry);
+        }
+
+        return issue(claims.getSubject(), sessionId, sessionExpiry);
     }
 
     @Override
-    public RefreshToken verifyExpiration(RefreshToken token) {
-        if (token.getExpiryDate().compareTo(Instant.now()) < 0) {
-            refreshTokenRepository.delete(token);
-            throw new TokenRefreshException("Refresh token was expired. Please make a new signin request");
+    public void revokeSession(String refreshToken) {
+        Claims claims;
+        try {
+            claims = parse(refreshToken);
+        } catch (TokenRefreshException e) {
+            return; // nothing to sign out
+        }
+        String sessionId = claims.get("sid", String.class);
+        if (sessionId != null) {
+            revokeSession(sessionId, sessionExpiry(claims), RevokedRefreshToken.Reason.LOGOUT);
         }
-        return token;
     }
 
     @Override
-    public void deleteByUser(UserEntity user) {
-        refreshTokenRepository.deleteByUser(user);
+    public void revokeAllSessions(UserEntity user) {
+        for (RefreshSession session : refreshSessionRepository.findActiveByUser(user, Instant.now())) {
+            revokeSession(session.getId(), session.getExpiresAt(), RevokedRefreshToken.Reason.ACCOUNT_REVOKED);
+        }
     }
 
     @Override
+    @Scheduled(cron = "${findspot.refresh-token.cleanup-cron:0 0 * * * *}")
     public void deleteExpiredTokens() {
-        refreshTokenRepository.deleteExpiredTokens();
+        Instant now = Instant.now();
+        revokedRefreshTokenRepository.deleteExpired(now);
+        refreshSessionRepository.deleteExpired(now);
+    }
+
+    private void handleReuse(Optional<RevokedRefreshToken> revocation, String sessionId, Instant sessionExpiry) {
+        boolean concurrentRefresh = revocation
+                .filter(r -> r.getReason() == RevokedRefreshToken.Reason.ROTATED)
+                .filter(r -> r.getRevokedAt().plusMillis(reuseGraceMillis).isAfter(Instant.now()))
+                .isPresent();
+        if (!concurrentRefresh) {
+            revokeSession(sessionId, sessionExpiry, RevokedRefreshToken.Reason.REUSE_DETECTED);
+        }
+        throw new TokenRefreshException("Refresh token was already used. Please make a new signin request");
+    }
+
+    private void revokeSession(String sessionId, Instant sessionExpiry, RevokedRefreshToken.Reason reason) {
+        revocationList.revokeNow(RefreshTokenRevocationList.fingerprint(SESSION_NAMESPACE, sessionId), sessionId,
+                reason, sessionExpiry);
+        refreshSessionRepository.markRevoked(sessionId, Instant.now());
+    }
+
+    private IssuedRefreshToken issue(String username, String sessionId, Instant sessionExpiry) {
+        Instant expiry = Instant.now().plusMillis(SecurityConstant.REFRESH_TOKEN_EXPIRATION);
+        if (expiry.isAfter(sessionExpiry)) {
+            expiry = sessionExpiry;
+        }
+        String token = jwtGenerator.generateRefreshToken(username, sessionId, UUID.randomUUID().toString(),
+                Date.from(expiry), Date.from(sessionExpiry));
+        int maxAgeSeconds = (int) Math.max(0, (expiry.toEpochMilli() - System.currentTimeMillis()) / 1000);
+        return new IssuedRefreshToken(token, username, maxAgeSeconds);
+    }
+
+    private Instant sessionExpiry(Claims claims) {
+        Long sessionExpiry = claims.get("sexp", Long.class);
+        return sessionExpiry != null ? Instant.ofEpochMilli(sessionExpiry) : Instant.EPOCH;
+    }
+
+    private Claims parse(String refreshToken) {
+        try {
+            return jwtGenerator.parseRefreshToken(refreshToken);
+        } catch (Exception e) {
+            throw new TokenRefreshException("Refresh token is invalid or expired. Please make a new signin request");
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,18 +1,30 @@
 package com.findspot.haroon.services.imple;
 
+import com.findspot.haroon.cache.UserSettingsCache;
+import com.findspot.haroon.categories.CategoryRegistry;
+import com.findspot.haroon.dto.AccountDeletionJobDto;
 import com.findspot.haroon.dto.ChangePasswordRequestDto;
+import com.findspot.haroon.dto.ItemDetailDto;
+import com.findspot.haroon.dto.PagedResponseDto;
 import com.findspot.haroon.dto.UpdateProfileRequestDto;
 import com.findspot.haroon.dto.UserProfileDto;
 import com.findspot.haroon.dto.UserSettingsDto;
 import com.findspot.haroon.models.*;
+import com.findspot.haroon.pagination.PaginationPolicy;
 import com.findspot.haroon.repositories.*;
+import com.findspot.haroon.security.CustomUserDetailsService;
+import com.findspot.haroon.services.AccountDeletionService;
 import com.findspot.haroon.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 
 import java.util.Optional;
@@ -40,9 +52,21 @@ public class UserServiceImpl implements UserService {
     
     @Autowired
     private PasswordEncoder passwordEncoder;
-    
+
+    @Autowired
+    private PaginationPolicy paginationPolicy;
+
+    @Autowired
+    private UserSettingsCache userSettingsCache;
+
     @Autowired
-    private RefreshTokenRepository refreshTokenRepository;
+    private AccountDeletionService accountDeletionService;
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
 
     @Override
     public ResponseEntity<UserProfileDto> getUserProfile(String username) {
@@ -98,6 +122,7 @@ public class UserServiceImpl implements UserService {
             }
 
             UserEntity savedUser = userRepository.save(user);
+            evictPrincipal(username);
             UserProfileDto profile = convertToProfileDto(savedUser);
             return new ResponseEntity<>(profile, HttpStatus.OK);
 
@@ -136,6 +161,47 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    @Override
+    public ResponseEntity<String> unsaveItem(String username, Long itemId) {
+        try {
+            UserEntity user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            // Idempotent: removing an item that isn't saved is not an error
+            savedItemRepository.deleteByUserAndItemId(user, itemId);
+            return new ResponseEntity<>("Item removed from saved items", HttpStatus.OK);
+
+        } catch (Exception e) {
+            return new ResponseEntity<>("Error removing saved item", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Override
+    public ResponseEntity<PagedResponseDto<ItemDetailDto>> getSavedItems(String username, Long cursor, int limit) {
+        Pageable pageable = paginationPolicy.cursorRequest(limit, Sort.unsorted());
+        try {
+            UserEntity user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            // Items and their reporters are fetch-joined and images and details are batch-loaded
+            // (@BatchSize on Item), so a page costs one query plus one per collection per 50 items
+            Slice<SavedItem> savedItems = savedItemRepository.findByUserBeforeCursor(user, cursor, pageable);
+            String nextCursor = savedItems.hasContent()
+                    ? String.valueOf(savedItems.getContent().get(savedItems.getNumberOfElements() - 1).getId())
+                    : null;
+
+            Slice<ItemDetailDto> itemDtos = savedItems.map(savedItem -> {
+                ItemDetailDto dto = ItemDtoMapper.toDetailDto(savedItem.getItem(), categoryRegistry);
+                dto.setSaved(true);
+                return dto;
+            });
+            return new ResponseEntity<>(PagedResponseDto.fromSlice(itemDtos, nextCursor), HttpStatus.OK);
+
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @Override
     public ResponseEntity<String> forgotPassword(String email) {
         try {
@@ -177,6 +243,7 @@ public class UserServiceImpl implements UserService {
             // Update password
             user.setPassword(passwordEncoder.encode(request.getNewPassword()));
             userRepository.save(user);
+            evictPrincipal(username);
 
             return new ResponseEntity<>("Password updated successfully", HttpStatus.OK);
         } catch (Exception e) {
@@ -187,68 +254,70 @@ public class UserServiceImpl implements UserService {
     @Override
     public ResponseEntity<UserSettingsDto> getUserSettings(String username) {
         try {
-            UserEntity user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
-            UserSettingsDto settings = new UserSettingsDto();
-            
-            // Get notification settings
-            NotificationSettings notificationSettings = notificationSettingsRepository
-                    .findByUser(user)
-                    .orElseGet(() -> {
-                        NotificationSettings ns = new NotificationSettings();
-                        ns.setUser(user);
-                        return notificationSettingsRepository.save(ns);
-                    });
-            
-            // Get privacy settings
-            PrivacySettings privacySettings = privacySettingsRepository
-                    .findByUser(user)
-                    .orElseGet(() -> {
-                        PrivacySettings ps = new PrivacySettings();
-                        ps.setUser(user);
-                        return privacySettingsRepository.save(ps);
-                    });
-            
-            // Get display settings
-            DisplaySettings displaySettings = displaySettingsRepository
-                    .findByUser(user)
-                    .orElseGet(() -> {
-                        DisplaySettings ds = new DisplaySettings();
-                        ds.setUser(user);
-                        return displaySettingsRepository.save(ds);
-                    });
-
-            // Map entity to DTO
-            UserSettingsDto.NotificationSettings notificationSettingsDto = new UserSettingsDto.NotificationSettings();
-            notificationSettingsDto.setEmailEnabled(notificationSettings.getEmailEnabled());
-            notificationSettingsDto.setPushEnabled(notificationSettings.getPushEnabled());
-            notificationSettingsDto.setLostItemAlerts(notificationSettings.getLostItemAlerts());
-            notificationSettingsDto.setFoundItemAlerts(notificationSettings.getFoundItemAlerts());
-            notificationSettingsDto.setMessageAlerts(notificationSettings.getMessageAlerts());
-            
-            UserSettingsDto.PrivacySettings privacySettingsDto = new UserSettingsDto.PrivacySettings();
-            privacySettingsDto.setShowEmail(privacySettings.getShowEmail());
-            privacySettingsDto.setShowPhone(privacySettings.getShowPhone());
-            privacySettingsDto.setShowLocation(privacySettings.getShowLocation());
-            privacySettingsDto.setAllowMessageFromNonConnections(privacySettings.getAllowMessageFromNonConnections());
-            
-            UserSettingsDto.DisplaySettings displaySettingsDto = new UserSettingsDto.DisplaySettings();
-            displaySettingsDto.setTheme(displaySettings.getTheme());
-            displaySettingsDto.setLanguage(displaySettings.getLanguage());
-            displaySettingsDto.setCompactView(displaySettings.getCompactView());
-            displaySettingsDto.setShowResolvedItems(displaySettings.getShowResolvedItems());
-            
-            settings.setNotifications(notificationSettingsDto);
-            settings.setPrivacy(privacySettingsDto);
-            settings.setDisplay(displaySettingsDto);
-            
+            UserSettingsDto settings = userSettingsCache.get(username, () -> loadUserSettings(username));
             return new ResponseEntity<>(settings, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    // All three settings come back from one join; rows that were never written are reported with
+    // the entity defaults instead of being inserted, so reading settings never writes
+    private UserSettingsDto loadUserSettings(String username) {
+        UserSettingsProjection row = userRepository.findSettingsByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        NotificationSettings notificationDefaults = new NotificationSettings();
+        PrivacySettings privacyDefaults = new PrivacySettings();
+        DisplaySettings displayDefaults = new DisplaySettings();
+
+        UserSettingsDto.NotificationSettings notificationSettingsDto = new UserSettingsDto.NotificationSettings();
+        notificationSettingsDto.setEmailEnabled(orDefault(row.getEmailEnabled(), notificationDefaults.getEmailEnabled()));
+        notificationSettingsDto.setPushEnabled(orDefault(row.getPushEnabled(), notificationDefaults.getPushEnabled()));
+        notificationSettingsDto.setLostItemAlerts(orDefault(row.getLostItemAlerts(), notificationDefaults.getLostItemAlerts()));
+        notificationSettingsDto.setFoundItemAlerts(orDefault(row.getFoundItemAlerts(), notificationDefaults.getFoundItemAlerts()));
+        notificationSettingsDto.setMessageAlerts(orDefault(row.getMessageAlerts(), notificationDefaults.getMessageAlerts()));
+
+        UserSettingsDto.PrivacySettings privacySettingsDto = new UserSettingsDto.PrivacySettings();
+        privacySettingsDto.setShowEmail(orDefault(row.getShowEmail(), privacyDefaults.getShowEmail()));
+        privacySettingsDto.setShowPhone(orDefault(row.getShowPhone(), privacyDefaults.getShowPhone()));
+        privacySettingsDto.setShowLocation(orDefault(row.getShowLocation(), privacyDefaults.getShowLocation()));
+        privacySettingsDto.setAllowMessageFromNonConnections(
+                orDefault(row.getAllowMessageFromNonConnections(), privacyDefaults.getAllowMessageFromNonConnections()));
+
+        UserSettingsDto.DisplaySettings displaySettingsDto = new UserSettingsDto.DisplaySettings();
+        displaySettingsDto.setTheme(orDefault(row.getTheme(), displayDefaults.getTheme()));
+        displaySettingsDto.setLanguage(orDefault(row.getLanguage(), displayDefaults.getLanguage()));
+        displaySettingsDto.setCompactView(orDefault(row.getCompactView(), displayDefaults.getCompactView()));
+        displaySettingsDto.setShowResolvedItems(orDefault(row.getShowResolvedItems(), displayDefaults.getShowResolvedItems()));
+
+        return new UserSettingsDto(notificationSettingsDto, privacySettingsDto, displaySettingsDto);
+    }
+
+    // Every write to a user row drops its cached principal on all nodes, so role, password and
+    // account changes apply to the next request instead of after the cache TTL
+    private void evictPrincipal(String username) {
+        afterCommit(() -> userDetailsService.evictAuthenticatedUser(username));
+    }
+
+    // A reader that refills the cache before the write commits would otherwise cache the old settings
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static <T> T orDefault(T value, T defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
     @Override
     public ResponseEntity<UserSettingsDto.NotificationSettings> updateNotificationSettings(
             String username, UserSettingsDto.NotificationSettings request) {
@@ -282,6 +351,7 @@ public class UserServiceImpl implements UserService {
             }
             
             NotificationSettings savedSettings = notificationSettingsRepository.save(settings);
+            afterCommit(() -> userSettingsCache.invalidate(username));
             
             UserSettingsDto.NotificationSettings response = new UserSettingsDto.NotificationSettings();
             response.setEmailEnabled(savedSettings.getEmailEnabled());
@@ -326,6 +396,7 @@ public class UserServiceImpl implements UserService {
             }
             
             PrivacySettings savedSettings = privacySettingsRepository.save(settings);
+            afterCommit(() -> userSettingsCache.invalidate(username));
             
             UserSettingsDto.PrivacySettings response = new UserSettingsDto.PrivacySettings();
             response.setShowEmail(savedSettings.getShowEmail());
@@ -369,6 +440,7 @@ public class UserServiceImpl implements UserService {
             }
             
             DisplaySettings savedSettings = displaySettingsRepository.save(settings);
+            afterCommit(() -> userSettingsCache.invalidate(username));
             
             UserSettingsDto.DisplaySettings response = new UserSettingsDto.DisplaySettings();
             response.setTheme(savedSettings.getTheme());
@@ -383,40 +455,9 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    @Transactional
-    public ResponseEntity<String> deleteUserAccount(String username) {
-        try {
-            UserEntity user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
-            // Delete user's refresh tokens
-            refreshTokenRepository.deleteByUser(user);
-            
-            // Delete user's notification settings
-            notificationSettingsRepository.findByUser(user)
-                .ifPresent(notificationSettingsRepository::delete);
-            
-            // Delete user's privacy settings
-            privacySettingsRepository.findByUser(user)
-                .ifPresent(privacySettingsRepository::delete);
-            
-            // Delete user's display settings
-            displaySettingsRepository.findByUser(user)
-                .ifPresent(displaySettingsRepository::delete);
-            
-            // Delete user's saved items
-            savedItemRepository.deleteAll(savedItemRepository.findByUser(user, null).getContent());
-            
-            // Note: In a real-world application, you might want to handle user's items differently
-            // (e.g., anonymize them instead of deleting, or have a data retention policy)
-            
-            // Delete the user
-            userRepository.delete(user);
-            
-            return new ResponseEntity<>("Account successfully deleted", HttpStatus.OK);
-        } catch (Exception e) {
-            return new ResponseEntity<>("Error deleting account: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
-        }
+    public ResponseEntity<AccountDeletionJobDto> deleteUserAccount(String username) {
+        // Runs as a background job; the response carries the job id to poll for completion
+        return accountDeletionService.requestDeletion(username);
     }
 
     private UserProfileDto convertToProfileDto(UserEntity user) {
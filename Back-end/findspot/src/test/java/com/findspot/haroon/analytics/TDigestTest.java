@@ -0,0 +1,120 @@
+package com.findspot.haroon.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TDigestTest {
+
+    @Test
+    void emptyDigestHasNoQuantiles() {
+        TDigest digest = new TDigest();
+
+        assertEquals(0, digest.count());
+        assertTrue(Double.isNaN(digest.quantile(0.5)));
+    }
+
+    @Test
+    void singleValueIsEveryQuantile() {
+        TDigest digest = new TDigest();
+        digest.add(42);
+
+        assertEquals(42, digest.quantile(0), 0);
+        assertEquals(42, digest.quantile(0.5), 0);
+        assertEquals(42, digest.quantile(1), 0);
+    }
+
+    @Test
+    void quantilesOfAShuffledUniformRangeAreWithinHalfAPercent() {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 1; i <= 100_000; i++) {
+            values.add(i);
+        }
+        Collections.shuffle(values, new Random(7));
+        TDigest digest = new TDigest();
+        values.forEach(digest::add);
+
+        assertEquals(100_000, digest.count());
+        for (double q : new double[]{0.01, 0.1, 0.5, 0.9, 0.99}) {
+            assertEquals(q * 100_000, digest.quantile(q), 500, "q=" + q);
+        }
+        assertEquals(1, digest.quantile(0), 1);
+        assertEquals(100_000, digest.quantile(1), 1);
+    }
+
+    @Test
+    void skewedTailsStayAccurate() {
+        Random random = new Random(11);
+        double[] values = new double[50_000];
+        TDigest digest = new TDigest();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = -Math.log(1 - random.nextDouble()) * 24; // exponential, mean of a day in hours
+            digest.add(values[i]);
+        }
+        java.util.Arrays.sort(values);
+
+        for (double q : new double[]{0.5, 0.9, 0.99}) {
+            double exact = values[(int) (q * values.length)];
+            assertEquals(exact, digest.quantile(q), exact * 0.02, "q=" + q);
+        }
+    }
+
+    @Test
+    void mergedDigestsMatchOneDigestOfEverything() {
+        Random random = new Random(3);
+        TDigest all = new TDigest();
+        TDigest merged = new TDigest();
+        for (int day = 0; day < 30; day++) {
+            TDigest daily = new TDigest();
+            for (int i = 0; i < 1_000; i++) {
+                double value = random.nextGaussian() * 10 + 50;
+                daily.add(value);
+                all.add(value);
+            }
+            merged.merge(daily);
+        }
+
+        assertEquals(all.count(), merged.count());
+        for (double q : new double[]{0.1, 0.5, 0.9}) {
+            assertEquals(all.quantile(q), merged.quantile(q), 0.5, "q=" + q);
+        }
+    }
+
+    @Test
+    void serializedDigestAnswersTheSame() {
+        TDigest digest = new TDigest();
+        for (int i = 0; i < 10_000; i++) {
+            digest.add(i % 977);
+        }
+
+        TDigest copy = TDigest.fromBytes(digest.toBytes());
+
+        assertEquals(digest.count(), copy.count());
+        for (double q : new double[]{0, 0.25, 0.5, 0.75, 1}) {
+            assertEquals(digest.quantile(q), copy.quantile(q), 0);
+        }
+    }
+
+    @Test
+    void sizeStaysBoundedWhateverItHasSeen() {
+        TDigest digest = new TDigest();
+        Random random = new Random(5);
+        for (int i = 0; i < 1_000_000; i++) {
+            digest.add(random.nextDouble());
+        }
+
+        assertTrue(digest.toBytes().length < 4_096, "serialized size " + digest.toBytes().length);
+    }
+
+    @Test
+    void nullOrEmptyBytesReadAsAnEmptyDigest() {
+        assertEquals(0, TDigest.fromBytes(null).count());
+        assertEquals(0, TDigest.fromBytes(new byte[0]).count());
+    }
+}
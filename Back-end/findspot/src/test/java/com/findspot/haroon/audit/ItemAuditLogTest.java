@@ -0,0 +1,105 @@
+package com.findspot.haroon.audit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ItemAuditLogTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+
+    @Test
+    void eventsBeyondAFullRingAreDroppedAndCounted() {
+        // Never started, so nothing drains the ring
+        ItemAuditLog log = log(16);
+
+        for (long itemId = 1; itemId <= 17; itemId++) {
+            log.record(event(itemId));
+        }
+
+        assertEquals(1, count("findspot.audit.dropped"));
+        assertEquals(16, meterRegistry.get("findspot.audit.backlog").gauge().value());
+    }
+
+    @Test
+    void theWriterInsertsEveryEventInOrderBeforeShuttingDown() throws InterruptedException {
+        ItemAuditLog log = log(64);
+        log.start();
+
+        for (long itemId = 1; itemId <= 50; itemId++) {
+            log.record(event(itemId));
+        }
+        log.shutdown();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<SqlParameterSource[]> batches = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(anyString(), batches.capture());
+        List<Object> itemIds = new ArrayList<>();
+        for (SqlParameterSource[] batch : batches.getAllValues()) {
+            assertTrue(batch.length <= 20, "batch of " + batch.length);
+            for (SqlParameterSource row : batch) {
+                itemIds.add(row.getValue("itemId"));
+                assertEquals("STATUS_CHANGED", row.getValue("action"));
+            }
+        }
+        List<Object> expected = new ArrayList<>();
+        for (long itemId = 1; itemId <= 50; itemId++) {
+            expected.add(itemId);
+        }
+        assertEquals(expected, itemIds);
+        assertEquals(50, count("findspot.audit.written"));
+        assertEquals(0, count("findspot.audit.dropped"));
+    }
+
+    @Test
+    void aFailedBatchIsCountedAndTheWriterCarriesOn() throws InterruptedException {
+        when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class)))
+                .thenThrow(new DataAccessResourceFailureException("database is down"));
+        ItemAuditLog log = log(64);
+        log.start();
+
+        for (long itemId = 1; itemId <= 30; itemId++) {
+            log.record(event(itemId));
+        }
+        log.shutdown();
+
+        assertEquals(30, count("findspot.audit.failed"));
+        assertEquals(0, count("findspot.audit.written"));
+    }
+
+    private ItemAuditLog log(int ringSize) {
+        ItemAuditLog log = new ItemAuditLog(meterRegistry, ringSize);
+        ReflectionTestUtils.setField(log, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(log, "batchSize", 20);
+        ReflectionTestUtils.setField(log, "flushIntervalMs", 5L);
+        return log;
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private static ItemAuditLog.Event event(long itemId) {
+        return new ItemAuditLog.Event(itemId, ItemAuditLog.Action.STATUS_CHANGED, "alice", "ACTIVE", "CLAIMED",
+                null, LocalDateTime.of(2025, 3, 1, 12, 0));
+    }
+}
@@ -0,0 +1,147 @@
+package com.findspot.haroon.autocomplete;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SuggestionTrieTest {
+
+    @Test
+    void prefixMatchesRankByCountThenAlphabetically() {
+        SuggestionTrie trie = new SuggestionTrie(100);
+        trie.add("Black Wallet", 2);
+        trie.add("Blue Backpack", 5);
+        trie.add("Black Umbrella", 2);
+        trie.add("Keys", 9);
+
+        assertEquals(List.of("Blue Backpack", "Black Umbrella", "Black Wallet"), values(trie.search("bl", 10)));
+        assertTrue(trie.search("bl", 10).stream().allMatch(match -> match.distance() == 0));
+    }
+
+    @Test
+    void everyWordIsAPrefix() {
+        SuggestionTrie trie = new SuggestionTrie(100);
+        trie.add("Main Library", 1);
+
+        assertEquals(List.of("Main Library"), values(trie.search("lib", 10)));
+        assertEquals(List.of("Main Library"), values(trie.search("main li", 10)));
+    }
+
+    @Test
+    void queriesAreNormalized() {
+        SuggestionTrie trie = new SuggestionTrie(100);
+        trie.add("Café, Block-B", 1);
+
+        assertEquals(List.of("Café, Block-B"), values(trie.search("CAFE BLOCK", 10)));
+    }
+
+    @Test
+    void fuzzyMatchesAreOneEditAway() {
+        SuggestionTrie trie = new SuggestionTrie(100);
+        trie.add("Library", 1);
+
+        // Substitution, insertion, deletion and adjacent swap each cost one edit
+        assertEquals(1, trie.search("lubr", 10).get(0).distance());
+        assertEquals(1, trie.search("liibr", 10).get(0).distance());
+        assertEquals(1, trie.search("lbr", 10).get(0).distance());
+        assertEquals(1, trie.search("ilbr", 10).get(0).distance());
+        assertTrue(trie.search("ilbar", 10).isEmpty());
+    }
+
+    @Test
+    void shortQueriesAreNotFuzzy() {
+        SuggestionTrie trie = new SuggestionTrie(100);
+        trie.add("Keys", 1);
+
+        assertTrue(trie.search("kx", 10).isEmpty());
+    }
+
+    @Test
+    void exactMatchesComeBeforeFuzzyOnes() {
+        SuggestionTrie trie = new SuggestionTrie(100);
+        trie.add("Bag", 1);
+        trie.add("Bog", 50);
+
+        List<SuggestionTrie.Match> matches = trie.search("bag", 10);
+        assertEquals(List.of("Bag", "Bog"), values(matches));
+        assertEquals(0, matches.get(0).distance());
+        assertEquals(1, matches.get(1).distance());
+    }
+
+    @Test
+    void entriesDisappearWhenTheirCountReachesZero() {
+        SuggestionTrie trie = new SuggestionTrie(100);
+        trie.add("Laptop", 2);
+        trie.add("Laptop bag", 1);
+
+        trie.add("Laptop", -2);
+
+        assertEquals(1, trie.size());
+        assertEquals(List.of("Laptop bag"), values(trie.search("lap", 10)));
+        assertEquals(List.of("Laptop bag"), values(trie.search("bag", 10)));
+    }
+
+    @Test
+    void removingTheOnlyEntryEmptiesTheTrie() {
+        SuggestionTrie trie = new SuggestionTrie(100);
+        trie.add("Red Umbrella", 1);
+        trie.add("Red Umbrella", -1);
+
+        assertEquals(0, trie.size());
+        assertTrue(trie.search("red", 10).isEmpty());
+        assertTrue(trie.search("umbrella", 10).isEmpty());
+    }
+
+    @Test
+    void countChangesReRankTheSubtree() {
+        SuggestionTrie trie = new SuggestionTrie(100);
+        trie.add("Phone", 1);
+        trie.add("Phone charger", 3);
+
+        trie.add("Phone", 5);
+
+        assertEquals(List.of("Phone", "Phone charger"), values(trie.search("ph", 10)));
+    }
+
+    @Test
+    void newTermsAreIgnoredOnceFull() {
+        SuggestionTrie trie = new SuggestionTrie(2);
+        trie.add("Alpha", 1);
+        trie.add("Beta", 1);
+        trie.add("Gamma", 1);
+        trie.add("Alpha", 1);
+
+        assertEquals(2, trie.size());
+        assertTrue(trie.search("gam", 10).isEmpty());
+        assertEquals(2, trie.search("alp", 10).get(0).entry().count);
+    }
+
+    @Test
+    void onlyTheTopEntriesAreKeptPerPrefix() {
+        SuggestionTrie trie = new SuggestionTrie(100);
+        for (int i = 0; i < 15; i++) {
+            trie.add("Item " + (char) ('a' + i), i + 1);
+        }
+
+        List<SuggestionTrie.Match> matches = trie.search("item", 20);
+        assertEquals(SuggestionTrie.TOP_K, matches.size());
+        assertEquals("Item o", matches.get(0).entry().value);
+    }
+
+    @Test
+    void bulkLoadRanksOnce() {
+        SuggestionTrie trie = new SuggestionTrie(100);
+        trie.load("Water bottle", 1);
+        trie.load("Watch", 4);
+        trie.rankAll();
+
+        assertEquals(List.of("Watch", "Water bottle"), values(trie.search("wat", 10)));
+    }
+
+    private static List<String> values(List<SuggestionTrie.Match> matches) {
+        return matches.stream().map(match -> match.entry().value).toList();
+    }
+}
@@ -0,0 +1,101 @@
+package com.findspot.haroon.claims;
+
+import com.findspot.haroon.models.ClaimRequest;
+import com.findspot.haroon.repositories.ClaimRequestRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ClaimSlotsTest {
+
+    private static final long ITEM = 7L;
+
+    private final ClaimRequestRepository claimRepository = mock(ClaimRequestRepository.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void slotsRunOutAtTheCapAndComeBackOnRelease() {
+        when(claimRepository.countByItemIdAndStatus(ITEM, ClaimRequest.ClaimStatus.PENDING)).thenReturn(2L);
+        ClaimSlots slots = slots(3);
+
+        assertTrue(slots.tryAcquire(ITEM));
+        assertFalse(slots.tryAcquire(ITEM));
+        assertEquals(1, meterRegistry.get("findspot.claims.cap_reached").counter().count());
+
+        slots.release(ITEM);
+        assertTrue(slots.tryAcquire(ITEM));
+        verify(claimRepository, times(1)).countByItemIdAndStatus(ITEM, ClaimRequest.ClaimStatus.PENDING);
+    }
+
+    @Test
+    void releaseNeverGoesBelowZero() {
+        ClaimSlots slots = slots(1);
+        slots.tryAcquire(ITEM);
+
+        slots.release(ITEM);
+        slots.release(ITEM);
+
+        assertTrue(slots.tryAcquire(ITEM));
+        assertFalse(slots.tryAcquire(ITEM));
+    }
+
+    @Test
+    void resetReloadsTheCountFromTheDatabase() {
+        when(claimRepository.countByItemIdAndStatus(ITEM, ClaimRequest.ClaimStatus.PENDING)).thenReturn(3L, 0L);
+        ClaimSlots slots = slots(3);
+        assertFalse(slots.tryAcquire(ITEM));
+
+        slots.reset(ITEM);
+
+        assertTrue(slots.tryAcquire(ITEM));
+        verify(claimRepository, times(2)).countByItemIdAndStatus(ITEM, ClaimRequest.ClaimStatus.PENDING);
+    }
+
+    @Test
+    void concurrentClaimantsGetExactlyTheCap() throws InterruptedException {
+        ClaimSlots slots = slots(20);
+        AtomicInteger acquired = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[16];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 10; i++) {
+                    if (slots.tryAcquire(ITEM)) {
+                        acquired.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(20, acquired.get());
+        assertEquals(140, meterRegistry.get("findspot.claims.cap_reached").counter().count());
+    }
+
+    private ClaimSlots slots(int maxPendingPerItem) {
+        ClaimSlots slots = new ClaimSlots(claimRepository, meterRegistry, 60_000);
+        ReflectionTestUtils.setField(slots, "maxPendingPerItem", maxPendingPerItem);
+        return slots;
+    }
+}
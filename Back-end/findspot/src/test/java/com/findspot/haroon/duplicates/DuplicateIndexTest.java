@@ -0,0 +1,131 @@
+package com.findspot.haroon.duplicates;
+
+import com.findspot.haroon.models.Item;
+import com.findspot.haroon.models.UserEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class DuplicateIndexTest {
+
+    private static final short ELECTRONICS = 3;
+    private static final short BAGS = 4;
+
+    @Test
+    void nothingIsFoundBeforeTheFirstRebuild() {
+        DuplicateIndex index = index();
+        index.update(item(1, 10, Item.ItemType.LOST, ELECTRONICS, "Black phone", Item.ItemStatus.ACTIVE));
+
+        assertTrue(find(index, Item.ItemType.LOST, ELECTRONICS, null, "Black phone").isEmpty());
+    }
+
+    @Test
+    void updatedItemsAreFoundAfterARebuild() {
+        DuplicateIndex index = rebuilt();
+        index.update(item(1, 10, Item.ItemType.LOST, ELECTRONICS, "Black phone", Item.ItemStatus.ACTIVE));
+
+        List<DuplicateIndex.Candidate> candidates = find(index, Item.ItemType.LOST, ELECTRONICS, null, "Black phone");
+
+        assertEquals(1, candidates.size());
+        assertEquals(1, candidates.get(0).itemId());
+        assertEquals(0, candidates.get(0).distance());
+        assertEquals("Black phone", candidates.get(0).title());
+    }
+
+    @Test
+    void onlyTheSameTypeAndCategoryAreCompared() {
+        DuplicateIndex index = rebuilt();
+        index.update(item(1, 10, Item.ItemType.LOST, ELECTRONICS, "Black phone", Item.ItemStatus.ACTIVE));
+
+        assertTrue(find(index, Item.ItemType.FOUND, ELECTRONICS, null, "Black phone").isEmpty());
+        assertTrue(find(index, Item.ItemType.LOST, BAGS, null, "Black phone").isEmpty());
+    }
+
+    @Test
+    void unrelatedReportsAreNotCandidates() {
+        DuplicateIndex index = rebuilt();
+        index.update(item(1, 10, Item.ItemType.LOST, ELECTRONICS, "Black phone", Item.ItemStatus.ACTIVE));
+
+        assertTrue(find(index, Item.ItemType.LOST, ELECTRONICS, null, "Silver laptop charger").isEmpty());
+    }
+
+    @Test
+    void itemsLeaveTheIndexWhenNoLongerActiveOrRemoved() {
+        DuplicateIndex index = rebuilt();
+        index.update(item(1, 10, Item.ItemType.LOST, ELECTRONICS, "Black phone", Item.ItemStatus.ACTIVE));
+        index.update(item(2, 10, Item.ItemType.LOST, ELECTRONICS, "Black phone", Item.ItemStatus.ACTIVE));
+
+        index.update(item(1, 10, Item.ItemType.LOST, ELECTRONICS, "Black phone", Item.ItemStatus.CLAIMED));
+        index.remove(2L);
+
+        assertTrue(find(index, Item.ItemType.LOST, ELECTRONICS, null, "Black phone").isEmpty());
+    }
+
+    @Test
+    void ownReportsComeFirstAmongEquallyCloseOnes() {
+        DuplicateIndex index = rebuilt();
+        index.update(item(1, 10, Item.ItemType.LOST, ELECTRONICS, "Black phone", Item.ItemStatus.ACTIVE));
+        index.update(item(2, 20, Item.ItemType.LOST, ELECTRONICS, "Black phone", Item.ItemStatus.ACTIVE));
+
+        List<DuplicateIndex.Candidate> candidates = find(index, Item.ItemType.LOST, ELECTRONICS, 20L, "Black phone");
+
+        assertEquals(2, candidates.size());
+        assertEquals(2, candidates.get(0).itemId());
+        assertTrue(candidates.get(0).ownReport());
+        assertFalse(candidates.get(1).ownReport());
+    }
+
+    @Test
+    void resultsAreCappedAtTheLimit() {
+        DuplicateIndex index = rebuilt();
+        for (long id = 1; id <= 5; id++) {
+            index.update(item(id, 10, Item.ItemType.LOST, ELECTRONICS, "Black phone", Item.ItemStatus.ACTIVE));
+        }
+
+        assertEquals(3, index.findSimilar(Item.ItemType.LOST, ELECTRONICS, null, "Black phone",
+                "Cracked screen, blue case", "Main Library", 3).size());
+    }
+
+    private static DuplicateIndex index() {
+        DuplicateIndex index = new DuplicateIndex();
+        ReflectionTestUtils.setField(index, "jdbcTemplate", mock(NamedParameterJdbcTemplate.class));
+        return index;
+    }
+
+    // The mocked template returns no rows, so the rebuild leaves an empty index that takes updates
+    private static DuplicateIndex rebuilt() {
+        DuplicateIndex index = index();
+        index.rebuild();
+        return index;
+    }
+
+    private static List<DuplicateIndex.Candidate> find(DuplicateIndex index, Item.ItemType type, short categoryId,
+                                                       Long userId, String title) {
+        return index.findSimilar(type, categoryId, userId, title, "Cracked screen, blue case", "Main Library", 10);
+    }
+
+    private static Item item(long id, long userId, Item.ItemType type, short categoryId, String title,
+                             Item.ItemStatus status) {
+        UserEntity user = new UserEntity();
+        user.setId(userId);
+        Item item = new Item();
+        item.setId(id);
+        item.setUser(user);
+        item.setType(type);
+        item.setCategoryId(categoryId);
+        item.setTitle(title);
+        item.setFullDescription("Cracked screen, blue case");
+        item.setLocation("Main Library");
+        item.setDate(LocalDate.of(2025, 3, 1));
+        item.setStatus(status);
+        return item;
+    }
+}
@@ -0,0 +1,46 @@
+package com.findspot.haroon.duplicates;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimHashTest {
+
+    @Test
+    void identicalReportsHaveTheSameSignature() {
+        long a = SimHash.of("Black leather wallet", "Has my student ID inside", "Main Library");
+        long b = SimHash.of("Black leather wallet", "Has my student ID inside", "Main Library");
+
+        assertEquals(0, SimHash.distance(a, b));
+    }
+
+    @Test
+    void caseStopWordsAndPunctuationAreIgnored() {
+        long a = SimHash.of("Lost: black leather wallet!", "It was near the library", "Main Library");
+        long b = SimHash.of("BLACK LEATHER WALLET", "library", "main library");
+
+        assertEquals(0, SimHash.distance(a, b));
+    }
+
+    @Test
+    void aSmallEditStaysClose() {
+        long a = SimHash.of("Black leather wallet", "Has my student ID and two bank cards inside", "Main Library");
+        long b = SimHash.of("Black leather wallet", "Has my student ID and bank cards inside", "Main Library");
+
+        assertTrue(SimHash.distance(a, b) <= 5, "distance " + SimHash.distance(a, b));
+    }
+
+    @Test
+    void unrelatedReportsAreFarApart() {
+        long a = SimHash.of("Black leather wallet", "Has my student ID inside", "Main Library");
+        long b = SimHash.of("Silver house keys", "Three keys on a red lanyard", "Cafeteria");
+
+        assertTrue(SimHash.distance(a, b) > 10, "distance " + SimHash.distance(a, b));
+    }
+
+    @Test
+    void emptyReportHasAnEmptySignature() {
+        assertEquals(0L, SimHash.of(null, "  ", "the"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.findspot.haroon.images;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DifferenceHashTest {
+
+    @Test
+    void theSameImageHashesTheSame() {
+        assertEquals(DifferenceHash.of(pattern(640, 480)), DifferenceHash.of(pattern(640, 480)));
+    }
+
+    @Test
+    void rescalingMovesOnlyAFewBits() {
+        long original = DifferenceHash.of(pattern(640, 480));
+        long thumbnail = DifferenceHash.of(scale(pattern(640, 480), 160, 120));
+
+        assertTrue(DifferenceHash.distance(original, thumbnail) <= 6,
+                "distance " + DifferenceHash.distance(original, thumbnail));
+    }
+
+    @Test
+    void aMirroredImageIsFarApart() {
+        long original = DifferenceHash.of(pattern(640, 480));
+        long mirrored = DifferenceHash.of(mirror(pattern(640, 480)));
+
+        assertTrue(DifferenceHash.distance(original, mirrored) > 20,
+                "distance " + DifferenceHash.distance(original, mirrored));
+    }
+
+    @Test
+    void brightnessFallingToTheRightSetsEveryBit() {
+        BufferedImage image = new BufferedImage(90, 80, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < 90; x++) {
+            int grey = 255 - x * 255 / 89;
+            for (int y = 0; y < 80; y++) {
+                image.setRGB(x, y, grey << 16 | grey << 8 | grey);
+            }
+        }
+
+        assertEquals(-1L, DifferenceHash.of(image));
+    }
+
+    @Test
+    void imagesSmallerThanTheGridStillHash() {
+        DifferenceHash.of(new BufferedImage(3, 2, BufferedImage.TYPE_INT_RGB));
+    }
+
+    // Smooth blobs of varying brightness, so neighbouring cells differ by more than resampling noise
+    private static BufferedImage pattern(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                double u = (double) x / width;
+                double v = (double) y / height;
+                int grey = (int) (127 + 60 * Math.sin(u * 11 + v * 3) + 60 * Math.cos(v * 7 - u * 5));
+                image.setRGB(x, y, grey << 16 | grey << 8 | grey);
+            }
+        }
+        return image;
+    }
+
+    private static BufferedImage scale(BufferedImage source, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(source, 0, 0, width, height, null);
+        graphics.dispose();
+        return scaled;
+    }
+
+    private static BufferedImage mirror(BufferedImage source) {
+        BufferedImage mirrored = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < source.getHeight(); y++) {
+            for (int x = 0; x < source.getWidth(); x++) {
+                mirrored.setRGB(source.getWidth() - 1 - x, y, source.getRGB(x, y));
+            }
+        }
+        return mirrored;
+    }
+}
@@ -0,0 +1,116 @@
+package com.findspot.haroon.images;
+
+import com.findspot.haroon.models.Item;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class ImageHashIndexTest {
+
+    private static final long HASH = 0x9E3779B97F4A7C15L;
+
+    @Test
+    void nothingIsFoundBeforeTheFirstRebuild() {
+        ImageHashIndex index = index();
+        index.add(1, Item.ItemType.FOUND, HASH);
+
+        assertTrue(index.findSimilar(List.of(HASH), Item.ItemType.FOUND, 0, ImageHashIndex.MAX_DISTANCE, 10).isEmpty());
+    }
+
+    @Test
+    void everyDistanceUpToTheMaximumIsFound() {
+        ImageHashIndex index = rebuilt();
+        // Flips spread over all four substrings, the worst case for the multi-index lookup
+        for (int distance = 0; distance <= ImageHashIndex.MAX_DISTANCE + 1; distance++) {
+            index.add(100 + distance, Item.ItemType.FOUND, flip(HASH, distance));
+        }
+
+        List<ImageHashIndex.Match> matches = index.findSimilar(List.of(HASH), Item.ItemType.FOUND, 0,
+                ImageHashIndex.MAX_DISTANCE, 100);
+
+        assertEquals(ImageHashIndex.MAX_DISTANCE + 1, matches.size());
+        for (int distance = 0; distance <= ImageHashIndex.MAX_DISTANCE; distance++) {
+            assertEquals(100 + distance, matches.get(distance).itemId());
+            assertEquals(distance, matches.get(distance).distance());
+        }
+    }
+
+    @Test
+    void theRadiusIsRespected() {
+        ImageHashIndex index = rebuilt();
+        index.add(1, Item.ItemType.FOUND, flip(HASH, 2));
+        index.add(2, Item.ItemType.FOUND, flip(HASH, 6));
+
+        List<ImageHashIndex.Match> matches = index.findSimilar(List.of(HASH), Item.ItemType.FOUND, 0, 4, 10);
+
+        assertEquals(1, matches.size());
+        assertEquals(1, matches.get(0).itemId());
+    }
+
+    @Test
+    void otherTypesAndTheExcludedItemAreSkipped() {
+        ImageHashIndex index = rebuilt();
+        index.add(1, Item.ItemType.LOST, HASH);
+        index.add(2, Item.ItemType.FOUND, HASH);
+        index.add(3, Item.ItemType.FOUND, flip(HASH, 1));
+
+        List<ImageHashIndex.Match> matches = index.findSimilar(List.of(HASH), Item.ItemType.FOUND, 2,
+                ImageHashIndex.MAX_DISTANCE, 10);
+
+        assertEquals(List.of(new ImageHashIndex.Match(3, 1)), matches);
+    }
+
+    @Test
+    void anItemMatchesOnceAtItsClosestImage() {
+        ImageHashIndex index = rebuilt();
+        index.add(1, Item.ItemType.FOUND, flip(HASH, 5));
+        index.add(1, Item.ItemType.FOUND, flip(HASH, 1));
+        index.add(2, Item.ItemType.FOUND, flip(HASH, 3));
+
+        List<ImageHashIndex.Match> matches = index.findSimilar(List.of(HASH, ~HASH), Item.ItemType.FOUND, 0,
+                ImageHashIndex.MAX_DISTANCE, 10);
+
+        assertEquals(List.of(new ImageHashIndex.Match(1, 1), new ImageHashIndex.Match(2, 3)), matches);
+    }
+
+    @Test
+    void resultsAreCappedAtTheLimit() {
+        ImageHashIndex index = rebuilt();
+        for (long id = 1; id <= 2_000; id++) {
+            index.add(id, Item.ItemType.FOUND, flip(HASH, (int) (id % 4)));
+        }
+
+        List<ImageHashIndex.Match> matches = index.findSimilar(List.of(HASH), Item.ItemType.FOUND, 0, 3, 5);
+
+        assertEquals(5, matches.size());
+        assertTrue(matches.stream().allMatch(match -> match.distance() == 0));
+    }
+
+    private static ImageHashIndex index() {
+        ImageHashIndex index = new ImageHashIndex();
+        ReflectionTestUtils.setField(index, "jdbcTemplate", mock(NamedParameterJdbcTemplate.class));
+        ReflectionTestUtils.setField(index, "cleanupBatchSize", 1000);
+        return index;
+    }
+
+    // The mocked template returns no rows, so the rebuild leaves an empty table that takes additions
+    private static ImageHashIndex rebuilt() {
+        ImageHashIndex index = index();
+        index.rebuild();
+        return index;
+    }
+
+    // Flips bits round-robin across the four 16-bit substrings
+    private static long flip(long hash, int bits) {
+        for (int i = 0; i < bits; i++) {
+            hash ^= 1L << ((i % 4) * 16 + i / 4);
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,121 @@
+package com.findspot.haroon.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTableTest {
+
+    // Slow enough that no permit comes back while a test runs
+    private static final RateLimitPolicy SLOW = new RateLimitPolicy("slow", 5, 0.01);
+
+    @Test
+    void aBurstUpToCapacityIsAllowed() {
+        TokenBucketTable table = new TokenBucketTable(16, 64);
+        long key = TokenBucketTable.hash("203.0.113.7");
+
+        for (int i = 0; i < SLOW.getCapacity(); i++) {
+            assertEquals(0, table.tryAcquire(key, SLOW), "request " + i);
+        }
+        long wait = table.tryAcquire(key, SLOW);
+
+        assertTrue(wait > 0);
+        assertTrue(wait <= 100_000, "wait " + wait);
+    }
+
+    @Test
+    void keysHaveTheirOwnBuckets() {
+        TokenBucketTable table = new TokenBucketTable(16, 64);
+        long first = TokenBucketTable.hash("203.0.113.7");
+        long second = TokenBucketTable.hash("203.0.113.8");
+        for (int i = 0; i < SLOW.getCapacity(); i++) {
+            table.tryAcquire(first, SLOW);
+        }
+
+        assertNotEquals(0, table.tryAcquire(first, SLOW));
+        assertEquals(0, table.tryAcquire(second, SLOW));
+    }
+
+    @Test
+    void permitsComeBackAtTheRefillRate() throws InterruptedException {
+        TokenBucketTable table = new TokenBucketTable(16, 64);
+        RateLimitPolicy fast = new RateLimitPolicy("fast", 2, 1000);
+        long key = TokenBucketTable.hash("user:alice");
+        table.tryAcquire(key, fast);
+        table.tryAcquire(key, fast);
+        assertNotEquals(0, table.tryAcquire(key, fast));
+
+        Thread.sleep(20);
+
+        assertEquals(0, table.tryAcquire(key, fast));
+    }
+
+    @Test
+    void aFullWindowEvictsTheStalestKey() throws InterruptedException {
+        // One stripe of eight slots is a single probe window
+        TokenBucketTable table = new TokenBucketTable(1, 8);
+        long exhausted = TokenBucketTable.hash("first");
+        for (int i = 0; i < SLOW.getCapacity() + 1; i++) {
+            table.tryAcquire(exhausted, SLOW);
+        }
+        Thread.sleep(5); // so the other keys are seen later than it
+        for (int i = 0; i < 8; i++) {
+            table.tryAcquire(TokenBucketTable.hash("other-" + i), SLOW);
+        }
+
+        // The exhausted bucket was the least recently used one and is gone, so the key starts full
+        assertEquals(0, table.tryAcquire(exhausted, SLOW));
+    }
+
+    @Test
+    void concurrentCallersShareOneBucket() throws InterruptedException {
+        TokenBucketTable table = new TokenBucketTable(16, 64);
+        RateLimitPolicy policy = new RateLimitPolicy("shared", 100, 0.01);
+        long key = TokenBucketTable.hash("203.0.113.7");
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 50; i++) {
+                    if (table.tryAcquire(key, policy) == 0) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(100, allowed.get());
+    }
+
+    @Test
+    void sizesMustBePowersOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketTable(12, 64));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketTable(16, 100));
+    }
+
+    @Test
+    void policiesRejectImpossibleLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimitPolicy("zero", 0, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RateLimitPolicy("huge", TokenBucketTable.MAX_CAPACITY + 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimitPolicy("stalled", 10, 0));
+        assertEquals(2_000, new RateLimitPolicy("login", 10, 5).fullRefillMillis());
+    }
+}
@@ -0,0 +1,126 @@
+package com.findspot.haroon.services.imple;
+
+import com.findspot.haroon.exceptions.InvalidStatusTransitionException;
+import com.findspot.haroon.models.Item;
+import com.findspot.haroon.repositories.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ItemStateMachineTest {
+
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final ItemStateMachine stateMachine = new ItemStateMachine();
+
+    ItemStateMachineTest() {
+        ReflectionTestUtils.setField(stateMachine, "itemRepository", itemRepository);
+    }
+
+    @Test
+    void transitionsStartFromTheirSourceStatuses() {
+        assertTrue(ItemStateMachine.Transition.CLAIM.allowedFrom(Item.ItemStatus.ACTIVE));
+        assertFalse(ItemStateMachine.Transition.CLAIM.allowedFrom(Item.ItemStatus.CLAIMED));
+        assertFalse(ItemStateMachine.Transition.CLAIM.allowedFrom(Item.ItemStatus.CLOSED));
+
+        assertTrue(ItemStateMachine.Transition.CLOSE.allowedFrom(Item.ItemStatus.ACTIVE));
+        assertTrue(ItemStateMachine.Transition.CLOSE.allowedFrom(Item.ItemStatus.CLAIMED));
+        assertFalse(ItemStateMachine.Transition.CLOSE.allowedFrom(Item.ItemStatus.CLOSED));
+
+        assertFalse(ItemStateMachine.Transition.REOPEN.allowedFrom(Item.ItemStatus.ACTIVE));
+        assertTrue(ItemStateMachine.Transition.REOPEN.allowedFrom(Item.ItemStatus.CLAIMED));
+        assertTrue(ItemStateMachine.Transition.REOPEN.allowedFrom(Item.ItemStatus.CLOSED));
+    }
+
+    @Test
+    void everyStatusIsReachedByOneTransition() {
+        for (Item.ItemStatus status : Item.ItemStatus.values()) {
+            assertEquals(status, ItemStateMachine.Transition.into(status).target());
+        }
+    }
+
+    @Test
+    void resolvingAnItemStampsTheResolvedDate() {
+        Item item = item(Item.ItemStatus.ACTIVE);
+
+        stateMachine.applyTo(item, ItemStateMachine.Transition.CLAIM);
+
+        assertEquals(Item.ItemStatus.CLAIMED, item.getStatus());
+        assertNotNull(item.getResolvedDate());
+    }
+
+    @Test
+    void reopeningClearsTheResolvedDate() {
+        Item item = item(Item.ItemStatus.CLOSED);
+
+        stateMachine.applyTo(item, ItemStateMachine.Transition.REOPEN);
+
+        assertEquals(Item.ItemStatus.ACTIVE, item.getStatus());
+        assertNull(item.getResolvedDate());
+    }
+
+    @Test
+    void disallowedEditsAreRejected() {
+        Item item = item(Item.ItemStatus.CLOSED);
+
+        assertThrows(InvalidStatusTransitionException.class,
+                () -> stateMachine.applyTo(item, ItemStateMachine.Transition.CLAIM));
+        assertEquals(Item.ItemStatus.CLOSED, item.getStatus());
+    }
+
+    @Test
+    void applyFromMovesOnlyFromTheStatusItRead() {
+        Item before = item(Item.ItemStatus.CLAIMED);
+        LocalDateTime claimedAt = LocalDateTime.of(2025, 3, 1, 12, 0);
+        before.setResolvedDate(claimedAt);
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(before));
+        when(itemRepository.transitionStatus(eq(1L), eq("alice"), eq(EnumSet.of(Item.ItemStatus.CLAIMED)),
+                eq(claimedAt), eq(Item.ItemStatus.CLOSED), any())).thenReturn(1);
+
+        assertSame(before, stateMachine.applyFrom(1L, "alice", ItemStateMachine.Transition.CLOSE));
+    }
+
+    @Test
+    void applyFromReportsNothingWhenTheUpdateMatchedNoRow() {
+        // Another transition got there first, or the item belongs to someone else
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item(Item.ItemStatus.ACTIVE)));
+        when(itemRepository.transitionStatus(anyLong(), anyString(), any(), any(), any(), any())).thenReturn(0);
+
+        assertNull(stateMachine.applyFrom(1L, "alice", ItemStateMachine.Transition.CLAIM));
+    }
+
+    @Test
+    void applyFromLeavesDisallowedAndMissingItemsAlone() {
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item(Item.ItemStatus.CLOSED)));
+        when(itemRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertNull(stateMachine.applyFrom(1L, "alice", ItemStateMachine.Transition.CLAIM));
+        assertNull(stateMachine.applyFrom(2L, "alice", ItemStateMachine.Transition.CLAIM));
+        verify(itemRepository, never()).transitionStatus(anyLong(), anyString(), any(), any(), any(), any());
+    }
+
+    private static Item item(Item.ItemStatus status) {
+        Item item = new Item();
+        item.setId(1L);
+        item.setStatus(status);
+        return item;
+    }
+}
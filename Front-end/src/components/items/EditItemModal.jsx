@@ -89,7 +89,12 @@ const EditItemModal = ({ item, isOpen, onClose, onSave }) => {
       if (formData.title !== item.title) updatedFields.title = formData.title;
       if (formData.location !== item.location) updatedFields.location = formData.location;
       if (formData.description !== item.description) updatedFields.description = formData.description;
-      if (formData.category !== item.category) updatedFields.category = formData.category;
+      // The display name is only used to refresh the item shown in the list
+      const displayFields = {};
+      if (formData.category !== item.category) {
+        updatedFields.category = formData.category;
+        displayFields.categoryName = categories.find(category => category.value === formData.category)?.label;
+      }
       
       // Check if additionalDetails changed
       const originalDetails = item.additionalDetails || {};
@@ -98,7 +103,7 @@ const EditItemModal = ({ item, isOpen, onClose, onSave }) => {
         updatedFields.additionalDetails = newDetails;
       }
       
-      await onSave(item.itemId, updatedFields);
+      await onSave(item.itemId, updatedFields, displayFields);
       onClose();
     } catch (error) {
       console.error('Error updating item:', error);
@@ -108,17 +113,18 @@ const EditItemModal = ({ item, isOpen, onClose, onSave }) => {
     }
   };
 
+  // Values are the category slugs the API returns in item.category
   const categories = [
-    'Electronics',
-    'Clothing',
-    'Accessories',
-    'Documents',
-    'Keys',
-    'Bags',
-    'Books',
-    'Sports Equipment',
-    'Jewelry',
-    'Other'
+    { value: 'electronics', label: 'Electronics' },
+    { value: 'clothing', label: 'Clothing' },
+    { value: 'jewelry', label: 'Jewelry & Accessories' },
+    { value: 'documents', label: 'Documents' },
+    { value: 'wallets', label: 'Wallets & Purses' },
+    { value: 'keys', label: 'Keys' },
+    { value: 'bags', label: 'Bags & Backpacks' },
+    { value: 'books', label: 'Books' },
+    { value: 'sports', label: 'Sports Equipment' },
+    { value: 'other', label: 'Other' }
   ];
 
   if (!isOpen) return null;
@@ -243,7 +249,7 @@ const EditItemModal = ({ item, isOpen, onClose, onSave }) => {
                 >
                   <option value="">Select a category</option>
                   {categories.map(category => (
-                    <option key={category} value={category}>{category}</option>
+                    <option key={category.value} value={category.value}>{category.label}</option>
                   ))}
                 </select>
                 {errors.category && <p className="text-red-500 text-sm mt-1">{errors.category}</p>}
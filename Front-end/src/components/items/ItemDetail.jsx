@@ -254,7 +254,7 @@ const ItemDetail = () => {
                                             <span className={isDarkMode ? 'text-gray-500' : 'text-[#212529]/60'}>|</span>
                                             <span className={`font-medium ${
                                                 isDarkMode ? 'text-gray-300' : 'text-[#212529]/80'
-                                            }`}>{item.category}</span>
+                                            }`}>{item.categoryName || item.category}</span>
                                         </div>
                                     </div>
                                     <motion.button
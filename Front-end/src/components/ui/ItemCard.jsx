@@ -19,6 +19,7 @@ const ItemCard = ({ item, isDashboard }) => {
         date,
         status,
         category,
+        categoryName, // display name; category is the slug
         image,
         images = [],
         reportedBy,
@@ -121,7 +122,7 @@ const ItemCard = ({ item, isDashboard }) => {
                         ? 'bg-gray-700 text-gray-300' 
                         : 'bg-[#E9ECEF] text-[#212529]'
                 }`}>
-                    {category}
+                    {categoryName || category}
                 </span>
 
                 {/* Title with gradient text */}
@@ -108,11 +108,12 @@ const DashboardPage = () => {
           id: item.id || item.itemId,
           title: item.title,
           category: item.category || '',
+          categoryName: item.categoryName || '',
           date: item.reportedDate || item.createdAt || item.date,
           status: item.status || 'ACTIVE',
           itemType: item.itemType, // Use the explicitly set itemType
           location: item.location || '',
-          imageUrl: item.images?.[0] || `https://via.placeholder.com/150/${item.itemType === 'lost' ? 'F35B04' : '00AFB9'}/FFFFFF?Text=${item.category}`
+          imageUrl: item.images?.[0] || `https://via.placeholder.com/150/${item.itemType === 'lost' ? 'F35B04' : '00AFB9'}/FFFFFF?Text=${item.categoryName || item.category}`
         }));
         
         console.log('Processed items with correct itemType:', processedItems);
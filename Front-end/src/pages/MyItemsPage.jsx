@@ -120,6 +120,7 @@ const MyItemsPage = () => {
                             itemId: item.id,
                             title: item.title,
                             category: item.category,
+                            categoryName: item.categoryName,
                             location: item.location,
                             description: item.fullDescription || item.shortDescription,
                             createdAt: item.reportedDate || item.date,
@@ -147,6 +148,7 @@ const MyItemsPage = () => {
                             itemId: item.id,
                             title: item.title,
                             category: item.category,
+                            categoryName: item.categoryName,
                             location: item.location,
                             description: item.fullDescription || item.shortDescription,
                             createdAt: item.reportedDate || item.date,
@@ -171,6 +173,7 @@ const MyItemsPage = () => {
                         itemId: item.id,
                         title: item.title,
                         category: item.category,
+                        categoryName: item.categoryName,
                         location: item.location,
                         description: item.fullDescription || item.shortDescription,
                         createdAt: item.reportedDate || item.date,
@@ -210,7 +213,7 @@ const MyItemsPage = () => {
         setIsEditModalOpen(true);
     };
 
-    const handleUpdateItem = async (itemId, updatedData) => {
+    const handleUpdateItem = async (itemId, updatedData, displayData = {}) => {
         setActionLoading(true);
         setProcessingItemId(itemId);
         
@@ -221,13 +224,13 @@ const MyItemsPage = () => {
             if (activeTab === 'lost') {
                 setLostItems(prevItems => 
                     prevItems.map(item => 
-                        item.itemId === itemId ? { ...item, ...updatedData } : item
+                        item.itemId === itemId ? { ...item, ...updatedData, ...displayData } : item
                     )
                 );
             } else if (activeTab === 'found') {
                 setFoundItems(prevItems => 
                     prevItems.map(item => 
-                        item.itemId === itemId ? { ...item, ...updatedData } : item
+                        item.itemId === itemId ? { ...item, ...updatedData, ...displayData } : item
                     )
                 );
             }
@@ -614,12 +617,12 @@ const MyItemsPage = () => {
                                                                 <div className={`h-10 w-10 flex-shrink-0 rounded-full flex items-center justify-center ${
                                                                     isDarkMode ? 'bg-gray-700' : 'bg-[#F8F9FA]'
                                                                 }`}>
-                                                                    {item.category === 'Keys' && <FaKey className="text-[#F35B04]" />}
-                                                                    {item.category === 'Wallet' && <FaWallet className="text-[#F35B04]" />}
-                                                                    {item.category === 'Electronics' && <FaMobileAlt className="text-[#F35B04]" />}
-                                                                    {item.category === 'Books' && <FaBook className="text-[#F35B04]" />}
-                                                                    {!['Keys', 'Wallet', 'Electronics', 'Books'].includes(item.category) && 
-                                                                        <div className="text-[#F35B04] font-bold">{item.category?.charAt(0)}</div>}
+                                                                    {item.category === 'keys' && <FaKey className="text-[#F35B04]" />}
+                                                                    {item.category === 'wallets' && <FaWallet className="text-[#F35B04]" />}
+                                                                    {item.category === 'electronics' && <FaMobileAlt className="text-[#F35B04]" />}
+                                                                    {item.category === 'books' && <FaBook className="text-[#F35B04]" />}
+                                                                    {!['keys', 'wallets', 'electronics', 'books'].includes(item.category) && 
+                                                                        <div className="text-[#F35B04] font-bold">{(item.categoryName || item.category)?.charAt(0)}</div>}
                                                                 </div>
                                                                 <div className="ml-4">
                                                                     <div className={`text-sm font-medium ${
@@ -627,7 +630,7 @@ const MyItemsPage = () => {
                                                                     }`}>{item.title}</div>
                                                                     <div className={`text-sm ${
                                                                         isDarkMode ? 'text-gray-400' : 'text-gray-500'
-                                                                    }`}>{item.category}</div>
+                                                                    }`}>{item.categoryName || item.category}</div>
                                                                 </div>
                                                             </div>
                                                         </td>
@@ -753,12 +756,12 @@ const MyItemsPage = () => {
                                                                 <div className={`h-10 w-10 flex-shrink-0 rounded-full flex items-center justify-center ${
                                                                     isDarkMode ? 'bg-gray-700' : 'bg-[#F8F9FA]'
                                                                 }`}>
-                                                                    {item.category === 'Keys' && <FaKey className="text-[#00AFB9]" />}
-                                                                    {item.category === 'Wallet' && <FaWallet className="text-[#00AFB9]" />}
-                                                                    {item.category === 'Electronics' && <FaMobileAlt className="text-[#00AFB9]" />}
-                                                                    {item.category === 'Books' && <FaBook className="text-[#00AFB9]" />}
-                                                                    {!['Keys', 'Wallet', 'Electronics', 'Books'].includes(item.category) && 
-                                                                        <div className="text-[#00AFB9] font-bold">{item.category?.charAt(0)}</div>}
+                                                                    {item.category === 'keys' && <FaKey className="text-[#00AFB9]" />}
+                                                                    {item.category === 'wallets' && <FaWallet className="text-[#00AFB9]" />}
+                                                                    {item.category === 'electronics' && <FaMobileAlt className="text-[#00AFB9]" />}
+                                                                    {item.category === 'books' && <FaBook className="text-[#00AFB9]" />}
+                                                                    {!['keys', 'wallets', 'electronics', 'books'].includes(item.category) && 
+                                                                        <div className="text-[#00AFB9] font-bold">{(item.categoryName || item.category)?.charAt(0)}</div>}
                                                                 </div>
                                                                 <div className="ml-4">
                                                                     <div className={`text-sm font-medium ${
@@ -766,7 +769,7 @@ const MyItemsPage = () => {
                                                                     }`}>{item.title}</div>
                                                                     <div className={`text-sm ${
                                                                         isDarkMode ? 'text-gray-400' : 'text-gray-500'
-                                                                    }`}>{item.category}</div>
+                                                                    }`}>{item.categoryName || item.category}</div>
                                                                 </div>
                                                             </div>
                                                         </td>
@@ -878,12 +881,12 @@ const MyItemsPage = () => {
                                                                 <div className={`h-10 w-10 flex-shrink-0 rounded-full flex items-center justify-center ${
                                                                     isDarkMode ? 'bg-gray-700' : 'bg-[#F8F9FA]'
                                                                 }`}>
-                                                                    {item.category === 'Keys' && <FaKey className="text-[#3D348B]" />}
-                                                                    {item.category === 'Wallet' && <FaWallet className="text-[#3D348B]" />}
-                                                                    {item.category === 'Electronics' && <FaMobileAlt className="text-[#3D348B]" />}
-                                                                    {item.category === 'Books' && <FaBook className="text-[#3D348B]" />}
-                                                                    {!['Keys', 'Wallet', 'Electronics', 'Books'].includes(item.category) && 
-                                                                        <div className="text-[#3D348B] font-bold">{item.category?.charAt(0)}</div>}
+                                                                    {item.category === 'keys' && <FaKey className="text-[#3D348B]" />}
+                                                                    {item.category === 'wallets' && <FaWallet className="text-[#3D348B]" />}
+                                                                    {item.category === 'electronics' && <FaMobileAlt className="text-[#3D348B]" />}
+                                                                    {item.category === 'books' && <FaBook className="text-[#3D348B]" />}
+                                                                    {!['keys', 'wallets', 'electronics', 'books'].includes(item.category) && 
+                                                                        <div className="text-[#3D348B] font-bold">{(item.categoryName || item.category)?.charAt(0)}</div>}
                                                                 </div>
                                                                 <div className="ml-4">
                                                                     <div className={`text-sm font-medium ${
@@ -891,7 +894,7 @@ const MyItemsPage = () => {
                                                                     }`}>{item.title}</div>
                                                                     <div className={`text-sm ${
                                                                         isDarkMode ? 'text-gray-400' : 'text-gray-500'
-                                                                    }`}>{item.category}</div>
+                                                                    }`}>{item.categoryName || item.category}</div>
                                                                 </div>
                                                             </div>
                                                         </td>